@@ -0,0 +1,42 @@
+package com.ardikars.common.benchmark;
+
+import org.openjdk.jmh.Main;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+
+import java.io.IOException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Run all benchmarks and write the results as JSON, so the results can be compared release over release.
+ *
+ * <p>Usage: {@code java -jar common-benchmark/target/benchmarks.jar [result file] [include regex]},
+ * default result file is {@code jmh-result.json} and default include regex is {@code com.ardikars.common.*Benchmark}.
+ * If the first argument is an option (starts with {@code -}), all arguments are passed to the JMH command line
+ * instead, for example {@code -l} to list the benchmarks or {@code -wi 0 -i 1 -r 200ms} for a smoke run.</p>
+ *
+ * @author <a href="mailto:contact@ardikars.com">Ardika Rommy Sanjaya</a>
+ */
+public final class BenchmarkRunner {
+
+    private BenchmarkRunner() {
+    }
+
+    public static void main(String[] args) throws RunnerException, IOException {
+        if (args.length > 0 && args[0].startsWith("-")) {
+            Main.main(args);
+            return;
+        }
+        String result = args.length > 0 ? args[0] : "jmh-result.json";
+        String include = args.length > 1 ? args[1] : "com.ardikars.common.*Benchmark";
+        Options options = new OptionsBuilder()
+                .include(include)
+                .resultFormat(ResultFormatType.JSON)
+                .result(result)
+                .build();
+        new Runner(options).run();
+    }
+
+}
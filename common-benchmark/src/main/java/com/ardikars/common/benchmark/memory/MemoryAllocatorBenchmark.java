@@ -0,0 +1,85 @@
+package com.ardikars.common.benchmark.memory;
+
+import com.ardikars.common.memory.Memories;
+import com.ardikars.common.memory.MemoryAllocator;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Allocate and release throughput of default vs pooled {@link MemoryAllocator} under 1, 4 and 16 threads.
+ *
+ * @author <a href="mailto:contact@ardikars.com">Ardika Rommy Sanjaya</a>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {
+        // sun.misc.Unsafe on Java 9+ (ignored by Java 8)
+        "-XX:+IgnoreUnrecognizedVMOptions",
+        "-Dcommon.util.tryReflectionSetAccessible=true",
+        "--add-opens=java.base/java.nio=ALL-UNNAMED",
+        "--add-opens=java.base/jdk.internal.misc=ALL-UNNAMED"})
+public class MemoryAllocatorBenchmark {
+
+    private static final int CAPACITY = 1500;
+
+    @Param({"default", "pooled"})
+    public String type;
+
+    private MemoryAllocator allocator;
+
+    @Setup
+    public void setup() {
+        if ("pooled".equals(type)) {
+            allocator = Memories.allocator(64, 128, CAPACITY);
+        } else {
+            allocator = Memories.allocator();
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        if ("pooled".equals(type)) {
+            allocator.close();
+        }
+    }
+
+    @Benchmark
+    @Threads(1)
+    public void allocateAndRelease1() {
+        allocateAndRelease();
+    }
+
+    @Benchmark
+    @Threads(4)
+    public void allocateAndRelease4() {
+        allocateAndRelease();
+    }
+
+    @Benchmark
+    @Threads(16)
+    public void allocateAndRelease16() {
+        allocateAndRelease();
+    }
+
+    private void allocateAndRelease() {
+        allocator.allocate(CAPACITY).release();
+    }
+
+}
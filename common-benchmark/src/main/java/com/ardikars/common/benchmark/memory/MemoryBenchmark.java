@@ -0,0 +1,128 @@
+package com.ardikars.common.benchmark.memory;
+
+import com.ardikars.common.memory.Memories;
+import com.ardikars.common.memory.Memory;
+import com.ardikars.common.memory.accessor.MemoryAccessors;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Get/set throughput of bounds checked and unchecked (Unsafe) {@link Memory} and {@link java.nio.ByteBuffer} backed
+ * {@link Memory} in both endianness.
+ *
+ * @author <a href="mailto:contact@ardikars.com">Ardika Rommy Sanjaya</a>
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {
+        // sun.misc.Unsafe on Java 9+ (ignored by Java 8)
+        "-XX:+IgnoreUnrecognizedVMOptions",
+        "-Dcommon.util.tryReflectionSetAccessible=true",
+        "--add-opens=java.base/java.nio=ALL-UNNAMED",
+        "--add-opens=java.base/jdk.internal.misc=ALL-UNNAMED"})
+public class MemoryBenchmark {
+
+    private static final int CAPACITY = 4096;
+
+    @Param({"checked", "unchecked", "bytebuf"})
+    public String type;
+
+    private Memory memory;
+
+    @Setup
+    public void setup() {
+        boolean byteBuf = "bytebuf".equals(type);
+        if (byteBuf) {
+            // every param runs in its own fork, select the accessor before the memory classes are initialized
+            System.setProperty("common.memory.accessor", "bytebuffer");
+        }
+        if (MemoryAccessors.isNativeAddress() == byteBuf) {
+            throw new IllegalStateException(String.format(
+                    "type: %s, native address: %b (Unsafe isn't available or the fork is reused)",
+                    type, MemoryAccessors.isNativeAddress()));
+        }
+        memory = Memories.allocator().allocate(CAPACITY, "checked".equals(type));
+    }
+
+    @TearDown
+    public void tearDown() {
+        memory.release();
+    }
+
+    @Benchmark
+    public void getInt(Blackhole blackhole) {
+        for (int i = 0; i < CAPACITY; i += 4) {
+            blackhole.consume(memory.getInt(i));
+        }
+    }
+
+    @Benchmark
+    public void getIntLE(Blackhole blackhole) {
+        for (int i = 0; i < CAPACITY; i += 4) {
+            blackhole.consume(memory.getIntLE(i));
+        }
+    }
+
+    @Benchmark
+    public Memory setInt() {
+        for (int i = 0; i < CAPACITY; i += 4) {
+            memory.setInt(i, i);
+        }
+        return memory;
+    }
+
+    @Benchmark
+    public Memory setIntLE() {
+        for (int i = 0; i < CAPACITY; i += 4) {
+            memory.setIntLE(i, i);
+        }
+        return memory;
+    }
+
+    @Benchmark
+    public void getLong(Blackhole blackhole) {
+        for (int i = 0; i < CAPACITY; i += 8) {
+            blackhole.consume(memory.getLong(i));
+        }
+    }
+
+    @Benchmark
+    public void getLongLE(Blackhole blackhole) {
+        for (int i = 0; i < CAPACITY; i += 8) {
+            blackhole.consume(memory.getLongLE(i));
+        }
+    }
+
+    @Benchmark
+    public Memory setLong() {
+        for (int i = 0; i < CAPACITY; i += 8) {
+            memory.setLong(i, i);
+        }
+        return memory;
+    }
+
+    @Benchmark
+    public Memory setLongLE() {
+        for (int i = 0; i < CAPACITY; i += 8) {
+            memory.setLongLE(i, i);
+        }
+        return memory;
+    }
+
+}
@@ -0,0 +1,87 @@
+package com.ardikars.common.benchmark.memory.accessor;
+
+import com.ardikars.common.memory.accessor.MemoryAccessor;
+import com.ardikars.common.memory.accessor.MemoryAccessors;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Aligned vs unaligned little endian {@link MemoryAccessor} (see {@link MemoryAccessors#memoryAccessor(boolean, boolean)}).
+ *
+ * @author <a href="mailto:contact@ardikars.com">Ardika Rommy Sanjaya</a>
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {
+        // sun.misc.Unsafe on Java 9+ (ignored by Java 8)
+        "-XX:+IgnoreUnrecognizedVMOptions",
+        "-Dcommon.util.tryReflectionSetAccessible=true",
+        "--add-opens=java.base/java.nio=ALL-UNNAMED",
+        "--add-opens=java.base/jdk.internal.misc=ALL-UNNAMED"})
+public class MemoryAccessorBenchmark {
+
+    private static final int CAPACITY = 4096;
+
+    @Param({"align", "unalignLE"})
+    public String type;
+
+    private MemoryAccessor accessor;
+    private long address;
+
+    @Setup
+    public void setup() {
+        accessor = MemoryAccessors.memoryAccessor(!"align".equals(type), false);
+        address = accessor.allocate(CAPACITY);
+    }
+
+    @TearDown
+    public void tearDown() {
+        accessor.deallocate(address);
+    }
+
+    @Benchmark
+    public void getInt(Blackhole blackhole) {
+        for (int i = 0; i < CAPACITY; i += 4) {
+            blackhole.consume(accessor.getInt(address + i));
+        }
+    }
+
+    @Benchmark
+    public void getIntLE(Blackhole blackhole) {
+        for (int i = 0; i < CAPACITY; i += 4) {
+            blackhole.consume(accessor.getIntLE(address + i));
+        }
+    }
+
+    @Benchmark
+    public void setLong() {
+        for (int i = 0; i < CAPACITY; i += 8) {
+            accessor.setLong(address + i, i);
+        }
+    }
+
+    @Benchmark
+    public void setLongLE() {
+        for (int i = 0; i < CAPACITY; i += 8) {
+            accessor.setLongLE(address + i, i);
+        }
+    }
+
+}
@@ -1,6 +1,6 @@
 package com.ardikars.common.logging;
 
-abstract class AbstractLogger implements Logger {
+abstract class AbstractLogger implements PrimitiveLogger {
 
     static final String DEFAULT_FORMAT = "{}";
     static final String UNEXPECTED_EXCEPTION_MESSAGE;
@@ -155,6 +155,46 @@ abstract class AbstractLogger implements Logger {
         }
     }
 
+    @Override
+    public void logLong(LogLevel level, String format, long arg) {
+        switch (level) {
+            case DEBUG:
+                debugLong(format, arg);
+                break;
+            case INFO:
+                infoLong(format, arg);
+                break;
+            case WARN:
+                warnLong(format, arg);
+                break;
+            case ERROR:
+                errorLong(format, arg);
+                break;
+            default:
+                throw new Error("Unknown log level");
+        }
+    }
+
+    @Override
+    public void logLong(LogLevel level, String format, long arg1, long arg2) {
+        switch (level) {
+            case DEBUG:
+                debugLong(format, arg1, arg2);
+                break;
+            case INFO:
+                infoLong(format, arg1, arg2);
+                break;
+            case WARN:
+                warnLong(format, arg1, arg2);
+                break;
+            case ERROR:
+                errorLong(format, arg1, arg2);
+                break;
+            default:
+                throw new Error("Unknown log level");
+        }
+    }
+
     @Override
     public void debug(String message) {
         debug(DEFAULT_FORMAT, message);
@@ -165,6 +205,20 @@ abstract class AbstractLogger implements Logger {
         debug(UNEXPECTED_EXCEPTION_MESSAGE, throwable);
     }
 
+    @Override
+    public void debugLong(String format, long arg) {
+        if (isDebugEnabled()) {
+            debug(DEFAULT_FORMAT, MessageFormatter.formatMessage(format, arg));
+        }
+    }
+
+    @Override
+    public void debugLong(String format, long arg1, long arg2) {
+        if (isDebugEnabled()) {
+            debug(DEFAULT_FORMAT, MessageFormatter.formatMessage(format, arg1, arg2));
+        }
+    }
+
     @Override
     public void info(String message) {
         info(DEFAULT_FORMAT, message);
@@ -175,6 +229,20 @@ abstract class AbstractLogger implements Logger {
         info(UNEXPECTED_EXCEPTION_MESSAGE, throwable);
     }
 
+    @Override
+    public void infoLong(String format, long arg) {
+        if (isInfoEnabled()) {
+            info(DEFAULT_FORMAT, MessageFormatter.formatMessage(format, arg));
+        }
+    }
+
+    @Override
+    public void infoLong(String format, long arg1, long arg2) {
+        if (isInfoEnabled()) {
+            info(DEFAULT_FORMAT, MessageFormatter.formatMessage(format, arg1, arg2));
+        }
+    }
+
     @Override
     public void warn(String message) {
         warn(DEFAULT_FORMAT, message);
@@ -185,6 +253,20 @@ abstract class AbstractLogger implements Logger {
         warn(UNEXPECTED_EXCEPTION_MESSAGE, throwable);
     }
 
+    @Override
+    public void warnLong(String format, long arg) {
+        if (isWarnEnabled()) {
+            warn(DEFAULT_FORMAT, MessageFormatter.formatMessage(format, arg));
+        }
+    }
+
+    @Override
+    public void warnLong(String format, long arg1, long arg2) {
+        if (isWarnEnabled()) {
+            warn(DEFAULT_FORMAT, MessageFormatter.formatMessage(format, arg1, arg2));
+        }
+    }
+
     @Override
     public void error(String message) {
         error(DEFAULT_FORMAT, message);
@@ -195,6 +277,20 @@ abstract class AbstractLogger implements Logger {
         error(UNEXPECTED_EXCEPTION_MESSAGE, throwable);
     }
 
+    @Override
+    public void errorLong(String format, long arg) {
+        if (isErrorEnabled()) {
+            error(DEFAULT_FORMAT, MessageFormatter.formatMessage(format, arg));
+        }
+    }
+
+    @Override
+    public void errorLong(String format, long arg1, long arg2) {
+        if (isErrorEnabled()) {
+            error(DEFAULT_FORMAT, MessageFormatter.formatMessage(format, arg1, arg2));
+        }
+    }
+
     static {
         UNEXPECTED_EXCEPTION_MESSAGE = System.getProperty("common.logging.default", "Unexpected exception:");
     }
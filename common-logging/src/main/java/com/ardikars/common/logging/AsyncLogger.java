@@ -0,0 +1,205 @@
+package com.ardikars.common.logging;
+
+/**
+ * Logger of {@link AsyncLoggerFactory}, checks the level on the caller thread and enqueues enabled events.
+ */
+final class AsyncLogger extends AbstractLogger {
+
+    private final AsyncLoggerFactory factory;
+    private final Logger logger;
+
+    AsyncLogger(AsyncLoggerFactory factory, Logger logger) {
+        super(logger.name());
+        this.factory = factory;
+        this.logger = logger;
+    }
+
+    @Override
+    public boolean isDebugEnabled() {
+        return logger.isDebugEnabled();
+    }
+
+    @Override
+    public boolean isInfoEnabled() {
+        return logger.isInfoEnabled();
+    }
+
+    @Override
+    public boolean isWarnEnabled() {
+        return logger.isWarnEnabled();
+    }
+
+    @Override
+    public boolean isErrorEnabled() {
+        return logger.isErrorEnabled();
+    }
+
+    @Override
+    public void debug(String format, Object arg1) {
+        if (logger.isDebugEnabled()) {
+            factory.publish(logger, LogLevel.DEBUG, AsyncLoggerFactory.ARG1, format, arg1, null, null, null);
+        }
+    }
+
+    @Override
+    public void debug(String format, Object arg1, Object arg2) {
+        if (logger.isDebugEnabled()) {
+            factory.publish(logger, LogLevel.DEBUG, AsyncLoggerFactory.ARG2, format, arg1, arg2, null, null);
+        }
+    }
+
+    @Override
+    public void debug(String format, Object... args) {
+        if (logger.isDebugEnabled()) {
+            factory.publish(logger, LogLevel.DEBUG, AsyncLoggerFactory.ARGS, format, null, null, args, null);
+        }
+    }
+
+    @Override
+    public void debug(String format, Throwable throwable) {
+        if (logger.isDebugEnabled()) {
+            factory.publish(logger, LogLevel.DEBUG, AsyncLoggerFactory.THROWABLE, format, null, null, null, throwable);
+        }
+    }
+
+    @Override
+    public void debugLong(String format, long arg) {
+        if (logger.isDebugEnabled()) {
+            factory.publish(logger, LogLevel.DEBUG, AsyncLoggerFactory.LONG1, format, arg, 0L);
+        }
+    }
+
+    @Override
+    public void debugLong(String format, long arg1, long arg2) {
+        if (logger.isDebugEnabled()) {
+            factory.publish(logger, LogLevel.DEBUG, AsyncLoggerFactory.LONG2, format, arg1, arg2);
+        }
+    }
+
+    @Override
+    public void info(String format, Object arg1) {
+        if (logger.isInfoEnabled()) {
+            factory.publish(logger, LogLevel.INFO, AsyncLoggerFactory.ARG1, format, arg1, null, null, null);
+        }
+    }
+
+    @Override
+    public void info(String format, Object arg1, Object arg2) {
+        if (logger.isInfoEnabled()) {
+            factory.publish(logger, LogLevel.INFO, AsyncLoggerFactory.ARG2, format, arg1, arg2, null, null);
+        }
+    }
+
+    @Override
+    public void info(String format, Object... args) {
+        if (logger.isInfoEnabled()) {
+            factory.publish(logger, LogLevel.INFO, AsyncLoggerFactory.ARGS, format, null, null, args, null);
+        }
+    }
+
+    @Override
+    public void info(String format, Throwable throwable) {
+        if (logger.isInfoEnabled()) {
+            factory.publish(logger, LogLevel.INFO, AsyncLoggerFactory.THROWABLE, format, null, null, null, throwable);
+        }
+    }
+
+    @Override
+    public void infoLong(String format, long arg) {
+        if (logger.isInfoEnabled()) {
+            factory.publish(logger, LogLevel.INFO, AsyncLoggerFactory.LONG1, format, arg, 0L);
+        }
+    }
+
+    @Override
+    public void infoLong(String format, long arg1, long arg2) {
+        if (logger.isInfoEnabled()) {
+            factory.publish(logger, LogLevel.INFO, AsyncLoggerFactory.LONG2, format, arg1, arg2);
+        }
+    }
+
+    @Override
+    public void warn(String format, Object arg1) {
+        if (logger.isWarnEnabled()) {
+            factory.publish(logger, LogLevel.WARN, AsyncLoggerFactory.ARG1, format, arg1, null, null, null);
+        }
+    }
+
+    @Override
+    public void warn(String format, Object arg1, Object arg2) {
+        if (logger.isWarnEnabled()) {
+            factory.publish(logger, LogLevel.WARN, AsyncLoggerFactory.ARG2, format, arg1, arg2, null, null);
+        }
+    }
+
+    @Override
+    public void warn(String format, Object... args) {
+        if (logger.isWarnEnabled()) {
+            factory.publish(logger, LogLevel.WARN, AsyncLoggerFactory.ARGS, format, null, null, args, null);
+        }
+    }
+
+    @Override
+    public void warn(String format, Throwable throwable) {
+        if (logger.isWarnEnabled()) {
+            factory.publish(logger, LogLevel.WARN, AsyncLoggerFactory.THROWABLE, format, null, null, null, throwable);
+        }
+    }
+
+    @Override
+    public void warnLong(String format, long arg) {
+        if (logger.isWarnEnabled()) {
+            factory.publish(logger, LogLevel.WARN, AsyncLoggerFactory.LONG1, format, arg, 0L);
+        }
+    }
+
+    @Override
+    public void warnLong(String format, long arg1, long arg2) {
+        if (logger.isWarnEnabled()) {
+            factory.publish(logger, LogLevel.WARN, AsyncLoggerFactory.LONG2, format, arg1, arg2);
+        }
+    }
+
+    @Override
+    public void error(String format, Object arg1) {
+        if (logger.isErrorEnabled()) {
+            factory.publish(logger, LogLevel.ERROR, AsyncLoggerFactory.ARG1, format, arg1, null, null, null);
+        }
+    }
+
+    @Override
+    public void error(String format, Object arg1, Object arg2) {
+        if (logger.isErrorEnabled()) {
+            factory.publish(logger, LogLevel.ERROR, AsyncLoggerFactory.ARG2, format, arg1, arg2, null, null);
+        }
+    }
+
+    @Override
+    public void error(String format, Object... args) {
+        if (logger.isErrorEnabled()) {
+            factory.publish(logger, LogLevel.ERROR, AsyncLoggerFactory.ARGS, format, null, null, args, null);
+        }
+    }
+
+    @Override
+    public void error(String format, Throwable throwable) {
+        if (logger.isErrorEnabled()) {
+            factory.publish(logger, LogLevel.ERROR, AsyncLoggerFactory.THROWABLE, format, null, null, null, throwable);
+        }
+    }
+
+    @Override
+    public void errorLong(String format, long arg) {
+        if (logger.isErrorEnabled()) {
+            factory.publish(logger, LogLevel.ERROR, AsyncLoggerFactory.LONG1, format, arg, 0L);
+        }
+    }
+
+    @Override
+    public void errorLong(String format, long arg1, long arg2) {
+        if (logger.isErrorEnabled()) {
+            factory.publish(logger, LogLevel.ERROR, AsyncLoggerFactory.LONG2, format, arg1, arg2);
+        }
+    }
+
+}
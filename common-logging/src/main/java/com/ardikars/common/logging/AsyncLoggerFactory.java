@@ -0,0 +1,285 @@
+package com.ardikars.common.logging;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * {@link LoggerFactory} decorator which logs asynchronously. A log call (if the level is enabled) captures
+ * the level, format and argument references into a preallocated slot of a bounded ring buffer, a background thread
+ * formats and dispatches the events to the delegate loggers in order. Arguments are formatted later,
+ * so they should not be mutated after the log call. After {@link #close()}, events are dispatched on the caller thread.
+ */
+final class AsyncLoggerFactory extends LoggerFactory {
+
+    enum OverflowPolicy {
+
+        /**
+         * Wait until the background thread frees a slot.
+         */
+        BLOCK,
+
+        /**
+         * Drop the event (counted and reported by the background thread).
+         */
+        DROP
+
+    }
+
+    static final int ARG1 = 0;
+    static final int ARG2 = 1;
+    static final int ARGS = 2;
+    static final int THROWABLE = 3;
+    static final int LONG1 = 4;
+    static final int LONG2 = 5;
+
+    private static final long PARK_NANOS = 1000000L;
+
+    private final LoggerFactory delegate;
+    private final OverflowPolicy overflowPolicy;
+    private final Event[] events;
+    private final AtomicLongArray sequences; // slot is writable at position, readable at position + 1
+    private final int mask;
+    private final AtomicLong tail = new AtomicLong();
+    private final AtomicLong dropped = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+    private final Thread thread;
+
+    private volatile long head;
+    private volatile boolean closed;
+    private volatile boolean stopped; // guarded by this, the background thread dispatched its last event
+
+    AsyncLoggerFactory(LoggerFactory delegate, int bufferSize, OverflowPolicy overflowPolicy) {
+        if (bufferSize < 2 || bufferSize > 1 << 24) {
+            throw new IllegalArgumentException(String.format("bufferSize: %d (expected: range(2, %d))", bufferSize, 1 << 24));
+        }
+        int capacity = Integer.highestOneBit(bufferSize - 1) << 1;
+        this.delegate = delegate;
+        this.overflowPolicy = overflowPolicy;
+        this.events = new Event[capacity];
+        this.sequences = new AtomicLongArray(capacity);
+        this.mask = capacity - 1;
+        for (int i = 0; i < capacity; i++) {
+            events[i] = new Event();
+            sequences.set(i, i);
+        }
+        this.thread = new Thread(new Runnable() {
+            @Override
+            public void run() {
+                consume();
+            }
+        }, "common-logging-async");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    @Override
+    Logger newInstance(String name) {
+        return new AsyncLogger(this, delegate.getCachedLogger(name));
+    }
+
+    /**
+     * Capture a log event, or dispatch it directly if called by the background thread (ex: by a backend).
+     */
+    void publish(Logger logger, LogLevel level, int kind, String format, Object arg1, Object arg2, Object[] args,
+                 Throwable throwable) {
+        publish(logger, level, kind, format, arg1, arg2, args, throwable, 0L, 0L);
+    }
+
+    /**
+     * Capture a log event with primitive arguments (without boxing).
+     */
+    void publish(Logger logger, LogLevel level, int kind, String format, long long1, long long2) {
+        publish(logger, level, kind, format, null, null, null, null, long1, long2);
+    }
+
+    private void publish(Logger logger, LogLevel level, int kind, String format, Object arg1, Object arg2, Object[] args,
+                         Throwable throwable, long long1, long long2) {
+        if (Thread.currentThread() == thread) {
+            dispatch(logger, level, kind, format, arg1, arg2, args, throwable, long1, long2);
+            return;
+        }
+        long position;
+        for (;;) {
+            if (closed) {
+                // checked before claiming a slot, nobody may consume it
+                dispatch(logger, level, kind, format, arg1, arg2, args, throwable, long1, long2);
+                return;
+            }
+            position = tail.get();
+            long sequence = sequences.get((int) position & mask);
+            if (sequence == position) {
+                if (tail.compareAndSet(position, position + 1)) {
+                    break;
+                }
+            } else if (sequence < position) {
+                // full
+                if (overflowPolicy == OverflowPolicy.DROP) {
+                    dropped.incrementAndGet();
+                    return;
+                }
+                LockSupport.unpark(thread);
+                Thread.yield();
+            }
+        }
+        int index = (int) position & mask;
+        Event event = events[index];
+        event.logger = logger;
+        event.level = level;
+        event.kind = kind;
+        event.format = format;
+        event.arg1 = arg1;
+        event.arg2 = arg2;
+        event.args = args;
+        event.throwable = throwable;
+        event.long1 = long1;
+        event.long2 = long2;
+        sequences.lazySet(index, position + 1);
+        if (closed) {
+            // claimed while closing, the background thread may have stopped before this slot was written
+            drainStopped();
+        }
+    }
+
+    /**
+     * Wait until all events published before this call are dispatched.
+     */
+    void flush() {
+        long target = tail.get();
+        while (head < target && thread.isAlive()) {
+            LockSupport.unpark(thread);
+            Thread.yield();
+        }
+    }
+
+    /**
+     * Dispatch remaining events (until the head catches the tail) and stop the background thread.
+     */
+    void close() {
+        closed = true;
+        LockSupport.unpark(thread);
+        try {
+            thread.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * @return returns number of dropped events.
+     */
+    long dropped() {
+        return dropped.get();
+    }
+
+    /**
+     * @return returns number of events which the delegate logger failed to log.
+     */
+    long failed() {
+        return failed.get();
+    }
+
+    private void consume() {
+        long reported = 0;
+        while (!closed) {
+            if (drain() == 0) {
+                long dropped = this.dropped.get();
+                if (dropped != reported) {
+                    delegate.getCachedLogger(AsyncLoggerFactory.class.getName())
+                            .warn("{} log events dropped, the buffer is full.", dropped - reported);
+                    reported = dropped;
+                }
+                LockSupport.parkNanos(this, PARK_NANOS);
+            }
+        }
+        synchronized (this) {
+            // wait for the events of slots claimed before close
+            while (head != tail.get()) {
+                if (drain() == 0) {
+                    Thread.yield();
+                }
+            }
+            stopped = true;
+        }
+    }
+
+    private synchronized void drainStopped() {
+        if (stopped) {
+            drain();
+        }
+    }
+
+    private int drain() {
+        long position = head;
+        int count = 0;
+        for (;;) {
+            int index = (int) position & mask;
+            if (sequences.get(index) != position + 1) {
+                break;
+            }
+            Event event = events[index];
+            dispatch(event.logger, event.level, event.kind, event.format, event.arg1, event.arg2, event.args, event.throwable,
+                    event.long1, event.long2);
+            event.clear();
+            sequences.lazySet(index, position + events.length);
+            position++;
+            count++;
+        }
+        head = position;
+        return count;
+    }
+
+    private void dispatch(Logger logger, LogLevel level, int kind, String format, Object arg1, Object arg2,
+                                 Object[] args, Throwable throwable, long long1, long long2) {
+        try {
+            switch (kind) {
+                case ARG1:
+                    logger.log(level, format, arg1);
+                    break;
+                case ARG2:
+                    logger.log(level, format, arg1, arg2);
+                    break;
+                case ARGS:
+                    logger.log(level, format, args);
+                    break;
+                case LONG1:
+                    Loggers.logLong(logger, level, format, long1);
+                    break;
+                case LONG2:
+                    Loggers.logLong(logger, level, format, long1, long2);
+                    break;
+                default:
+                    logger.log(level, format, throwable);
+                    break;
+            }
+        } catch (Throwable e) {
+            // a failing backend must not stop the background thread
+            failed.incrementAndGet();
+        }
+    }
+
+    private static final class Event {
+
+        private Logger logger;
+        private LogLevel level;
+        private int kind;
+        private String format;
+        private Object arg1;
+        private Object arg2;
+        private Object[] args;
+        private Throwable throwable;
+        private long long1;
+        private long long2;
+
+        void clear() {
+            logger = null;
+            format = null;
+            arg1 = null;
+            arg2 = null;
+            args = null;
+            throwable = null;
+        }
+
+    }
+
+}
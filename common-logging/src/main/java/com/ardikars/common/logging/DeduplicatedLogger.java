@@ -0,0 +1,122 @@
+package com.ardikars.common.logging;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Forwards each distinct message format at most once per interval, the number of suppressed repeats is logged
+ * before the next forwarded event of the same format or by the periodic flush (once per interval, which also forgets
+ * formats not logged during the last interval), whichever comes first. At most {@link #MAX_FORMATS} formats are tracked, if the table
+ * is full, formats which were not logged during the last interval are evicted (at most once per interval, the pending
+ * suppressed count of an evicted format is logged). Events of formats which still don't fit are forwarded as is.
+ */
+final class DeduplicatedLogger extends FilteredLogger {
+
+    static final String SUPPRESSED_FORMAT = "Suppressed {} repeated messages: {}";
+    static final int MAX_FORMATS = 1024;
+
+    private final long intervalNanos;
+    private final ConcurrentMap<String, Entry> entries = new ConcurrentHashMap<String, Entry>();
+    private final AtomicLong nextEviction = new AtomicLong(System.nanoTime());
+
+    DeduplicatedLogger(Logger logger, long interval, TimeUnit unit) {
+        super(logger);
+        if (interval < 1) {
+            throw new IllegalArgumentException(String.format("interval: %d (expected: > 0)", interval));
+        }
+        this.intervalNanos = unit.toNanos(interval);
+        scheduleFlush(intervalNanos);
+    }
+
+    @Override
+    boolean accept(LogLevel level, String format) {
+        if (format == null) {
+            return true;
+        }
+        long now = System.nanoTime();
+        Entry entry = entries.get(format);
+        if (entry == null) {
+            if (entries.size() >= MAX_FORMATS && !evictIdle(now)) {
+                return true;
+            }
+            Entry newEntry = new Entry(intervalNanos, now, level);
+            entry = entries.putIfAbsent(format, newEntry);
+            if (entry == null) {
+                entry = newEntry;
+            }
+        }
+        if (!entry.tryAcquire()) {
+            entry.suppressed.incrementAndGet();
+            return false;
+        }
+        entry.lastSeen = now;
+        entry.level = level;
+        if (entry.suppressed.get() > 0) {
+            long count = entry.suppressed.getAndSet(0);
+            if (count > 0) {
+                logger.log(level, SUPPRESSED_FORMAT, count, format);
+            }
+        }
+        return true;
+    }
+
+    @Override
+    void flush() {
+        long now = System.nanoTime();
+        Iterator<Map.Entry<String, Entry>> iterator = entries.entrySet().iterator();
+        while (iterator.hasNext()) {
+            Map.Entry<String, Entry> mapEntry = iterator.next();
+            Entry entry = mapEntry.getValue();
+            if (now - entry.lastSeen > intervalNanos) {
+                entries.remove(mapEntry.getKey(), entry);
+            }
+            long count = entry.suppressed.getAndSet(0);
+            if (count > 0) {
+                logger.log(entry.level, SUPPRESSED_FORMAT, count, mapEntry.getKey());
+            }
+        }
+    }
+
+    /**
+     * Remove formats which were not logged during the last interval, by one thread at most once per interval.
+     * @param now current time in nanos.
+     * @return returns true if there is room for a new format.
+     */
+    private boolean evictIdle(long now) {
+        long next = nextEviction.get();
+        if (now - next < 0 || !nextEviction.compareAndSet(next, now + intervalNanos)) {
+            return false;
+        }
+        Iterator<Map.Entry<String, Entry>> iterator = entries.entrySet().iterator();
+        while (iterator.hasNext()) {
+            Map.Entry<String, Entry> mapEntry = iterator.next();
+            Entry entry = mapEntry.getValue();
+            if (now - entry.lastSeen > intervalNanos && entries.remove(mapEntry.getKey(), entry)) {
+                long count = entry.suppressed.getAndSet(0);
+                if (count > 0) {
+                    logger.log(entry.level, SUPPRESSED_FORMAT, count, mapEntry.getKey());
+                }
+            }
+        }
+        return entries.size() < MAX_FORMATS;
+    }
+
+    private static final class Entry extends TokenBucket {
+
+        private final AtomicLong suppressed = new AtomicLong();
+        private volatile long lastSeen;
+        private volatile LogLevel level;
+
+        Entry(long intervalNanos, long now, LogLevel level) {
+            super(1, intervalNanos);
+            this.lastSeen = now;
+            this.level = level;
+        }
+
+    }
+
+}
@@ -0,0 +1,304 @@
+package com.ardikars.common.logging;
+
+import java.lang.ref.WeakReference;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Logger which forwards enabled events to another logger only if accepted by {@link #accept(LogLevel, String)}.
+ * The level is checked first, so disabled events never consume the filter budget.
+ */
+abstract class FilteredLogger extends AbstractLogger {
+
+    final Logger logger;
+
+    FilteredLogger(Logger logger) {
+        super(logger.name());
+        this.logger = logger;
+    }
+
+    /**
+     * Decide whether an (enabled) event is forwarded, may log a summary of previously rejected events.
+     * @param level log level.
+     * @param format message or message format.
+     * @return returns true if the event should be forwarded, false otherwise.
+     */
+    abstract boolean accept(LogLevel level, String format);
+
+    /**
+     * Log a summary of rejected events which are still pending, called periodically once {@link #scheduleFlush(long)}
+     * is called (doesn't wait for the next accepted event).
+     */
+    void flush() {
+    }
+
+    /**
+     * Call {@link #flush()} periodically by a shared daemon thread, the task is cancelled once this logger is garbage collected.
+     * @param periodNanos period in nanos.
+     */
+    final void scheduleFlush(long periodNanos) {
+        FlushTask task = new FlushTask(this);
+        task.future = Flusher.EXECUTOR.scheduleWithFixedDelay(task, periodNanos, periodNanos, TimeUnit.NANOSECONDS);
+    }
+
+    @Override
+    public boolean isDebugEnabled() {
+        return logger.isDebugEnabled();
+    }
+
+    @Override
+    public boolean isInfoEnabled() {
+        return logger.isInfoEnabled();
+    }
+
+    @Override
+    public boolean isWarnEnabled() {
+        return logger.isWarnEnabled();
+    }
+
+    @Override
+    public boolean isErrorEnabled() {
+        return logger.isErrorEnabled();
+    }
+
+    @Override
+    public void debug(String message) {
+        if (logger.isDebugEnabled() && accept(LogLevel.DEBUG, message)) {
+            logger.debug(message);
+        }
+    }
+
+    @Override
+    public void debug(String format, Object arg1) {
+        if (logger.isDebugEnabled() && accept(LogLevel.DEBUG, format)) {
+            logger.debug(format, arg1);
+        }
+    }
+
+    @Override
+    public void debug(String format, Object arg1, Object arg2) {
+        if (logger.isDebugEnabled() && accept(LogLevel.DEBUG, format)) {
+            logger.debug(format, arg1, arg2);
+        }
+    }
+
+    @Override
+    public void debug(String format, Object... args) {
+        if (logger.isDebugEnabled() && accept(LogLevel.DEBUG, format)) {
+            logger.debug(format, args);
+        }
+    }
+
+    @Override
+    public void debug(String format, Throwable throwable) {
+        if (logger.isDebugEnabled() && accept(LogLevel.DEBUG, format)) {
+            logger.debug(format, throwable);
+        }
+    }
+
+    @Override
+    public void debugLong(String format, long arg) {
+        if (logger.isDebugEnabled() && accept(LogLevel.DEBUG, format)) {
+            Loggers.debugLong(logger, format, arg);
+        }
+    }
+
+    @Override
+    public void debugLong(String format, long arg1, long arg2) {
+        if (logger.isDebugEnabled() && accept(LogLevel.DEBUG, format)) {
+            Loggers.debugLong(logger, format, arg1, arg2);
+        }
+    }
+
+    @Override
+    public void info(String message) {
+        if (logger.isInfoEnabled() && accept(LogLevel.INFO, message)) {
+            logger.info(message);
+        }
+    }
+
+    @Override
+    public void info(String format, Object arg1) {
+        if (logger.isInfoEnabled() && accept(LogLevel.INFO, format)) {
+            logger.info(format, arg1);
+        }
+    }
+
+    @Override
+    public void info(String format, Object arg1, Object arg2) {
+        if (logger.isInfoEnabled() && accept(LogLevel.INFO, format)) {
+            logger.info(format, arg1, arg2);
+        }
+    }
+
+    @Override
+    public void info(String format, Object... args) {
+        if (logger.isInfoEnabled() && accept(LogLevel.INFO, format)) {
+            logger.info(format, args);
+        }
+    }
+
+    @Override
+    public void info(String format, Throwable throwable) {
+        if (logger.isInfoEnabled() && accept(LogLevel.INFO, format)) {
+            logger.info(format, throwable);
+        }
+    }
+
+    @Override
+    public void infoLong(String format, long arg) {
+        if (logger.isInfoEnabled() && accept(LogLevel.INFO, format)) {
+            Loggers.infoLong(logger, format, arg);
+        }
+    }
+
+    @Override
+    public void infoLong(String format, long arg1, long arg2) {
+        if (logger.isInfoEnabled() && accept(LogLevel.INFO, format)) {
+            Loggers.infoLong(logger, format, arg1, arg2);
+        }
+    }
+
+    @Override
+    public void warn(String message) {
+        if (logger.isWarnEnabled() && accept(LogLevel.WARN, message)) {
+            logger.warn(message);
+        }
+    }
+
+    @Override
+    public void warn(String format, Object arg1) {
+        if (logger.isWarnEnabled() && accept(LogLevel.WARN, format)) {
+            logger.warn(format, arg1);
+        }
+    }
+
+    @Override
+    public void warn(String format, Object arg1, Object arg2) {
+        if (logger.isWarnEnabled() && accept(LogLevel.WARN, format)) {
+            logger.warn(format, arg1, arg2);
+        }
+    }
+
+    @Override
+    public void warn(String format, Object... args) {
+        if (logger.isWarnEnabled() && accept(LogLevel.WARN, format)) {
+            logger.warn(format, args);
+        }
+    }
+
+    @Override
+    public void warn(String format, Throwable throwable) {
+        if (logger.isWarnEnabled() && accept(LogLevel.WARN, format)) {
+            logger.warn(format, throwable);
+        }
+    }
+
+    @Override
+    public void warnLong(String format, long arg) {
+        if (logger.isWarnEnabled() && accept(LogLevel.WARN, format)) {
+            Loggers.warnLong(logger, format, arg);
+        }
+    }
+
+    @Override
+    public void warnLong(String format, long arg1, long arg2) {
+        if (logger.isWarnEnabled() && accept(LogLevel.WARN, format)) {
+            Loggers.warnLong(logger, format, arg1, arg2);
+        }
+    }
+
+    @Override
+    public void error(String message) {
+        if (logger.isErrorEnabled() && accept(LogLevel.ERROR, message)) {
+            logger.error(message);
+        }
+    }
+
+    @Override
+    public void error(String format, Object arg1) {
+        if (logger.isErrorEnabled() && accept(LogLevel.ERROR, format)) {
+            logger.error(format, arg1);
+        }
+    }
+
+    @Override
+    public void error(String format, Object arg1, Object arg2) {
+        if (logger.isErrorEnabled() && accept(LogLevel.ERROR, format)) {
+            logger.error(format, arg1, arg2);
+        }
+    }
+
+    @Override
+    public void error(String format, Object... args) {
+        if (logger.isErrorEnabled() && accept(LogLevel.ERROR, format)) {
+            logger.error(format, args);
+        }
+    }
+
+    @Override
+    public void error(String format, Throwable throwable) {
+        if (logger.isErrorEnabled() && accept(LogLevel.ERROR, format)) {
+            logger.error(format, throwable);
+        }
+    }
+
+    @Override
+    public void errorLong(String format, long arg) {
+        if (logger.isErrorEnabled() && accept(LogLevel.ERROR, format)) {
+            Loggers.errorLong(logger, format, arg);
+        }
+    }
+
+    @Override
+    public void errorLong(String format, long arg1, long arg2) {
+        if (logger.isErrorEnabled() && accept(LogLevel.ERROR, format)) {
+            Loggers.errorLong(logger, format, arg1, arg2);
+        }
+    }
+
+    private static final class FlushTask implements Runnable {
+
+        private final WeakReference<FilteredLogger> reference;
+        private volatile ScheduledFuture<?> future;
+
+        FlushTask(FilteredLogger logger) {
+            this.reference = new WeakReference<FilteredLogger>(logger);
+        }
+
+        @Override
+        public void run() {
+            FilteredLogger logger = reference.get();
+            if (logger == null) {
+                ScheduledFuture<?> future = this.future;
+                if (future != null) {
+                    future.cancel(false);
+                }
+                return;
+            }
+            try {
+                logger.flush();
+            } catch (RuntimeException e) {
+                // a failing backend shouldn't cancel the task
+            }
+        }
+
+    }
+
+    private static final class Flusher {
+
+        private static final ScheduledExecutorService EXECUTOR = new ScheduledThreadPoolExecutor(1, new ThreadFactory() {
+            @Override
+            public Thread newThread(Runnable runnable) {
+                Thread thread = new Thread(runnable, "common-logging-flush");
+                thread.setDaemon(true);
+                return thread;
+            }
+        });
+
+    }
+
+}
@@ -3,7 +3,7 @@ package com.ardikars.common.logging;
 import org.apache.logging.log4j.spi.ExtendedLogger;
 import org.apache.logging.log4j.spi.ExtendedLoggerWrapper;
 
-class Log4j2Logger extends ExtendedLoggerWrapper implements Logger {
+class Log4j2Logger extends ExtendedLoggerWrapper implements PrimitiveLogger {
 
     public Log4j2Logger(org.apache.logging.log4j.Logger logger) {
         super((ExtendedLogger) logger, logger.getName(), logger.getMessageFactory());
@@ -150,6 +150,46 @@ class Log4j2Logger extends ExtendedLoggerWrapper implements Logger {
         }
     }
 
+    @Override
+    public void logLong(LogLevel level, String format, long arg) {
+        switch (level) {
+            case DEBUG:
+                debugLong(format, arg);
+                break;
+            case INFO:
+                infoLong(format, arg);
+                break;
+            case WARN:
+                warnLong(format, arg);
+                break;
+            case ERROR:
+                errorLong(format, arg);
+                break;
+            default:
+                throw new Error("Unknown log level");
+        }
+    }
+
+    @Override
+    public void logLong(LogLevel level, String format, long arg1, long arg2) {
+        switch (level) {
+            case DEBUG:
+                debugLong(format, arg1, arg2);
+                break;
+            case INFO:
+                infoLong(format, arg1, arg2);
+                break;
+            case WARN:
+                warnLong(format, arg1, arg2);
+                break;
+            case ERROR:
+                errorLong(format, arg1, arg2);
+                break;
+            default:
+                throw new Error("Unknown log level");
+        }
+    }
+
     @Override
     public void debug(Throwable throwable) {
         super.debug(throwable);
@@ -170,4 +210,60 @@ class Log4j2Logger extends ExtendedLoggerWrapper implements Logger {
         super.error(throwable);
     }
 
+    @Override
+    public void debugLong(String format, long arg) {
+        if (isDebugEnabled()) {
+            super.debug(MessageFormatter.formatMessage(format, arg));
+        }
+    }
+
+    @Override
+    public void debugLong(String format, long arg1, long arg2) {
+        if (isDebugEnabled()) {
+            super.debug(MessageFormatter.formatMessage(format, arg1, arg2));
+        }
+    }
+
+    @Override
+    public void infoLong(String format, long arg) {
+        if (isInfoEnabled()) {
+            super.info(MessageFormatter.formatMessage(format, arg));
+        }
+    }
+
+    @Override
+    public void infoLong(String format, long arg1, long arg2) {
+        if (isInfoEnabled()) {
+            super.info(MessageFormatter.formatMessage(format, arg1, arg2));
+        }
+    }
+
+    @Override
+    public void warnLong(String format, long arg) {
+        if (isWarnEnabled()) {
+            super.warn(MessageFormatter.formatMessage(format, arg));
+        }
+    }
+
+    @Override
+    public void warnLong(String format, long arg1, long arg2) {
+        if (isWarnEnabled()) {
+            super.warn(MessageFormatter.formatMessage(format, arg1, arg2));
+        }
+    }
+
+    @Override
+    public void errorLong(String format, long arg) {
+        if (isErrorEnabled()) {
+            super.error(MessageFormatter.formatMessage(format, arg));
+        }
+    }
+
+    @Override
+    public void errorLong(String format, long arg1, long arg2) {
+        if (isErrorEnabled()) {
+            super.error(MessageFormatter.formatMessage(format, arg1, arg2));
+        }
+    }
+
 }
@@ -1,18 +1,14 @@
 package com.ardikars.common.logging;
 
-public abstract class LoggerFactory {
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
-    private static volatile LoggerFactory DEFAULT_LOGGER_FACTORY;
+public abstract class LoggerFactory {
 
-    private static LoggerFactory getDefaultLoggerFactory() {
-        if (DEFAULT_LOGGER_FACTORY == null) {
-            DEFAULT_LOGGER_FACTORY = newDefaultFactory();
-        }
-        return DEFAULT_LOGGER_FACTORY;
-    }
+    private final ConcurrentMap<String, Logger> loggers = new ConcurrentHashMap<String, Logger>();
 
     public static Logger getLogger(String name) {
-        return getDefaultLoggerFactory().newInstance(name);
+        return DefaultLoggerFactory.INSTANCE.getCachedLogger(name);
     }
 
     public static Logger getLogger(Class<?> clazz) {
@@ -38,9 +34,58 @@ public abstract class LoggerFactory {
         } catch (Throwable e) {
             throw new RuntimeException(e);
         }
+        if (Boolean.getBoolean("common.logging.async")) {
+            loggerFactory = newAsyncFactory(loggerFactory);
+        }
         return loggerFactory;
     }
 
+    /**
+     * Wrap the backend with {@link AsyncLoggerFactory}, configured by system properties:
+     * {@code common.logging.async.bufferSize} (default 8192) and
+     * {@code common.logging.async.overflow} ({@code block} (default) or {@code drop}).
+     * Pending events are flushed on JVM shutdown.
+     */
+    private static LoggerFactory newAsyncFactory(LoggerFactory backend) {
+        int bufferSize = Integer.getInteger("common.logging.async.bufferSize", 8192);
+        AsyncLoggerFactory.OverflowPolicy overflowPolicy = AsyncLoggerFactory.OverflowPolicy.valueOf(
+                System.getProperty("common.logging.async.overflow", "block").trim().toUpperCase());
+        final AsyncLoggerFactory asyncLoggerFactory = new AsyncLoggerFactory(backend, bufferSize, overflowPolicy);
+        Runtime.getRuntime().addShutdownHook(new Thread(new Runnable() {
+            @Override
+            public void run() {
+                asyncLoggerFactory.close();
+            }
+        }, "common-logging-async-shutdown"));
+        return asyncLoggerFactory;
+    }
+
+    /**
+     * Get logger by name, a logger is created once per name and reused by later lookups.
+     * @param name logger name.
+     * @return returns {@link Logger}.
+     */
+    final Logger getCachedLogger(String name) {
+        Logger logger = loggers.get(name);
+        if (logger == null) {
+            Logger newLogger = newInstance(name);
+            logger = loggers.putIfAbsent(name, newLogger);
+            if (logger == null) {
+                logger = newLogger;
+            }
+        }
+        return logger;
+    }
+
     abstract Logger newInstance(String name);
 
+    /**
+     * Default logger factory, the backend is detected once (on first use) and safely published by class initialization.
+     */
+    private static final class DefaultLoggerFactory {
+
+        static final LoggerFactory INSTANCE = newDefaultFactory();
+
+    }
+
 }
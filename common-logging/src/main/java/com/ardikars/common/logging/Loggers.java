@@ -0,0 +1,161 @@
+package com.ardikars.common.logging;
+
+import com.ardikars.common.annotation.Helper;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Decorators of {@link Logger} which filter log events before they are forwarded to the decorated logger.
+ * The returned logger should be kept and reused (ex: in a static field), each call creates a new filter state.
+ * Also logs primitive arguments without boxing.
+ */
+@Helper
+public final class Loggers {
+
+    private Loggers() {
+    }
+
+    /**
+     * Logger which forwards at most {@code permitsPerSecond} events per second (lock-free token bucket,
+     * bursts up to one second worth of events), the number of suppressed events is logged before the next forwarded event
+     * or once per second by a background thread, whichever comes first.
+     * @param logger logger.
+     * @param permitsPerSecond maximum number of events per second.
+     * @return returns rate limited {@link Logger}.
+     * @throws IllegalArgumentException if {@code permitsPerSecond} is less than 1.
+     */
+    public static Logger rateLimited(Logger logger, int permitsPerSecond) {
+        return new RateLimitedLogger(checkLogger(logger), permitsPerSecond);
+    }
+
+    /**
+     * Logger which forwards one of every {@code rate} events.
+     * @param logger logger.
+     * @param rate sampling rate (1 in {@code rate}).
+     * @return returns sampled {@link Logger}.
+     * @throws IllegalArgumentException if {@code rate} is less than 1.
+     */
+    public static Logger sampled(Logger logger, int rate) {
+        return new SampledLogger(checkLogger(logger), rate);
+    }
+
+    /**
+     * Logger which forwards each distinct message format at most once per interval,
+     * the number of suppressed repeats is logged before the next forwarded event of the same format
+     * or once per interval by a background thread, whichever comes first.
+     * Formats which are not logged for longer than the interval are forgotten.
+     * @param logger logger.
+     * @param interval interval.
+     * @param unit interval unit.
+     * @return returns deduplicated {@link Logger}.
+     * @throws IllegalArgumentException if {@code interval} is less than 1.
+     */
+    public static Logger deduplicated(Logger logger, long interval, TimeUnit unit) {
+        return new DeduplicatedLogger(checkLogger(logger), interval, unit);
+    }
+
+    /**
+     * Log a primitive argument through given logger, without boxing if it's one of the loggers of this package
+     * (nothing is allocated if the level is disabled). The distinct name keeps {@code char}, {@code short}
+     * and {@code int} arguments of the {@code Object} overloads from being widened to {@code long}.
+     * @param logger logger.
+     * @param level log level.
+     * @param format message format.
+     * @param arg argument.
+     */
+    public static void logLong(Logger logger, LogLevel level, String format, long arg) {
+        if (logger instanceof PrimitiveLogger) {
+            ((PrimitiveLogger) logger).logLong(level, format, arg);
+        } else if (logger.isEnabled(level)) {
+            logger.log(level, format, Long.valueOf(arg));
+        }
+    }
+
+    /**
+     * Log two primitive arguments through given logger, see {@link #logLong(Logger, LogLevel, String, long)}.
+     * @param logger logger.
+     * @param level log level.
+     * @param format message format.
+     * @param arg1 first argument.
+     * @param arg2 second argument.
+     */
+    public static void logLong(Logger logger, LogLevel level, String format, long arg1, long arg2) {
+        if (logger instanceof PrimitiveLogger) {
+            ((PrimitiveLogger) logger).logLong(level, format, arg1, arg2);
+        } else if (logger.isEnabled(level)) {
+            logger.log(level, format, Long.valueOf(arg1), Long.valueOf(arg2));
+        }
+    }
+
+    public static void debugLong(Logger logger, String format, long arg) {
+        if (logger instanceof PrimitiveLogger) {
+            ((PrimitiveLogger) logger).debugLong(format, arg);
+        } else if (logger.isDebugEnabled()) {
+            logger.debug(format, Long.valueOf(arg));
+        }
+    }
+
+    public static void debugLong(Logger logger, String format, long arg1, long arg2) {
+        if (logger instanceof PrimitiveLogger) {
+            ((PrimitiveLogger) logger).debugLong(format, arg1, arg2);
+        } else if (logger.isDebugEnabled()) {
+            logger.debug(format, Long.valueOf(arg1), Long.valueOf(arg2));
+        }
+    }
+
+    public static void infoLong(Logger logger, String format, long arg) {
+        if (logger instanceof PrimitiveLogger) {
+            ((PrimitiveLogger) logger).infoLong(format, arg);
+        } else if (logger.isInfoEnabled()) {
+            logger.info(format, Long.valueOf(arg));
+        }
+    }
+
+    public static void infoLong(Logger logger, String format, long arg1, long arg2) {
+        if (logger instanceof PrimitiveLogger) {
+            ((PrimitiveLogger) logger).infoLong(format, arg1, arg2);
+        } else if (logger.isInfoEnabled()) {
+            logger.info(format, Long.valueOf(arg1), Long.valueOf(arg2));
+        }
+    }
+
+    public static void warnLong(Logger logger, String format, long arg) {
+        if (logger instanceof PrimitiveLogger) {
+            ((PrimitiveLogger) logger).warnLong(format, arg);
+        } else if (logger.isWarnEnabled()) {
+            logger.warn(format, Long.valueOf(arg));
+        }
+    }
+
+    public static void warnLong(Logger logger, String format, long arg1, long arg2) {
+        if (logger instanceof PrimitiveLogger) {
+            ((PrimitiveLogger) logger).warnLong(format, arg1, arg2);
+        } else if (logger.isWarnEnabled()) {
+            logger.warn(format, Long.valueOf(arg1), Long.valueOf(arg2));
+        }
+    }
+
+    public static void errorLong(Logger logger, String format, long arg) {
+        if (logger instanceof PrimitiveLogger) {
+            ((PrimitiveLogger) logger).errorLong(format, arg);
+        } else if (logger.isErrorEnabled()) {
+            logger.error(format, Long.valueOf(arg));
+        }
+    }
+
+    public static void errorLong(Logger logger, String format, long arg1, long arg2) {
+        if (logger instanceof PrimitiveLogger) {
+            ((PrimitiveLogger) logger).errorLong(format, arg1, arg2);
+        } else if (logger.isErrorEnabled()) {
+            logger.error(format, Long.valueOf(arg1), Long.valueOf(arg2));
+        }
+    }
+
+    private static Logger checkLogger(Logger logger) {
+        if (logger == null) {
+            throw new IllegalArgumentException("logger: null (expected: non null)");
+        }
+        return logger;
+    }
+
+}
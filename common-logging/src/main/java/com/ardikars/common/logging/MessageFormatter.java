@@ -25,7 +25,7 @@
 package com.ardikars.common.logging;
 
 import java.text.MessageFormat;
-import java.util.HashMap;
+import java.util.IdentityHashMap;
 import java.util.Map;
 
 // contributors: lizongbo: proposed special treatment of array parameter values
@@ -102,6 +102,16 @@ final class MessageFormatter {
     static final String DELIM_STR = "{}";
     private static final char ESCAPE_CHAR = '\\';
 
+    private static final int INITIAL_CAPACITY = 256;
+    private static final int MAX_REUSABLE_CAPACITY = 4096; // larger builders are not retained by the thread
+
+    private static final ThreadLocal<ReusableBuilder> BUILDERS = new ThreadLocal<ReusableBuilder>() {
+        @Override
+        protected ReusableBuilder initialValue() {
+            return new ReusableBuilder();
+        }
+    };
+
     /**
      * Performs single argument substitution for the 'messagePattern' passed as
      * parameter.
@@ -122,7 +132,10 @@ final class MessageFormatter {
      * @return The formatted message
      */
     final public static FormattingTuple format(String messagePattern, Object arg) {
-        return arrayFormat(messagePattern, new Object[] { arg });
+        if (arg instanceof Throwable) {
+            return format(messagePattern, 0, null, null, (Throwable) arg);
+        }
+        return format(messagePattern, 1, arg, null, null);
     }
 
     /**
@@ -149,7 +162,98 @@ final class MessageFormatter {
      * @return The formatted message
      */
     final public static FormattingTuple format(final String messagePattern, Object arg1, Object arg2) {
-        return arrayFormat(messagePattern, new Object[] { arg1, arg2 });
+        if (arg2 instanceof Throwable) {
+            return format(messagePattern, 1, arg1, null, (Throwable) arg2);
+        }
+        return format(messagePattern, 2, arg1, arg2, null);
+    }
+
+    /**
+     * Performs single primitive argument substitution, without boxing.
+     *
+     * @param messagePattern
+     *          The message pattern which will be parsed and formatted
+     * @param arg
+     *          The argument to be substituted in place of the formatting anchor
+     * @return The formatted message
+     */
+    final static String formatMessage(String messagePattern, long arg) {
+        if (messagePattern == null || messagePattern.indexOf(DELIM_STR) < 0) {
+            return messagePattern;
+        }
+        ReusableBuilder builder = acquire();
+        try {
+            StringBuilder sbuf = builder.sbuf;
+            int i = appendToAnchor(sbuf, messagePattern, 0);
+            if (i >= 0) {
+                sbuf.append(arg);
+                sbuf.append(messagePattern, i, messagePattern.length());
+            }
+            return sbuf.toString();
+        } finally {
+            release(builder);
+        }
+    }
+
+    /**
+     * Performs two primitive arguments substitution, without boxing.
+     *
+     * @param messagePattern
+     *          The message pattern which will be parsed and formatted
+     * @param arg1
+     *          The argument to be substituted in place of the first formatting
+     *          anchor
+     * @param arg2
+     *          The argument to be substituted in place of the second formatting
+     *          anchor
+     * @return The formatted message
+     */
+    final static String formatMessage(String messagePattern, long arg1, long arg2) {
+        if (messagePattern == null || messagePattern.indexOf(DELIM_STR) < 0) {
+            return messagePattern;
+        }
+        ReusableBuilder builder = acquire();
+        try {
+            StringBuilder sbuf = builder.sbuf;
+            int i = appendToAnchor(sbuf, messagePattern, 0);
+            if (i >= 0) {
+                sbuf.append(arg1);
+                i = appendToAnchor(sbuf, messagePattern, i);
+                if (i >= 0) {
+                    sbuf.append(arg2);
+                    sbuf.append(messagePattern, i, messagePattern.length());
+                }
+            }
+            return sbuf.toString();
+        } finally {
+            release(builder);
+        }
+    }
+
+    private static FormattingTuple format(String messagePattern, int count, Object arg1, Object arg2, Throwable throwable) {
+        if (messagePattern == null || count == 0 || messagePattern.indexOf(DELIM_STR) < 0) {
+            return new FormattingTuple(messagePattern, null, throwable);
+        }
+        ReusableBuilder builder = acquire();
+        try {
+            StringBuilder sbuf = builder.sbuf;
+            int i = appendToAnchor(sbuf, messagePattern, 0);
+            if (i >= 0) {
+                deeplyAppendParameter(sbuf, arg1, null);
+                if (count > 1) {
+                    i = appendToAnchor(sbuf, messagePattern, i);
+                    if (i >= 0) {
+                        deeplyAppendParameter(sbuf, arg2, null);
+                    }
+                }
+                if (i >= 0) {
+                    sbuf.append(messagePattern, i, messagePattern.length());
+                }
+            }
+            return new FormattingTuple(sbuf.toString(), null, throwable);
+        } finally {
+            release(builder);
+        }
     }
 
 
@@ -167,24 +271,18 @@ final class MessageFormatter {
 
     final public static FormattingTuple arrayFormat(final String messagePattern, final Object[] argArray) {
         Throwable throwableCandidate = getThrowableCandidate(argArray);
-        Object[] args = argArray;
         if (throwableCandidate != null) {
-            args = trimmedCopy(argArray);
+            // the throwable is not substituted, no need to copy the trimmed arguments
+            return arrayFormat(messagePattern, argArray, argArray.length - 1, throwableCandidate);
         }
-        return arrayFormat(messagePattern, args, throwableCandidate);
+        return arrayFormat(messagePattern, argArray, argArray == null ? 0 : argArray.length, null);
     }
 
-    private static Object[] trimmedCopy(Object[] argArray) {
-        if (argArray == null || argArray.length == 0) {
-            throw new IllegalStateException("non-sensical empty or null argument array");
-        }
-        final int trimemdLen = argArray.length - 1;
-        Object[] trimmed = new Object[trimemdLen];
-        System.arraycopy(argArray, 0, trimmed, 0, trimemdLen);
-        return trimmed;
+    final public static FormattingTuple arrayFormat(final String messagePattern, final Object[] argArray, Throwable throwable) {
+        return arrayFormat(messagePattern, argArray, argArray == null ? 0 : argArray.length, throwable);
     }
 
-    final public static FormattingTuple arrayFormat(final String messagePattern, final Object[] argArray, Throwable throwable) {
+    private static FormattingTuple arrayFormat(String messagePattern, Object[] argArray, int count, Throwable throwable) {
 
         if (messagePattern == null) {
             return new FormattingTuple(null, argArray, throwable);
@@ -194,51 +292,83 @@ final class MessageFormatter {
             return new FormattingTuple(messagePattern);
         }
 
-        int i = 0;
-        int j;
-        // use string builder for better multicore performance
-        StringBuilder sbuf = new StringBuilder(messagePattern.length() + 50);
-
-        int L;
-        for (L = 0; L < argArray.length; L++) {
+        if (count == 0 || messagePattern.indexOf(DELIM_STR) < 0) { // this is a simple string
+            return new FormattingTuple(messagePattern, argArray, throwable);
+        }
 
-            j = messagePattern.indexOf(DELIM_STR, i);
+        ReusableBuilder builder = acquire();
+        try {
+            StringBuilder sbuf = builder.sbuf;
+            int i = 0;
+            for (int l = 0; l < count; l++) {
+                i = appendToAnchor(sbuf, messagePattern, i);
+                if (i < 0) { // no more variables
+                    return new FormattingTuple(sbuf.toString(), argArray, throwable);
+                }
+                deeplyAppendParameter(sbuf, argArray[l], null);
+            }
+            // append the characters following the last {} pair.
+            sbuf.append(messagePattern, i, messagePattern.length());
+            return new FormattingTuple(sbuf.toString(), argArray, throwable);
+        } finally {
+            release(builder);
+        }
+    }
 
+    /**
+     * Appends the pattern from the given index up to the next formatting anchor (escaped anchors are unescaped).
+     *
+     * @return The index following the anchor, or -1 if there are no more
+     *          anchors (the rest of the pattern is appended)
+     */
+    private static int appendToAnchor(StringBuilder sbuf, String messagePattern, int from) {
+        int i = from;
+        for (;;) {
+            int j = messagePattern.indexOf(DELIM_STR, i);
             if (j == -1) {
-                // no more variables
-                if (i == 0) { // this is a simple string
-                    return new FormattingTuple(messagePattern, argArray, throwable);
-                } else { // add the tail string which contains no variables and return
-                    // the result.
-                    sbuf.append(messagePattern, i, messagePattern.length());
-                    return new FormattingTuple(sbuf.toString(), argArray, throwable);
+                sbuf.append(messagePattern, i, messagePattern.length());
+                return -1;
+            }
+            if (isEscapedDelimeter(messagePattern, j)) {
+                if (!isDoubleEscaped(messagePattern, j)) {
+                    // DELIM_START was escaped, thus should not be substituted
+                    sbuf.append(messagePattern, i, j - 1);
+                    sbuf.append(DELIM_START);
+                    i = j + 1;
+                    continue;
                 }
+                // The escape character preceding the delimiter start is
+                // itself escaped: "abc x:\\{}"
+                // we have to consume one backward slash
+                sbuf.append(messagePattern, i, j - 1);
             } else {
-                if (isEscapedDelimeter(messagePattern, j)) {
-                    if (!isDoubleEscaped(messagePattern, j)) {
-                        L--; // DELIM_START was escaped, thus should not be incremented
-                        sbuf.append(messagePattern, i, j - 1);
-                        sbuf.append(DELIM_START);
-                        i = j + 1;
-                    } else {
-                        // The escape character preceding the delimiter start is
-                        // itself escaped: "abc x:\\{}"
-                        // we have to consume one backward slash
-                        sbuf.append(messagePattern, i, j - 1);
-                        deeplyAppendParameter(sbuf, argArray[L], new HashMap<Object[], Object>());
-                        i = j + 2;
-                    }
-                } else {
-                    // normal case
-                    sbuf.append(messagePattern, i, j);
-                    deeplyAppendParameter(sbuf, argArray[L], new HashMap<Object[], Object>());
-                    i = j + 2;
-                }
+                // normal case
+                sbuf.append(messagePattern, i, j);
             }
+            return j + 2;
+        }
+    }
+
+    /**
+     * The builder of the current thread, or a new builder on a re-entrant call
+     * (ex: logging from {@code toString()} of an argument).
+     */
+    private static ReusableBuilder acquire() {
+        ReusableBuilder builder = BUILDERS.get();
+        if (builder.inUse) {
+            return new ReusableBuilder();
+        }
+        builder.inUse = true;
+        return builder;
+    }
+
+    private static void release(ReusableBuilder builder) {
+        if (builder.sbuf.capacity() > MAX_REUSABLE_CAPACITY) {
+            builder.sbuf = new StringBuilder(INITIAL_CAPACITY);
+        } else {
+            builder.sbuf.setLength(0);
         }
-        // append the characters following the last {} pair.
-        sbuf.append(messagePattern, i, messagePattern.length());
-        return new FormattingTuple(sbuf.toString(), argArray, throwable);
+        builder.inUse = false;
     }
 
     final static boolean isEscapedDelimeter(String messagePattern, int delimeterStartIndex) {
@@ -308,6 +438,10 @@ final class MessageFormatter {
 
     private static void objectArrayAppend(StringBuilder sbuf, Object[] a, Map<Object[], Object> seenMap) {
         sbuf.append('[');
+        if (seenMap == null) {
+            // only allocated when an object array is formatted
+            seenMap = new IdentityHashMap<Object[], Object>();
+        }
         if (!seenMap.containsKey(a)) {
             seenMap.put(a, null);
             final int len = a.length;
@@ -412,4 +546,11 @@ final class MessageFormatter {
         sbuf.append(']');
     }
 
+    private static final class ReusableBuilder {
+
+        private StringBuilder sbuf = new StringBuilder(INITIAL_CAPACITY);
+        private boolean inUse;
+
+    }
+
 }
@@ -0,0 +1,31 @@
+package com.ardikars.common.logging;
+
+/**
+ * Logger of this package which logs primitive arguments without boxing (nothing is allocated if the level is disabled),
+ * called through {@link Loggers#logLong(Logger, LogLevel, String, long)} and friends so {@link Logger} stays unchanged
+ * for its external implementations. The distinct name keeps {@code char}, {@code short} and {@code int} arguments
+ * of the {@code Object} overloads from being widened to {@code long}.
+ */
+interface PrimitiveLogger extends Logger {
+
+    void logLong(LogLevel level, String format, long arg);
+
+    void logLong(LogLevel level, String format, long arg1, long arg2);
+
+    void debugLong(String format, long arg);
+
+    void debugLong(String format, long arg1, long arg2);
+
+    void infoLong(String format, long arg);
+
+    void infoLong(String format, long arg1, long arg2);
+
+    void warnLong(String format, long arg);
+
+    void warnLong(String format, long arg1, long arg2);
+
+    void errorLong(String format, long arg);
+
+    void errorLong(String format, long arg1, long arg2);
+
+}
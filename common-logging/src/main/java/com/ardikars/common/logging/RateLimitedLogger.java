@@ -0,0 +1,53 @@
+package com.ardikars.common.logging;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Forwards at most {@code permitsPerSecond} events per second (with bursts up to one second worth of events),
+ * the number of suppressed events is logged before the next forwarded event or by the periodic flush (once per second),
+ * whichever comes first, at the level of the last forwarded event.
+ */
+final class RateLimitedLogger extends FilteredLogger {
+
+    static final String SUPPRESSED_FORMAT = "Suppressed {} messages.";
+
+    private final TokenBucket bucket;
+    private final AtomicLong suppressed = new AtomicLong();
+    private volatile LogLevel level = LogLevel.WARN;
+
+    RateLimitedLogger(Logger logger, int permitsPerSecond) {
+        super(logger);
+        if (permitsPerSecond < 1) {
+            throw new IllegalArgumentException(String.format("permitsPerSecond: %d (expected: > 0)", permitsPerSecond));
+        }
+        this.bucket = new TokenBucket(permitsPerSecond, TimeUnit.SECONDS.toNanos(1));
+        scheduleFlush(TimeUnit.SECONDS.toNanos(1));
+    }
+
+    @Override
+    boolean accept(LogLevel level, String format) {
+        if (!bucket.tryAcquire()) {
+            suppressed.incrementAndGet();
+            return false;
+        }
+        this.level = level;
+        flush(level);
+        return true;
+    }
+
+    @Override
+    void flush() {
+        flush(level);
+    }
+
+    private void flush(LogLevel level) {
+        if (suppressed.get() > 0) {
+            long count = suppressed.getAndSet(0);
+            if (count > 0) {
+                logger.log(level, SUPPRESSED_FORMAT, count);
+            }
+        }
+    }
+
+}
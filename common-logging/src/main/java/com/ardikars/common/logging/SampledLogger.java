@@ -0,0 +1,26 @@
+package com.ardikars.common.logging;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Forwards one of every {@code rate} events (starting with the first one).
+ */
+final class SampledLogger extends FilteredLogger {
+
+    private final int rate;
+    private final AtomicLong counter = new AtomicLong();
+
+    SampledLogger(Logger logger, int rate) {
+        super(logger);
+        if (rate < 1) {
+            throw new IllegalArgumentException(String.format("rate: %d (expected: > 0)", rate));
+        }
+        this.rate = rate;
+    }
+
+    @Override
+    boolean accept(LogLevel level, String format) {
+        return counter.getAndIncrement() % rate == 0;
+    }
+
+}
@@ -0,0 +1,48 @@
+package com.ardikars.common.logging;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Lock-free token bucket (implemented as generic cell rate algorithm), the whole bucket state is a single
+ * {@link AtomicLong}: the time when the bucket is full again.
+ */
+class TokenBucket {
+
+    private final long interval; // nanos per token
+    private final long tolerance; // burst (bucket size - 1 tokens) in nanos
+    private final AtomicLong theoreticalArrivalTime;
+
+    /**
+     * Create full token bucket.
+     * @param permits number of permits per period (also the bucket size).
+     * @param periodNanos period in nanos.
+     */
+    TokenBucket(long permits, long periodNanos) {
+        if (permits < 1 || periodNanos < permits) {
+            throw new IllegalArgumentException(String.format("permits: %d, period: %d ns (expected: permits > 0 and period >= permits ns)",
+                    permits, periodNanos));
+        }
+        this.interval = periodNanos / permits;
+        this.tolerance = periodNanos - interval;
+        this.theoreticalArrivalTime = new AtomicLong(System.nanoTime());
+    }
+
+    /**
+     * Take a token if available.
+     * @return returns true if a token is taken, false otherwise.
+     */
+    boolean tryAcquire() {
+        long now = System.nanoTime();
+        for (;;) {
+            long tat = theoreticalArrivalTime.get();
+            long start = tat - now < 0 ? now : tat;
+            if (start - now > tolerance) {
+                return false;
+            }
+            if (theoreticalArrivalTime.compareAndSet(tat, start + interval)) {
+                return true;
+            }
+        }
+    }
+
+}
@@ -0,0 +1,296 @@
+package com.ardikars.common.logging;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+
+@RunWith(JUnit4.class)
+public class AsyncLoggerFactoryTest {
+
+    @Test
+    public void dispatchInOrder() {
+        RecordingLoggerFactory recording = new RecordingLoggerFactory();
+        AsyncLoggerFactory factory = new AsyncLoggerFactory(recording, 4, AsyncLoggerFactory.OverflowPolicy.BLOCK);
+        Logger logger = factory.getCachedLogger("AsyncLoggerFactoryTest");
+        assert logger == factory.getCachedLogger("AsyncLoggerFactoryTest");
+        assert logger.name().equals("AsyncLoggerFactoryTest");
+        for (int i = 0; i < 100; i++) {
+            logger.info("Hello {}", i);
+        }
+        logger.warn("Hello {} {}", "Java", "World");
+        logger.error("Hello {} {} {}", "Java", "World", "Game");
+        logger.debug("Disabled {}", "debug");
+        logger.error("Failed", new Throwable());
+        logger.info("Hello {}", 'c');
+        Loggers.warnLong(logger, "Hello {} {}", Long.MAX_VALUE, -1);
+        Loggers.infoLong(logger, "Hello {}", 42);
+        Loggers.debugLong(logger, "Disabled {}", 1);
+        factory.flush();
+        List<String> messages = recording.logger.messages;
+        assert messages.size() == 106;
+        for (int i = 0; i < 100; i++) {
+            assert messages.get(i).equals("INFO Hello " + i);
+        }
+        assert messages.get(100).equals("WARN Hello Java World");
+        assert messages.get(101).equals("ERROR Hello Java World Game");
+        assert messages.get(102).equals("ERROR Failed");
+        assert messages.get(103).equals("INFO Hello c");
+        assert messages.get(104).equals("WARN Hello " + Long.MAX_VALUE + " -1");
+        assert messages.get(105).equals("INFO Hello 42");
+        factory.close();
+        assert factory.dropped() == 0;
+    }
+
+    @Test
+    public void concurrentProducers() throws InterruptedException {
+        final RecordingLoggerFactory recording = new RecordingLoggerFactory();
+        final AsyncLoggerFactory factory = new AsyncLoggerFactory(recording, 16, AsyncLoggerFactory.OverflowPolicy.BLOCK);
+        final int threads = 4;
+        final int count = 1000;
+        final CountDownLatch done = new CountDownLatch(threads);
+        for (int t = 0; t < threads; t++) {
+            new Thread(new Runnable() {
+                @Override
+                public void run() {
+                    Logger logger = factory.getCachedLogger("AsyncLoggerFactoryTest");
+                    for (int i = 0; i < count; i++) {
+                        logger.info("{}", i);
+                    }
+                    done.countDown();
+                }
+            }).start();
+        }
+        done.await();
+        factory.close();
+        assert recording.logger.messages.size() == threads * count;
+        assert factory.dropped() == 0;
+    }
+
+    @Test
+    public void dropOnOverflow() throws InterruptedException {
+        RecordingLoggerFactory recording = new RecordingLoggerFactory();
+        recording.logger.block = new CountDownLatch(1);
+        AsyncLoggerFactory factory = new AsyncLoggerFactory(recording, 4, AsyncLoggerFactory.OverflowPolicy.DROP);
+        Logger logger = factory.getCachedLogger("AsyncLoggerFactoryTest");
+        logger.info("{}", "first");
+        recording.logger.blocked.await(); // consumer is busy with the first event
+        for (int i = 0; i < 10; i++) {
+            logger.info("{}", i);
+        }
+        assert factory.dropped() == 7; // the slot of the first event is still in use
+        recording.logger.block.countDown();
+        factory.close();
+        assert recording.logger.messages.size() == 4;
+    }
+
+    @Test
+    public void closeWhileProducing() throws InterruptedException {
+        final RecordingLoggerFactory recording = new RecordingLoggerFactory();
+        final AsyncLoggerFactory factory = new AsyncLoggerFactory(recording, 16, AsyncLoggerFactory.OverflowPolicy.BLOCK);
+        final int threads = 4;
+        final int count = 2000;
+        final CountDownLatch started = new CountDownLatch(threads);
+        Thread[] producers = new Thread[threads];
+        for (int t = 0; t < threads; t++) {
+            producers[t] = new Thread(new Runnable() {
+                @Override
+                public void run() {
+                    Logger logger = factory.getCachedLogger("AsyncLoggerFactoryTest");
+                    started.countDown();
+                    for (int i = 0; i < count; i++) {
+                        logger.info("{}", i);
+                    }
+                }
+            });
+            producers[t].start();
+        }
+        started.await();
+        factory.close();
+        for (int t = 0; t < threads; t++) {
+            producers[t].join();
+        }
+        // events published during and after close are dispatched (on the caller thread), never lost
+        assert recording.logger.messages.size() == threads * count;
+        assert factory.dropped() == 0;
+    }
+
+    @Test
+    public void publishAfterClose() {
+        RecordingLoggerFactory recording = new RecordingLoggerFactory();
+        AsyncLoggerFactory factory = new AsyncLoggerFactory(recording, 4, AsyncLoggerFactory.OverflowPolicy.DROP);
+        Logger logger = factory.getCachedLogger("AsyncLoggerFactoryTest");
+        factory.close();
+        for (int i = 0; i < 10; i++) {
+            logger.info("Hello {}", i);
+        }
+        assert recording.logger.messages.size() == 10;
+        assert recording.logger.messages.get(9).equals("INFO Hello 9");
+        assert factory.dropped() == 0;
+    }
+
+    @Test
+    public void countFailures() {
+        RecordingLoggerFactory recording = new RecordingLoggerFactory();
+        recording.logger.fail = true;
+        AsyncLoggerFactory factory = new AsyncLoggerFactory(recording, 4, AsyncLoggerFactory.OverflowPolicy.BLOCK);
+        Logger logger = factory.getCachedLogger("AsyncLoggerFactoryTest");
+        for (int i = 0; i < 10; i++) {
+            logger.info("Hello {}", i);
+        }
+        factory.flush();
+        assert factory.failed() == 10;
+        recording.logger.fail = false;
+        logger.info("Hello {}", 10);
+        factory.close();
+        assert factory.failed() == 10;
+        assert recording.logger.messages.size() == 1;
+    }
+
+    static final class RecordingLoggerFactory extends LoggerFactory {
+
+        final RecordingLogger logger = new RecordingLogger();
+
+        @Override
+        Logger newInstance(String name) {
+            return logger;
+        }
+
+    }
+
+    static final class RecordingLogger extends AbstractLogger {
+
+        final List<String> messages = new CopyOnWriteArrayList<String>();
+        final CountDownLatch blocked = new CountDownLatch(1);
+        volatile CountDownLatch block;
+        volatile boolean fail;
+
+        RecordingLogger() {
+            super("AsyncLoggerFactoryTest");
+        }
+
+        private void record(LogLevel level, FormattingTuple tuple) {
+            CountDownLatch block = this.block;
+            if (block != null) {
+                blocked.countDown();
+                try {
+                    block.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            if (fail) {
+                throw new IllegalStateException(tuple.getMessage());
+            }
+            if (tuple.getMessage().contains(" dropped, ")) {
+                return; // drop report
+            }
+            messages.add(level + " " + tuple.getMessage());
+        }
+
+        @Override
+        public boolean isDebugEnabled() {
+            return false;
+        }
+
+        @Override
+        public boolean isInfoEnabled() {
+            return true;
+        }
+
+        @Override
+        public boolean isWarnEnabled() {
+            return true;
+        }
+
+        @Override
+        public boolean isErrorEnabled() {
+            return true;
+        }
+
+        @Override
+        public void debug(String format, Object arg1) {
+            record(LogLevel.DEBUG, MessageFormatter.format(format, arg1));
+        }
+
+        @Override
+        public void debug(String format, Object arg1, Object arg2) {
+            record(LogLevel.DEBUG, MessageFormatter.format(format, arg1, arg2));
+        }
+
+        @Override
+        public void debug(String format, Object... args) {
+            record(LogLevel.DEBUG, MessageFormatter.arrayFormat(format, args));
+        }
+
+        @Override
+        public void debug(String format, Throwable throwable) {
+            record(LogLevel.DEBUG, new FormattingTuple(format));
+        }
+
+        @Override
+        public void info(String format, Object arg1) {
+            record(LogLevel.INFO, MessageFormatter.format(format, arg1));
+        }
+
+        @Override
+        public void info(String format, Object arg1, Object arg2) {
+            record(LogLevel.INFO, MessageFormatter.format(format, arg1, arg2));
+        }
+
+        @Override
+        public void info(String format, Object... args) {
+            record(LogLevel.INFO, MessageFormatter.arrayFormat(format, args));
+        }
+
+        @Override
+        public void info(String format, Throwable throwable) {
+            record(LogLevel.INFO, new FormattingTuple(format));
+        }
+
+        @Override
+        public void warn(String format, Object arg1) {
+            record(LogLevel.WARN, MessageFormatter.format(format, arg1));
+        }
+
+        @Override
+        public void warn(String format, Object arg1, Object arg2) {
+            record(LogLevel.WARN, MessageFormatter.format(format, arg1, arg2));
+        }
+
+        @Override
+        public void warn(String format, Object... args) {
+            record(LogLevel.WARN, MessageFormatter.arrayFormat(format, args));
+        }
+
+        @Override
+        public void warn(String format, Throwable throwable) {
+            record(LogLevel.WARN, new FormattingTuple(format));
+        }
+
+        @Override
+        public void error(String format, Object arg1) {
+            record(LogLevel.ERROR, MessageFormatter.format(format, arg1));
+        }
+
+        @Override
+        public void error(String format, Object arg1, Object arg2) {
+            record(LogLevel.ERROR, MessageFormatter.format(format, arg1, arg2));
+        }
+
+        @Override
+        public void error(String format, Object... args) {
+            record(LogLevel.ERROR, MessageFormatter.arrayFormat(format, args));
+        }
+
+        @Override
+        public void error(String format, Throwable throwable) {
+            record(LogLevel.ERROR, new FormattingTuple(format));
+        }
+
+    }
+
+}
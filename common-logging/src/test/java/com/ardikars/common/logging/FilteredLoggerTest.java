@@ -0,0 +1,128 @@
+package com.ardikars.common.logging;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@RunWith(JUnit4.class)
+public class FilteredLoggerTest {
+
+    @Test
+    public void rateLimited() throws InterruptedException {
+        AsyncLoggerFactoryTest.RecordingLogger recording = new AsyncLoggerFactoryTest.RecordingLogger();
+        Logger logger = Loggers.rateLimited(recording, 10);
+        assert logger.name().equals(recording.name());
+        for (int i = 0; i < 100; i++) {
+            logger.error("Failed {}", i);
+        }
+        int forwarded = recording.messages.size();
+        assert forwarded >= 10 && forwarded < 20;
+        for (int i = 0; i < 10; i++) {
+            assert recording.messages.get(i).equals("ERROR Failed " + i);
+        }
+        logger.debug("Disabled {}", 1); // doesn't consume a token
+        Thread.sleep(200);
+        logger.warn("Hello {}", 1L);
+        List<String> messages = recording.messages;
+        assert messages.get(messages.size() - 2).equals("WARN Suppressed " + (100 - forwarded) + " messages.");
+        assert messages.get(messages.size() - 1).equals("WARN Hello 1");
+    }
+
+    @Test
+    public void sampled() {
+        AsyncLoggerFactoryTest.RecordingLogger recording = new AsyncLoggerFactoryTest.RecordingLogger();
+        Logger logger = Loggers.sampled(recording, 10);
+        for (int i = 0; i < 100; i++) {
+            logger.info("Hello {} {}", i, "World");
+        }
+        assert recording.messages.size() == 10;
+        for (int i = 0; i < 10; i++) {
+            assert recording.messages.get(i).equals("INFO Hello " + (i * 10) + " World");
+        }
+    }
+
+    @Test
+    public void deduplicated() throws InterruptedException {
+        AsyncLoggerFactoryTest.RecordingLogger recording = new AsyncLoggerFactoryTest.RecordingLogger();
+        Logger logger = Loggers.deduplicated(recording, 200, TimeUnit.MILLISECONDS);
+        for (int i = 0; i < 5; i++) {
+            logger.warn("Retry {}", i);
+            logger.warn("Timeout");
+        }
+        assert recording.messages.size() == 2;
+        assert recording.messages.get(0).equals("WARN Retry 0");
+        assert recording.messages.get(1).equals("WARN Timeout");
+        Thread.sleep(500);
+        // flushed without waiting for the next event
+        assert recording.messages.size() == 4;
+        assert recording.messages.contains("WARN Suppressed 4 repeated messages: Retry {}");
+        assert recording.messages.contains("WARN Suppressed 4 repeated messages: Timeout");
+        logger.warn("Retry {}", 5);
+        assert recording.messages.size() == 5;
+        assert recording.messages.get(4).equals("WARN Retry 5");
+    }
+
+    @Test
+    public void flushWithoutNextEvent() throws InterruptedException {
+        AsyncLoggerFactoryTest.RecordingLogger recording = new AsyncLoggerFactoryTest.RecordingLogger();
+        Logger logger = Loggers.rateLimited(recording, 1);
+        logger.error("Failed {}", 1);
+        logger.warn("Failed {}", 2);
+        logger.warn("Failed {}", 3);
+        assert recording.messages.size() == 1;
+        Thread.sleep(1500);
+        // at the level of the last forwarded event
+        assert recording.messages.size() == 2;
+        assert recording.messages.get(1).equals("ERROR Suppressed 2 messages.");
+    }
+
+    @Test
+    public void deduplicatedEvictsIdleFormats() throws InterruptedException {
+        AsyncLoggerFactoryTest.RecordingLogger recording = new AsyncLoggerFactoryTest.RecordingLogger();
+        Logger logger = Loggers.deduplicated(recording, 100, TimeUnit.MILLISECONDS);
+        logger.warn("Retry");
+        logger.warn("Retry");
+        for (int i = 1; i < DeduplicatedLogger.MAX_FORMATS; i++) {
+            logger.warn("Format " + i);
+        }
+        // the table is full and nothing is idle yet, forwarded as is
+        for (int i = 0; i < 3; i++) {
+            logger.warn("Repeated");
+        }
+        List<String> messages = recording.messages;
+        assert messages.size() == DeduplicatedLogger.MAX_FORMATS + 3;
+        Thread.sleep(200);
+        logger.warn("Repeated");
+        logger.warn("Repeated");
+        assert messages.size() == DeduplicatedLogger.MAX_FORMATS + 5;
+        assert messages.get(messages.size() - 2).equals("WARN Suppressed 1 repeated messages: Retry");
+        assert messages.get(messages.size() - 1).equals("WARN Repeated");
+    }
+
+    @Test
+    public void invalidArguments() {
+        Logger logger = new AsyncLoggerFactoryTest.RecordingLogger();
+        try {
+            Loggers.rateLimited(logger, 0);
+            assert false;
+        } catch (IllegalArgumentException e) {
+            // expected
+        }
+        try {
+            Loggers.sampled(logger, 0);
+            assert false;
+        } catch (IllegalArgumentException e) {
+            // expected
+        }
+        try {
+            Loggers.deduplicated(logger, 0, TimeUnit.SECONDS);
+            assert false;
+        } catch (IllegalArgumentException e) {
+            // expected
+        }
+    }
+
+}
@@ -0,0 +1,49 @@
+package com.ardikars.common.logging;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+@RunWith(JUnit4.class)
+public class LoggerFactoryTest {
+
+    @Test
+    public void reuseLoggerByName() {
+        Logger logger = LoggerFactory.getLogger("LoggerFactoryTest");
+        assert logger == LoggerFactory.getLogger("LoggerFactoryTest");
+        assert LoggerFactory.getLogger(LoggerFactoryTest.class) == LoggerFactory.getLogger(new LoggerFactoryTest());
+        assert logger != LoggerFactory.getLogger("LoggerFactoryTest.other");
+    }
+
+    @Test
+    public void concurrentLookup() throws InterruptedException {
+        final int threads = 4;
+        final AtomicReferenceArray<Logger> loggers = new AtomicReferenceArray<Logger>(threads);
+        final CountDownLatch start = new CountDownLatch(1);
+        final CountDownLatch done = new CountDownLatch(threads);
+        for (int t = 0; t < threads; t++) {
+            final int index = t;
+            new Thread(new Runnable() {
+                @Override
+                public void run() {
+                    try {
+                        start.await();
+                        loggers.set(index, LoggerFactory.getLogger("LoggerFactoryTest.concurrent"));
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                    done.countDown();
+                }
+            }).start();
+        }
+        start.countDown();
+        done.await();
+        for (int i = 1; i < threads; i++) {
+            assert loggers.get(i) != null && loggers.get(i) == loggers.get(0);
+        }
+    }
+
+}
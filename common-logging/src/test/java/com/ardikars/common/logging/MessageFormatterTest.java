@@ -0,0 +1,82 @@
+package com.ardikars.common.logging;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+@RunWith(JUnit4.class)
+public class MessageFormatterTest {
+
+    @Test
+    public void format() {
+        assert MessageFormatter.format("Hi {}.", "there").getMessage().equals("Hi there.");
+        assert MessageFormatter.format("Hi {}. My name is {}.", "Alice", "Bob").getMessage().equals("Hi Alice. My name is Bob.");
+        assert MessageFormatter.format("Hi {} {}.", "Alice").getMessage().equals("Hi Alice {}.");
+        assert MessageFormatter.format("Hi.", "Alice", "Bob").getMessage().equals("Hi.");
+        assert MessageFormatter.format("{}{}", "Alice", null).getMessage().equals("Alicenull");
+        assert MessageFormatter.format(null, "Alice").getMessage() == null;
+        assert MessageFormatter.arrayFormat("{} {} {}", new Object[] {1, 2, 3}).getMessage().equals("1 2 3");
+        assert MessageFormatter.arrayFormat("{} {}", new Object[] {1, 2, 3}).getMessage().equals("1 2");
+        assert MessageFormatter.arrayFormat("{} {} {}", new Object[] {1}).getMessage().equals("1 {} {}");
+    }
+
+    @Test
+    public void escape() {
+        assert MessageFormatter.format("Set \\{} is not equal to {}.", "1,2").getMessage()
+                .equals("Set {} is not equal to 1,2.");
+        assert MessageFormatter.format("File name is C:\\\\{}.", "file.zip").getMessage()
+                .equals("File name is C:\\file.zip.");
+        assert MessageFormatter.formatMessage("Set \\{} is not equal to {}.", 12L).equals("Set {} is not equal to 12.");
+    }
+
+    @Test
+    public void throwable() {
+        Throwable throwable = new Throwable();
+        FormattingTuple tuple = MessageFormatter.format("Hi {}.", throwable);
+        assert tuple.getMessage().equals("Hi {}.");
+        assert tuple.getThrowable() == throwable;
+        tuple = MessageFormatter.format("Hi {}.", "Alice", throwable);
+        assert tuple.getMessage().equals("Hi Alice.");
+        assert tuple.getThrowable() == throwable;
+        tuple = MessageFormatter.arrayFormat("Hi {} {}.", new Object[] {"Alice", "Bob", throwable});
+        assert tuple.getMessage().equals("Hi Alice Bob.");
+        assert tuple.getThrowable() == throwable;
+    }
+
+    @Test
+    public void array() {
+        assert MessageFormatter.format("{}", new int[] {1, 2}).getMessage().equals("[1, 2]");
+        assert MessageFormatter.format("{} {}", new Object[] {"a", new long[] {3}}, new char[] {'x'}).getMessage()
+                .equals("[a, [3]] [x]");
+        Object[] cycle = new Object[2];
+        cycle[0] = "a";
+        cycle[1] = cycle;
+        assert MessageFormatter.format("{}", cycle).getMessage().equals("[a, [...]]");
+    }
+
+    @Test
+    public void primitive() {
+        assert MessageFormatter.formatMessage("Hi {}.", Long.MIN_VALUE).equals("Hi " + Long.MIN_VALUE + ".");
+        assert MessageFormatter.formatMessage("{} + {}", 1, -2).equals("1 + -2");
+        assert MessageFormatter.formatMessage("{}", 1, 2).equals("1");
+        assert MessageFormatter.formatMessage("Hi.", 1).equals("Hi.");
+    }
+
+    @Test
+    public void reentrant() {
+        Object nested = new Object() {
+            @Override
+            public String toString() {
+                return MessageFormatter.format("<{}>", "nested").getMessage();
+            }
+        };
+        assert MessageFormatter.format("{} {}", nested, "outer").getMessage().equals("<nested> outer");
+        StringBuilder large = new StringBuilder();
+        for (int i = 0; i < 10000; i++) {
+            large.append('x');
+        }
+        assert MessageFormatter.format("{}", large).getMessage().length() == 10000;
+        assert MessageFormatter.format("{}", "small").getMessage().equals("small");
+    }
+
+}
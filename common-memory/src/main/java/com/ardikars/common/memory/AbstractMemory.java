@@ -1,11 +1,19 @@
 package com.ardikars.common.memory;
 
-import com.ardikars.common.memory.accessor.MemoryAccessor;
 import com.ardikars.common.memory.accessor.MemoryAccessors;
-import com.ardikars.common.memory.internal.Unsafe;
+import com.ardikars.common.memory.internal.BulkMemoryAccessor;
+import com.ardikars.common.memory.internal.ByteBufferHelper;
 
+import java.io.IOException;
+import java.nio.Buffer;
 import java.nio.ByteBuffer;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.FileChannel;
+import java.nio.channels.GatheringByteChannel;
+import java.nio.channels.ScatteringByteChannel;
 import java.nio.charset.Charset;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
 
 /**
  * Abstract implementation of {@link Memory}.
@@ -14,24 +22,57 @@ import java.nio.charset.Charset;
  */
 abstract class AbstractMemory implements Memory {
 
-    static final MemoryAccessor ACCESSOR = Unsafe.HAS_UNSAFE ? MemoryAccessors.memoryAccessor() : null;
+    static final BulkMemoryAccessor ACCESSOR = (BulkMemoryAccessor) MemoryAccessors.memoryAccessor();
+
+    static final boolean NATIVE_ADDRESS = MemoryAccessors.isNativeAddress();
+
+    // memory is allocated through ACCESSOR (not as a plain direct ByteBuffer)
+    static final boolean ACCESSOR_MEMORY = NATIVE_ADDRESS || MemoryAccessors.isForeignMemory();
 
     static final Charset DEFAULT_CHARSET = Charset.defaultCharset();
 
+    static final Charset UTF_8 = Charset.forName("UTF-8");
+    static final Charset US_ASCII = Charset.forName("US-ASCII");
+    static final Charset ISO_8859_1 = Charset.forName("ISO-8859-1");
+
+    private static final byte WRITE_UTF_UNKNOWN = (byte) '?';
+
+    /**
+     * Pattern shorter than this is searched by scanning its first byte,
+     * building the Boyer-Moore-Horspool shift table doesn't pay off for it.
+     */
+    private static final int HORSPOOL_THRESHOLD = 4;
+
+    private static final AtomicIntegerFieldUpdater<AbstractMemory> REF_CNT_UPDATER =
+            AtomicIntegerFieldUpdater.newUpdater(AbstractMemory.class, "refCnt");
+    private static final AtomicIntegerFieldUpdater<AbstractMemory> VIEWS_UPDATER =
+            AtomicIntegerFieldUpdater.newUpdater(AbstractMemory.class, "views");
+    private static final AtomicIntegerFieldUpdater<AbstractMemory> VIEW_RELEASED_UPDATER =
+            AtomicIntegerFieldUpdater.newUpdater(AbstractMemory.class, "viewReleased");
+
     ByteBuffer buffer;
 
     int capacity;
     int maxCapacity;
 
-    int writtenBytes = 0;
-
     private int readerIndex;
     private int writerIndex;
 
     private int markedReaderIndex;
     private int markedWriterIndex;
 
-    protected boolean freed;
+    private volatile int refCnt = 1;
+
+    // number of slices and duplicates which address the current block and aren't released yet
+    private volatile int views;
+
+    // set once this buffer's is a slice or duplicate and it's released, it's no longer counted as a live view
+    private volatile int viewReleased;
+
+    MemoryLeakDetector.LeakTracker leakTracker;
+
+    DefaultMemoryAllocatorMetric allocatorMetric;
+    int allocatedBytes;
 
     AbstractMemory(int capacity, int maxCapacity) {
         this(capacity, maxCapacity, 0, 0);
@@ -54,6 +95,133 @@ abstract class AbstractMemory implements Memory {
         return capacity;
     }
 
+    @Override
+    public int refCnt() {
+        return refCnt;
+    }
+
+    @Override
+    public Memory retain() {
+        return retain(1);
+    }
+
+    @Override
+    public Memory retain(int increment) {
+        if (increment <= 0) {
+            throw new IllegalArgumentException(String.format("increment: %d (expected: > 0)", increment));
+        }
+        for (;;) {
+            int refCnt = this.refCnt;
+            if (refCnt == 0) {
+                throw new IllegalStateException(String.format("refCnt: 0, increment: %d (already released)", increment));
+            }
+            if (refCnt > Integer.MAX_VALUE - increment) {
+                throw new IllegalStateException(String.format("refCnt: %d, increment: %d (overflow)", refCnt, increment));
+            }
+            if (REF_CNT_UPDATER.compareAndSet(this, refCnt, refCnt + increment)) {
+                if (leakTracker != null) {
+                    leakTracker.record();
+                }
+                return this;
+            }
+        }
+    }
+
+    /**
+     * Decreases the reference count by {@code 1}.
+     * @return returns true if the reference count reaches {@code 0} and this buffer's should be deallocated.
+     * @throws IllegalStateException this buffer's has been released.
+     */
+    final boolean decrementRefCnt() {
+        for (;;) {
+            int refCnt = this.refCnt;
+            if (refCnt == 0) {
+                throw new IllegalStateException("refCnt: 0, decrement: 1 (already released)");
+            }
+            if (REF_CNT_UPDATER.compareAndSet(this, refCnt, refCnt - 1)) {
+                if (refCnt == 1 && allocatorMetric != null) {
+                    allocatorMetric.released(allocatedBytes);
+                }
+                if (leakTracker != null) {
+                    if (refCnt == 1) {
+                        leakTracker.close();
+                        leakTracker = null;
+                    } else {
+                        leakTracker.record();
+                    }
+                }
+                return refCnt == 1;
+            }
+        }
+    }
+
+    /**
+     * Reset the reference count to {@code 1} when a released pooled buffer's is reused.
+     */
+    final void resetRefCnt() {
+        REF_CNT_UPDATER.set(this, 1);
+        VIEWS_UPDATER.set(this, 0);
+    }
+
+    /**
+     * Count a derived view (slice or duplicate) of the current block of this buffer's as live until it's released.
+     * @param view derived view.
+     * @param <T> view type.
+     * @return returns {@code view}.
+     */
+    final <T> T derived(T view) {
+        VIEWS_UPDATER.incrementAndGet(this);
+        return view;
+    }
+
+    /**
+     * Release this derived view, it's no longer counted as a live view of {@code parent} (only once),
+     * and release {@code parent} (sharing its reference count).
+     * @param parent parent buffer's.
+     */
+    final void releaseView(Memory parent) {
+        if (VIEW_RELEASED_UPDATER.compareAndSet(this, 0, 1)) {
+            AbstractMemory memory = (AbstractMemory) parent;
+            for (;;) {
+                int views = memory.views;
+                if (views == 0 || VIEWS_UPDATER.compareAndSet(memory, views, views - 1)) {
+                    break;
+                }
+            }
+        }
+        parent.release();
+    }
+
+    /**
+     * Returns true if a derived view (not released yet) addresses the current block of this buffer's.
+     * @return returns true if it has live views.
+     */
+    final boolean hasViews() {
+        return views > 0;
+    }
+
+    /**
+     * Returns true if this buffer's is retained or a derived view addresses its current block.
+     * @return returns true if shared.
+     */
+    final boolean shared() {
+        return refCnt > 1 || views > 0;
+    }
+
+    /**
+     * Called before the block of this buffer's is replaced by another block (growth beyond the current block),
+     * the old block is given back and may be reused by another buffer's.
+     * @param newCapacity new capacity.
+     * @throws IllegalStateException if the buffer's is retained or a derived view still addresses the current block.
+     */
+    final void ensureMovable(int newCapacity) {
+        if (shared()) {
+            throw new IllegalStateException(String.format(
+                    "newCapacity: %d (can't move the block of a retained (refCnt: %d) or sliced/duplicated (views: %d) buffer's)",
+                    newCapacity, refCnt, views));
+        }
+    }
+
     @Override
     public int maxCapacity() {
         return maxCapacity;
@@ -246,13 +414,135 @@ abstract class AbstractMemory implements Memory {
         return this;
     }
 
+    @Override
+    public Memory getShorts(int index, short[] dst) {
+        getShorts(index, dst, 0, dst.length);
+        return this;
+    }
+
+    @Override
+    public Memory getShorts(int index, short[] dst, int dstIndex, int length) {
+        for (int i = 0; i < length; i++) {
+            dst[dstIndex + i] = getShort(index + (i << 1));
+        }
+        return this;
+    }
+
+    @Override
+    public Memory getShortsLE(int index, short[] dst) {
+        getShortsLE(index, dst, 0, dst.length);
+        return this;
+    }
+
+    @Override
+    public Memory getShortsLE(int index, short[] dst, int dstIndex, int length) {
+        for (int i = 0; i < length; i++) {
+            dst[dstIndex + i] = getShortLE(index + (i << 1));
+        }
+        return this;
+    }
+
+    @Override
+    public Memory getInts(int index, int[] dst) {
+        getInts(index, dst, 0, dst.length);
+        return this;
+    }
+
+    @Override
+    public Memory getInts(int index, int[] dst, int dstIndex, int length) {
+        for (int i = 0; i < length; i++) {
+            dst[dstIndex + i] = getInt(index + (i << 2));
+        }
+        return this;
+    }
+
+    @Override
+    public Memory getIntsLE(int index, int[] dst) {
+        getIntsLE(index, dst, 0, dst.length);
+        return this;
+    }
+
+    @Override
+    public Memory getIntsLE(int index, int[] dst, int dstIndex, int length) {
+        for (int i = 0; i < length; i++) {
+            dst[dstIndex + i] = getIntLE(index + (i << 2));
+        }
+        return this;
+    }
+
+    @Override
+    public Memory getLongs(int index, long[] dst) {
+        getLongs(index, dst, 0, dst.length);
+        return this;
+    }
+
+    @Override
+    public Memory getLongs(int index, long[] dst, int dstIndex, int length) {
+        for (int i = 0; i < length; i++) {
+            dst[dstIndex + i] = getLong(index + (i << 3));
+        }
+        return this;
+    }
+
+    @Override
+    public Memory getLongsLE(int index, long[] dst) {
+        getLongsLE(index, dst, 0, dst.length);
+        return this;
+    }
+
+    @Override
+    public Memory getLongsLE(int index, long[] dst, int dstIndex, int length) {
+        for (int i = 0; i < length; i++) {
+            dst[dstIndex + i] = getLongLE(index + (i << 3));
+        }
+        return this;
+    }
+
+    @Override
+    public Memory getDoubles(int index, double[] dst) {
+        getDoubles(index, dst, 0, dst.length);
+        return this;
+    }
+
+    @Override
+    public Memory getDoubles(int index, double[] dst, int dstIndex, int length) {
+        for (int i = 0; i < length; i++) {
+            dst[dstIndex + i] = getDouble(index + (i << 3));
+        }
+        return this;
+    }
+
+    @Override
+    public Memory getDoublesLE(int index, double[] dst) {
+        getDoublesLE(index, dst, 0, dst.length);
+        return this;
+    }
+
+    @Override
+    public Memory getDoublesLE(int index, double[] dst, int dstIndex, int length) {
+        for (int i = 0; i < length; i++) {
+            dst[dstIndex + i] = getDoubleLE(index + (i << 3));
+        }
+        return this;
+    }
+
     @Override
     public CharSequence getCharSequence(int index, int length, Charset charset) {
         byte[] bytes = new byte[length];
         this.getBytes(index, bytes);
+        if (ISO_8859_1.equals(charset) || ((US_ASCII.equals(charset) || UTF_8.equals(charset)) && isAscii(bytes))) {
+            // one byte per char, ISO-8859-1 is a straight byte to char mapping
+            return new String(bytes, 0, length, ISO_8859_1);
+        }
         return new String(bytes, charset);
     }
 
+    @Override
+    public AsciiString getAsciiString(int index, int length) {
+        checkIndex(index, length);
+        return new AsciiString(this, index, length);
+    }
+
     @Override
     public Memory setBoolean(int index, boolean value) {
         setByte(index, value ? 1 : 0);
@@ -310,64 +600,123 @@ abstract class AbstractMemory implements Memory {
     }
 
     @Override
-    public Memory setCharSequence(int index, CharSequence seq, Charset charset) {
-        // see netty-buffer code
-        final byte WRITE_UTF_UNKNOWN = (byte) '?';
-        final char MAX_CHAR_VALUE = 255;
-        if (charset.equals(Charset.forName("UTF-8"))) {
-            int len = seq.length();
-
-            int oldIndex = index;
-
-            for (int i = 0; i < len; i++) {
-                char c = seq.charAt(i);
-                if (c < 0x80) {
-                    this.setByte(index++, (byte) c);
-                } else if (c < 0x800) {
-                    this.setByte(index++, (byte) (0xc0 | (c >> 6)));
-                    this.setByte(index++, (byte) (0x80 | (c & 0x3f)));
-                } else if (c >= '\uD800' && c <= '\uDFFF') {
-                    if (!Character.isHighSurrogate(c)) {
-                        this.setByte(index++, WRITE_UTF_UNKNOWN);
-                        continue;
-                    }
-                    final char c2;
-                    try {
-                        c2 = seq.charAt(++i);
-                    } catch (IndexOutOfBoundsException ignored) {
-                        this.setByte(index++, WRITE_UTF_UNKNOWN);
-                        break;
-                    }
-                    if (!Character.isLowSurrogate(c2)) {
-                        this.setByte(index++, WRITE_UTF_UNKNOWN);
-                        this.setByte(index++, Character.isHighSurrogate(c2) ? WRITE_UTF_UNKNOWN : c2);
-                    } else {
-                        int codePoint = Character.toCodePoint(c, c2);
-                        this.setByte(index++, (byte) (0xf0 | (codePoint >> 18)));
-                        this.setByte(index++, (byte) (0x80 | ((codePoint >> 12) & 0x3f)));
-                        this.setByte(index++, (byte) (0x80 | ((codePoint >> 6) & 0x3f)));
-                        this.setByte(index++, (byte) (0x80 | (codePoint & 0x3f)));
-                    }
-                } else {
-                    this.setByte(index++, (byte) (0xe0 | (c >> 12)));
-                    this.setByte(index++, (byte) (0x80 | ((c >> 6) & 0x3f)));
-                    this.setByte(index++, (byte) (0x80 | (c & 0x3f)));
-                }
-            }
-            writtenBytes = index - oldIndex;
-        } else if (charset.equals(Charset.forName("ASCII"))) {
-            for (int i = 0; i < seq.length(); i++) {
-                this.setByte(index++, (byte) (seq.charAt(i) > MAX_CHAR_VALUE ? '?' : seq.charAt(i)));
-            }
-            writtenBytes = seq.length();
-        } else {
-            byte[] chars = seq.toString().getBytes(charset);
-            this.setBytes(index, chars);
-            writtenBytes = chars.length;
+    public Memory setShorts(int index, short[] src) {
+        setShorts(index, src, 0, src.length);
+        return this;
+    }
+
+    @Override
+    public Memory setShorts(int index, short[] src, int srcIndex, int length) {
+        for (int i = 0; i < length; i++) {
+            setShort(index + (i << 1), src[srcIndex + i]);
         }
         return this;
     }
 
+    @Override
+    public Memory setShortsLE(int index, short[] src) {
+        setShortsLE(index, src, 0, src.length);
+        return this;
+    }
+
+    @Override
+    public Memory setShortsLE(int index, short[] src, int srcIndex, int length) {
+        for (int i = 0; i < length; i++) {
+            setShortLE(index + (i << 1), src[srcIndex + i]);
+        }
+        return this;
+    }
+
+    @Override
+    public Memory setInts(int index, int[] src) {
+        setInts(index, src, 0, src.length);
+        return this;
+    }
+
+    @Override
+    public Memory setInts(int index, int[] src, int srcIndex, int length) {
+        for (int i = 0; i < length; i++) {
+            setInt(index + (i << 2), src[srcIndex + i]);
+        }
+        return this;
+    }
+
+    @Override
+    public Memory setIntsLE(int index, int[] src) {
+        setIntsLE(index, src, 0, src.length);
+        return this;
+    }
+
+    @Override
+    public Memory setIntsLE(int index, int[] src, int srcIndex, int length) {
+        for (int i = 0; i < length; i++) {
+            setIntLE(index + (i << 2), src[srcIndex + i]);
+        }
+        return this;
+    }
+
+    @Override
+    public Memory setLongs(int index, long[] src) {
+        setLongs(index, src, 0, src.length);
+        return this;
+    }
+
+    @Override
+    public Memory setLongs(int index, long[] src, int srcIndex, int length) {
+        for (int i = 0; i < length; i++) {
+            setLong(index + (i << 3), src[srcIndex + i]);
+        }
+        return this;
+    }
+
+    @Override
+    public Memory setLongsLE(int index, long[] src) {
+        setLongsLE(index, src, 0, src.length);
+        return this;
+    }
+
+    @Override
+    public Memory setLongsLE(int index, long[] src, int srcIndex, int length) {
+        for (int i = 0; i < length; i++) {
+            setLongLE(index + (i << 3), src[srcIndex + i]);
+        }
+        return this;
+    }
+
+    @Override
+    public Memory setDoubles(int index, double[] src) {
+        setDoubles(index, src, 0, src.length);
+        return this;
+    }
+
+    @Override
+    public Memory setDoubles(int index, double[] src, int srcIndex, int length) {
+        for (int i = 0; i < length; i++) {
+            setDouble(index + (i << 3), src[srcIndex + i]);
+        }
+        return this;
+    }
+
+    @Override
+    public Memory setDoublesLE(int index, double[] src) {
+        setDoublesLE(index, src, 0, src.length);
+        return this;
+    }
+
+    @Override
+    public Memory setDoublesLE(int index, double[] src, int srcIndex, int length) {
+        for (int i = 0; i < length; i++) {
+            setDoubleLE(index + (i << 3), src[srcIndex + i]);
+        }
+        return this;
+    }
+
+    @Override
+    public Memory setCharSequence(int index, CharSequence seq, Charset charset) {
+        setCharSequence(index, seq, charset, false);
+        return this;
+    }
+
     @Override
     public boolean readBoolean() {
         return readByte() != 0;
@@ -508,6 +857,134 @@ abstract class AbstractMemory implements Memory {
         return this;
     }
 
+    @Override
+    public int readBytes(GatheringByteChannel out, int length) throws IOException {
+        checkReadableBytes(length);
+        int readBytes = getBytes(readerIndex, out, length);
+        readerIndex += readBytes;
+        return readBytes;
+    }
+
+    @Override
+    public int readBytes(FileChannel out, long position, int length) throws IOException {
+        checkReadableBytes(length);
+        int readBytes = getBytes(readerIndex, out, position, length);
+        readerIndex += readBytes;
+        return readBytes;
+    }
+
+    @Override
+    public Memory readShorts(short[] dst) {
+        readShorts(dst, 0, dst.length);
+        return this;
+    }
+
+    @Override
+    public Memory readShorts(short[] dst, int dstIndex, int length) {
+        checkReadableBytes(byteLength(length, 1));
+        getShorts(readerIndex, dst, dstIndex, length);
+        readerIndex += length << 1;
+        return this;
+    }
+
+    @Override
+    public Memory readShortsLE(short[] dst) {
+        readShortsLE(dst, 0, dst.length);
+        return this;
+    }
+
+    @Override
+    public Memory readShortsLE(short[] dst, int dstIndex, int length) {
+        checkReadableBytes(byteLength(length, 1));
+        getShortsLE(readerIndex, dst, dstIndex, length);
+        readerIndex += length << 1;
+        return this;
+    }
+
+    @Override
+    public Memory readInts(int[] dst) {
+        readInts(dst, 0, dst.length);
+        return this;
+    }
+
+    @Override
+    public Memory readInts(int[] dst, int dstIndex, int length) {
+        checkReadableBytes(byteLength(length, 2));
+        getInts(readerIndex, dst, dstIndex, length);
+        readerIndex += length << 2;
+        return this;
+    }
+
+    @Override
+    public Memory readIntsLE(int[] dst) {
+        readIntsLE(dst, 0, dst.length);
+        return this;
+    }
+
+    @Override
+    public Memory readIntsLE(int[] dst, int dstIndex, int length) {
+        checkReadableBytes(byteLength(length, 2));
+        getIntsLE(readerIndex, dst, dstIndex, length);
+        readerIndex += length << 2;
+        return this;
+    }
+
+    @Override
+    public Memory readLongs(long[] dst) {
+        readLongs(dst, 0, dst.length);
+        return this;
+    }
+
+    @Override
+    public Memory readLongs(long[] dst, int dstIndex, int length) {
+        checkReadableBytes(byteLength(length, 3));
+        getLongs(readerIndex, dst, dstIndex, length);
+        readerIndex += length << 3;
+        return this;
+    }
+
+    @Override
+    public Memory readLongsLE(long[] dst) {
+        readLongsLE(dst, 0, dst.length);
+        return this;
+    }
+
+    @Override
+    public Memory readLongsLE(long[] dst, int dstIndex, int length) {
+        checkReadableBytes(byteLength(length, 3));
+        getLongsLE(readerIndex, dst, dstIndex, length);
+        readerIndex += length << 3;
+        return this;
+    }
+
+    @Override
+    public Memory readDoubles(double[] dst) {
+        readDoubles(dst, 0, dst.length);
+        return this;
+    }
+
+    @Override
+    public Memory readDoubles(double[] dst, int dstIndex, int length) {
+        checkReadableBytes(byteLength(length, 3));
+        getDoubles(readerIndex, dst, dstIndex, length);
+        readerIndex += length << 3;
+        return this;
+    }
+
+    @Override
+    public Memory readDoublesLE(double[] dst) {
+        readDoublesLE(dst, 0, dst.length);
+        return this;
+    }
+
+    @Override
+    public Memory readDoublesLE(double[] dst, int dstIndex, int length) {
+        checkReadableBytes(byteLength(length, 3));
+        getDoublesLE(readerIndex, dst, dstIndex, length);
+        readerIndex += length << 3;
+        return this;
+    }
+
     @Override
     public Memory skipBytes(int length) {
         checkReadableBytes(length);
@@ -522,6 +999,14 @@ abstract class AbstractMemory implements Memory {
         return sequence;
     }
 
+    @Override
+    public AsciiString readAsciiString(int length) {
+        checkReadableBytes(length);
+        AsciiString sequence = getAsciiString(readerIndex, length);
+        readerIndex += length;
+        return sequence;
+    }
+
     @Override
     public Memory writeBoolean(boolean value) {
         writeByte(value ? 1 : 0);
@@ -638,13 +1123,574 @@ abstract class AbstractMemory implements Memory {
         return this;
     }
 
+    @Override
+    public int writeBytes(ScatteringByteChannel in, int length) throws IOException {
+        ensureWritable(length);
+        int writtenBytes = setBytes(writerIndex, in, length);
+        if (writtenBytes > 0) {
+            writerIndex += writtenBytes;
+        }
+        return writtenBytes;
+    }
+
+    @Override
+    public int writeBytes(FileChannel in, long position, int length) throws IOException {
+        ensureWritable(length);
+        int writtenBytes = setBytes(writerIndex, in, position, length);
+        if (writtenBytes > 0) {
+            writerIndex += writtenBytes;
+        }
+        return writtenBytes;
+    }
+
+    @Override
+    public Memory writeShorts(short[] src) {
+        writeShorts(src, 0, src.length);
+        return this;
+    }
+
+    @Override
+    public Memory writeShorts(short[] src, int srcIndex, int length) {
+        ensureWritable(byteLength(length, 1));
+        setShorts(writerIndex, src, srcIndex, length);
+        writerIndex += length << 1;
+        return this;
+    }
+
+    @Override
+    public Memory writeShortsLE(short[] src) {
+        writeShortsLE(src, 0, src.length);
+        return this;
+    }
+
+    @Override
+    public Memory writeShortsLE(short[] src, int srcIndex, int length) {
+        ensureWritable(byteLength(length, 1));
+        setShortsLE(writerIndex, src, srcIndex, length);
+        writerIndex += length << 1;
+        return this;
+    }
+
+    @Override
+    public Memory writeInts(int[] src) {
+        writeInts(src, 0, src.length);
+        return this;
+    }
+
+    @Override
+    public Memory writeInts(int[] src, int srcIndex, int length) {
+        ensureWritable(byteLength(length, 2));
+        setInts(writerIndex, src, srcIndex, length);
+        writerIndex += length << 2;
+        return this;
+    }
+
+    @Override
+    public Memory writeIntsLE(int[] src) {
+        writeIntsLE(src, 0, src.length);
+        return this;
+    }
+
+    @Override
+    public Memory writeIntsLE(int[] src, int srcIndex, int length) {
+        ensureWritable(byteLength(length, 2));
+        setIntsLE(writerIndex, src, srcIndex, length);
+        writerIndex += length << 2;
+        return this;
+    }
+
+    @Override
+    public Memory writeLongs(long[] src) {
+        writeLongs(src, 0, src.length);
+        return this;
+    }
+
+    @Override
+    public Memory writeLongs(long[] src, int srcIndex, int length) {
+        ensureWritable(byteLength(length, 3));
+        setLongs(writerIndex, src, srcIndex, length);
+        writerIndex += length << 3;
+        return this;
+    }
+
+    @Override
+    public Memory writeLongsLE(long[] src) {
+        writeLongsLE(src, 0, src.length);
+        return this;
+    }
+
+    @Override
+    public Memory writeLongsLE(long[] src, int srcIndex, int length) {
+        ensureWritable(byteLength(length, 3));
+        setLongsLE(writerIndex, src, srcIndex, length);
+        writerIndex += length << 3;
+        return this;
+    }
+
+    @Override
+    public Memory writeDoubles(double[] src) {
+        writeDoubles(src, 0, src.length);
+        return this;
+    }
+
+    @Override
+    public Memory writeDoubles(double[] src, int srcIndex, int length) {
+        ensureWritable(byteLength(length, 3));
+        setDoubles(writerIndex, src, srcIndex, length);
+        writerIndex += length << 3;
+        return this;
+    }
+
+    @Override
+    public Memory writeDoublesLE(double[] src) {
+        writeDoublesLE(src, 0, src.length);
+        return this;
+    }
+
+    @Override
+    public Memory writeDoublesLE(double[] src, int srcIndex, int length) {
+        ensureWritable(byteLength(length, 3));
+        setDoublesLE(writerIndex, src, srcIndex, length);
+        writerIndex += length << 3;
+        return this;
+    }
+
     @Override
     public Memory writeCharSequence(CharSequence sequence, Charset charset) {
-        this.setCharSequence(writerIndex, sequence, charset);
-        writerIndex += writtenBytes;
+        writerIndex += setCharSequence(writerIndex, sequence, charset, true);
         return this;
     }
 
+    @Override
+    public int indexOf(byte value) {
+        return indexOf(readerIndex, writerIndex, value);
+    }
+
+    @Override
+    public int indexOf(int fromIndex, int toIndex, byte value) {
+        if (fromIndex >= toIndex) {
+            return -1;
+        }
+        checkIndex(fromIndex, toIndex - fromIndex);
+        return firstIndexOf(fromIndex, toIndex, value);
+    }
+
+    @Override
+    public int indexOf(Memory pattern) {
+        return indexOf(readerIndex, writerIndex, pattern);
+    }
+
+    @Override
+    public int indexOf(int fromIndex, int toIndex, Memory pattern) {
+        int patternLength = pattern.readableBytes();
+        if (toIndex - fromIndex < patternLength) {
+            return -1;
+        }
+        checkIndex(fromIndex, toIndex - fromIndex);
+        if (patternLength == 0) {
+            return fromIndex;
+        }
+        if (patternLength == 1) {
+            return firstIndexOf(fromIndex, toIndex, pattern.getByte(pattern.readerIndex()));
+        }
+        byte[] needle = new byte[patternLength];
+        pattern.getBytes(pattern.readerIndex(), needle);
+        if (patternLength < HORSPOOL_THRESHOLD) {
+            return firstIndexOf(fromIndex, toIndex, needle);
+        }
+        return horspoolIndexOf(fromIndex, toIndex, needle);
+    }
+
+    @Override
+    public int bytesBefore(byte value) {
+        return bytesBefore(readerIndex, readableBytes(), value);
+    }
+
+    @Override
+    public int bytesBefore(int length, byte value) {
+        checkReadableBytes(length);
+        return bytesBefore(readerIndex, length, value);
+    }
+
+    @Override
+    public int bytesBefore(int index, int length, byte value) {
+        int endIndex = indexOf(index, index + length, value);
+        if (endIndex < 0) {
+            return -1;
+        }
+        return endIndex - index;
+    }
+
+    @Override
+    public int forEachByte(ByteProcessor processor) {
+        return forEachByte(readerIndex, readableBytes(), processor);
+    }
+
+    @Override
+    public int forEachByte(int index, int length, ByteProcessor processor) {
+        checkIndex(index, length);
+        int endIndex = index + length;
+        for (int i = index; i < endIndex; i++) {
+            if (!processor.process(getByteUnchecked(i))) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    @Override
+    public int getBytes(int index, GatheringByteChannel out, int length) throws IOException {
+        checkIndex(index, length);
+        return out.write(internalNioBuffer(index, length));
+    }
+
+    @Override
+    public int getBytes(int index, FileChannel out, long position, int length) throws IOException {
+        checkIndex(index, length);
+        return out.write(internalNioBuffer(index, length), position);
+    }
+
+    @Override
+    public int setBytes(int index, ScatteringByteChannel in, int length) throws IOException {
+        checkIndex(index, length);
+        try {
+            return in.read(internalNioBuffer(index, length));
+        } catch (ClosedChannelException e) {
+            return -1;
+        }
+    }
+
+    @Override
+    public int setBytes(int index, FileChannel in, long position, int length) throws IOException {
+        checkIndex(index, length);
+        try {
+            return in.read(internalNioBuffer(index, length), position);
+        } catch (ClosedChannelException e) {
+            return -1;
+        }
+    }
+
+    /**
+     * Exposes this buffer's sub-region as an NIO {@link ByteBuffer}'s sharing the content,
+     * the remaining bytes of returned buffer's (from its position to its limit) is the sub-region.
+     * @param index index.
+     * @param length length.
+     * @return returns {@link ByteBuffer}.
+     */
+    ByteBuffer nioBuffer(int index, int length) {
+        return ByteBufferHelper.wrapDirectByteBuffer(memoryAddress() + index, length);
+    }
+
+    /**
+     * Same as {@link #nioBuffer(int, int)}, but the returned buffer's may be cached and reused by
+     * the next call, so it must not escape the calling method (used for channel I/O).
+     * @param index index.
+     * @param length length.
+     * @return returns {@link ByteBuffer}.
+     */
+    ByteBuffer internalNioBuffer(int index, int length) {
+        return nioBuffer(index, length);
+    }
+
+    /**
+     * Set position and limit of given buffer's to the given region.
+     * @param buffer buffer.
+     * @param index start of the region.
+     * @param length length of the region.
+     * @return returns given {@link ByteBuffer}.
+     */
+    static ByteBuffer region(ByteBuffer buffer, int index, int length) {
+        // cast to Buffer, ByteBuffer overrides these methods since Java 9
+        ((Buffer) buffer).clear();
+        ((Buffer) buffer).position(index);
+        ((Buffer) buffer).limit(index + length);
+        return buffer;
+    }
+
+    /**
+     * Duplicate given buffer's with position and limit set to the given region.
+     * @param buffer buffer.
+     * @param index start of the region.
+     * @param length length of the region.
+     * @return returns duplicated {@link ByteBuffer}.
+     */
+    static ByteBuffer duplicateRegion(ByteBuffer buffer, int index, int length) {
+        return region(buffer.duplicate(), index, length);
+    }
+
+    /**
+     * Encode given sequence at the given index, the UTF-8 and ASCII (ISO-8859-1) encoded length is known
+     * before encoding so the range is checked (or the buffer's is expanded) once, and written in 8 bytes word.
+     * @param index index.
+     * @param seq sequence.
+     * @param charset charset.
+     * @param expand true to make sure the sequence is writable first (see {@link #ensureWritable(int)}).
+     * @return returns number of written bytes.
+     */
+    private int setCharSequence(int index, CharSequence seq, Charset charset, boolean expand) {
+        final int length;
+        if (UTF_8.equals(charset)) {
+            length = Memories.utf8Bytes(seq);
+            if (expand) {
+                ensureWritable(length);
+            }
+            checkWriteIndex(index, length);
+            setUtf8(index, seq);
+        } else if (US_ASCII.equals(charset) || ISO_8859_1.equals(charset)) {
+            length = seq.length();
+            if (expand) {
+                ensureWritable(length);
+            }
+            checkWriteIndex(index, length);
+            setAscii(index, seq);
+        } else {
+            byte[] bytes = seq.toString().getBytes(charset);
+            length = bytes.length;
+            if (expand) {
+                ensureWritable(length);
+            }
+            setBytes(index, bytes);
+        }
+        return length;
+    }
+
+    private void setUtf8(int index, CharSequence seq) {
+        // see netty-buffer code
+        int len = seq.length();
+        int i = 0;
+        for (; i + 8 <= len; i += 8) {
+            long word = asciiWord(seq, i, false);
+            if (word < 0) {
+                break;
+            }
+            setLongUnchecked(index, word);
+            index += 8;
+        }
+        for (; i < len; i++) {
+            char c = seq.charAt(i);
+            if (c < 0x80) {
+                setByteUnchecked(index++, (byte) c);
+            } else if (c < 0x800) {
+                setByteUnchecked(index++, (byte) (0xc0 | (c >> 6)));
+                setByteUnchecked(index++, (byte) (0x80 | (c & 0x3f)));
+            } else if (c >= '\uD800' && c <= '\uDFFF') {
+                if (!Character.isHighSurrogate(c)) {
+                    setByteUnchecked(index++, WRITE_UTF_UNKNOWN);
+                    continue;
+                }
+                if (++i == len) {
+                    setByteUnchecked(index++, WRITE_UTF_UNKNOWN);
+                    break;
+                }
+                final char c2 = seq.charAt(i);
+                if (!Character.isLowSurrogate(c2)) {
+                    setByteUnchecked(index++, WRITE_UTF_UNKNOWN);
+                    setByteUnchecked(index++, Character.isHighSurrogate(c2) ? WRITE_UTF_UNKNOWN : (byte) c2);
+                } else {
+                    int codePoint = Character.toCodePoint(c, c2);
+                    setByteUnchecked(index++, (byte) (0xf0 | (codePoint >> 18)));
+                    setByteUnchecked(index++, (byte) (0x80 | ((codePoint >> 12) & 0x3f)));
+                    setByteUnchecked(index++, (byte) (0x80 | ((codePoint >> 6) & 0x3f)));
+                    setByteUnchecked(index++, (byte) (0x80 | (codePoint & 0x3f)));
+                }
+            } else {
+                setByteUnchecked(index++, (byte) (0xe0 | (c >> 12)));
+                setByteUnchecked(index++, (byte) (0x80 | ((c >> 6) & 0x3f)));
+                setByteUnchecked(index++, (byte) (0x80 | (c & 0x3f)));
+            }
+        }
+    }
+
+    private void setAscii(int index, CharSequence seq) {
+        int len = seq.length();
+        int i = 0;
+        for (; i + 8 <= len; i += 8) {
+            setLongUnchecked(index, asciiWord(seq, i, true));
+            index += 8;
+        }
+        for (; i < len; i++) {
+            setByteUnchecked(index++, c2b(seq.charAt(i)));
+        }
+    }
+
+    /**
+     * Pack 8 chars into a big endian word.
+     * @param seq sequence.
+     * @param i index of the first char.
+     * @param replace true to replace a char greater than {@code 255} with {@code '?'},
+     *                false to return {@code -1} if there is a non ASCII char.
+     * @return returns packed chars.
+     */
+    private static long asciiWord(CharSequence seq, int i, boolean replace) {
+        char c0 = seq.charAt(i);
+        char c1 = seq.charAt(i + 1);
+        char c2 = seq.charAt(i + 2);
+        char c3 = seq.charAt(i + 3);
+        char c4 = seq.charAt(i + 4);
+        char c5 = seq.charAt(i + 5);
+        char c6 = seq.charAt(i + 6);
+        char c7 = seq.charAt(i + 7);
+        if (replace) {
+            return (c2b(c0) & 0xffL) << 56 | (c2b(c1) & 0xffL) << 48 | (c2b(c2) & 0xffL) << 40 | (c2b(c3) & 0xffL) << 32
+                    | (c2b(c4) & 0xffL) << 24 | (c2b(c5) & 0xffL) << 16 | (c2b(c6) & 0xffL) << 8 | (c2b(c7) & 0xffL);
+        }
+        if ((c0 | c1 | c2 | c3 | c4 | c5 | c6 | c7) >= 0x80) {
+            return -1;
+        }
+        return (long) c0 << 56 | (long) c1 << 48 | (long) c2 << 40 | (long) c3 << 32
+                | (long) c4 << 24 | (long) c5 << 16 | (long) c6 << 8 | c7;
+    }
+
+    private static byte c2b(char c) {
+        return (byte) (c > 255 ? '?' : c);
+    }
+
+    private static boolean isAscii(byte[] bytes) {
+        for (int i = 0; i < bytes.length; i++) {
+            if (bytes[i] < 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Same as {@link #checkIndex(int, int)}, called before writing a range which is set by
+     * {@link #setByteUnchecked(int, int)} and {@link #setLongUnchecked(int, long)}.
+     * @param index index.
+     * @param length length.
+     */
+    void checkWriteIndex(int index, int length) {
+        checkIndex(index, length);
+    }
+
+    /**
+     * Set byte without bounds checking, used by bulk operations after the whole range is checked.
+     * @param index index.
+     * @param value value.
+     */
+    void setByteUnchecked(int index, int value) {
+        setByte(index, value);
+    }
+
+    /**
+     * Set big endian long without bounds checking, used by bulk operations after the whole range is checked.
+     * @param index index.
+     * @param value value.
+     */
+    void setLongUnchecked(int index, long value) {
+        setLong(index, value);
+    }
+
+    /**
+     * Get byte without bounds checking, used by search operations after the whole range is checked.
+     * @param index index.
+     * @return returns byte value.
+     */
+    byte getByteUnchecked(int index) {
+        return getByte(index);
+    }
+
+    /**
+     * Get big endian long without bounds checking, used by search operations after the whole range is checked.
+     * @param index index.
+     * @return returns long value.
+     */
+    long getLongUnchecked(int index) {
+        return getLong(index);
+    }
+
+    /**
+     * Scan 8 bytes at a time (SWAR), the first byte of a big endian word is the lowest index.
+     */
+    private int firstIndexOf(int fromIndex, int toIndex, byte value) {
+        long pattern = (value & 0xffL) * 0x0101010101010101L;
+        int i = fromIndex;
+        int longEnd = fromIndex + ((toIndex - fromIndex) & ~7);
+        for (; i < longEnd; i += 8) {
+            long word = getLongUnchecked(i) ^ pattern;
+            long tmp = (word & 0x7F7F7F7F7F7F7F7FL) + 0x7F7F7F7F7F7F7F7FL;
+            tmp = ~(tmp | word | 0x7F7F7F7F7F7F7F7FL);
+            if (tmp != 0) {
+                return i + (Long.numberOfLeadingZeros(tmp) >>> 3);
+            }
+        }
+        for (; i < toIndex; i++) {
+            if (getByteUnchecked(i) == value) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Short pattern, scan the first byte of the pattern and compare the rest.
+     */
+    private int firstIndexOf(int fromIndex, int toIndex, byte[] needle) {
+        int lastIndex = toIndex - needle.length;
+        int i = fromIndex;
+        while (i <= lastIndex) {
+            i = firstIndexOf(i, lastIndex + 1, needle[0]);
+            if (i < 0) {
+                return -1;
+            }
+            if (regionMatches(i, needle)) {
+                return i;
+            }
+            i++;
+        }
+        return -1;
+    }
+
+    /**
+     * Boyer-Moore-Horspool, skip by the last byte of current window.
+     */
+    private int horspoolIndexOf(int fromIndex, int toIndex, byte[] needle) {
+        int last = needle.length - 1;
+        int[] shifts = new int[256];
+        Arrays.fill(shifts, needle.length);
+        for (int i = 0; i < last; i++) {
+            shifts[needle[i] & 0xff] = last - i;
+        }
+        int lastIndex = toIndex - needle.length;
+        int i = fromIndex;
+        while (i <= lastIndex) {
+            byte b = getByteUnchecked(i + last);
+            if (b == needle[last] && regionMatches(i, needle)) {
+                return i;
+            }
+            i += shifts[b & 0xff];
+        }
+        return -1;
+    }
+
+    private boolean regionMatches(int index, byte[] needle) {
+        int j = 0;
+        int longEnd = needle.length & ~7;
+        for (; j < longEnd; j += 8) {
+            if (getLongUnchecked(index + j) != bigEndianLong(needle, j)) {
+                return false;
+            }
+        }
+        for (; j < needle.length; j++) {
+            if (getByteUnchecked(index + j) != needle[j]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static long bigEndianLong(byte[] bytes, int index) {
+        return ((long) bytes[index]) << 56
+                | (bytes[index + 1] & 0xffL) << 48
+                | (bytes[index + 2] & 0xffL) << 40
+                | (bytes[index + 3] & 0xffL) << 32
+                | (bytes[index + 4] & 0xffL) << 24
+                | (bytes[index + 5] & 0xffL) << 16
+                | (bytes[index + 6] & 0xffL) << 8
+                | bytes[index + 7] & 0xffL;
+    }
+
     @Override
     public Memory copy() {
         return copy(0, capacity());
@@ -655,7 +1701,15 @@ abstract class AbstractMemory implements Memory {
         return slice(readerIndex, readableBytes());
     }
 
-    private int calculateNewCapacity(int minNewCapacity, int maxCapacity) {
+    /**
+     * Calculate the capacity to grow into when a write needs at least {@code minNewCapacity} bytes,
+     * doubling (starting from 64 bytes) up to 4 MiB and increasing by 4 MiB step above it, so appending
+     * doesn't reallocate on every write.
+     * @param minNewCapacity minimum new capacity.
+     * @param maxCapacity maximum capacity.
+     * @return returns new capacity.
+     */
+    int calculateNewCapacity(int minNewCapacity, int maxCapacity) {
         if (minNewCapacity < 0) {
             throw new IllegalArgumentException("minNewCapacity: " + minNewCapacity + " (expected: 0+)");
         }
@@ -719,6 +1773,23 @@ abstract class AbstractMemory implements Memory {
         }
     }
 
+    /**
+     * Get number of bytes of {@code length} elements of {@code 1 << shift} bytes, checked before any bounds check
+     * so the shift can't overflow into a smaller (or negative) number of bytes.
+     * @param length number of elements.
+     * @param shift log2 of element size.
+     * @return returns number of bytes.
+     * @throws IndexOutOfBoundsException if number of bytes doesn't fit into an int.
+     */
+    static int byteLength(int length, int shift) {
+        int bytes = length << shift;
+        if (bytes >> shift != length) {
+            throw new IndexOutOfBoundsException(String.format(
+                    "length: %d (expected: range(0, %d))", length, Integer.MAX_VALUE >> shift));
+        }
+        return bytes;
+    }
+
     void checkIndex(int index, int fieldLength) {
         if (isOutOfBounds(index, fieldLength, capacity())) {
             throw new IndexOutOfBoundsException(String.format(
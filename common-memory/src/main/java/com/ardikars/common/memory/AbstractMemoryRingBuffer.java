@@ -0,0 +1,221 @@
+package com.ardikars.common.memory;
+
+import com.ardikars.common.util.Validate;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Base of {@link MemoryRingBuffer}. The memory has extra space (one maximum record) after the capacity,
+ * so a record which starts near the end of the ring is stored contiguously instead of wrapping around.
+ * Positions are absolute byte counters, the index of a position is {@code position & (capacity - 1)}.
+ * Every record is published on its own: commit sets the committed bit of the record (one bit per aligned slot),
+ * the consumer stops at the first record which isn't committed yet and clears the bits of records it has read.
+ * A producer never waits on other producers.
+ *
+ * @author <a href="mailto:contact@ardikars.com">Ardika Rommy Sanjaya</a>
+ */
+abstract class AbstractMemoryRingBuffer implements MemoryRingBuffer {
+
+    static final int ABORTED_TYPE = -1;
+
+    private static final int PADDING = 8; // 64 bytes cache line
+
+    static final int HEAD = PADDING; // consumer position
+    static final int HEAD_CACHE = HEAD + PADDING; // producer's view of consumer position
+    static final int TAIL_CLAIM = HEAD_CACHE + PADDING; // next claim position
+    static final int TAIL = TAIL_CLAIM + PADDING; // number of committed bytes
+
+    final Memory memory;
+    final int capacity;
+    final int mask;
+    final int maxRecordLength;
+    final AtomicLongArray counters = new AtomicLongArray(TAIL + PADDING);
+    final AtomicLongArray committed; // committed bit of each aligned slot
+
+    AbstractMemoryRingBuffer(MemoryAllocator allocator, int capacity) {
+        Validate.notIllegalArgument(allocator != null,
+                new IllegalArgumentException("allocator: null (expected: non null)"));
+        Validate.notIllegalArgument(capacity >= 64 && capacity <= 1 << 30 && Integer.bitCount(capacity) == 1,
+                new IllegalArgumentException(String.format("capacity: %d (expected: power of two in range(64, %d))",
+                        capacity, 1 << 30)));
+        this.capacity = capacity;
+        this.mask = capacity - 1;
+        this.maxRecordLength = capacity / 8 - HEADER_LENGTH;
+        this.committed = new AtomicLongArray((capacity / ALIGNMENT + 63) >>> 6);
+        int size = capacity + capacity / 8;
+        this.memory = allocator.allocate(size, size, 0, 0);
+    }
+
+    /**
+     * Claim {@code recordLength} (aligned) bytes.
+     * @param recordLength record length.
+     * @return returns claimed position, or -1 if there is not enough space.
+     */
+    abstract long claimPosition(int recordLength);
+
+    @Override
+    public int capacity() {
+        return capacity;
+    }
+
+    @Override
+    public int maxRecordLength() {
+        return maxRecordLength;
+    }
+
+    @Override
+    public Memory memory() {
+        return memory;
+    }
+
+    @Override
+    public int claim(int type, int length) {
+        Validate.notIllegalArgument(type >= 0,
+                new IllegalArgumentException(String.format("type: %d (expected: >= 0)", type)));
+        Validate.notIllegalArgument(length >= 0 && length <= maxRecordLength,
+                new IllegalArgumentException(String.format("length: %d (expected: range(0, %d))",
+                        length, maxRecordLength)));
+        long position = claimPosition(align(HEADER_LENGTH + length));
+        if (position < 0) {
+            return -1;
+        }
+        int index = (int) position & mask;
+        memory.setInt(index, length);
+        memory.setInt(index + 4, type);
+        return index + HEADER_LENGTH;
+    }
+
+    @Override
+    public void commit(int index) {
+        int headerIndex = index - HEADER_LENGTH;
+        int recordLength = align(HEADER_LENGTH + memory.getInt(headerIndex));
+        // the payload written before is visible to the consumer which sees the bit set
+        updateCommitted(headerIndex, true);
+        counters.getAndAdd(TAIL, recordLength);
+    }
+
+    @Override
+    public void abort(int index) {
+        memory.setInt(index - HEADER_LENGTH + 4, ABORTED_TYPE);
+        commit(index);
+    }
+
+    @Override
+    public boolean write(int type, Memory src, int srcIndex, int length) {
+        int index = claim(type, length);
+        if (index < 0) {
+            return false;
+        }
+        try {
+            int i = 0;
+            for (; i + 8 <= length; i += 8) {
+                memory.setLong(index + i, src.getLong(srcIndex + i));
+            }
+            for (; i < length; i++) {
+                memory.setByte(index + i, src.getByte(srcIndex + i));
+            }
+        } catch (RuntimeException e) {
+            abort(index);
+            throw e;
+        }
+        commit(index);
+        return true;
+    }
+
+    @Override
+    public boolean write(int type, byte[] src, int srcIndex, int length) {
+        int index = claim(type, length);
+        if (index < 0) {
+            return false;
+        }
+        try {
+            memory.setBytes(index, src, srcIndex, length);
+        } catch (RuntimeException e) {
+            abort(index);
+            throw e;
+        }
+        commit(index);
+        return true;
+    }
+
+    @Override
+    public int read(Handler handler) {
+        return read(handler, Integer.MAX_VALUE);
+    }
+
+    @Override
+    public int read(Handler handler, int limit) {
+        long head = counters.get(HEAD);
+        int count = 0;
+        try {
+            while (count < limit) {
+                int index = (int) head & mask;
+                if (!isCommitted(index)) {
+                    break;
+                }
+                int length = memory.getInt(index);
+                int type = memory.getInt(index + 4);
+                // cleared before the space is given back (head), so the next record in this slot starts uncommitted
+                updateCommitted(index, false);
+                head += align(HEADER_LENGTH + length);
+                if (type != ABORTED_TYPE) {
+                    count++;
+                    handler.onRecord(type, memory, index + HEADER_LENGTH, length);
+                }
+            }
+        } finally {
+            counters.lazySet(HEAD, head);
+        }
+        return count;
+    }
+
+    @Override
+    public int size() {
+        return (int) (counters.get(TAIL) - counters.get(HEAD));
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+    @Override
+    public void release() {
+        memory.release();
+    }
+
+    /**
+     * @param position claim position.
+     * @param recordLength record length.
+     * @return returns true if the record fits, refreshing the cached consumer position if needed.
+     */
+    boolean hasSpace(long position, int recordLength) {
+        long limit = position + recordLength - capacity;
+        if (limit <= counters.get(HEAD_CACHE)) {
+            return true;
+        }
+        long head = counters.get(HEAD);
+        counters.lazySet(HEAD_CACHE, head);
+        return limit <= head;
+    }
+
+    private boolean isCommitted(int index) {
+        int slot = index / ALIGNMENT;
+        return (committed.get(slot >>> 6) & 1L << (slot & 63)) != 0;
+    }
+
+    private void updateCommitted(int index, boolean value) {
+        int slot = index / ALIGNMENT;
+        int word = slot >>> 6;
+        long bit = 1L << (slot & 63);
+        long bits;
+        do {
+            bits = committed.get(word);
+        } while (!committed.compareAndSet(word, bits, value ? bits | bit : bits & ~bit));
+    }
+
+    static int align(int length) {
+        return (length + ALIGNMENT - 1) & -ALIGNMENT;
+    }
+
+}
@@ -0,0 +1,100 @@
+package com.ardikars.common.memory;
+
+/**
+ * {@link CheckedMemory} allocated by {@link PoolArena}.
+ *
+ * @author <a href="mailto:contact@ardikars.com">Ardika Rommy Sanjaya</a>
+ */
+class ArenaCheckedMemory extends CheckedMemory implements ArenaMemory {
+
+    final PoolArena arena;
+
+    private PoolChunk chunk;
+    private long handle;
+    private int maxLength;
+    private PoolArena.Retired retired;
+
+    ArenaCheckedMemory(PoolArena arena, int capacity, int maxCapacity, int readerIndex, int writerIndex) {
+        super(0, capacity, maxCapacity, readerIndex, writerIndex);
+        this.arena = arena;
+    }
+
+    @Override
+    public void init(PoolChunk chunk, long handle, long address, int maxLength) {
+        this.chunk = chunk;
+        this.handle = handle;
+        this.address = address;
+        this.maxLength = maxLength;
+    }
+
+    @Override
+    public PoolChunk chunk() {
+        return chunk;
+    }
+
+    @Override
+    public long handle() {
+        return handle;
+    }
+
+    @Override
+    public int maxLength() {
+        return maxLength;
+    }
+
+    @Override
+    public PoolArena.Retired retired() {
+        return retired;
+    }
+
+    @Override
+    public void retired(PoolArena.Retired retired) {
+        this.retired = retired;
+    }
+
+    @Override
+    public ArenaCheckedMemory capacity(int newCapacity) {
+        ensureAccessible();
+        checkNewCapacity(newCapacity);
+        if (newCapacity > maxLength) {
+            arena.reallocate(this, newCapacity);
+        }
+        this.capacity = newCapacity;
+        return this;
+    }
+
+    @Override
+    public ArenaCheckedMemory copy(int index, int length) {
+        ensureAccessible(index, length);
+        ArenaCheckedMemory memory = new ArenaCheckedMemory(arena, length, maxCapacity, readerIndex(), writerIndex());
+        arena.allocate(memory, length);
+        if (length != 0) {
+            memory.setBytes(0, this, index, length);
+        }
+        return MemoryLeakDetector.track(memory);
+    }
+
+    @Override
+    public ArenaSlicedCheckedMemory slice(int index, int length) {
+        ensureAccessible(index, length);
+        return derived(new ArenaSlicedCheckedMemory(this, address, capacity, address + index, length,
+                readerIndex() - index, writerIndex() - index));
+    }
+
+    @Override
+    public ArenaSlicedCheckedMemory duplicate() {
+        ensureAccessible();
+        return derived(new ArenaSlicedCheckedMemory(this, address, capacity, address, capacity,
+                readerIndex(), writerIndex()));
+    }
+
+    @Override
+    public void release() {
+        if (decrementRefCnt()) {
+            arena.free(chunk, handle, address);
+            arena.free(retired);
+            retired = null;
+        }
+    }
+
+}
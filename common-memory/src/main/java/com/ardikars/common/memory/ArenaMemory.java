@@ -0,0 +1,33 @@
+package com.ardikars.common.memory;
+
+/**
+ * {@link Memory} carved from a {@link PoolArena}.
+ *
+ * @author <a href="mailto:contact@ardikars.com">Ardika Rommy Sanjaya</a>
+ */
+interface ArenaMemory extends Memory {
+
+    /**
+     * Bind this memory to a region of the arena.
+     * @param chunk owner chunk, or null for huge (non pooled) allocation.
+     * @param handle chunk handle.
+     * @param address memory address.
+     * @param maxLength usable length of the region (normalized capacity).
+     */
+    void init(PoolChunk chunk, long handle, long address, int maxLength);
+
+    PoolChunk chunk();
+
+    long handle();
+
+    int maxLength();
+
+    /**
+     * Regions this memory moved away from while derived views still addressed them, freed on the last release.
+     * @return returns retired regions, or null.
+     */
+    PoolArena.Retired retired();
+
+    void retired(PoolArena.Retired retired);
+
+}
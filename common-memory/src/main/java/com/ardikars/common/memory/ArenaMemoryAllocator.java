@@ -0,0 +1,112 @@
+package com.ardikars.common.memory;
+
+import com.ardikars.common.util.Validate;
+
+/**
+ * {@link MemoryAllocator} backed by size-class {@link PoolArena}'s.
+ * Unlike {@link PooledMemoryAllocator}, any capacity can be allocated, and small buffer's
+ * doesn't occupy a whole block. Without {@code sun.misc.Unsafe} the arena chunks are direct
+ * {@link java.nio.ByteBuffer}'s. Threads are spread over the arenas by thread id, a buffer's is always
+ * freed into the arena it's allocated from.
+ *
+ * @author <a href="mailto:contact@ardikars.com">Ardika Rommy Sanjaya</a>
+ */
+final class ArenaMemoryAllocator implements MemoryAllocator {
+
+    static final int DEFAULT_PAGE_SIZE = 8192;
+    static final int DEFAULT_MAX_ORDER = 11; // 8192 << 11 = 16 MiB per chunk
+    static final int DEFAULT_ARENAS = Runtime.getRuntime().availableProcessors();
+
+    private static final int MIN_PAGE_SIZE = 4096;
+    private static final int MAX_CHUNK_SIZE = (int) (((long) Integer.MAX_VALUE + 1) / 2);
+
+    private final PoolArena[] arenas;
+
+    private final DefaultMemoryAllocatorMetric metric = new DefaultMemoryAllocatorMetric("Arena");
+
+    ArenaMemoryAllocator() {
+        this(DEFAULT_PAGE_SIZE, DEFAULT_MAX_ORDER, DEFAULT_ARENAS);
+    }
+
+    ArenaMemoryAllocator(int pageSize, int maxOrder, int arenas) {
+        Validate.notIllegalArgument(pageSize >= MIN_PAGE_SIZE && (pageSize & pageSize - 1) == 0,
+                new IllegalArgumentException(String.format("pageSize: %d (expected: power of 2 and >= %d)", pageSize, MIN_PAGE_SIZE)));
+        Validate.notIllegalArgument(maxOrder >= 0 && maxOrder <= 14,
+                new IllegalArgumentException(String.format("maxOrder: %d (expected: 0-14)", maxOrder)));
+        Validate.notIllegalArgument(((long) pageSize << maxOrder) <= MAX_CHUNK_SIZE,
+                new IllegalArgumentException(String.format("pageSize (%d) << maxOrder (%d) must not exceed %d", pageSize, maxOrder, MAX_CHUNK_SIZE)));
+        Validate.notIllegalArgument(arenas > 0,
+                new IllegalArgumentException(String.format("arenas: %d (expected: > 0)", arenas)));
+        this.arenas = new PoolArena[arenas];
+        for (int i = 0; i < arenas; i++) {
+            this.arenas[i] = new PoolArena(pageSize, maxOrder);
+        }
+    }
+
+    @Override
+    public Memory allocate(int capacity) {
+        return allocate(capacity, capacity, 0, 0, true);
+    }
+
+    @Override
+    public Memory allocate(int capacity, boolean checking) {
+        return allocate(capacity, capacity, 0, 0, checking);
+    }
+
+    @Override
+    public Memory allocate(int capacity, int maxCapacity) {
+        return allocate(capacity, maxCapacity, 0, 0, true);
+    }
+
+    @Override
+    public Memory allocate(int capacity, int maxCapacity, boolean checking) {
+        return allocate(capacity, maxCapacity, 0, 0, checking);
+    }
+
+    @Override
+    public Memory allocate(int capacity, int maxCapacity, int readerIndex, int writerIndex) {
+        return allocate(capacity, maxCapacity, readerIndex, writerIndex, true);
+    }
+
+    @Override
+    public Memory allocate(int capacity, int maxCapacity, int readerIndex, int writerIndex, boolean checking) {
+        Validate.notIllegalArgument(capacity >= 0 && capacity <= maxCapacity,
+                new IllegalArgumentException(String.format("capacity: %d (expected: 0-%d)", capacity, maxCapacity)));
+        PoolArena arena = arena();
+        ArenaMemory memory;
+        if (checking) {
+            memory = new ArenaCheckedMemory(arena, capacity, maxCapacity, readerIndex, writerIndex);
+        } else {
+            memory = new ArenaUncheckedMemory(arena, capacity, maxCapacity, readerIndex, writerIndex);
+        }
+        boolean hit = arena.allocate(memory, capacity);
+        metric.allocated(memory, memory.maxLength(), hit);
+        return MemoryLeakDetector.track(memory);
+    }
+
+    @Override
+    public MemoryAllocatorMetric metric() {
+        return metric;
+    }
+
+    @Override
+    public void close() {
+        metric.close();
+        for (int i = 0; i < arenas.length; i++) {
+            arenas[i].destroy();
+        }
+    }
+
+    int numChunks() {
+        int numChunks = 0;
+        for (int i = 0; i < arenas.length; i++) {
+            numChunks += arenas[i].numChunks();
+        }
+        return numChunks;
+    }
+
+    PoolArena arena() {
+        return arenas[(int) (Thread.currentThread().getId() % arenas.length)];
+    }
+
+}
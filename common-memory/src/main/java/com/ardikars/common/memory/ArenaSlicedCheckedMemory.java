@@ -0,0 +1,29 @@
+package com.ardikars.common.memory;
+
+/**
+ * Sliced (or duplicated) {@link ArenaCheckedMemory}, sharing the reference count of its parent.
+ *
+ * @author <a href="mailto:contact@ardikars.com">Ardika Rommy Sanjaya</a>
+ */
+class ArenaSlicedCheckedMemory extends SlicedCheckedMemory {
+
+    ArenaSlicedCheckedMemory(Memory parent, long baseAddress, int baseCapacity, long address, int capacity,
+                             int readerIndex, int writerIndex) {
+        super(parent, baseAddress, baseCapacity, address, capacity, readerIndex, writerIndex);
+    }
+
+    @Override
+    public ArenaSlicedCheckedMemory slice(int index, int length) {
+        ensureAccessible(index, length);
+        return ((AbstractMemory) parent).derived(new ArenaSlicedCheckedMemory(parent, baseAddress, baseCapacity, address + index, length,
+                readerIndex() - index, writerIndex() - index));
+    }
+
+    @Override
+    public ArenaSlicedCheckedMemory duplicate() {
+        ensureAccessible();
+        return ((AbstractMemory) parent).derived(new ArenaSlicedCheckedMemory(parent, baseAddress, baseCapacity, address, capacity,
+                readerIndex(), writerIndex()));
+    }
+
+}
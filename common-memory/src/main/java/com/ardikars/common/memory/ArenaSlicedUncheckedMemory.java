@@ -0,0 +1,27 @@
+package com.ardikars.common.memory;
+
+/**
+ * Sliced (or duplicated) {@link ArenaUncheckedMemory}, sharing the reference count of its parent.
+ *
+ * @author <a href="mailto:contact@ardikars.com">Ardika Rommy Sanjaya</a>
+ */
+class ArenaSlicedUncheckedMemory extends SlicedUncheckedMemory {
+
+    ArenaSlicedUncheckedMemory(Memory parent, long baseAddress, int baseCapacity, long address, int capacity,
+                               int readerIndex, int writerIndex) {
+        super(parent, baseAddress, baseCapacity, address, capacity, readerIndex, writerIndex);
+    }
+
+    @Override
+    public ArenaSlicedUncheckedMemory slice(int index, int length) {
+        return ((AbstractMemory) parent).derived(new ArenaSlicedUncheckedMemory(parent, baseAddress, baseCapacity, address + index, length,
+                readerIndex() - index, writerIndex() - index));
+    }
+
+    @Override
+    public ArenaSlicedUncheckedMemory duplicate() {
+        return ((AbstractMemory) parent).derived(new ArenaSlicedUncheckedMemory(parent, baseAddress, baseCapacity, address, capacity,
+                readerIndex(), writerIndex()));
+    }
+
+}
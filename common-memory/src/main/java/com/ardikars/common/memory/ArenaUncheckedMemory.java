@@ -0,0 +1,96 @@
+package com.ardikars.common.memory;
+
+/**
+ * {@link UncheckedMemory} allocated by {@link PoolArena}.
+ *
+ * @author <a href="mailto:contact@ardikars.com">Ardika Rommy Sanjaya</a>
+ */
+class ArenaUncheckedMemory extends UncheckedMemory implements ArenaMemory {
+
+    final PoolArena arena;
+
+    private PoolChunk chunk;
+    private long handle;
+    private int maxLength;
+    private PoolArena.Retired retired;
+
+    ArenaUncheckedMemory(PoolArena arena, int capacity, int maxCapacity, int readerIndex, int writerIndex) {
+        super(0, capacity, maxCapacity, readerIndex, writerIndex);
+        this.arena = arena;
+    }
+
+    @Override
+    public void init(PoolChunk chunk, long handle, long address, int maxLength) {
+        this.chunk = chunk;
+        this.handle = handle;
+        this.address = address;
+        this.maxLength = maxLength;
+    }
+
+    @Override
+    public PoolChunk chunk() {
+        return chunk;
+    }
+
+    @Override
+    public long handle() {
+        return handle;
+    }
+
+    @Override
+    public int maxLength() {
+        return maxLength;
+    }
+
+    @Override
+    public PoolArena.Retired retired() {
+        return retired;
+    }
+
+    @Override
+    public void retired(PoolArena.Retired retired) {
+        this.retired = retired;
+    }
+
+    @Override
+    public ArenaUncheckedMemory capacity(int newCapacity) {
+        checkNewCapacity(newCapacity);
+        if (newCapacity > maxLength) {
+            arena.reallocate(this, newCapacity);
+        }
+        this.capacity = newCapacity;
+        return this;
+    }
+
+    @Override
+    public ArenaUncheckedMemory copy(int index, int length) {
+        ArenaUncheckedMemory memory = new ArenaUncheckedMemory(arena, length, maxCapacity, readerIndex(), writerIndex());
+        arena.allocate(memory, length);
+        if (length != 0) {
+            memory.setBytes(0, this, index, length);
+        }
+        return MemoryLeakDetector.track(memory);
+    }
+
+    @Override
+    public ArenaSlicedUncheckedMemory slice(int index, int length) {
+        return derived(new ArenaSlicedUncheckedMemory(this, address, capacity, address + index, length,
+                readerIndex() - index, writerIndex() - index));
+    }
+
+    @Override
+    public ArenaSlicedUncheckedMemory duplicate() {
+        return derived(new ArenaSlicedUncheckedMemory(this, address, capacity, address, capacity,
+                readerIndex(), writerIndex()));
+    }
+
+    @Override
+    public void release() {
+        if (decrementRefCnt()) {
+            arena.free(chunk, handle, address);
+            arena.free(retired);
+            retired = null;
+        }
+    }
+
+}
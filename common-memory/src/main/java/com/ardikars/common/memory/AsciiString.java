@@ -0,0 +1,136 @@
+package com.ardikars.common.memory;
+
+/**
+ * Zero-copy {@link CharSequence} view of a {@link Memory} region, one byte per char (ASCII or ISO-8859-1).
+ * The view reads through the memory, so it's only valid while the memory is not modified or released,
+ * use {@link #toString()} to copy it into a {@link String}.
+ *
+ * @author <a href="mailto:contact@ardikars.com">Ardika Rommy Sanjaya</a>
+ */
+public final class AsciiString implements CharSequence {
+
+    private final Memory memory;
+    private final int offset;
+    private final int length;
+
+    private int hash;
+
+    AsciiString(Memory memory, int offset, int length) {
+        this.memory = memory;
+        this.offset = offset;
+        this.length = length;
+    }
+
+    /**
+     * @return returns the underlying {@link Memory}.
+     */
+    public Memory memory() {
+        return memory;
+    }
+
+    /**
+     * @return returns index of the first char in the underlying {@link Memory}.
+     */
+    public int offset() {
+        return offset;
+    }
+
+    @Override
+    public int length() {
+        return length;
+    }
+
+    @Override
+    public char charAt(int index) {
+        if (index < 0 || index >= length) {
+            throw new IndexOutOfBoundsException(String.format(
+                    "index: %d (expected: range(0, %d))", index, length));
+        }
+        return (char) (memory.getByte(offset + index) & 0xFF);
+    }
+
+    @Override
+    public AsciiString subSequence(int start, int end) {
+        if (start < 0 || start > end || end > length) {
+            throw new IndexOutOfBoundsException(String.format(
+                    "start: %d, end: %d (expected: 0 <= start <= end <= %d)", start, end, length));
+        }
+        if (start == 0 && end == length) {
+            return this;
+        }
+        return new AsciiString(memory, offset + start, end - start);
+    }
+
+    /**
+     * Compares the content of this view and given {@link CharSequence}.
+     * @param seq sequence.
+     * @return returns true if given sequence has the same chars.
+     */
+    public boolean contentEquals(CharSequence seq) {
+        if (seq == null || seq.length() != length) {
+            return false;
+        }
+        for (int i = 0; i < length; i++) {
+            if ((memory.getByte(offset + i) & 0xFF) != seq.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Same as {@link #contentEquals(CharSequence)}, ignoring case of ASCII letters.
+     * @param seq sequence.
+     * @return returns true if given sequence has the same chars, ignoring case.
+     */
+    public boolean contentEqualsIgnoreCase(CharSequence seq) {
+        if (seq == null || seq.length() != length) {
+            return false;
+        }
+        for (int i = 0; i < length; i++) {
+            if (toLowerCase((char) (memory.getByte(offset + i) & 0xFF)) != toLowerCase(seq.charAt(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Returns the same hash code as {@link String#hashCode()} of the same chars.
+     * @return returns hash code.
+     */
+    @Override
+    public int hashCode() {
+        int h = hash;
+        if (h == 0 && length > 0) {
+            for (int i = 0; i < length; i++) {
+                h = 31 * h + (memory.getByte(offset + i) & 0xFF);
+            }
+            hash = h;
+        }
+        return h;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (!(obj instanceof AsciiString)) {
+            return false;
+        }
+        return contentEquals((AsciiString) obj);
+    }
+
+    @Override
+    public String toString() {
+        byte[] bytes = new byte[length];
+        memory.getBytes(offset, bytes);
+        return new String(bytes, 0, length, AbstractMemory.ISO_8859_1);
+    }
+
+    private static char toLowerCase(char c) {
+        return c >= 'A' && c <= 'Z' ? (char) (c + 32) : c;
+    }
+
+}
@@ -20,6 +20,8 @@ class ByteBuf extends AbstractMemory {
 
     final int baseIndex;
 
+    private ByteBuffer tmpNioBuffer;
+
     ByteBuf(int capacity, int maxCapacity) {
         this(capacity, maxCapacity, 0, 0);
     }
@@ -36,6 +38,7 @@ class ByteBuf extends AbstractMemory {
     @Override
     public Memory capacity(int newCapacity) {
         checkNewCapacity(newCapacity);
+        // the old buffer's isn't cleaned, derived views still address it until it's garbage collected
         ByteBuffer newBuffer = ByteBuffer.allocateDirect(newCapacity);
         int oldCapacity = buffer.capacity();
         buffer.position(0);
@@ -47,7 +50,7 @@ class ByteBuf extends AbstractMemory {
             buffer.limit(newCapacity - 1);
             newBuffer.put(buffer.slice());
         }
-        buffer = newBuffer;
+        buffer(newBuffer);
         this.capacity = newCapacity;
         this.maxCapacity = maxCapacity > newCapacity ? maxCapacity : newCapacity;
         return this;
@@ -176,15 +179,15 @@ class ByteBuf extends AbstractMemory {
 
     @Override
     public Memory slice(int index, int length) {
-        ByteBuf duplicated = new SlicedByteBuf(baseIndex + index, buffer.duplicate(),
-                length, maxCapacity(), readerIndex() - index, writerIndex() - index);
-        return duplicated;
+        ByteBuf duplicated = new SlicedByteBuf(this, baseIndex + index, buffer.duplicate(),
+                length, readerIndex() - index, writerIndex() - index);
+        return derived(duplicated);
     }
 
     @Override
     public Memory duplicate() {
-        ByteBuf duplicated = new ByteBuf(baseIndex, buffer.duplicate(), capacity(), maxCapacity(), readerIndex(), writerIndex());
-        return duplicated;
+        ByteBuf duplicated = new SlicedByteBuf(this, baseIndex, buffer.duplicate(), capacity(), readerIndex(), writerIndex());
+        return derived(duplicated);
     }
 
     @Override
@@ -192,6 +195,30 @@ class ByteBuf extends AbstractMemory {
         return buffer;
     }
 
+    @Override
+    ByteBuffer nioBuffer(int index, int length) {
+        return duplicateRegion(buffer, baseIndex + index, length);
+    }
+
+    /**
+     * Replace the underlying buffer's.
+     * @param newBuffer new buffer.
+     */
+    void buffer(ByteBuffer newBuffer) {
+        buffer = newBuffer;
+        tmpNioBuffer = null;
+    }
+
+    @Override
+    ByteBuffer internalNioBuffer(int index, int length) {
+        ByteBuffer tmp = tmpNioBuffer;
+        if (tmp == null) {
+            tmp = buffer.duplicate();
+            tmpNioBuffer = tmp;
+        }
+        return region(tmp, baseIndex + index, length);
+    }
+
     @Override
     public boolean isDirect() {
         return buffer.isDirect();
@@ -199,7 +226,7 @@ class ByteBuf extends AbstractMemory {
 
     @Override
     public long memoryAddress() {
-        if (Unsafe.HAS_UNSAFE && isDirect()) {
+        if (Unsafe.HAS_UNSAFE && NATIVE_ADDRESS && isDirect()) {
             return ByteBufferHelper.directByteBufferAddress(buffer);
         }
         return 0;
@@ -207,6 +234,17 @@ class ByteBuf extends AbstractMemory {
 
     @Override
     public void release() {
+        if (!decrementRefCnt()) {
+            return;
+        }
+        clean(buffer);
+    }
+
+    /**
+     * Free (or unmap) direct buffer's by invoking its cleaner.
+     * @param buffer direct buffer.
+     */
+    static void clean(final ByteBuffer buffer) {
         if (CLEANER != null) {
             if (System.getSecurityManager() == null) {
                 try {
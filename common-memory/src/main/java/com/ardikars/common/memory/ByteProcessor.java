@@ -0,0 +1,70 @@
+package com.ardikars.common.memory;
+
+/**
+ * Visitor of {@link Memory} bytes, used by {@link Memory#forEachByte(ByteProcessor)}.
+ *
+ * @author <a href="mailto:contact@ardikars.com">Ardika Rommy Sanjaya</a>
+ */
+public interface ByteProcessor {
+
+    /**
+     * Aborts on a {@code NUL (0x00)}.
+     */
+    ByteProcessor FIND_NUL = new IndexOfProcessor((byte) 0);
+
+    /**
+     * Aborts on a {@code CR ('\r')}.
+     */
+    ByteProcessor FIND_CR = new IndexOfProcessor((byte) '\r');
+
+    /**
+     * Aborts on a {@code LF ('\n')}.
+     */
+    ByteProcessor FIND_LF = new IndexOfProcessor((byte) '\n');
+
+    /**
+     * Aborts on a {@code CR ('\r')} or a {@code LF ('\n')}.
+     */
+    ByteProcessor FIND_CRLF = new ByteProcessor() {
+        @Override
+        public boolean process(byte value) {
+            return value != '\r' && value != '\n';
+        }
+    };
+
+    /**
+     * Aborts on a byte which is neither a {@code CR ('\r')} nor a {@code LF ('\n')}.
+     */
+    ByteProcessor FIND_NON_CRLF = new ByteProcessor() {
+        @Override
+        public boolean process(byte value) {
+            return value == '\r' || value == '\n';
+        }
+    };
+
+    /**
+     * Process a byte.
+     * @param value byte value.
+     * @return returns {@code true} to continue to the next byte, {@code false} to stop.
+     */
+    boolean process(byte value);
+
+    /**
+     * Aborts on the first byte which is equal to the given value.
+     */
+    final class IndexOfProcessor implements ByteProcessor {
+
+        private final byte value;
+
+        public IndexOfProcessor(byte value) {
+            this.value = value;
+        }
+
+        @Override
+        public boolean process(byte value) {
+            return value != this.value;
+        }
+
+    }
+
+}
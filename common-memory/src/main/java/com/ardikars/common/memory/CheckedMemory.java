@@ -1,6 +1,10 @@
 package com.ardikars.common.memory;
 
+import java.io.IOException;
 import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.GatheringByteChannel;
+import java.nio.channels.ScatteringByteChannel;
 
 /**
  * Implementation of {@link Memory} with checking bounds on getter or setter method.
@@ -21,7 +25,7 @@ class CheckedMemory extends UncheckedMemory {
     public CheckedMemory capacity(int newCapacity) {
         ensureAccessible();
         checkNewCapacity(newCapacity);
-        this.address = ACCESSOR.reallocate(address, newCapacity);
+        move(newCapacity);
         this.capacity = newCapacity;
         this.maxCapacity = maxCapacity > newCapacity ? maxCapacity : newCapacity;
         return this;
@@ -85,67 +89,195 @@ class CheckedMemory extends UncheckedMemory {
 
     @Override
     public CheckedMemory setByte(int index, int value) {
-        ensureAccessible(index, 1);
+        ensureWriteAccessible(index, 1);
         super.setByte(index, value);
         return this;
     }
 
     @Override
     public CheckedMemory setShort(int index, int value) {
-        ensureAccessible(index, 2);
+        ensureWriteAccessible(index, 2);
         super.setShort(index, value);
         return this;
     }
 
     @Override
     public CheckedMemory setShortLE(int index, int value) {
-        ensureAccessible(index, 2);
+        ensureWriteAccessible(index, 2);
         super.setShortLE(index, value);
         return this;
     }
 
     @Override
     public CheckedMemory setInt(int index, int value) {
-        ensureAccessible(index, 4);
+        ensureWriteAccessible(index, 4);
         super.setInt(index, value);
         return this;
     }
 
     @Override
     public CheckedMemory setIntLE(int index, int value) {
-        ensureAccessible(index, 4);
+        ensureWriteAccessible(index, 4);
         super.setIntLE(index, value);
         return this;
     }
 
     @Override
     public CheckedMemory setLong(int index, long value) {
-        ensureAccessible(index, 8);
+        ensureWriteAccessible(index, 8);
         super.setLong(index, value);
         return this;
     }
 
     @Override
     public CheckedMemory setLongLE(int index, long value) {
-        ensureAccessible(index, 8);
+        ensureWriteAccessible(index, 8);
         super.setLongLE(index, value);
         return this;
     }
 
     @Override
     public CheckedMemory setBytes(int index, Memory src, int srcIndex, int length) {
-        ensureAccessible(index, length);
+        ensureWriteAccessible(index, length);
         super.setBytes(index, src, srcIndex, length);
         return this;
     }
 
     @Override
     public CheckedMemory setBytes(int index, byte[] src, int srcIndex, int length) {
-        ensureAccessible(index, length);
+        ensureWriteAccessible(index, length);
         super.setBytes(index, src, srcIndex, length);
         return this;
     }
 
+    @Override
+    public CheckedMemory getShorts(int index, short[] dst, int dstIndex, int length) {
+        ensureAccessible(index, byteLength(length, 1));
+        checkArrayIndex(dst.length, dstIndex, length);
+        super.getShorts(index, dst, dstIndex, length);
+        return this;
+    }
+
+    @Override
+    public CheckedMemory getShortsLE(int index, short[] dst, int dstIndex, int length) {
+        ensureAccessible(index, byteLength(length, 1));
+        checkArrayIndex(dst.length, dstIndex, length);
+        super.getShortsLE(index, dst, dstIndex, length);
+        return this;
+    }
+
+    @Override
+    public CheckedMemory setShorts(int index, short[] src, int srcIndex, int length) {
+        ensureWriteAccessible(index, byteLength(length, 1));
+        checkArrayIndex(src.length, srcIndex, length);
+        super.setShorts(index, src, srcIndex, length);
+        return this;
+    }
+
+    @Override
+    public CheckedMemory setShortsLE(int index, short[] src, int srcIndex, int length) {
+        ensureWriteAccessible(index, byteLength(length, 1));
+        checkArrayIndex(src.length, srcIndex, length);
+        super.setShortsLE(index, src, srcIndex, length);
+        return this;
+    }
+
+    @Override
+    public CheckedMemory getInts(int index, int[] dst, int dstIndex, int length) {
+        ensureAccessible(index, byteLength(length, 2));
+        checkArrayIndex(dst.length, dstIndex, length);
+        super.getInts(index, dst, dstIndex, length);
+        return this;
+    }
+
+    @Override
+    public CheckedMemory getIntsLE(int index, int[] dst, int dstIndex, int length) {
+        ensureAccessible(index, byteLength(length, 2));
+        checkArrayIndex(dst.length, dstIndex, length);
+        super.getIntsLE(index, dst, dstIndex, length);
+        return this;
+    }
+
+    @Override
+    public CheckedMemory setInts(int index, int[] src, int srcIndex, int length) {
+        ensureWriteAccessible(index, byteLength(length, 2));
+        checkArrayIndex(src.length, srcIndex, length);
+        super.setInts(index, src, srcIndex, length);
+        return this;
+    }
+
+    @Override
+    public CheckedMemory setIntsLE(int index, int[] src, int srcIndex, int length) {
+        ensureWriteAccessible(index, byteLength(length, 2));
+        checkArrayIndex(src.length, srcIndex, length);
+        super.setIntsLE(index, src, srcIndex, length);
+        return this;
+    }
+
+    @Override
+    public CheckedMemory getLongs(int index, long[] dst, int dstIndex, int length) {
+        ensureAccessible(index, byteLength(length, 3));
+        checkArrayIndex(dst.length, dstIndex, length);
+        super.getLongs(index, dst, dstIndex, length);
+        return this;
+    }
+
+    @Override
+    public CheckedMemory getLongsLE(int index, long[] dst, int dstIndex, int length) {
+        ensureAccessible(index, byteLength(length, 3));
+        checkArrayIndex(dst.length, dstIndex, length);
+        super.getLongsLE(index, dst, dstIndex, length);
+        return this;
+    }
+
+    @Override
+    public CheckedMemory setLongs(int index, long[] src, int srcIndex, int length) {
+        ensureWriteAccessible(index, byteLength(length, 3));
+        checkArrayIndex(src.length, srcIndex, length);
+        super.setLongs(index, src, srcIndex, length);
+        return this;
+    }
+
+    @Override
+    public CheckedMemory setLongsLE(int index, long[] src, int srcIndex, int length) {
+        ensureWriteAccessible(index, byteLength(length, 3));
+        checkArrayIndex(src.length, srcIndex, length);
+        super.setLongsLE(index, src, srcIndex, length);
+        return this;
+    }
+
+    @Override
+    public CheckedMemory getDoubles(int index, double[] dst, int dstIndex, int length) {
+        ensureAccessible(index, byteLength(length, 3));
+        checkArrayIndex(dst.length, dstIndex, length);
+        super.getDoubles(index, dst, dstIndex, length);
+        return this;
+    }
+
+    @Override
+    public CheckedMemory getDoublesLE(int index, double[] dst, int dstIndex, int length) {
+        ensureAccessible(index, byteLength(length, 3));
+        checkArrayIndex(dst.length, dstIndex, length);
+        super.getDoublesLE(index, dst, dstIndex, length);
+        return this;
+    }
+
+    @Override
+    public CheckedMemory setDoubles(int index, double[] src, int srcIndex, int length) {
+        ensureWriteAccessible(index, byteLength(length, 3));
+        checkArrayIndex(src.length, srcIndex, length);
+        super.setDoubles(index, src, srcIndex, length);
+        return this;
+    }
+
+    @Override
+    public CheckedMemory setDoublesLE(int index, double[] src, int srcIndex, int length) {
+        ensureWriteAccessible(index, byteLength(length, 3));
+        checkArrayIndex(src.length, srcIndex, length);
+        super.setDoublesLE(index, src, srcIndex, length);
+        return this;
+    }
+
     @Override
     public long memoryAddress() {
         ensureAccessible();
@@ -160,20 +292,68 @@ class CheckedMemory extends UncheckedMemory {
         if (length != 0) {
             memory.setBytes(0, this, index, length);
         }
-        return memory;
+        return MemoryLeakDetector.track(memory);
     }
 
     @Override
     public CheckedMemory slice(int index, int length) {
         ensureAccessible(index, length);
-        return new SlicedCheckedMemory(address, capacity, address + index, length, maxCapacity, readerIndex() - index, writerIndex() - index);
+        return derived(new SlicedCheckedMemory(this, address, capacity, address + index, length, readerIndex() - index, writerIndex() - index));
     }
 
     @Override
     public CheckedMemory duplicate() {
         ensureAccessible();
-        CheckedMemory memory = new CheckedMemory(address, capacity, maxCapacity, readerIndex(), writerIndex());
-        return memory;
+        CheckedMemory memory = new SlicedCheckedMemory(this, address, capacity, address, capacity, readerIndex(), writerIndex());
+        return derived(memory);
+    }
+
+    @Override
+    public int indexOf(int fromIndex, int toIndex, byte value) {
+        ensureAccessible();
+        return super.indexOf(fromIndex, toIndex, value);
+    }
+
+    @Override
+    public int indexOf(int fromIndex, int toIndex, Memory pattern) {
+        ensureAccessible();
+        return super.indexOf(fromIndex, toIndex, pattern);
+    }
+
+    @Override
+    public int forEachByte(int index, int length, ByteProcessor processor) {
+        ensureAccessible();
+        return super.forEachByte(index, length, processor);
+    }
+
+    @Override
+    public int getBytes(int index, GatheringByteChannel out, int length) throws IOException {
+        ensureAccessible(index, length);
+        return super.getBytes(index, out, length);
+    }
+
+    @Override
+    public int getBytes(int index, FileChannel out, long position, int length) throws IOException {
+        ensureAccessible(index, length);
+        return super.getBytes(index, out, position, length);
+    }
+
+    @Override
+    public int setBytes(int index, ScatteringByteChannel in, int length) throws IOException {
+        ensureWriteAccessible(index, length);
+        return super.setBytes(index, in, length);
+    }
+
+    @Override
+    public int setBytes(int index, FileChannel in, long position, int length) throws IOException {
+        ensureWriteAccessible(index, length);
+        return super.setBytes(index, in, position, length);
+    }
+
+    @Override
+    public AsciiString getAsciiString(int index, int length) {
+        ensureAccessible(index, length);
+        return super.getAsciiString(index, length);
     }
 
     @Override
@@ -182,17 +362,44 @@ class CheckedMemory extends UncheckedMemory {
         return super.nioBuffer();
     }
 
+    @Override
+    ByteBuffer nioBuffer(int index, int length) {
+        ensureAccessible(index, length);
+        return super.nioBuffer(index, length);
+    }
+
     void ensureAccessible() {
-        if (freed) {
-            throw new IllegalStateException(String.format("%d is already freed.", memoryAddress()));
+        if (refCnt() == 0) {
+            throw new IllegalStateException(String.format("%d is already freed.", address));
         }
     }
 
     void ensureAccessible(int index, int length) {
-        if (freed) {
-            throw new IllegalStateException(String.format("%d is already freed.", memoryAddress()));
+        if (refCnt() == 0) {
+            throw new IllegalStateException(String.format("%d is already freed.", address));
         }
         checkIndex(index, length);
     }
 
+    @Override
+    void checkWriteIndex(int index, int length) {
+        ensureWriteAccessible(index, length);
+    }
+
+    /**
+     * Same as {@link #ensureAccessible(int, int)}, called before writing to this buffer's.
+     * @param index index.
+     * @param length length.
+     */
+    void ensureWriteAccessible(int index, int length) {
+        ensureAccessible(index, length);
+    }
+
+    static void checkArrayIndex(int arrayLength, int arrayIndex, int length) {
+        if (arrayIndex < 0 || length < 0 || arrayIndex > arrayLength - length) {
+            throw new IndexOutOfBoundsException(String.format(
+                    "arrayIndex: %d, length: %d (expected: range(0, %d))", arrayIndex, length, arrayLength));
+        }
+    }
+
 }
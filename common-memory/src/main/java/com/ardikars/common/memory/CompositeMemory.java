@@ -0,0 +1,101 @@
+package com.ardikars.common.memory;
+
+import java.nio.ByteBuffer;
+
+/**
+ * {@link Memory} which presents the readable bytes of multiple {@link Memory} components as a single buffer's
+ * without copying. Components are owned by the composite memory, and released when it's released (or removed).
+ * Sliced and duplicated composite memory share the components and the reference count of its parent,
+ * so components of a retained, sliced or duplicated composite memory can't be released (removed, consolidated or trimmed).
+ *
+ * @author <a href="mailto:contact@ardikars.com">Ardika Rommy Sanjaya</a>
+ */
+public interface CompositeMemory extends Memory {
+
+    /**
+     * @return returns the number of components.
+     */
+    int numComponents();
+
+    /**
+     * Get a component.
+     * @param cIndex component index.
+     * @return returns the component {@link Memory}.
+     * @throws IndexOutOfBoundsException if {@code cIndex} is out of range.
+     */
+    Memory component(int cIndex);
+
+    /**
+     * Add a component after the last component and increase the {@code writerIndex} by its readable bytes.
+     * @param memory component.
+     * @return returns this {@link CompositeMemory}.
+     * @throws UnsupportedOperationException this is a sliced (or duplicated) composite memory.
+     */
+    CompositeMemory addComponent(Memory memory);
+
+    /**
+     * Insert a component at the given component index and increase the {@code writerIndex} by its readable bytes,
+     * for example {@code addComponent(0, header)} prepends a header.
+     * @param cIndex component index.
+     * @param memory component.
+     * @return returns this {@link CompositeMemory}.
+     * @throws IndexOutOfBoundsException if {@code cIndex} is out of range.
+     * @throws UnsupportedOperationException this is a sliced (or duplicated) composite memory.
+     */
+    CompositeMemory addComponent(int cIndex, Memory memory);
+
+    /**
+     * Add components after the last component and increase the {@code writerIndex} by its readable bytes.
+     * @param memories components.
+     * @return returns this {@link CompositeMemory}.
+     * @throws UnsupportedOperationException this is a sliced (or duplicated) composite memory.
+     */
+    CompositeMemory addComponents(Memory... memories);
+
+    /**
+     * Remove and release a component.
+     * @param cIndex component index.
+     * @return returns this {@link CompositeMemory}.
+     * @throws IndexOutOfBoundsException if {@code cIndex} is out of range.
+     * @throws UnsupportedOperationException this is a sliced (or duplicated) composite memory.
+     * @throws IllegalStateException this composite memory is retained, sliced or duplicated.
+     */
+    CompositeMemory removeComponent(int cIndex);
+
+    /**
+     * Copy all components into a single component.
+     * @return returns this {@link CompositeMemory}.
+     * @throws UnsupportedOperationException this is a sliced (or duplicated) composite memory.
+     * @throws IllegalStateException this composite memory is retained, sliced or duplicated.
+     */
+    CompositeMemory consolidate();
+
+    /**
+     * Copy the given range of components into a single component.
+     * @param cIndex first component index.
+     * @param numComponents number of components to consolidate.
+     * @return returns this {@link CompositeMemory}.
+     * @throws IndexOutOfBoundsException if the range is out of range.
+     * @throws UnsupportedOperationException this is a sliced (or duplicated) composite memory.
+     * @throws IllegalStateException this composite memory is retained, sliced or duplicated.
+     */
+    CompositeMemory consolidate(int cIndex, int numComponents);
+
+    /**
+     * Exposes this buffer's readable bytes as NIO {@link ByteBuffer}'s (one per component), sharing the content.
+     * Suitable for gathering write ({@link java.nio.channels.GatheringByteChannel#write(ByteBuffer[])}).
+     * This method does not modify {@code readerIndex} or {@code writerIndex} of this buffer.
+     * @return returns {@link ByteBuffer}'s.
+     */
+    ByteBuffer[] nioBuffers();
+
+    /**
+     * Exposes this buffer's sub-region as NIO {@link ByteBuffer}'s (one per component), sharing the content.
+     * This method does not modify {@code readerIndex} or {@code writerIndex} of this buffer.
+     * @param index index.
+     * @param length length.
+     * @return returns {@link ByteBuffer}'s.
+     */
+    ByteBuffer[] nioBuffers(int index, int length);
+
+}
@@ -0,0 +1,84 @@
+package com.ardikars.common.memory;
+
+import java.util.AbstractQueue;
+import java.util.Iterator;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Lock free pool queue of {@link Memory} with constant time {@link #size()}, used for watermark checks
+ * on the allocation path ({@link ConcurrentLinkedQueue#size()} traverses the whole queue).
+ * The size is approximate while other threads are offering or polling.
+ *
+ * @author <a href="mailto:contact@ardikars.com">Ardika Rommy Sanjaya</a>
+ */
+final class CountingMemoryQueue extends AbstractQueue<Memory> {
+
+    private final Queue<Memory> queue = new ConcurrentLinkedQueue<Memory>();
+    private final AtomicInteger size = new AtomicInteger();
+
+    @Override
+    public boolean offer(Memory memory) {
+        queue.offer(memory);
+        size.incrementAndGet();
+        return true;
+    }
+
+    @Override
+    public Memory poll() {
+        Memory memory = queue.poll();
+        if (memory != null) {
+            size.decrementAndGet();
+        }
+        return memory;
+    }
+
+    @Override
+    public Memory peek() {
+        return queue.peek();
+    }
+
+    @Override
+    public int size() {
+        return Math.max(size.get(), 0);
+    }
+
+    /**
+     * Weakly consistent iterator of the underlying {@link ConcurrentLinkedQueue}, {@link Iterator#remove()} updates the size.
+     * @return returns iterator over free memories.
+     */
+    @Override
+    public Iterator<Memory> iterator() {
+        final Iterator<Memory> iterator = queue.iterator();
+        return new Iterator<Memory>() {
+
+            private Memory last;
+
+            @Override
+            public boolean hasNext() {
+                return iterator.hasNext();
+            }
+
+            @Override
+            public Memory next() {
+                last = iterator.next();
+                return last;
+            }
+
+            @Override
+            public void remove() {
+                if (last == null) {
+                    throw new IllegalStateException();
+                }
+                // counted only if it wasn't polled by another thread in the meantime
+                if (queue.remove(last)) {
+                    size.decrementAndGet();
+                }
+                last = null;
+            }
+
+        };
+    }
+
+}
@@ -0,0 +1,714 @@
+package com.ardikars.common.memory;
+
+import java.io.IOException;
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.FileChannel;
+import java.nio.channels.GatheringByteChannel;
+import java.nio.channels.ScatteringByteChannel;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Default implementation of {@link CompositeMemory}.
+ * Every component is a view ({@code offset} to {@code endOffset} of this buffer's) of the readable bytes of a {@link Memory},
+ * component lookup is done by binary search on offsets (and cached for sequential access).
+ *
+ * @author <a href="mailto:contact@ardikars.com">Ardika Rommy Sanjaya</a>
+ */
+final class DefaultCompositeMemory extends AbstractMemory implements CompositeMemory {
+
+    private final MemoryAllocator allocator;
+    private final DefaultCompositeMemory parent;
+    private final List<Component> components;
+
+    private Component lastAccessed;
+
+    DefaultCompositeMemory(MemoryAllocator allocator, int maxCapacity) {
+        super(0, maxCapacity);
+        this.allocator = allocator;
+        this.parent = null;
+        this.components = new ArrayList<Component>();
+    }
+
+    private DefaultCompositeMemory(DefaultCompositeMemory parent, List<Component> components, int capacity,
+                                   int readerIndex, int writerIndex) {
+        super(capacity, capacity, readerIndex, writerIndex);
+        this.allocator = parent.allocator;
+        this.parent = parent;
+        this.components = components;
+    }
+
+    @Override
+    public int numComponents() {
+        return components.size();
+    }
+
+    @Override
+    public Memory component(int cIndex) {
+        checkComponentIndex(cIndex);
+        return components.get(cIndex).memory;
+    }
+
+    @Override
+    public CompositeMemory addComponent(Memory memory) {
+        return addComponent(components.size(), memory);
+    }
+
+    @Override
+    public CompositeMemory addComponent(int cIndex, Memory memory) {
+        ensureModifiable();
+        if (memory == null) {
+            throw new IllegalArgumentException("memory: null (expected: non null)");
+        }
+        if (cIndex < 0 || cIndex > components.size()) {
+            throw new IndexOutOfBoundsException(String.format(
+                    "cIndex: %d (expected: >= 0 && <= numComponents(%d))", cIndex, components.size()));
+        }
+        addComponent0(cIndex, memory);
+        writerIndex(writerIndex() + memory.readableBytes());
+        return this;
+    }
+
+    @Override
+    public CompositeMemory addComponents(Memory... memories) {
+        for (Memory memory : memories) {
+            addComponent(components.size(), memory);
+        }
+        return this;
+    }
+
+    @Override
+    public CompositeMemory removeComponent(int cIndex) {
+        ensureModifiable();
+        checkComponentIndex(cIndex);
+        ensureUnshared();
+        Component component = components.remove(cIndex);
+        int length = component.length();
+        updateOffsets(cIndex, -length);
+        capacity -= length;
+        int readerIndex = adjustIndex(readerIndex(), component);
+        int writerIndex = adjustIndex(writerIndex(), component);
+        setIndex(readerIndex, writerIndex);
+        lastAccessed = null;
+        component.memory.release();
+        return this;
+    }
+
+    @Override
+    public CompositeMemory consolidate() {
+        return consolidate(0, components.size());
+    }
+
+    @Override
+    public CompositeMemory consolidate(int cIndex, int numComponents) {
+        ensureModifiable();
+        if (cIndex < 0 || numComponents < 0 || cIndex + numComponents > components.size()) {
+            throw new IndexOutOfBoundsException(String.format(
+                    "cIndex: %d, numComponents: %d (expected: cIndex + numComponents <= numComponents(%d))",
+                    cIndex, numComponents, components.size()));
+        }
+        if (numComponents <= 1) {
+            return this;
+        }
+        ensureUnshared();
+        int endCIndex = cIndex + numComponents;
+        int offset = components.get(cIndex).offset;
+        int length = components.get(endCIndex - 1).endOffset - offset;
+        Memory consolidated = allocator.allocate(length);
+        getBytes(offset, consolidated, 0, length);
+        consolidated.writerIndex(length);
+        List<Component> consolidatedComponents = components.subList(cIndex, endCIndex);
+        for (int i = 0; i < consolidatedComponents.size(); i++) {
+            consolidatedComponents.get(i).memory.release();
+        }
+        consolidatedComponents.clear();
+        components.add(cIndex, new Component(consolidated, 0, offset, offset + length));
+        lastAccessed = null;
+        return this;
+    }
+
+    @Override
+    public ByteBuffer[] nioBuffers() {
+        return nioBuffers(readerIndex(), readableBytes());
+    }
+
+    @Override
+    public ByteBuffer[] nioBuffers(int index, int length) {
+        checkIndex(index, length);
+        List<ByteBuffer> buffers = new ArrayList<ByteBuffer>(components.size());
+        if (length > 0) {
+            int i = componentIndex(index);
+            while (length > 0) {
+                Component c = components.get(i++);
+                int localLength = Math.min(length, c.endOffset - index);
+                if (c.memory instanceof DefaultCompositeMemory) {
+                    ByteBuffer[] nested = ((DefaultCompositeMemory) c.memory).nioBuffers(c.idx(index), localLength);
+                    for (ByteBuffer buffer : nested) {
+                        buffers.add(buffer);
+                    }
+                } else if (localLength > 0) {
+                    buffers.add(((AbstractMemory) c.memory).nioBuffer(c.idx(index), localLength));
+                }
+                index += localLength;
+                length -= localLength;
+            }
+        }
+        return buffers.toArray(new ByteBuffer[0]);
+    }
+
+    @Override
+    public int getBytes(int index, GatheringByteChannel out, int length) throws IOException {
+        ByteBuffer[] buffers = nioBuffers(index, length);
+        if (buffers.length == 1) {
+            return out.write(buffers[0]);
+        }
+        return (int) out.write(buffers);
+    }
+
+    @Override
+    public int getBytes(int index, FileChannel out, long position, int length) throws IOException {
+        int writtenBytes = 0;
+        for (ByteBuffer buffer : nioBuffers(index, length)) {
+            writtenBytes += out.write(buffer, position + writtenBytes);
+            if (buffer.hasRemaining()) {
+                break;
+            }
+        }
+        return writtenBytes;
+    }
+
+    @Override
+    public int setBytes(int index, ScatteringByteChannel in, int length) throws IOException {
+        ByteBuffer[] buffers = nioBuffers(index, length);
+        try {
+            if (buffers.length == 1) {
+                return in.read(buffers[0]);
+            }
+            return (int) in.read(buffers);
+        } catch (ClosedChannelException e) {
+            return -1;
+        }
+    }
+
+    @Override
+    public int setBytes(int index, FileChannel in, long position, int length) throws IOException {
+        int readBytes = 0;
+        try {
+            for (ByteBuffer buffer : nioBuffers(index, length)) {
+                int n = in.read(buffer, position + readBytes);
+                if (n < 0) {
+                    return readBytes == 0 ? -1 : readBytes;
+                }
+                readBytes += n;
+                if (buffer.hasRemaining()) {
+                    break;
+                }
+            }
+        } catch (ClosedChannelException e) {
+            return readBytes == 0 ? -1 : readBytes;
+        }
+        return readBytes;
+    }
+
+    @Override
+    public Memory capacity(int newCapacity) {
+        checkNewCapacity(newCapacity);
+        int oldCapacity = capacity;
+        if (newCapacity > oldCapacity) {
+            ensureModifiable();
+            Memory memory = allocator.allocate(newCapacity - oldCapacity);
+            memory.writerIndex(memory.capacity());
+            addComponent0(components.size(), memory);
+        } else if (newCapacity < oldCapacity) {
+            if (parent == null) {
+                ensureUnshared();
+            }
+            int bytesToTrim = oldCapacity - newCapacity;
+            for (int i = components.size() - 1; i >= 0 && bytesToTrim > 0; i--) {
+                Component c = components.get(i);
+                int length = c.length();
+                if (length <= bytesToTrim) {
+                    components.remove(i);
+                    if (parent == null) {
+                        c.memory.release();
+                    }
+                    bytesToTrim -= length;
+                } else {
+                    if (parent != null) {
+                        // don't modify the component which is shared with the parent
+                        components.set(i, new Component(c.memory, c.srcIndex, c.offset, c.endOffset - bytesToTrim));
+                    } else {
+                        c.endOffset -= bytesToTrim;
+                    }
+                    bytesToTrim = 0;
+                }
+            }
+            capacity = newCapacity;
+            lastAccessed = null;
+            setIndex(Math.min(readerIndex(), newCapacity), Math.min(writerIndex(), newCapacity));
+        }
+        return this;
+    }
+
+    @Override
+    public byte getByte(int index) {
+        checkIndex(index, 1);
+        Component c = findComponent(index);
+        return c.memory.getByte(c.idx(index));
+    }
+
+    @Override
+    public short getShort(int index) {
+        checkIndex(index, 2);
+        Component c = findComponent(index);
+        if (index + 2 <= c.endOffset) {
+            return c.memory.getShort(c.idx(index));
+        }
+        return (short) ((getByte(index) & 0xff) << 8 | getByte(index + 1) & 0xff);
+    }
+
+    @Override
+    public short getShortLE(int index) {
+        checkIndex(index, 2);
+        Component c = findComponent(index);
+        if (index + 2 <= c.endOffset) {
+            return c.memory.getShortLE(c.idx(index));
+        }
+        return (short) (getByte(index) & 0xff | (getByte(index + 1) & 0xff) << 8);
+    }
+
+    @Override
+    public int getInt(int index) {
+        checkIndex(index, 4);
+        Component c = findComponent(index);
+        if (index + 4 <= c.endOffset) {
+            return c.memory.getInt(c.idx(index));
+        }
+        return (getShort(index) & 0xffff) << 16 | getShort(index + 2) & 0xffff;
+    }
+
+    @Override
+    public int getIntLE(int index) {
+        checkIndex(index, 4);
+        Component c = findComponent(index);
+        if (index + 4 <= c.endOffset) {
+            return c.memory.getIntLE(c.idx(index));
+        }
+        return getShortLE(index) & 0xffff | (getShortLE(index + 2) & 0xffff) << 16;
+    }
+
+    @Override
+    public long getLong(int index) {
+        checkIndex(index, 8);
+        Component c = findComponent(index);
+        if (index + 8 <= c.endOffset) {
+            return c.memory.getLong(c.idx(index));
+        }
+        return (getInt(index) & 0xffffffffL) << 32 | getInt(index + 4) & 0xffffffffL;
+    }
+
+    @Override
+    public long getLongLE(int index) {
+        checkIndex(index, 8);
+        Component c = findComponent(index);
+        if (index + 8 <= c.endOffset) {
+            return c.memory.getLongLE(c.idx(index));
+        }
+        return getIntLE(index) & 0xffffffffL | (getIntLE(index + 4) & 0xffffffffL) << 32;
+    }
+
+    @Override
+    public Memory getBytes(int index, Memory dst, int dstIndex, int length) {
+        checkIndex(index, length);
+        if (length == 0) {
+            return this;
+        }
+        int i = componentIndex(index);
+        while (length > 0) {
+            Component c = components.get(i++);
+            int localLength = Math.min(length, c.endOffset - index);
+            c.memory.getBytes(c.idx(index), dst, dstIndex, localLength);
+            index += localLength;
+            dstIndex += localLength;
+            length -= localLength;
+        }
+        return this;
+    }
+
+    @Override
+    public Memory getBytes(int index, byte[] dst, int dstIndex, int length) {
+        checkIndex(index, length);
+        if (length == 0) {
+            return this;
+        }
+        int i = componentIndex(index);
+        while (length > 0) {
+            Component c = components.get(i++);
+            int localLength = Math.min(length, c.endOffset - index);
+            c.memory.getBytes(c.idx(index), dst, dstIndex, localLength);
+            index += localLength;
+            dstIndex += localLength;
+            length -= localLength;
+        }
+        return this;
+    }
+
+    @Override
+    public Memory setByte(int index, int value) {
+        checkIndex(index, 1);
+        Component c = findComponent(index);
+        c.memory.setByte(c.idx(index), value);
+        return this;
+    }
+
+    @Override
+    public Memory setShort(int index, int value) {
+        checkIndex(index, 2);
+        Component c = findComponent(index);
+        if (index + 2 <= c.endOffset) {
+            c.memory.setShort(c.idx(index), value);
+        } else {
+            setByte(index, (byte) (value >>> 8));
+            setByte(index + 1, (byte) value);
+        }
+        return this;
+    }
+
+    @Override
+    public Memory setShortLE(int index, int value) {
+        checkIndex(index, 2);
+        Component c = findComponent(index);
+        if (index + 2 <= c.endOffset) {
+            c.memory.setShortLE(c.idx(index), value);
+        } else {
+            setByte(index, (byte) value);
+            setByte(index + 1, (byte) (value >>> 8));
+        }
+        return this;
+    }
+
+    @Override
+    public Memory setInt(int index, int value) {
+        checkIndex(index, 4);
+        Component c = findComponent(index);
+        if (index + 4 <= c.endOffset) {
+            c.memory.setInt(c.idx(index), value);
+        } else {
+            setShort(index, (short) (value >>> 16));
+            setShort(index + 2, (short) value);
+        }
+        return this;
+    }
+
+    @Override
+    public Memory setIntLE(int index, int value) {
+        checkIndex(index, 4);
+        Component c = findComponent(index);
+        if (index + 4 <= c.endOffset) {
+            c.memory.setIntLE(c.idx(index), value);
+        } else {
+            setShortLE(index, (short) value);
+            setShortLE(index + 2, (short) (value >>> 16));
+        }
+        return this;
+    }
+
+    @Override
+    public Memory setLong(int index, long value) {
+        checkIndex(index, 8);
+        Component c = findComponent(index);
+        if (index + 8 <= c.endOffset) {
+            c.memory.setLong(c.idx(index), value);
+        } else {
+            setInt(index, (int) (value >>> 32));
+            setInt(index + 4, (int) value);
+        }
+        return this;
+    }
+
+    @Override
+    public Memory setLongLE(int index, long value) {
+        checkIndex(index, 8);
+        Component c = findComponent(index);
+        if (index + 8 <= c.endOffset) {
+            c.memory.setLongLE(c.idx(index), value);
+        } else {
+            setIntLE(index, (int) value);
+            setIntLE(index + 4, (int) (value >>> 32));
+        }
+        return this;
+    }
+
+    @Override
+    public Memory setBytes(int index, Memory src, int srcIndex, int length) {
+        checkIndex(index, length);
+        if (length == 0) {
+            return this;
+        }
+        int i = componentIndex(index);
+        while (length > 0) {
+            Component c = components.get(i++);
+            int localLength = Math.min(length, c.endOffset - index);
+            c.memory.setBytes(c.idx(index), src, srcIndex, localLength);
+            index += localLength;
+            srcIndex += localLength;
+            length -= localLength;
+        }
+        return this;
+    }
+
+    @Override
+    public Memory setBytes(int index, byte[] src, int srcIndex, int length) {
+        checkIndex(index, length);
+        if (length == 0) {
+            return this;
+        }
+        int i = componentIndex(index);
+        while (length > 0) {
+            Component c = components.get(i++);
+            int localLength = Math.min(length, c.endOffset - index);
+            c.memory.setBytes(c.idx(index), src, srcIndex, localLength);
+            index += localLength;
+            srcIndex += localLength;
+            length -= localLength;
+        }
+        return this;
+    }
+
+    @Override
+    public Memory copy(int index, int length) {
+        checkIndex(index, length);
+        Memory memory = allocator.allocate(length);
+        getBytes(index, memory, 0, length);
+        memory.writerIndex(length);
+        return memory;
+    }
+
+    @Override
+    public DefaultCompositeMemory slice(int index, int length) {
+        checkIndex(index, length);
+        List<Component> sliced = new ArrayList<Component>();
+        if (length > 0) {
+            int i = componentIndex(index);
+            int endIndex = index + length;
+            while (i < components.size() && components.get(i).offset < endIndex) {
+                Component c = components.get(i++);
+                int offset = Math.max(c.offset, index);
+                int endOffset = Math.min(c.endOffset, endIndex);
+                sliced.add(new Component(c.memory, c.idx(offset), offset - index, endOffset - index));
+            }
+        }
+        int readerIndex = Math.min(Math.max(readerIndex() - index, 0), length);
+        int writerIndex = Math.min(Math.max(writerIndex() - index, readerIndex), length);
+        DefaultCompositeMemory root = parent == null ? this : parent;
+        return root.derived(new DefaultCompositeMemory(root, sliced, length, readerIndex, writerIndex));
+    }
+
+    @Override
+    public DefaultCompositeMemory duplicate() {
+        List<Component> duplicated = new ArrayList<Component>(components.size());
+        for (Component c : components) {
+            duplicated.add(new Component(c.memory, c.srcIndex, c.offset, c.endOffset));
+        }
+        DefaultCompositeMemory root = parent == null ? this : parent;
+        return root.derived(new DefaultCompositeMemory(root, duplicated, capacity, readerIndex(), writerIndex()));
+    }
+
+    @Override
+    public ByteBuffer nioBuffer() {
+        return nioBuffer(0, capacity);
+    }
+
+    @Override
+    ByteBuffer nioBuffer(int index, int length) {
+        checkIndex(index, length);
+        if (length > 0) {
+            Component c = findComponent(index);
+            if (index + length <= c.endOffset && !(c.memory instanceof DefaultCompositeMemory)) {
+                return ((AbstractMemory) c.memory).nioBuffer(c.idx(index), length);
+            }
+        }
+        ByteBuffer merged = ByteBuffer.allocateDirect(length);
+        for (ByteBuffer buffer : nioBuffers(index, length)) {
+            merged.put(buffer);
+        }
+        ((Buffer) merged).flip();
+        return merged;
+    }
+
+    @Override
+    public boolean isDirect() {
+        for (Component c : components) {
+            if (!c.memory.isDirect()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public long memoryAddress() {
+        if (components.size() != 1) {
+            throw new UnsupportedOperationException(String.format(
+                    "numComponents: %d (expected: 1 to have a single memory address)", components.size()));
+        }
+        Component c = components.get(0);
+        return c.memory.memoryAddress() + c.idx(0);
+    }
+
+    @Override
+    public int refCnt() {
+        if (parent != null) {
+            return parent.refCnt();
+        }
+        return super.refCnt();
+    }
+
+    @Override
+    public Memory retain() {
+        return retain(1);
+    }
+
+    @Override
+    public Memory retain(int increment) {
+        if (parent != null) {
+            parent.retain(increment);
+            return this;
+        }
+        return super.retain(increment);
+    }
+
+    @Override
+    public void release() {
+        if (parent != null) {
+            releaseView(parent);
+            return;
+        }
+        if (decrementRefCnt()) {
+            for (int i = 0; i < components.size(); i++) {
+                components.get(i).memory.release();
+            }
+            components.clear();
+            capacity = 0;
+            lastAccessed = null;
+            setIndex(0, 0);
+        }
+    }
+
+    @Override
+    void checkIndex(int index, int fieldLength) {
+        if (refCnt() == 0) {
+            throw new IllegalStateException("Composite memory is already released.");
+        }
+        super.checkIndex(index, fieldLength);
+    }
+
+    private void addComponent0(int cIndex, Memory memory) {
+        int length = memory.readableBytes();
+        if (length > maxCapacity - capacity) {
+            throw new IllegalArgumentException(String.format(
+                    "capacity: %d, component length: %d (expected: capacity + length <= maxCapacity(%d))",
+                    capacity, length, maxCapacity));
+        }
+        int offset = cIndex == 0 ? 0 : components.get(cIndex - 1).endOffset;
+        components.add(cIndex, new Component(memory, memory.readerIndex(), offset, offset + length));
+        updateOffsets(cIndex + 1, length);
+        capacity += length;
+    }
+
+    private void updateOffsets(int cIndex, int delta) {
+        for (int i = cIndex; i < components.size(); i++) {
+            Component c = components.get(i);
+            c.offset += delta;
+            c.endOffset += delta;
+        }
+    }
+
+    private static int adjustIndex(int index, Component removed) {
+        if (index <= removed.offset) {
+            return index;
+        }
+        if (index >= removed.endOffset) {
+            return index - removed.length();
+        }
+        return removed.offset;
+    }
+
+    private Component findComponent(int index) {
+        Component c = lastAccessed;
+        if (c != null && index >= c.offset && index < c.endOffset) {
+            return c;
+        }
+        c = components.get(componentIndex(index));
+        lastAccessed = c;
+        return c;
+    }
+
+    private int componentIndex(int index) {
+        int low = 0;
+        int high = components.size() - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            Component c = components.get(mid);
+            if (index >= c.endOffset) {
+                low = mid + 1;
+            } else if (index < c.offset) {
+                high = mid - 1;
+            } else {
+                return mid;
+            }
+        }
+        throw new IndexOutOfBoundsException(String.format("index: %d (expected: range(0, %d))", index, capacity));
+    }
+
+    private void checkComponentIndex(int cIndex) {
+        if (cIndex < 0 || cIndex >= components.size()) {
+            throw new IndexOutOfBoundsException(String.format(
+                    "cIndex: %d (expected: >= 0 && < numComponents(%d))", cIndex, components.size()));
+        }
+    }
+
+    private void ensureModifiable() {
+        if (parent != null) {
+            throw new UnsupportedOperationException("Sliced (or duplicated) composite memory can't be modified.");
+        }
+    }
+
+    /**
+     * Components are released on removal, views (sharing the reference count) and other owners would still read them.
+     */
+    private void ensureUnshared() {
+        if (shared()) {
+            throw new IllegalStateException(String.format(
+                    "refCnt: %d (components of a retained or sliced/duplicated composite memory can't be released)", refCnt()));
+        }
+    }
+
+    private static final class Component {
+
+        final Memory memory;
+        final int srcIndex;
+
+        int offset;
+        int endOffset;
+
+        Component(Memory memory, int srcIndex, int offset, int endOffset) {
+            this.memory = memory;
+            this.srcIndex = srcIndex;
+            this.offset = offset;
+            this.endOffset = endOffset;
+        }
+
+        int idx(int index) {
+            return index - offset + srcIndex;
+        }
+
+        int length() {
+            return endOffset - offset;
+        }
+
+    }
+
+}
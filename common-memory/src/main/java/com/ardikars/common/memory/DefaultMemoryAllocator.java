@@ -1,7 +1,5 @@
 package com.ardikars.common.memory;
 
-import com.ardikars.common.memory.internal.Unsafe;
-
 import java.nio.ByteBuffer;
 
 /**
@@ -11,14 +9,16 @@ import java.nio.ByteBuffer;
  */
 final class DefaultMemoryAllocator implements MemoryAllocator {
 
+    private final DefaultMemoryAllocatorMetric metric = new DefaultMemoryAllocatorMetric("Default");
+
     @Override
     public Memory allocate(int capacity) {
-        return allocate(capacity, 0, 0, 0, true);
+        return allocate(capacity, Integer.MAX_VALUE, 0, 0, true);
     }
 
     @Override
     public Memory allocate(int capacity, boolean checking) {
-        return allocate(capacity, capacity, 0, 0, checking);
+        return allocate(capacity, Integer.MAX_VALUE, 0, 0, checking);
     }
 
     @Override
@@ -38,17 +38,25 @@ final class DefaultMemoryAllocator implements MemoryAllocator {
 
     @Override
     public Memory allocate(int capacity, int maxCapacity, int readerIndex, int writerIndex, boolean checking) {
-        if (Unsafe.HAS_UNSAFE) {
+        Memory memory;
+        if (AbstractMemory.ACCESSOR_MEMORY) {
             long address = AbstractMemory.ACCESSOR.allocate(capacity);
             if (checking) {
-                return new CheckedMemory(address, capacity, maxCapacity, readerIndex, writerIndex);
+                memory = new CheckedMemory(address, capacity, maxCapacity, readerIndex, writerIndex);
+            } else {
+                memory = new UncheckedMemory(address, capacity, maxCapacity, readerIndex, writerIndex);
             }
-            return new UncheckedMemory(address, capacity, maxCapacity, readerIndex, writerIndex);
         } else {
             ByteBuffer buffer = ByteBuffer.allocateDirect(capacity);
-            Memory memory = new ByteBuf(0, buffer, capacity, maxCapacity, readerIndex, writerIndex);
-            return memory;
+            memory = new ByteBuf(0, buffer, capacity, maxCapacity, readerIndex, writerIndex);
         }
+        metric.allocated(memory, capacity, false);
+        return MemoryLeakDetector.track(memory);
+    }
+
+    @Override
+    public MemoryAllocatorMetric metric() {
+        return metric;
     }
 
     @Override
@@ -0,0 +1,179 @@
+package com.ardikars.common.memory;
+
+import com.ardikars.common.logging.Logger;
+import com.ardikars.common.logging.LoggerFactory;
+
+import javax.management.ObjectName;
+import javax.management.StandardMBean;
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * {@link MemoryAllocatorMetric} backed by {@link StripedCounter}'s, except outstanding bytes which is a single
+ * atomic counter so the peak can be tracked on the allocation path.
+ * A metric may have a parent (ex: partition of an allocator), every record is also counted by the parent.
+ *
+ * @author <a href="mailto:contact@ardikars.com">Ardika Rommy Sanjaya</a>
+ */
+final class DefaultMemoryAllocatorMetric implements MemoryAllocatorMetric {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(DefaultMemoryAllocatorMetric.class);
+
+    private static final AtomicInteger ID = new AtomicInteger();
+
+    private final StripedCounter allocations = new StripedCounter();
+    private final StripedCounter hits = new StripedCounter();
+    private final StripedCounter fallbacks = new StripedCounter();
+    private final StripedCounter releases = new StripedCounter();
+    private final AtomicLong outstandingBytes = new AtomicLong();
+    private final AtomicLong peakOutstandingBytes = new AtomicLong();
+
+    private final DefaultMemoryAllocatorMetric parent;
+
+    private volatile ObjectName objectName;
+
+    DefaultMemoryAllocatorMetric(String name) {
+        this(name, null);
+    }
+
+    DefaultMemoryAllocatorMetric(String name, DefaultMemoryAllocatorMetric parent) {
+        this.parent = parent;
+        register(name);
+    }
+
+    /**
+     * Record an allocation.
+     * @param memory allocated memory.
+     * @param bytes bytes held by allocated memory.
+     * @param hit true if the allocation is served by already reserved memory.
+     */
+    void allocated(Memory memory, int bytes, boolean hit) {
+        AbstractMemory abstractMemory = (AbstractMemory) memory;
+        abstractMemory.allocatorMetric = this;
+        abstractMemory.allocatedBytes = bytes;
+        count(bytes, hit);
+    }
+
+    /**
+     * Record an allocation which falls back to unpooled buffer's.
+     */
+    void fallback() {
+        fallbacks.increment();
+        if (parent != null) {
+            parent.fallback();
+        }
+    }
+
+    /**
+     * Record a release.
+     * @param bytes bytes held by released memory.
+     */
+    void released(int bytes) {
+        releases.increment();
+        outstandingBytes.addAndGet(-bytes);
+        if (parent != null) {
+            parent.released(bytes);
+        }
+    }
+
+    /**
+     * Unregister JMX MXBean of this metric.
+     */
+    void close() {
+        ObjectName objectName = this.objectName;
+        if (objectName != null) {
+            this.objectName = null;
+            try {
+                ManagementFactory.getPlatformMBeanServer().unregisterMBean(objectName);
+            } catch (Throwable e) {
+                LOGGER.debug(e);
+            }
+        }
+    }
+
+    @Override
+    public long getAllocations() {
+        return allocations.sum();
+    }
+
+    @Override
+    public long getHits() {
+        return hits.sum();
+    }
+
+    @Override
+    public long getMisses() {
+        return allocations.sum() - hits.sum();
+    }
+
+    @Override
+    public long getFallbacks() {
+        return fallbacks.sum();
+    }
+
+    @Override
+    public long getReleases() {
+        return releases.sum();
+    }
+
+    @Override
+    public long getOutstandingBytes() {
+        return outstandingBytes.get();
+    }
+
+    @Override
+    public long getPeakOutstandingBytes() {
+        return peakOutstandingBytes.get();
+    }
+
+    @Override
+    public String toString() {
+        return new StringBuilder()
+                .append("[Allocations: ").append(getAllocations())
+                .append(", Hits: ").append(getHits())
+                .append(", Misses: ").append(getMisses())
+                .append(", Fallbacks: ").append(getFallbacks())
+                .append(", Releases: ").append(getReleases())
+                .append(", Outstanding bytes: ").append(getOutstandingBytes())
+                .append(", Peak outstanding bytes: ").append(getPeakOutstandingBytes())
+                .append("]").toString();
+    }
+
+    private void count(int bytes, boolean hit) {
+        allocations.increment();
+        updatePeakOutstandingBytes(outstandingBytes.addAndGet(bytes));
+        if (hit) {
+            hits.increment();
+        }
+        if (parent != null) {
+            parent.count(bytes, hit);
+        }
+    }
+
+    /**
+     * The peak only changes while outstanding bytes grows beyond it, so the common case is a plain read.
+     */
+    private void updatePeakOutstandingBytes(long outstanding) {
+        long peak;
+        while (outstanding > (peak = peakOutstandingBytes.get())) {
+            if (peakOutstandingBytes.compareAndSet(peak, outstanding)) {
+                return;
+            }
+        }
+    }
+
+    private void register(String name) {
+        try {
+            ObjectName objectName = new ObjectName(String.format("com.ardikars.common.memory:type=MemoryAllocator,name=%s-%d",
+                    name, ID.incrementAndGet()));
+            ManagementFactory.getPlatformMBeanServer().registerMBean(
+                    new StandardMBean(this, MemoryAllocatorMetric.class, true), objectName);
+            this.objectName = objectName;
+        } catch (Throwable e) {
+            // JMX is not available (ex: Android)
+            LOGGER.debug(e);
+        }
+    }
+
+}
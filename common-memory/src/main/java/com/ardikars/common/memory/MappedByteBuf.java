@@ -0,0 +1,40 @@
+package com.ardikars.common.memory;
+
+import java.nio.MappedByteBuffer;
+
+/**
+ * {@link ByteBuf} backed by a {@link MappedByteBuffer}, used when {@code sun.misc.Unsafe} is not available.
+ *
+ * @author <a href="mailto:contact@ardikars.com">Ardika Rommy Sanjaya</a>
+ */
+class MappedByteBuf extends ByteBuf implements MappedMemory {
+
+    MappedByteBuf(MappedByteBuffer mapped, int capacity) {
+        super(0, mapped, capacity, capacity, 0, capacity);
+    }
+
+    @Override
+    public MappedByteBuf capacity(int newCapacity) {
+        checkNewCapacity(newCapacity);
+        this.capacity = newCapacity;
+        return this;
+    }
+
+    @Override
+    public MappedSlicedByteBuf slice(int index, int length) {
+        return new MappedSlicedByteBuf(this, baseIndex + index, buffer.duplicate(), length,
+                readerIndex() - index, writerIndex() - index);
+    }
+
+    @Override
+    public MappedSlicedByteBuf duplicate() {
+        return new MappedSlicedByteBuf(this, baseIndex, buffer.duplicate(), capacity(), readerIndex(), writerIndex());
+    }
+
+    @Override
+    public MappedByteBuf force() {
+        ((MappedByteBuffer) buffer).force();
+        return this;
+    }
+
+}
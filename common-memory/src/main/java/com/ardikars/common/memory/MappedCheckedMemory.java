@@ -0,0 +1,85 @@
+package com.ardikars.common.memory;
+
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.ReadOnlyBufferException;
+
+/**
+ * {@link CheckedMemory} backed by a {@link MappedByteBuffer}.
+ *
+ * @author <a href="mailto:contact@ardikars.com">Ardika Rommy Sanjaya</a>
+ */
+class MappedCheckedMemory extends CheckedMemory implements MappedMemory {
+
+    final MappedByteBuffer mapped;
+    final boolean readOnly;
+
+    MappedCheckedMemory(MappedByteBuffer mapped, long address, int capacity, boolean readOnly) {
+        super(address, capacity, capacity, 0, capacity);
+        this.mapped = mapped;
+        this.readOnly = readOnly;
+    }
+
+    @Override
+    public MappedCheckedMemory capacity(int newCapacity) {
+        ensureAccessible();
+        checkNewCapacity(newCapacity);
+        this.capacity = newCapacity;
+        return this;
+    }
+
+    @Override
+    public MappedSlicedCheckedMemory slice(int index, int length) {
+        ensureAccessible(index, length);
+        return new MappedSlicedCheckedMemory(this, address + index, length, readerIndex() - index, writerIndex() - index);
+    }
+
+    @Override
+    public MappedSlicedCheckedMemory duplicate() {
+        ensureAccessible();
+        return new MappedSlicedCheckedMemory(this, address, capacity, readerIndex(), writerIndex());
+    }
+
+    @Override
+    public ByteBuffer nioBuffer() {
+        ensureAccessible();
+        return mapped.duplicate();
+    }
+
+    @Override
+    ByteBuffer nioBuffer(int index, int length) {
+        ensureAccessible(index, length);
+        return duplicateRegion(mapped, index, length);
+    }
+
+    @Override
+    ByteBuffer internalNioBuffer(int index, int length) {
+        if (tmpNioBuffer == null) {
+            tmpNioBuffer = mapped.duplicate();
+        }
+        return region(tmpNioBuffer, index, length);
+    }
+
+    @Override
+    public MappedCheckedMemory force() {
+        ensureAccessible();
+        mapped.force();
+        return this;
+    }
+
+    @Override
+    public void release() {
+        if (decrementRefCnt()) {
+            ByteBuf.clean(mapped);
+        }
+    }
+
+    @Override
+    void ensureWriteAccessible(int index, int length) {
+        if (readOnly) {
+            throw new ReadOnlyBufferException();
+        }
+        super.ensureWriteAccessible(index, length);
+    }
+
+}
@@ -0,0 +1,18 @@
+package com.ardikars.common.memory;
+
+/**
+ * {@link Memory} backed by a memory-mapped region of a file (see {@link Memories#map(java.nio.file.Path,
+ * java.nio.channels.FileChannel.MapMode, long, int)}).
+ * The region is unmapped when the reference count reaches {@code 0}.
+ *
+ * @author <a href="mailto:contact@ardikars.com">Ardika Rommy Sanjaya</a>
+ */
+public interface MappedMemory extends Memory {
+
+    /**
+     * Forces any changes made to this buffer's content to be written to the storage device containing the mapped file.
+     * @return returns this {@link MappedMemory}.
+     */
+    MappedMemory force();
+
+}
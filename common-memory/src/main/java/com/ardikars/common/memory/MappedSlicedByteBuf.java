@@ -0,0 +1,59 @@
+package com.ardikars.common.memory;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Sliced (or duplicated) {@link MappedByteBuf}, sharing the reference count of its parent.
+ *
+ * @author <a href="mailto:contact@ardikars.com">Ardika Rommy Sanjaya</a>
+ */
+class MappedSlicedByteBuf extends ByteBuf {
+
+    private final MappedByteBuf parent;
+
+    MappedSlicedByteBuf(MappedByteBuf parent, int baseIndex, ByteBuffer buffer, int capacity, int readerIndex, int writerIndex) {
+        super(baseIndex, buffer, capacity, capacity, readerIndex, writerIndex);
+        this.parent = parent;
+    }
+
+    @Override
+    public MappedSlicedByteBuf capacity(int newCapacity) {
+        checkNewCapacity(newCapacity);
+        this.capacity = newCapacity;
+        return this;
+    }
+
+    @Override
+    public MappedSlicedByteBuf slice(int index, int length) {
+        return new MappedSlicedByteBuf(parent, baseIndex + index, buffer.duplicate(), length,
+                readerIndex() - index, writerIndex() - index);
+    }
+
+    @Override
+    public MappedSlicedByteBuf duplicate() {
+        return new MappedSlicedByteBuf(parent, baseIndex, buffer.duplicate(), capacity(), readerIndex(), writerIndex());
+    }
+
+    @Override
+    public int refCnt() {
+        return parent.refCnt();
+    }
+
+    @Override
+    public Memory retain() {
+        parent.retain();
+        return this;
+    }
+
+    @Override
+    public Memory retain(int increment) {
+        parent.retain(increment);
+        return this;
+    }
+
+    @Override
+    public void release() {
+        parent.release();
+    }
+
+}
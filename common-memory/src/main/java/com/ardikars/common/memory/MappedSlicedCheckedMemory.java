@@ -0,0 +1,90 @@
+package com.ardikars.common.memory;
+
+import java.nio.ByteBuffer;
+import java.nio.ReadOnlyBufferException;
+
+/**
+ * Sliced (or duplicated) {@link MappedCheckedMemory}, sharing the reference count of its parent.
+ *
+ * @author <a href="mailto:contact@ardikars.com">Ardika Rommy Sanjaya</a>
+ */
+class MappedSlicedCheckedMemory extends CheckedMemory {
+
+    private final MappedCheckedMemory parent;
+
+    MappedSlicedCheckedMemory(MappedCheckedMemory parent, long address, int capacity, int readerIndex, int writerIndex) {
+        super(address, capacity, capacity, readerIndex, writerIndex);
+        this.parent = parent;
+    }
+
+    @Override
+    public MappedSlicedCheckedMemory capacity(int newCapacity) {
+        ensureAccessible();
+        checkNewCapacity(newCapacity);
+        this.capacity = newCapacity;
+        return this;
+    }
+
+    @Override
+    public MappedSlicedCheckedMemory slice(int index, int length) {
+        ensureAccessible(index, length);
+        return new MappedSlicedCheckedMemory(parent, address + index, length, readerIndex() - index, writerIndex() - index);
+    }
+
+    @Override
+    public MappedSlicedCheckedMemory duplicate() {
+        ensureAccessible();
+        return new MappedSlicedCheckedMemory(parent, address, capacity, readerIndex(), writerIndex());
+    }
+
+    @Override
+    public ByteBuffer nioBuffer() {
+        ensureAccessible();
+        return parent.mapped.duplicate();
+    }
+
+    @Override
+    ByteBuffer nioBuffer(int index, int length) {
+        ensureAccessible(index, length);
+        return duplicateRegion(parent.mapped, (int) (address - parent.address) + index, length);
+    }
+
+    @Override
+    ByteBuffer internalNioBuffer(int index, int length) {
+        if (tmpNioBuffer == null) {
+            tmpNioBuffer = parent.mapped.duplicate();
+        }
+        return region(tmpNioBuffer, (int) (address - parent.address) + index, length);
+    }
+
+    @Override
+    public int refCnt() {
+        return parent.refCnt();
+    }
+
+    @Override
+    public Memory retain() {
+        parent.retain();
+        return this;
+    }
+
+    @Override
+    public Memory retain(int increment) {
+        parent.retain(increment);
+        return this;
+    }
+
+    @Override
+    public void release() {
+        parent.release();
+    }
+
+    @Override
+    void ensureWriteAccessible(int index, int length) {
+        if (parent.readOnly) {
+            throw new ReadOnlyBufferException();
+        }
+        super.ensureWriteAccessible(index, length);
+    }
+
+}
@@ -0,0 +1,76 @@
+package com.ardikars.common.memory;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Sliced (or duplicated) {@link MappedUncheckedMemory}, sharing the reference count of its parent.
+ *
+ * @author <a href="mailto:contact@ardikars.com">Ardika Rommy Sanjaya</a>
+ */
+class MappedSlicedUncheckedMemory extends UncheckedMemory {
+
+    private final MappedUncheckedMemory parent;
+
+    MappedSlicedUncheckedMemory(MappedUncheckedMemory parent, long address, int capacity, int readerIndex, int writerIndex) {
+        super(address, capacity, capacity, readerIndex, writerIndex);
+        this.parent = parent;
+    }
+
+    @Override
+    public MappedSlicedUncheckedMemory capacity(int newCapacity) {
+        checkNewCapacity(newCapacity);
+        this.capacity = newCapacity;
+        return this;
+    }
+
+    @Override
+    public MappedSlicedUncheckedMemory slice(int index, int length) {
+        return new MappedSlicedUncheckedMemory(parent, address + index, length, readerIndex() - index, writerIndex() - index);
+    }
+
+    @Override
+    public MappedSlicedUncheckedMemory duplicate() {
+        return new MappedSlicedUncheckedMemory(parent, address, capacity, readerIndex(), writerIndex());
+    }
+
+    @Override
+    public ByteBuffer nioBuffer() {
+        return parent.mapped.duplicate();
+    }
+
+    @Override
+    ByteBuffer nioBuffer(int index, int length) {
+        return duplicateRegion(parent.mapped, (int) (address - parent.address) + index, length);
+    }
+
+    @Override
+    ByteBuffer internalNioBuffer(int index, int length) {
+        if (tmpNioBuffer == null) {
+            tmpNioBuffer = parent.mapped.duplicate();
+        }
+        return region(tmpNioBuffer, (int) (address - parent.address) + index, length);
+    }
+
+    @Override
+    public int refCnt() {
+        return parent.refCnt();
+    }
+
+    @Override
+    public Memory retain() {
+        parent.retain();
+        return this;
+    }
+
+    @Override
+    public Memory retain(int increment) {
+        parent.retain(increment);
+        return this;
+    }
+
+    @Override
+    public void release() {
+        parent.release();
+    }
+
+}
@@ -0,0 +1,69 @@
+package com.ardikars.common.memory;
+
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+
+/**
+ * {@link UncheckedMemory} backed by a writable (read-write or private) {@link MappedByteBuffer},
+ * read-only mappings are always bounds checked (see {@link MappedCheckedMemory}).
+ *
+ * @author <a href="mailto:contact@ardikars.com">Ardika Rommy Sanjaya</a>
+ */
+class MappedUncheckedMemory extends UncheckedMemory implements MappedMemory {
+
+    final MappedByteBuffer mapped;
+
+    MappedUncheckedMemory(MappedByteBuffer mapped, long address, int capacity) {
+        super(address, capacity, capacity, 0, capacity);
+        this.mapped = mapped;
+    }
+
+    @Override
+    public MappedUncheckedMemory capacity(int newCapacity) {
+        checkNewCapacity(newCapacity);
+        this.capacity = newCapacity;
+        return this;
+    }
+
+    @Override
+    public MappedSlicedUncheckedMemory slice(int index, int length) {
+        return new MappedSlicedUncheckedMemory(this, address + index, length, readerIndex() - index, writerIndex() - index);
+    }
+
+    @Override
+    public MappedSlicedUncheckedMemory duplicate() {
+        return new MappedSlicedUncheckedMemory(this, address, capacity, readerIndex(), writerIndex());
+    }
+
+    @Override
+    public ByteBuffer nioBuffer() {
+        return mapped.duplicate();
+    }
+
+    @Override
+    ByteBuffer nioBuffer(int index, int length) {
+        return duplicateRegion(mapped, index, length);
+    }
+
+    @Override
+    ByteBuffer internalNioBuffer(int index, int length) {
+        if (tmpNioBuffer == null) {
+            tmpNioBuffer = mapped.duplicate();
+        }
+        return region(tmpNioBuffer, index, length);
+    }
+
+    @Override
+    public MappedUncheckedMemory force() {
+        mapped.force();
+        return this;
+    }
+
+    @Override
+    public void release() {
+        if (decrementRefCnt()) {
+            ByteBuf.clean(mapped);
+        }
+    }
+
+}
@@ -1,14 +1,15 @@
 package com.ardikars.common.memory;
 
 import com.ardikars.common.memory.internal.ByteBufferHelper;
-import com.ardikars.common.memory.internal.Unsafe;
-import com.ardikars.common.util.Hexs;
 import com.ardikars.common.util.Validate;
 
+import java.io.IOException;
 import java.nio.ByteBuffer;
-import java.util.Map;
-import java.util.Queue;
-import java.util.concurrent.ConcurrentHashMap;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.ConcurrentNavigableMap;
 
 /**
  * Used for allocating memory buffer or wrapping buffer.
@@ -19,7 +20,7 @@ public final class Memories {
 
     private static MemoryAllocator DEFAULT_MEMORY_ALLOCATOR = new DefaultMemoryAllocator();
 
-    static Map<Integer, Queue<PooledMemory>> POOLS;
+    static ConcurrentNavigableMap<Integer, PooledMemoryAllocator> POOLS;
 
     /**
      * Get default memory allocator.
@@ -35,14 +36,154 @@ public final class Memories {
      * @param maxPoolSize maximum pool size.
      * @param maxMemoryCapacity memory capacity per buffer.
      * @return returns pooled {@link MemoryAllocator}.
+     * @throws IllegalArgumentException see {@link PooledMemoryAllocatorBuilder#build()}.
      */
     public static MemoryAllocator allocator(int poolSize, int maxPoolSize, int maxMemoryCapacity) {
-        synchronized (Memories.class) {
-            if (POOLS == null) {
-                POOLS = new ConcurrentHashMap<Integer, Queue<PooledMemory>>();
-            }
-            return new PooledMemoryAllocator(poolSize, maxPoolSize, maxMemoryCapacity);
+        return pooledAllocatorBuilder()
+                .poolSize(poolSize)
+                .maxPoolSize(maxPoolSize)
+                .maxMemoryCapacity(maxMemoryCapacity)
+                .build();
+    }
+
+    /**
+     * Get pooled memory allocator with per thread cache.
+     * Every thread keeps up to {@code threadCacheSize} released buffer's and reuses them without touching the shared pool,
+     * the cache is refilled from (or flushed to) the shared pool in batch.
+     * @param poolSize pool size.
+     * @param maxPoolSize maximum pool size.
+     * @param maxMemoryCapacity memory capacity per buffer.
+     * @param threadCacheSize maximum number of cached buffer's per thread (0 to disable thread cache).
+     * @return returns pooled {@link MemoryAllocator}.
+     * @throws IllegalArgumentException see {@link PooledMemoryAllocatorBuilder#build()}.
+     */
+    public static MemoryAllocator allocator(int poolSize, int maxPoolSize, int maxMemoryCapacity, int threadCacheSize) {
+        return pooledAllocatorBuilder()
+                .poolSize(poolSize)
+                .maxPoolSize(maxPoolSize)
+                .maxMemoryCapacity(maxMemoryCapacity)
+                .threadCacheSize(threadCacheSize)
+                .build();
+    }
+
+    /**
+     * Get partitioned pooled memory allocator.
+     * Every partition has its own pool ({@code poolSize} up to {@code maxPoolSize} buffer's), thread cache and metric.
+     * A thread allocates from the partition selected by its affinity hint ({@link #affinity(int)}) or by the hash
+     * of its id, released buffer's go back to the partition which owns them, so threads of different partitions
+     * (ex: cores or NUMA nodes) don't share pooled buffer's. A buffer allocated when a partition grows is touched
+     * by the allocating thread as it is created, so its pages are local to that thread.
+     * @param poolSize pool size per partition.
+     * @param maxPoolSize maximum pool size per partition.
+     * @param maxMemoryCapacity memory capacity per buffer.
+     * @param threadCacheSize maximum number of cached buffer's per thread (0 to disable thread cache).
+     * @param partitions number of partitions.
+     * @return returns {@link PartitionedMemoryAllocator}.
+     * @throws IllegalArgumentException see {@link PooledMemoryAllocatorBuilder#build()}.
+     */
+    public static PartitionedMemoryAllocator allocator(int poolSize, int maxPoolSize, int maxMemoryCapacity, int threadCacheSize,
+                                                       int partitions) {
+        return pooledAllocatorBuilder()
+                .poolSize(poolSize)
+                .maxPoolSize(maxPoolSize)
+                .maxMemoryCapacity(maxMemoryCapacity)
+                .threadCacheSize(threadCacheSize)
+                .partitions(partitions)
+                .build();
+    }
+
+    /**
+     * Get builder of pooled memory allocator, for options like background replenishment and pre-touch.
+     * @return returns {@link PooledMemoryAllocatorBuilder}.
+     */
+    public static PooledMemoryAllocatorBuilder pooledAllocatorBuilder() {
+        return new PooledMemoryAllocatorBuilder();
+    }
+
+    /**
+     * Set affinity hint of current thread (ex: core or NUMA node id), a {@link PartitionedMemoryAllocator}
+     * selects partition {@code hint % partitions} for this thread instead of the hash of its id.
+     * @param hint affinity hint (non negative).
+     */
+    public static void affinity(int hint) {
+        Validate.notIllegalArgument(hint >= 0,
+                new IllegalArgumentException(String.format("hint: %d (expected: >= 0)", hint)));
+        PooledMemoryAllocator.AFFINITY.set(hint);
+    }
+
+    /**
+     * Remove affinity hint of current thread.
+     */
+    public static void clearAffinity() {
+        PooledMemoryAllocator.AFFINITY.remove();
+    }
+
+    /**
+     * Get arena memory allocator with default page size (8 KiB), max order (11, 16 MiB chunk)
+     * and one arena per available processor.
+     * @return returns arena {@link MemoryAllocator}.
+     */
+    public static MemoryAllocator arenaAllocator() {
+        return new ArenaMemoryAllocator();
+    }
+
+    /**
+     * Get arena memory allocator.
+     * Buffer's are carved from off-heap chunks of {@code pageSize << maxOrder} bytes
+     * into tiny (&lt; 512 bytes), small (&lt; pageSize), normal (&lt;= chunk size) size classes,
+     * buffer's larger than chunk size are allocated directly.
+     * @param pageSize page size (power of 2, at least 4096).
+     * @param maxOrder number of buddy levels of a chunk (0-14).
+     * @return returns arena {@link MemoryAllocator}.
+     */
+    public static MemoryAllocator arenaAllocator(int pageSize, int maxOrder) {
+        return new ArenaMemoryAllocator(pageSize, maxOrder, ArenaMemoryAllocator.DEFAULT_ARENAS);
+    }
+
+    /**
+     * Get arena memory allocator.
+     * Threads are spread over {@code arenas} independent arenas (each with its own chunk's and lock).
+     * @param pageSize page size (power of 2, at least 4096).
+     * @param maxOrder number of buddy levels of a chunk (0-14).
+     * @param arenas number of arenas (at least 1).
+     * @return returns arena {@link MemoryAllocator}.
+     */
+    public static MemoryAllocator arenaAllocator(int pageSize, int maxOrder, int arenas) {
+        return new ArenaMemoryAllocator(pageSize, maxOrder, arenas);
+    }
+
+    /**
+     * Create an empty {@link CompositeMemory}, new components (on capacity expansion or consolidation)
+     * are allocated by default memory allocator.
+     * @return returns {@link CompositeMemory}.
+     */
+    public static CompositeMemory composite() {
+        return composite(DEFAULT_MEMORY_ALLOCATOR);
+    }
+
+    /**
+     * Create an empty {@link CompositeMemory}.
+     * @param allocator allocator of new components (on capacity expansion or consolidation).
+     * @return returns {@link CompositeMemory}.
+     */
+    public static CompositeMemory composite(MemoryAllocator allocator) {
+        Validate.notIllegalArgument(allocator != null,
+                new IllegalArgumentException("allocator: null (expected: non null)"));
+        return MemoryLeakDetector.track(new DefaultCompositeMemory(allocator, Integer.MAX_VALUE));
+    }
+
+    /**
+     * Create a {@link MemoryRingBuffer}.
+     * @param allocator allocator of the ring buffer memory.
+     * @param capacity capacity in bytes (power of two).
+     * @param multiProducer true for multi-producer ring buffer, false for single-producer ring buffer.
+     * @return returns {@link MemoryRingBuffer}.
+     */
+    public static MemoryRingBuffer ringBuffer(MemoryAllocator allocator, int capacity, boolean multiProducer) {
+        if (multiProducer) {
+            return new MpscMemoryRingBuffer(allocator, capacity);
         }
+        return new SpscMemoryRingBuffer(allocator, capacity);
     }
 
     /**
@@ -65,7 +206,7 @@ public final class Memories {
     public static Memory wrap(long memoryAddress, int size, boolean checking) {
         Validate.notIllegalArgument(size > 0,
                 new IllegalArgumentException(String.format("size: %d (expected: > 0)", size)));
-        if (!Unsafe.HAS_UNSAFE) {
+        if (!AbstractMemory.NATIVE_ADDRESS) {
             ByteBuffer bbNoCleaner = ByteBufferHelper.wrapDirectByteBuffer(memoryAddress, size);
             return new ByteBuf(0, bbNoCleaner, size, size, 0, 0);
         }
@@ -97,7 +238,7 @@ public final class Memories {
                 new IllegalArgumentException("buffer: null (expected: non null)"));
         Validate.notIllegalArgument(buffer.isDirect(),
                 new IllegalArgumentException(String.format("buffer.isDirect(): %b (expected: direct buffer)", buffer.isDirect())));
-        if (!Unsafe.HAS_UNSAFE) {
+        if (!AbstractMemory.NATIVE_ADDRESS) {
             return new ByteBuf(0, buffer, buffer.capacity(), buffer.capacity(), 0, 0);
         }
         int capacity = buffer.capacity();
@@ -137,12 +278,7 @@ public final class Memories {
      * @throws IllegalArgumentException invalid hex characters.
      */
     public static Memory wrap(MemoryAllocator allocator, CharSequence hexStream, boolean checking) {
-        Validate.notIllegalArgument(hexStream != null,
-                new IllegalArgumentException(String.format("hexStream: null (expected: non null)")));
-        byte[] data = Hexs.parseHex(hexStream.toString());
-        Memory memory = allocator.allocate(data.length, checking);
-        memory.setBytes(0, data);
-        return memory;
+        return MemoryHexs.parseHex(allocator, hexStream, checking);
     }
 
     /**
@@ -170,16 +306,104 @@ public final class Memories {
         return memory;
     }
 
-    static void offer(Memory memory) {
-        POOLS.get(memory.maxCapacity()).offer(new PooledMemory(memory));
+    /**
+     * Calculate the exact number of bytes of UTF-8 encoded sequence, as encoded by
+     * {@link Memory#setCharSequence(int, CharSequence, java.nio.charset.Charset)} (malformed surrogate is encoded as
+     * {@code '?'}), without encoding it.
+     * @param seq sequence.
+     * @return returns number of bytes.
+     */
+    public static int utf8Bytes(CharSequence seq) {
+        int len = seq.length();
+        int i = 0;
+        while (i < len && seq.charAt(i) < 0x80) {
+            i++;
+        }
+        int bytes = i;
+        for (; i < len; i++) {
+            char c = seq.charAt(i);
+            if (c < 0x80) {
+                bytes++;
+            } else if (c < 0x800) {
+                bytes += 2;
+            } else if (c >= '\uD800' && c <= '\uDFFF') {
+                if (!Character.isHighSurrogate(c) || ++i == len) {
+                    bytes++;
+                } else {
+                    // '?' and the next char (as a single byte) or a 4 bytes code point
+                    bytes += Character.isLowSurrogate(seq.charAt(i)) ? 4 : 2;
+                }
+            } else {
+                bytes += 3;
+            }
+        }
+        return bytes;
     }
 
-    static Memory poll(int maxCapacity) {
-        PooledMemory pooledMemory = POOLS.get(maxCapacity).poll();
-        if (pooledMemory != null) {
-            return pooledMemory.get();
+    /**
+     * Map a region of a file into {@link MappedMemory} with bounds checking.
+     * @param path file path.
+     * @param mode {@link FileChannel.MapMode#READ_ONLY}, {@link FileChannel.MapMode#READ_WRITE}
+     *             (the file is created if it doesn't exist), or {@link FileChannel.MapMode#PRIVATE} (copy-on-write).
+     * @param offset position within the file at which the mapped region is to start.
+     * @param length size of the region to be mapped.
+     * @return returns {@link MappedMemory} with {@code writerIndex} set to {@code length}.
+     * @throws IOException I/O error.
+     */
+    public static MappedMemory map(Path path, FileChannel.MapMode mode, long offset, int length) throws IOException {
+        return map(path, mode, offset, length, true);
+    }
+
+    /**
+     * Map a region of a file into {@link MappedMemory}.
+     * The mapped region is unmapped when the returned memory is released (if {@code sun.misc.Unsafe} is available,
+     * otherwise it's unmapped by GC).
+     * @param path file path.
+     * @param mode {@link FileChannel.MapMode#READ_ONLY}, {@link FileChannel.MapMode#READ_WRITE}
+     *             (the file is created if it doesn't exist), or {@link FileChannel.MapMode#PRIVATE} (copy-on-write).
+     * @param offset position within the file at which the mapped region is to start.
+     * @param length size of the region to be mapped.
+     * @param checking if true it will do bounds checking for every get/set method, false will not bounds checking
+     *                 (must be true for {@link FileChannel.MapMode#READ_ONLY}, an unchecked write to a read-only page
+     *                 crashes the JVM).
+     * @return returns {@link MappedMemory} with {@code writerIndex} set to {@code length}.
+     * @throws IOException I/O error.
+     * @throws IllegalArgumentException if {@code mode} is {@link FileChannel.MapMode#READ_ONLY} and {@code checking} is false.
+     */
+    public static MappedMemory map(Path path, FileChannel.MapMode mode, long offset, int length, boolean checking) throws IOException {
+        Validate.notIllegalArgument(path != null,
+                new IllegalArgumentException("path: null (expected: non null)"));
+        Validate.notIllegalArgument(mode != null,
+                new IllegalArgumentException("mode: null (expected: non null)"));
+        Validate.notIllegalArgument(offset >= 0,
+                new IllegalArgumentException(String.format("offset: %d (expected: >= 0)", offset)));
+        Validate.notIllegalArgument(length >= 0,
+                new IllegalArgumentException(String.format("length: %d (expected: >= 0)", length)));
+        Validate.notIllegalArgument(checking || mode != FileChannel.MapMode.READ_ONLY,
+                new IllegalArgumentException(String.format("checking: %b (expected: true for %s mapping)", checking, mode)));
+        FileChannel channel;
+        if (mode == FileChannel.MapMode.READ_ONLY) {
+            channel = FileChannel.open(path, StandardOpenOption.READ);
+        } else if (mode == FileChannel.MapMode.READ_WRITE) {
+            channel = FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE, StandardOpenOption.CREATE);
+        } else {
+            channel = FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        }
+        MappedByteBuffer buffer;
+        try {
+            // the mapping stays valid after the channel is closed
+            buffer = channel.map(mode, offset, length);
+        } finally {
+            channel.close();
+        }
+        if (!AbstractMemory.NATIVE_ADDRESS) {
+            return MemoryLeakDetector.track(new MappedByteBuf(buffer, length));
+        }
+        long address = ByteBufferHelper.directByteBufferAddress(buffer);
+        if (checking) {
+            return MemoryLeakDetector.track(new MappedCheckedMemory(buffer, address, length, mode == FileChannel.MapMode.READ_ONLY));
         }
-        return null;
+        return MemoryLeakDetector.track(new MappedUncheckedMemory(buffer, address, length));
     }
 
 }
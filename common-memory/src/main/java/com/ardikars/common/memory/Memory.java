@@ -1,6 +1,10 @@
 package com.ardikars.common.memory;
 
+import java.io.IOException;
 import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.GatheringByteChannel;
+import java.nio.channels.ScatteringByteChannel;
 import java.nio.charset.Charset;
 
 /**
@@ -177,7 +181,9 @@ public interface Memory {
      * Makes sure the number of {@linkplain #writableBytes() the writable bytes}
      * is equal to or greater than the specified value.  If there is enough
      * writable bytes in this buffer, this method returns with no side effect.
-     * Otherwise, it raises an {@link IllegalArgumentException}.
+     * Otherwise, the capacity is increased (up to {@link #maxCapacity()}) by doubling
+     * up to 4 MiB and by 4 MiB step above it, so sequential writes don't reallocate
+     * on every write. {@code write*} methods call this method implicitly.
      *
      * @param minWritableBytes the expected minimum number of writable bytes
      * @throws IndexOutOfBoundsException
@@ -503,287 +509,964 @@ public interface Memory {
     Memory getBytes(int index, byte[] dst, int dstIndex, int length);
 
     /**
-     * Gets a {@link CharSequence} with the given length at the given index.
+     * Transfers this buffer's data to the specified channel starting at the
+     * specified absolute {@code index}.
+     * This method does not modify {@code readerIndex} or {@code writerIndex} of
+     * this buffer.
      *
+     * @param index index.
+     * @param out destination channel.
+     * @param length the maximum number of bytes to transfer
+     * @return the actual number of bytes written out to the specified channel
      * @throws IndexOutOfBoundsException
-     *         if {@code length} is greater than {@code this.readableBytes}
-     * @param length the length to read
-     * @param charset that should be used
-     * @return the sequence
-     * @return a string from buffer.
+     *         if the specified {@code index} is less than {@code 0} or
+     *         if {@code index + length} is greater than
+     *            {@code this.capacity}
+     * @throws IOException
+     *         if the specified channel threw an exception during I/O
      */
-    CharSequence getCharSequence(int index, int length, Charset charset);
+    int getBytes(int index, GatheringByteChannel out, int length) throws IOException;
 
     /**
-     * Sets the specified boolean at the specified absolute {@code index} in this
-     * buffer.
+     * Transfers this buffer's data to the specified channel starting at the
+     * specified absolute {@code index}, writing to the channel starting at the
+     * given file position. This method does not modify the channel's position,
+     * {@code readerIndex} or {@code writerIndex} of this buffer.
+     *
+     * @param index index.
+     * @param out destination file channel.
+     * @param position the file position at which the transfer is to begin
+     * @param length the maximum number of bytes to transfer
+     * @return the actual number of bytes written out to the specified channel
+     * @throws IndexOutOfBoundsException
+     *         if the specified {@code index} is less than {@code 0} or
+     *         if {@code index + length} is greater than
+     *            {@code this.capacity}
+     * @throws IOException
+     *         if the specified channel threw an exception during I/O
+     */
+    int getBytes(int index, FileChannel out, long position, int length) throws IOException;
+
+    /**
+     * Transfers this buffer's data as big endian {@code short}'s to the specified destination starting at
+     * the specified absolute {@code index}.
      * This method does not modify {@code readerIndex} or {@code writerIndex} of
      * this buffer.
      *
      * @throws IndexOutOfBoundsException
      *         if the specified {@code index} is less than {@code 0} or
-     *         {@code index + 1} is greater than {@code this.capacity}
+     *         if {@code index + dst.length * 2} is greater than
+     *            {@code this.capacity}
      * @param index index.
-     * @param value value.
+     * @param dst destination.
      * @return this {@link Memory}.
      */
-    Memory setBoolean(int index, boolean value);
+    Memory getShorts(int index, short[] dst);
 
     /**
-     * Sets the specified byte at the specified absolute {@code index} in this
-     * buffer.  The 24 high-order bits of the specified value are ignored.
+     * Transfers this buffer's data as big endian {@code short}'s to the specified destination starting at
+     * the specified absolute {@code index}.
      * This method does not modify {@code readerIndex} or {@code writerIndex} of
      * this buffer.
      *
      * @throws IndexOutOfBoundsException
-     *         if the specified {@code index} is less than {@code 0} or
-     *         {@code index + 1} is greater than {@code this.capacity}
+     *         if the specified {@code index} is less than {@code 0},
+     *         if the specified {@code dstIndex} is less than {@code 0},
+     *         if {@code index + length * 2} is greater than
+     *            {@code this.capacity}, or
+     *         if {@code dstIndex + length} is greater than
+     *            {@code dst.length}
      * @param index index.
-     * @param value value.
+     * @param dst destination.
+     * @param dstIndex the first index of the destination.
+     * @param length the number of {@code short}'s to transfer.
      * @return this {@link Memory}.
      */
-    Memory setByte(int index, int value);
+    Memory getShorts(int index, short[] dst, int dstIndex, int length);
 
     /**
-     * Sets the specified 16-bit short integer at the specified absolute
-     * {@code index} in this buffer.  The 16 high-order bits of the specified
-     * value are ignored.
+     * Transfers this buffer's data as little endian {@code short}'s to the specified destination starting at
+     * the specified absolute {@code index}.
      * This method does not modify {@code readerIndex} or {@code writerIndex} of
      * this buffer.
      *
      * @throws IndexOutOfBoundsException
      *         if the specified {@code index} is less than {@code 0} or
-     *         {@code index + 2} is greater than {@code this.capacity}
+     *         if {@code index + dst.length * 2} is greater than
+     *            {@code this.capacity}
      * @param index index.
-     * @param value value.
+     * @param dst destination.
      * @return this {@link Memory}.
      */
-    Memory setShort(int index, int value);
+    Memory getShortsLE(int index, short[] dst);
 
     /**
-     * Sets the specified 16-bit short integer at the specified absolute
-     * {@code index} in this buffer with the Little Endian Byte Order.
-     * The 16 high-order bits of the specified value are ignored.
+     * Transfers this buffer's data as little endian {@code short}'s to the specified destination starting at
+     * the specified absolute {@code index}.
+     * This method does not modify {@code readerIndex} or {@code writerIndex} of
+     * this buffer.
+     *
+     * @throws IndexOutOfBoundsException
+     *         if the specified {@code index} is less than {@code 0},
+     *         if the specified {@code dstIndex} is less than {@code 0},
+     *         if {@code index + length * 2} is greater than
+     *            {@code this.capacity}, or
+     *         if {@code dstIndex + length} is greater than
+     *            {@code dst.length}
+     * @param index index.
+     * @param dst destination.
+     * @param dstIndex the first index of the destination.
+     * @param length the number of {@code short}'s to transfer.
+     * @return this {@link Memory}.
+     */
+    Memory getShortsLE(int index, short[] dst, int dstIndex, int length);
+
+    /**
+     * Transfers this buffer's data as big endian {@code int}'s to the specified destination starting at
+     * the specified absolute {@code index}.
      * This method does not modify {@code readerIndex} or {@code writerIndex} of
      * this buffer.
      *
      * @throws IndexOutOfBoundsException
      *         if the specified {@code index} is less than {@code 0} or
-     *         {@code index + 2} is greater than {@code this.capacity}
+     *         if {@code index + dst.length * 4} is greater than
+     *            {@code this.capacity}
      * @param index index.
-     * @param value value.
+     * @param dst destination.
      * @return this {@link Memory}.
      */
-    Memory setShortLE(int index, int value);
+    Memory getInts(int index, int[] dst);
 
     /**
-     * Sets the specified 32-bit integer at the specified absolute
-     * {@code index} in this buffer.
+     * Transfers this buffer's data as big endian {@code int}'s to the specified destination starting at
+     * the specified absolute {@code index}.
+     * This method does not modify {@code readerIndex} or {@code writerIndex} of
+     * this buffer.
+     *
+     * @throws IndexOutOfBoundsException
+     *         if the specified {@code index} is less than {@code 0},
+     *         if the specified {@code dstIndex} is less than {@code 0},
+     *         if {@code index + length * 4} is greater than
+     *            {@code this.capacity}, or
+     *         if {@code dstIndex + length} is greater than
+     *            {@code dst.length}
+     * @param index index.
+     * @param dst destination.
+     * @param dstIndex the first index of the destination.
+     * @param length the number of {@code int}'s to transfer.
+     * @return this {@link Memory}.
+     */
+    Memory getInts(int index, int[] dst, int dstIndex, int length);
+
+    /**
+     * Transfers this buffer's data as little endian {@code int}'s to the specified destination starting at
+     * the specified absolute {@code index}.
      * This method does not modify {@code readerIndex} or {@code writerIndex} of
      * this buffer.
      *
      * @throws IndexOutOfBoundsException
      *         if the specified {@code index} is less than {@code 0} or
-     *         {@code index + 4} is greater than {@code this.capacity}
+     *         if {@code index + dst.length * 4} is greater than
+     *            {@code this.capacity}
      * @param index index.
-     * @param value value.
+     * @param dst destination.
      * @return this {@link Memory}.
      */
-    Memory setInt(int index, int value);
+    Memory getIntsLE(int index, int[] dst);
 
     /**
-     * Sets the specified 32-bit integer at the specified absolute
-     * {@code index} in this buffer with Little Endian byte order
-     * .
+     * Transfers this buffer's data as little endian {@code int}'s to the specified destination starting at
+     * the specified absolute {@code index}.
+     * This method does not modify {@code readerIndex} or {@code writerIndex} of
+     * this buffer.
+     *
+     * @throws IndexOutOfBoundsException
+     *         if the specified {@code index} is less than {@code 0},
+     *         if the specified {@code dstIndex} is less than {@code 0},
+     *         if {@code index + length * 4} is greater than
+     *            {@code this.capacity}, or
+     *         if {@code dstIndex + length} is greater than
+     *            {@code dst.length}
+     * @param index index.
+     * @param dst destination.
+     * @param dstIndex the first index of the destination.
+     * @param length the number of {@code int}'s to transfer.
+     * @return this {@link Memory}.
+     */
+    Memory getIntsLE(int index, int[] dst, int dstIndex, int length);
+
+    /**
+     * Transfers this buffer's data as big endian {@code long}'s to the specified destination starting at
+     * the specified absolute {@code index}.
      * This method does not modify {@code readerIndex} or {@code writerIndex} of
      * this buffer.
      *
      * @throws IndexOutOfBoundsException
      *         if the specified {@code index} is less than {@code 0} or
-     *         {@code index + 4} is greater than {@code this.capacity}
+     *         if {@code index + dst.length * 8} is greater than
+     *            {@code this.capacity}
      * @param index index.
-     * @param value value.
+     * @param dst destination.
      * @return this {@link Memory}.
      */
-    Memory setIntLE(int index, int value);
+    Memory getLongs(int index, long[] dst);
 
     /**
-     * Sets the specified 64-bit long integer at the specified absolute
-     * {@code index} in this buffer.
+     * Transfers this buffer's data as big endian {@code long}'s to the specified destination starting at
+     * the specified absolute {@code index}.
+     * This method does not modify {@code readerIndex} or {@code writerIndex} of
+     * this buffer.
+     *
+     * @throws IndexOutOfBoundsException
+     *         if the specified {@code index} is less than {@code 0},
+     *         if the specified {@code dstIndex} is less than {@code 0},
+     *         if {@code index + length * 8} is greater than
+     *            {@code this.capacity}, or
+     *         if {@code dstIndex + length} is greater than
+     *            {@code dst.length}
+     * @param index index.
+     * @param dst destination.
+     * @param dstIndex the first index of the destination.
+     * @param length the number of {@code long}'s to transfer.
+     * @return this {@link Memory}.
+     */
+    Memory getLongs(int index, long[] dst, int dstIndex, int length);
+
+    /**
+     * Transfers this buffer's data as little endian {@code long}'s to the specified destination starting at
+     * the specified absolute {@code index}.
      * This method does not modify {@code readerIndex} or {@code writerIndex} of
      * this buffer.
      *
      * @throws IndexOutOfBoundsException
      *         if the specified {@code index} is less than {@code 0} or
-     *         {@code index + 8} is greater than {@code this.capacity}
+     *         if {@code index + dst.length * 8} is greater than
+     *            {@code this.capacity}
      * @param index index.
-     * @param value value.
+     * @param dst destination.
      * @return this {@link Memory}.
      */
-    Memory setLong(int index, long value);
+    Memory getLongsLE(int index, long[] dst);
 
     /**
-     * Sets the specified 64-bit long integer at the specified absolute
-     * {@code index} in this buffer in Little Endian Byte Order.
+     * Transfers this buffer's data as little endian {@code long}'s to the specified destination starting at
+     * the specified absolute {@code index}.
+     * This method does not modify {@code readerIndex} or {@code writerIndex} of
+     * this buffer.
+     *
+     * @throws IndexOutOfBoundsException
+     *         if the specified {@code index} is less than {@code 0},
+     *         if the specified {@code dstIndex} is less than {@code 0},
+     *         if {@code index + length * 8} is greater than
+     *            {@code this.capacity}, or
+     *         if {@code dstIndex + length} is greater than
+     *            {@code dst.length}
+     * @param index index.
+     * @param dst destination.
+     * @param dstIndex the first index of the destination.
+     * @param length the number of {@code long}'s to transfer.
+     * @return this {@link Memory}.
+     */
+    Memory getLongsLE(int index, long[] dst, int dstIndex, int length);
+
+    /**
+     * Transfers this buffer's data as big endian {@code double}'s to the specified destination starting at
+     * the specified absolute {@code index}.
      * This method does not modify {@code readerIndex} or {@code writerIndex} of
      * this buffer.
      *
      * @throws IndexOutOfBoundsException
      *         if the specified {@code index} is less than {@code 0} or
-     *         {@code index + 8} is greater than {@code this.capacity}
+     *         if {@code index + dst.length * 8} is greater than
+     *            {@code this.capacity}
      * @param index index.
-     * @param value value.
+     * @param dst destination.
      * @return this {@link Memory}.
      */
-    Memory setLongLE(int index, long value);
+    Memory getDoubles(int index, double[] dst);
 
     /**
-     * Sets the specified 32-bit floating-point number at the specified
-     * absolute {@code index} in this buffer.
+     * Transfers this buffer's data as big endian {@code double}'s to the specified destination starting at
+     * the specified absolute {@code index}.
+     * This method does not modify {@code readerIndex} or {@code writerIndex} of
+     * this buffer.
+     *
+     * @throws IndexOutOfBoundsException
+     *         if the specified {@code index} is less than {@code 0},
+     *         if the specified {@code dstIndex} is less than {@code 0},
+     *         if {@code index + length * 8} is greater than
+     *            {@code this.capacity}, or
+     *         if {@code dstIndex + length} is greater than
+     *            {@code dst.length}
+     * @param index index.
+     * @param dst destination.
+     * @param dstIndex the first index of the destination.
+     * @param length the number of {@code double}'s to transfer.
+     * @return this {@link Memory}.
+     */
+    Memory getDoubles(int index, double[] dst, int dstIndex, int length);
+
+    /**
+     * Transfers this buffer's data as little endian {@code double}'s to the specified destination starting at
+     * the specified absolute {@code index}.
      * This method does not modify {@code readerIndex} or {@code writerIndex} of
      * this buffer.
      *
      * @throws IndexOutOfBoundsException
      *         if the specified {@code index} is less than {@code 0} or
-     *         {@code index + 4} is greater than {@code this.capacity}
+     *         if {@code index + dst.length * 8} is greater than
+     *            {@code this.capacity}
      * @param index index.
-     * @param value value.
+     * @param dst destination.
      * @return this {@link Memory}.
      */
-    Memory setFloat(int index, float value);
+    Memory getDoublesLE(int index, double[] dst);
 
     /**
-     * Sets the specified 32-bit floating-point number at the specified
-     * absolute {@code index} in this buffer in Little Endian Byte Order.
+     * Transfers this buffer's data as little endian {@code double}'s to the specified destination starting at
+     * the specified absolute {@code index}.
+     * This method does not modify {@code readerIndex} or {@code writerIndex} of
+     * this buffer.
+     *
+     * @throws IndexOutOfBoundsException
+     *         if the specified {@code index} is less than {@code 0},
+     *         if the specified {@code dstIndex} is less than {@code 0},
+     *         if {@code index + length * 8} is greater than
+     *            {@code this.capacity}, or
+     *         if {@code dstIndex + length} is greater than
+     *            {@code dst.length}
+     * @param index index.
+     * @param dst destination.
+     * @param dstIndex the first index of the destination.
+     * @param length the number of {@code double}'s to transfer.
+     * @return this {@link Memory}.
+     */
+    Memory getDoublesLE(int index, double[] dst, int dstIndex, int length);
+
+    /**
+     * Gets a {@link CharSequence} with the given length at the given index.
+     *
+     * @throws IndexOutOfBoundsException
+     *         if {@code length} is greater than {@code this.readableBytes}
+     * @param length the length to read
+     * @param charset that should be used
+     * @return the sequence
+     * @return a string from buffer.
+     */
+    CharSequence getCharSequence(int index, int length, Charset charset);
+
+    /**
+     * Gets a zero-copy {@link AsciiString} view (one byte per char) of the given length at the given index.
+     * The view reads through this buffer, so its content changes if this buffer's is modified and it's no longer
+     * valid once this buffer's is released, use {@link AsciiString#toString()} to copy it.
+     * This method does not modify {@code readerIndex} or {@code writerIndex} of this buffer.
+     *
+     * @throws IndexOutOfBoundsException
+     *         if the specified {@code index} is less than {@code 0} or
+     *         if {@code index + length} is greater than {@code this.capacity}
+     * @param index index.
+     * @param length the length of the view.
+     * @return returns {@link AsciiString}.
+     */
+    AsciiString getAsciiString(int index, int length);
+
+    /**
+     * Sets the specified boolean at the specified absolute {@code index} in this
+     * buffer.
      * This method does not modify {@code readerIndex} or {@code writerIndex} of
      * this buffer.
      *
      * @throws IndexOutOfBoundsException
      *         if the specified {@code index} is less than {@code 0} or
-     *         {@code index + 4} is greater than {@code this.capacity}
+     *         {@code index + 1} is greater than {@code this.capacity}
      * @param index index.
      * @param value value.
      * @return this {@link Memory}.
      */
-    Memory setFloatLE(int index, float value);
+    Memory setBoolean(int index, boolean value);
 
     /**
-     * Sets the specified 64-bit floating-point number at the specified
-     * absolute {@code index} in this buffer.
+     * Sets the specified byte at the specified absolute {@code index} in this
+     * buffer.  The 24 high-order bits of the specified value are ignored.
      * This method does not modify {@code readerIndex} or {@code writerIndex} of
      * this buffer.
      *
      * @throws IndexOutOfBoundsException
      *         if the specified {@code index} is less than {@code 0} or
-     *         {@code index + 8} is greater than {@code this.capacity}
+     *         {@code index + 1} is greater than {@code this.capacity}
      * @param index index.
      * @param value value.
      * @return this {@link Memory}.
      */
-    Memory setDouble(int index, double value);
+    Memory setByte(int index, int value);
+
+    /**
+     * Sets the specified 16-bit short integer at the specified absolute
+     * {@code index} in this buffer.  The 16 high-order bits of the specified
+     * value are ignored.
+     * This method does not modify {@code readerIndex} or {@code writerIndex} of
+     * this buffer.
+     *
+     * @throws IndexOutOfBoundsException
+     *         if the specified {@code index} is less than {@code 0} or
+     *         {@code index + 2} is greater than {@code this.capacity}
+     * @param index index.
+     * @param value value.
+     * @return this {@link Memory}.
+     */
+    Memory setShort(int index, int value);
+
+    /**
+     * Sets the specified 16-bit short integer at the specified absolute
+     * {@code index} in this buffer with the Little Endian Byte Order.
+     * The 16 high-order bits of the specified value are ignored.
+     * This method does not modify {@code readerIndex} or {@code writerIndex} of
+     * this buffer.
+     *
+     * @throws IndexOutOfBoundsException
+     *         if the specified {@code index} is less than {@code 0} or
+     *         {@code index + 2} is greater than {@code this.capacity}
+     * @param index index.
+     * @param value value.
+     * @return this {@link Memory}.
+     */
+    Memory setShortLE(int index, int value);
+
+    /**
+     * Sets the specified 32-bit integer at the specified absolute
+     * {@code index} in this buffer.
+     * This method does not modify {@code readerIndex} or {@code writerIndex} of
+     * this buffer.
+     *
+     * @throws IndexOutOfBoundsException
+     *         if the specified {@code index} is less than {@code 0} or
+     *         {@code index + 4} is greater than {@code this.capacity}
+     * @param index index.
+     * @param value value.
+     * @return this {@link Memory}.
+     */
+    Memory setInt(int index, int value);
+
+    /**
+     * Sets the specified 32-bit integer at the specified absolute
+     * {@code index} in this buffer with Little Endian byte order
+     * .
+     * This method does not modify {@code readerIndex} or {@code writerIndex} of
+     * this buffer.
+     *
+     * @throws IndexOutOfBoundsException
+     *         if the specified {@code index} is less than {@code 0} or
+     *         {@code index + 4} is greater than {@code this.capacity}
+     * @param index index.
+     * @param value value.
+     * @return this {@link Memory}.
+     */
+    Memory setIntLE(int index, int value);
+
+    /**
+     * Sets the specified 64-bit long integer at the specified absolute
+     * {@code index} in this buffer.
+     * This method does not modify {@code readerIndex} or {@code writerIndex} of
+     * this buffer.
+     *
+     * @throws IndexOutOfBoundsException
+     *         if the specified {@code index} is less than {@code 0} or
+     *         {@code index + 8} is greater than {@code this.capacity}
+     * @param index index.
+     * @param value value.
+     * @return this {@link Memory}.
+     */
+    Memory setLong(int index, long value);
+
+    /**
+     * Sets the specified 64-bit long integer at the specified absolute
+     * {@code index} in this buffer in Little Endian Byte Order.
+     * This method does not modify {@code readerIndex} or {@code writerIndex} of
+     * this buffer.
+     *
+     * @throws IndexOutOfBoundsException
+     *         if the specified {@code index} is less than {@code 0} or
+     *         {@code index + 8} is greater than {@code this.capacity}
+     * @param index index.
+     * @param value value.
+     * @return this {@link Memory}.
+     */
+    Memory setLongLE(int index, long value);
+
+    /**
+     * Sets the specified 32-bit floating-point number at the specified
+     * absolute {@code index} in this buffer.
+     * This method does not modify {@code readerIndex} or {@code writerIndex} of
+     * this buffer.
+     *
+     * @throws IndexOutOfBoundsException
+     *         if the specified {@code index} is less than {@code 0} or
+     *         {@code index + 4} is greater than {@code this.capacity}
+     * @param index index.
+     * @param value value.
+     * @return this {@link Memory}.
+     */
+    Memory setFloat(int index, float value);
+
+    /**
+     * Sets the specified 32-bit floating-point number at the specified
+     * absolute {@code index} in this buffer in Little Endian Byte Order.
+     * This method does not modify {@code readerIndex} or {@code writerIndex} of
+     * this buffer.
+     *
+     * @throws IndexOutOfBoundsException
+     *         if the specified {@code index} is less than {@code 0} or
+     *         {@code index + 4} is greater than {@code this.capacity}
+     * @param index index.
+     * @param value value.
+     * @return this {@link Memory}.
+     */
+    Memory setFloatLE(int index, float value);
+
+    /**
+     * Sets the specified 64-bit floating-point number at the specified
+     * absolute {@code index} in this buffer.
+     * This method does not modify {@code readerIndex} or {@code writerIndex} of
+     * this buffer.
+     *
+     * @throws IndexOutOfBoundsException
+     *         if the specified {@code index} is less than {@code 0} or
+     *         {@code index + 8} is greater than {@code this.capacity}
+     * @param index index.
+     * @param value value.
+     * @return this {@link Memory}.
+     */
+    Memory setDouble(int index, double value);
+
+    /**
+     * Sets the specified 64-bit floating-point number at the specified
+     * absolute {@code index} in this buffer in Little Endian Byte Order.
+     * This method does not modify {@code readerIndex} or {@code writerIndex} of
+     * this buffer.
+     *
+     * @throws IndexOutOfBoundsException
+     *         if the specified {@code index} is less than {@code 0} or
+     *         {@code index + 8} is greater than {@code this.capacity}
+     * @param index index.
+     * @param value value.
+     * @return this {@link Memory}.
+     */
+    Memory setDoubleLE(int index, double value);
+
+    /**
+     * Transfers the specified source buffer's data to this buffer starting at
+     * the specified absolute {@code index} until the source buffer becomes
+     * unreadable.  This method is basically same with
+     * {@link #setBytes(int, Memory, int, int)}, except that this
+     * method increases the {@code readerIndex} of the source buffer by
+     * the number of the transferred bytes while
+     * {@link #setBytes(int, Memory, int, int)} does not.
+     * This method does not modify {@code readerIndex} or {@code writerIndex} of
+     * the source buffer (i.e. {@code this}).
+     *
+     * @throws IndexOutOfBoundsException
+     *         if the specified {@code index} is less than {@code 0} or
+     *         if {@code index + src.readableBytes} is greater than
+     *            {@code this.capacity}
+     * @param index index.
+     * @param src source.
+     * @return this {@link Memory}.
+     */
+    Memory setBytes(int index, Memory src);
+
+    /**
+     * Transfers the specified source buffer's data to this buffer starting at
+     * the specified absolute {@code index}.  This method is basically same
+     * with {@link #setBytes(int, Memory, int, int)}, except that this
+     * method increases the {@code readerIndex} of the source buffer by
+     * the number of the transferred bytes while
+     * {@link #setBytes(int, Memory, int, int)} does not.
+     * This method does not modify {@code readerIndex} or {@code writerIndex} of
+     * the source buffer (i.e. {@code this}).
+     *
+     * @param length the number of bytes to transfer
+     *
+     * @throws IndexOutOfBoundsException
+     *         if the specified {@code index} is less than {@code 0},
+     *         if {@code index + length} is greater than
+     *            {@code this.capacity}, or
+     *         if {@code length} is greater than {@code src.readableBytes}
+     * @param index index.
+     * @param src source.
+     * @param length length.
+     * @return this {@link Memory}.
+     */
+    Memory setBytes(int index, Memory src, int length);
+
+    /**
+     * Transfers the specified source buffer's data to this buffer starting at
+     * the specified absolute {@code index}.
+     * This method does not modify {@code readerIndex} or {@code writerIndex}
+     * of both the source (i.e. {@code this}) and the destination.
+     *
+     * @param srcIndex the first index of the source
+     * @param length   the number of bytes to transfer
+     *
+     * @throws IndexOutOfBoundsException
+     *         if the specified {@code index} is less than {@code 0},
+     *         if the specified {@code srcIndex} is less than {@code 0},
+     *         if {@code index + length} is greater than
+     *            {@code this.capacity}, or
+     *         if {@code srcIndex + length} is greater than
+     *            {@code src.capacity}
+     * @param index index.
+     * @param src source.
+     * @param srcIndex source index.
+     * @param length length.
+     * @return this {@link Memory}.
+     */
+    Memory setBytes(int index, Memory src, int srcIndex, int length);
+
+    /**
+     * Transfers the specified source array's data to this buffer starting at
+     * the specified absolute {@code index}.
+     * This method does not modify {@code readerIndex} or {@code writerIndex} of
+     * this buffer.
+     *
+     * @throws IndexOutOfBoundsException
+     *         if the specified {@code index} is less than {@code 0} or
+     *         if {@code index + src.length} is greater than
+     *            {@code this.capacity}
+     * @param index index.
+     * @param src source.
+     * @return this {@link Memory}.
+     */
+    Memory setBytes(int index, byte[] src);
+
+    /**
+     * Transfers the specified source array's data to this buffer starting at
+     * the specified absolute {@code index}.
+     * This method does not modify {@code readerIndex} or {@code writerIndex} of
+     * this buffer.
+     *
+     * @throws IndexOutOfBoundsException
+     *         if the specified {@code index} is less than {@code 0},
+     *         if the specified {@code srcIndex} is less than {@code 0},
+     *         if {@code index + length} is greater than
+     *            {@code this.capacity}, or
+     *         if {@code srcIndex + length} is greater than {@code src.length}
+     * @param index index.
+     * @param src source.
+     * @param srcIndex source index.
+     * @param length length.
+     * @return this {@link Memory}.
+     */
+    Memory setBytes(int index, byte[] src, int srcIndex, int length);
+
+    /**
+     * Transfers the content of the specified source channel to this buffer
+     * starting at the specified absolute {@code index}.
+     * This method does not modify {@code readerIndex} or {@code writerIndex} of
+     * this buffer.
+     *
+     * @param index index.
+     * @param in source channel.
+     * @param length the maximum number of bytes to transfer
+     * @return the actual number of bytes read in from the specified channel,
+     *         {@code -1} if the specified channel is closed or reached end-of-stream.
+     * @throws IndexOutOfBoundsException
+     *         if the specified {@code index} is less than {@code 0} or
+     *         if {@code index + length} is greater than {@code this.capacity}
+     * @throws IOException
+     *         if the specified channel threw an exception during I/O
+     */
+    int setBytes(int index, ScatteringByteChannel in, int length) throws IOException;
+
+    /**
+     * Transfers the content of the specified source channel starting at the given
+     * file position to this buffer starting at the specified absolute {@code index}.
+     * This method does not modify the channel's position, {@code readerIndex} or
+     * {@code writerIndex} of this buffer.
+     *
+     * @param index index.
+     * @param in source file channel.
+     * @param position the file position at which the transfer is to begin
+     * @param length the maximum number of bytes to transfer
+     * @return the actual number of bytes read in from the specified channel,
+     *         {@code -1} if the specified channel is closed or reached end-of-stream.
+     * @throws IndexOutOfBoundsException
+     *         if the specified {@code index} is less than {@code 0} or
+     *         if {@code index + length} is greater than {@code this.capacity}
+     * @throws IOException
+     *         if the specified channel threw an exception during I/O
+     */
+    int setBytes(int index, FileChannel in, long position, int length) throws IOException;
+
+    /**
+     * Transfers the specified source {@code short}'s into this buffer as big endian starting at
+     * the specified absolute {@code index}.
+     * This method does not modify {@code readerIndex} or {@code writerIndex} of
+     * this buffer.
+     *
+     * @throws IndexOutOfBoundsException
+     *         if the specified {@code index} is less than {@code 0} or
+     *         if {@code index + src.length * 2} is greater than
+     *            {@code this.capacity}
+     * @param index index.
+     * @param src source.
+     * @return this {@link Memory}.
+     */
+    Memory setShorts(int index, short[] src);
+
+    /**
+     * Transfers the specified source {@code short}'s into this buffer as big endian starting at
+     * the specified absolute {@code index}.
+     * This method does not modify {@code readerIndex} or {@code writerIndex} of
+     * this buffer.
+     *
+     * @throws IndexOutOfBoundsException
+     *         if the specified {@code index} is less than {@code 0},
+     *         if the specified {@code srcIndex} is less than {@code 0},
+     *         if {@code index + length * 2} is greater than
+     *            {@code this.capacity}, or
+     *         if {@code srcIndex + length} is greater than {@code src.length}
+     * @param index index.
+     * @param src source.
+     * @param srcIndex the first index of the source.
+     * @param length the number of {@code short}'s to transfer.
+     * @return this {@link Memory}.
+     */
+    Memory setShorts(int index, short[] src, int srcIndex, int length);
+
+    /**
+     * Transfers the specified source {@code short}'s into this buffer as little endian starting at
+     * the specified absolute {@code index}.
+     * This method does not modify {@code readerIndex} or {@code writerIndex} of
+     * this buffer.
+     *
+     * @throws IndexOutOfBoundsException
+     *         if the specified {@code index} is less than {@code 0} or
+     *         if {@code index + src.length * 2} is greater than
+     *            {@code this.capacity}
+     * @param index index.
+     * @param src source.
+     * @return this {@link Memory}.
+     */
+    Memory setShortsLE(int index, short[] src);
+
+    /**
+     * Transfers the specified source {@code short}'s into this buffer as little endian starting at
+     * the specified absolute {@code index}.
+     * This method does not modify {@code readerIndex} or {@code writerIndex} of
+     * this buffer.
+     *
+     * @throws IndexOutOfBoundsException
+     *         if the specified {@code index} is less than {@code 0},
+     *         if the specified {@code srcIndex} is less than {@code 0},
+     *         if {@code index + length * 2} is greater than
+     *            {@code this.capacity}, or
+     *         if {@code srcIndex + length} is greater than {@code src.length}
+     * @param index index.
+     * @param src source.
+     * @param srcIndex the first index of the source.
+     * @param length the number of {@code short}'s to transfer.
+     * @return this {@link Memory}.
+     */
+    Memory setShortsLE(int index, short[] src, int srcIndex, int length);
+
+    /**
+     * Transfers the specified source {@code int}'s into this buffer as big endian starting at
+     * the specified absolute {@code index}.
+     * This method does not modify {@code readerIndex} or {@code writerIndex} of
+     * this buffer.
+     *
+     * @throws IndexOutOfBoundsException
+     *         if the specified {@code index} is less than {@code 0} or
+     *         if {@code index + src.length * 4} is greater than
+     *            {@code this.capacity}
+     * @param index index.
+     * @param src source.
+     * @return this {@link Memory}.
+     */
+    Memory setInts(int index, int[] src);
+
+    /**
+     * Transfers the specified source {@code int}'s into this buffer as big endian starting at
+     * the specified absolute {@code index}.
+     * This method does not modify {@code readerIndex} or {@code writerIndex} of
+     * this buffer.
+     *
+     * @throws IndexOutOfBoundsException
+     *         if the specified {@code index} is less than {@code 0},
+     *         if the specified {@code srcIndex} is less than {@code 0},
+     *         if {@code index + length * 4} is greater than
+     *            {@code this.capacity}, or
+     *         if {@code srcIndex + length} is greater than {@code src.length}
+     * @param index index.
+     * @param src source.
+     * @param srcIndex the first index of the source.
+     * @param length the number of {@code int}'s to transfer.
+     * @return this {@link Memory}.
+     */
+    Memory setInts(int index, int[] src, int srcIndex, int length);
+
+    /**
+     * Transfers the specified source {@code int}'s into this buffer as little endian starting at
+     * the specified absolute {@code index}.
+     * This method does not modify {@code readerIndex} or {@code writerIndex} of
+     * this buffer.
+     *
+     * @throws IndexOutOfBoundsException
+     *         if the specified {@code index} is less than {@code 0} or
+     *         if {@code index + src.length * 4} is greater than
+     *            {@code this.capacity}
+     * @param index index.
+     * @param src source.
+     * @return this {@link Memory}.
+     */
+    Memory setIntsLE(int index, int[] src);
+
+    /**
+     * Transfers the specified source {@code int}'s into this buffer as little endian starting at
+     * the specified absolute {@code index}.
+     * This method does not modify {@code readerIndex} or {@code writerIndex} of
+     * this buffer.
+     *
+     * @throws IndexOutOfBoundsException
+     *         if the specified {@code index} is less than {@code 0},
+     *         if the specified {@code srcIndex} is less than {@code 0},
+     *         if {@code index + length * 4} is greater than
+     *            {@code this.capacity}, or
+     *         if {@code srcIndex + length} is greater than {@code src.length}
+     * @param index index.
+     * @param src source.
+     * @param srcIndex the first index of the source.
+     * @param length the number of {@code int}'s to transfer.
+     * @return this {@link Memory}.
+     */
+    Memory setIntsLE(int index, int[] src, int srcIndex, int length);
+
+    /**
+     * Transfers the specified source {@code long}'s into this buffer as big endian starting at
+     * the specified absolute {@code index}.
+     * This method does not modify {@code readerIndex} or {@code writerIndex} of
+     * this buffer.
+     *
+     * @throws IndexOutOfBoundsException
+     *         if the specified {@code index} is less than {@code 0} or
+     *         if {@code index + src.length * 8} is greater than
+     *            {@code this.capacity}
+     * @param index index.
+     * @param src source.
+     * @return this {@link Memory}.
+     */
+    Memory setLongs(int index, long[] src);
+
+    /**
+     * Transfers the specified source {@code long}'s into this buffer as big endian starting at
+     * the specified absolute {@code index}.
+     * This method does not modify {@code readerIndex} or {@code writerIndex} of
+     * this buffer.
+     *
+     * @throws IndexOutOfBoundsException
+     *         if the specified {@code index} is less than {@code 0},
+     *         if the specified {@code srcIndex} is less than {@code 0},
+     *         if {@code index + length * 8} is greater than
+     *            {@code this.capacity}, or
+     *         if {@code srcIndex + length} is greater than {@code src.length}
+     * @param index index.
+     * @param src source.
+     * @param srcIndex the first index of the source.
+     * @param length the number of {@code long}'s to transfer.
+     * @return this {@link Memory}.
+     */
+    Memory setLongs(int index, long[] src, int srcIndex, int length);
 
     /**
-     * Sets the specified 64-bit floating-point number at the specified
-     * absolute {@code index} in this buffer in Little Endian Byte Order.
+     * Transfers the specified source {@code long}'s into this buffer as little endian starting at
+     * the specified absolute {@code index}.
      * This method does not modify {@code readerIndex} or {@code writerIndex} of
      * this buffer.
      *
      * @throws IndexOutOfBoundsException
      *         if the specified {@code index} is less than {@code 0} or
-     *         {@code index + 8} is greater than {@code this.capacity}
+     *         if {@code index + src.length * 8} is greater than
+     *            {@code this.capacity}
      * @param index index.
-     * @param value value.
+     * @param src source.
      * @return this {@link Memory}.
      */
-    Memory setDoubleLE(int index, double value);
+    Memory setLongsLE(int index, long[] src);
 
     /**
-     * Transfers the specified source buffer's data to this buffer starting at
-     * the specified absolute {@code index} until the source buffer becomes
-     * unreadable.  This method is basically same with
-     * {@link #setBytes(int, Memory, int, int)}, except that this
-     * method increases the {@code readerIndex} of the source buffer by
-     * the number of the transferred bytes while
-     * {@link #setBytes(int, Memory, int, int)} does not.
+     * Transfers the specified source {@code long}'s into this buffer as little endian starting at
+     * the specified absolute {@code index}.
      * This method does not modify {@code readerIndex} or {@code writerIndex} of
-     * the source buffer (i.e. {@code this}).
+     * this buffer.
      *
      * @throws IndexOutOfBoundsException
-     *         if the specified {@code index} is less than {@code 0} or
-     *         if {@code index + src.readableBytes} is greater than
-     *            {@code this.capacity}
+     *         if the specified {@code index} is less than {@code 0},
+     *         if the specified {@code srcIndex} is less than {@code 0},
+     *         if {@code index + length * 8} is greater than
+     *            {@code this.capacity}, or
+     *         if {@code srcIndex + length} is greater than {@code src.length}
      * @param index index.
      * @param src source.
+     * @param srcIndex the first index of the source.
+     * @param length the number of {@code long}'s to transfer.
      * @return this {@link Memory}.
      */
-    Memory setBytes(int index, Memory src);
+    Memory setLongsLE(int index, long[] src, int srcIndex, int length);
 
     /**
-     * Transfers the specified source buffer's data to this buffer starting at
-     * the specified absolute {@code index}.  This method is basically same
-     * with {@link #setBytes(int, Memory, int, int)}, except that this
-     * method increases the {@code readerIndex} of the source buffer by
-     * the number of the transferred bytes while
-     * {@link #setBytes(int, Memory, int, int)} does not.
+     * Transfers the specified source {@code double}'s into this buffer as big endian starting at
+     * the specified absolute {@code index}.
      * This method does not modify {@code readerIndex} or {@code writerIndex} of
-     * the source buffer (i.e. {@code this}).
-     *
-     * @param length the number of bytes to transfer
+     * this buffer.
      *
      * @throws IndexOutOfBoundsException
-     *         if the specified {@code index} is less than {@code 0},
-     *         if {@code index + length} is greater than
-     *            {@code this.capacity}, or
-     *         if {@code length} is greater than {@code src.readableBytes}
+     *         if the specified {@code index} is less than {@code 0} or
+     *         if {@code index + src.length * 8} is greater than
+     *            {@code this.capacity}
      * @param index index.
      * @param src source.
-     * @param length length.
      * @return this {@link Memory}.
      */
-    Memory setBytes(int index, Memory src, int length);
+    Memory setDoubles(int index, double[] src);
 
     /**
-     * Transfers the specified source buffer's data to this buffer starting at
+     * Transfers the specified source {@code double}'s into this buffer as big endian starting at
      * the specified absolute {@code index}.
-     * This method does not modify {@code readerIndex} or {@code writerIndex}
-     * of both the source (i.e. {@code this}) and the destination.
-     *
-     * @param srcIndex the first index of the source
-     * @param length   the number of bytes to transfer
+     * This method does not modify {@code readerIndex} or {@code writerIndex} of
+     * this buffer.
      *
      * @throws IndexOutOfBoundsException
      *         if the specified {@code index} is less than {@code 0},
      *         if the specified {@code srcIndex} is less than {@code 0},
-     *         if {@code index + length} is greater than
+     *         if {@code index + length * 8} is greater than
      *            {@code this.capacity}, or
-     *         if {@code srcIndex + length} is greater than
-     *            {@code src.capacity}
+     *         if {@code srcIndex + length} is greater than {@code src.length}
      * @param index index.
      * @param src source.
-     * @param srcIndex source index.
-     * @param length length.
+     * @param srcIndex the first index of the source.
+     * @param length the number of {@code double}'s to transfer.
      * @return this {@link Memory}.
      */
-    Memory setBytes(int index, Memory src, int srcIndex, int length);
+    Memory setDoubles(int index, double[] src, int srcIndex, int length);
 
     /**
-     * Transfers the specified source array's data to this buffer starting at
+     * Transfers the specified source {@code double}'s into this buffer as little endian starting at
      * the specified absolute {@code index}.
      * This method does not modify {@code readerIndex} or {@code writerIndex} of
      * this buffer.
      *
      * @throws IndexOutOfBoundsException
      *         if the specified {@code index} is less than {@code 0} or
-     *         if {@code index + src.length} is greater than
+     *         if {@code index + src.length * 8} is greater than
      *            {@code this.capacity}
      * @param index index.
      * @param src source.
      * @return this {@link Memory}.
      */
-    Memory setBytes(int index, byte[] src);
+    Memory setDoublesLE(int index, double[] src);
 
     /**
-     * Transfers the specified source array's data to this buffer starting at
+     * Transfers the specified source {@code double}'s into this buffer as little endian starting at
      * the specified absolute {@code index}.
      * This method does not modify {@code readerIndex} or {@code writerIndex} of
      * this buffer.
@@ -791,16 +1474,16 @@ public interface Memory {
      * @throws IndexOutOfBoundsException
      *         if the specified {@code index} is less than {@code 0},
      *         if the specified {@code srcIndex} is less than {@code 0},
-     *         if {@code index + length} is greater than
+     *         if {@code index + length * 8} is greater than
      *            {@code this.capacity}, or
      *         if {@code srcIndex + length} is greater than {@code src.length}
      * @param index index.
      * @param src source.
-     * @param srcIndex source index.
-     * @param length length.
+     * @param srcIndex the first index of the source.
+     * @param length the number of {@code double}'s to transfer.
      * @return this {@link Memory}.
      */
-    Memory setBytes(int index, byte[] src, int srcIndex, int length);
+    Memory setDoublesLE(int index, double[] src, int srcIndex, int length);
 
     /**
      * Writes the specified {@link CharSequence} at the current {@code writerIndex} and increases
@@ -987,87 +1670,343 @@ public interface Memory {
      * by {@code 8} in this buffer.
      *
      * @throws IndexOutOfBoundsException
-     *         if {@code this.readableBytes} is less than {@code 8}
-     * @return little endian double value.
+     *         if {@code this.readableBytes} is less than {@code 8}
+     * @return little endian double value.
+     */
+    double readDoubleLE();
+
+    /**
+     * Transfers this buffer's data to the specified destination starting at
+     * the current {@code readerIndex} until the destination becomes
+     * non-writable, and increases the {@code readerIndex} by the number of the
+     * transferred bytes.  This method is basically same with
+     * {@link #readBytes(Memory, int, int)}, except that this method
+     * increases the {@code writerIndex} of the destination by the number of
+     * the transferred bytes while {@link #readBytes(Memory, int, int)}
+     * does not.
+     *
+     * @return this {@link Memory}.
+     * @throws IndexOutOfBoundsException
+     *         if {@code dst.writableBytes} is greater than
+     *            {@code this.readableBytes}
+     */
+    Memory readBytes(Memory dst);
+
+    /**
+     * Transfers this buffer's data to the specified destination starting at
+     * the current {@code readerIndex} and increases the {@code readerIndex}
+     * by the number of the transferred bytes (= {@code length}).  This method
+     * is basically same with {@link #readBytes(Memory, int, int)},
+     * except that this method increases the {@code writerIndex} of the
+     * destination by the number of the transferred bytes (= {@code length})
+     * while {@link #readBytes(Memory, int, int)} does not.
+     *
+     * @throws IndexOutOfBoundsException
+     *         if {@code length} is greater than {@code this.readableBytes} or
+     *         if {@code length} is greater than {@code dst.writableBytes}
+     */
+    Memory readBytes(Memory dst, int length);
+
+    /**
+     * Transfers this buffer's data to the specified destination starting at
+     * the current {@code readerIndex} and increases the {@code readerIndex}
+     * by the number of the transferred bytes (= {@code length}).
+     *
+     * @param dst destination.
+     * @param dstIndex the first index of the destination
+     * @param length   the number of bytes to transfer
+     * @return this {@link Memory}.
+     * @throws IndexOutOfBoundsException
+     *         if the specified {@code dstIndex} is less than {@code 0},
+     *         if {@code length} is greater than {@code this.readableBytes}, or
+     *         if {@code dstIndex + length} is greater than
+     *            {@code dst.capacity}
+     */
+    Memory readBytes(Memory dst, int dstIndex, int length);
+
+    /**
+     * Transfers this buffer's data to the specified destination starting at
+     * the current {@code readerIndex} and increases the {@code readerIndex}
+     * by the number of the transferred bytes (= {@code dst.length}).
+     *
+     * @param dst destination.
+     * @return this {@link Memory}.
+     * @throws IndexOutOfBoundsException
+     *         if {@code dst.length} is greater than {@code this.readableBytes}
+     */
+    Memory readBytes(byte[] dst);
+
+    /**
+     * Transfers this buffer's data to the specified destination starting at
+     * the current {@code readerIndex} and increases the {@code readerIndex}
+     * by the number of the transferred bytes (= {@code length}).
+     *
+     * @param dst destination.
+     * @param dstIndex the first index of the destination
+     * @param length the number of bytes to transfer
+     * @return this {@link Memory}.
+     * @throws IndexOutOfBoundsException
+     *         if the specified {@code dstIndex} is less than {@code 0},
+     *         if {@code length} is greater than {@code this.readableBytes}, or
+     *         if {@code dstIndex + length} is greater than {@code dst.length}
+     */
+    Memory readBytes(byte[] dst, int dstIndex, int length);
+
+    /**
+     * Transfers this buffer's data to the specified channel starting at the
+     * current {@code readerIndex} and increases the {@code readerIndex}
+     * by the number of the transferred bytes.
+     *
+     * @param out destination channel.
+     * @param length the maximum number of bytes to transfer
+     * @return the actual number of bytes written out to the specified channel
+     * @throws IndexOutOfBoundsException
+     *         if {@code length} is greater than {@code this.readableBytes}
+     * @throws IOException
+     *         if the specified channel threw an exception during I/O
+     */
+    int readBytes(GatheringByteChannel out, int length) throws IOException;
+
+    /**
+     * Transfers this buffer's data starting at the current {@code readerIndex}
+     * to the specified channel starting at the given file position and increases
+     * the {@code readerIndex} by the number of the transferred bytes.
+     * This method does not modify the channel's position.
+     *
+     * @param out destination file channel.
+     * @param position the file position at which the transfer is to begin
+     * @param length the maximum number of bytes to transfer
+     * @return the actual number of bytes written out to the specified channel
+     * @throws IndexOutOfBoundsException
+     *         if {@code length} is greater than {@code this.readableBytes}
+     * @throws IOException
+     *         if the specified channel threw an exception during I/O
+     */
+    int readBytes(FileChannel out, long position, int length) throws IOException;
+
+    /**
+     * Transfers this buffer's data as big endian {@code short}'s to the specified destination starting at
+     * the current {@code readerIndex} and increases the {@code readerIndex}
+     * by the number of the transferred bytes (= {@code dst.length * 2}).
+     *
+     * @param dst destination.
+     * @return this {@link Memory}.
+     * @throws IndexOutOfBoundsException
+     *         if {@code dst.length * 2} is greater than {@code this.readableBytes}
+     */
+    Memory readShorts(short[] dst);
+
+    /**
+     * Transfers this buffer's data as big endian {@code short}'s to the specified destination starting at
+     * the current {@code readerIndex} and increases the {@code readerIndex}
+     * by the number of the transferred bytes (= {@code length * 2}).
+     *
+     * @param dst destination.
+     * @param dstIndex the first index of the destination.
+     * @param length the number of {@code short}'s to transfer.
+     * @return this {@link Memory}.
+     * @throws IndexOutOfBoundsException
+     *         if the specified {@code dstIndex} is less than {@code 0},
+     *         if {@code length * 2} is greater than {@code this.readableBytes}, or
+     *         if {@code dstIndex + length} is greater than {@code dst.length}
+     */
+    Memory readShorts(short[] dst, int dstIndex, int length);
+
+    /**
+     * Transfers this buffer's data as little endian {@code short}'s to the specified destination starting at
+     * the current {@code readerIndex} and increases the {@code readerIndex}
+     * by the number of the transferred bytes (= {@code dst.length * 2}).
+     *
+     * @param dst destination.
+     * @return this {@link Memory}.
+     * @throws IndexOutOfBoundsException
+     *         if {@code dst.length * 2} is greater than {@code this.readableBytes}
+     */
+    Memory readShortsLE(short[] dst);
+
+    /**
+     * Transfers this buffer's data as little endian {@code short}'s to the specified destination starting at
+     * the current {@code readerIndex} and increases the {@code readerIndex}
+     * by the number of the transferred bytes (= {@code length * 2}).
+     *
+     * @param dst destination.
+     * @param dstIndex the first index of the destination.
+     * @param length the number of {@code short}'s to transfer.
+     * @return this {@link Memory}.
+     * @throws IndexOutOfBoundsException
+     *         if the specified {@code dstIndex} is less than {@code 0},
+     *         if {@code length * 2} is greater than {@code this.readableBytes}, or
+     *         if {@code dstIndex + length} is greater than {@code dst.length}
+     */
+    Memory readShortsLE(short[] dst, int dstIndex, int length);
+
+    /**
+     * Transfers this buffer's data as big endian {@code int}'s to the specified destination starting at
+     * the current {@code readerIndex} and increases the {@code readerIndex}
+     * by the number of the transferred bytes (= {@code dst.length * 4}).
+     *
+     * @param dst destination.
+     * @return this {@link Memory}.
+     * @throws IndexOutOfBoundsException
+     *         if {@code dst.length * 4} is greater than {@code this.readableBytes}
+     */
+    Memory readInts(int[] dst);
+
+    /**
+     * Transfers this buffer's data as big endian {@code int}'s to the specified destination starting at
+     * the current {@code readerIndex} and increases the {@code readerIndex}
+     * by the number of the transferred bytes (= {@code length * 4}).
+     *
+     * @param dst destination.
+     * @param dstIndex the first index of the destination.
+     * @param length the number of {@code int}'s to transfer.
+     * @return this {@link Memory}.
+     * @throws IndexOutOfBoundsException
+     *         if the specified {@code dstIndex} is less than {@code 0},
+     *         if {@code length * 4} is greater than {@code this.readableBytes}, or
+     *         if {@code dstIndex + length} is greater than {@code dst.length}
+     */
+    Memory readInts(int[] dst, int dstIndex, int length);
+
+    /**
+     * Transfers this buffer's data as little endian {@code int}'s to the specified destination starting at
+     * the current {@code readerIndex} and increases the {@code readerIndex}
+     * by the number of the transferred bytes (= {@code dst.length * 4}).
+     *
+     * @param dst destination.
+     * @return this {@link Memory}.
+     * @throws IndexOutOfBoundsException
+     *         if {@code dst.length * 4} is greater than {@code this.readableBytes}
+     */
+    Memory readIntsLE(int[] dst);
+
+    /**
+     * Transfers this buffer's data as little endian {@code int}'s to the specified destination starting at
+     * the current {@code readerIndex} and increases the {@code readerIndex}
+     * by the number of the transferred bytes (= {@code length * 4}).
+     *
+     * @param dst destination.
+     * @param dstIndex the first index of the destination.
+     * @param length the number of {@code int}'s to transfer.
+     * @return this {@link Memory}.
+     * @throws IndexOutOfBoundsException
+     *         if the specified {@code dstIndex} is less than {@code 0},
+     *         if {@code length * 4} is greater than {@code this.readableBytes}, or
+     *         if {@code dstIndex + length} is greater than {@code dst.length}
+     */
+    Memory readIntsLE(int[] dst, int dstIndex, int length);
+
+    /**
+     * Transfers this buffer's data as big endian {@code long}'s to the specified destination starting at
+     * the current {@code readerIndex} and increases the {@code readerIndex}
+     * by the number of the transferred bytes (= {@code dst.length * 8}).
+     *
+     * @param dst destination.
+     * @return this {@link Memory}.
+     * @throws IndexOutOfBoundsException
+     *         if {@code dst.length * 8} is greater than {@code this.readableBytes}
+     */
+    Memory readLongs(long[] dst);
+
+    /**
+     * Transfers this buffer's data as big endian {@code long}'s to the specified destination starting at
+     * the current {@code readerIndex} and increases the {@code readerIndex}
+     * by the number of the transferred bytes (= {@code length * 8}).
+     *
+     * @param dst destination.
+     * @param dstIndex the first index of the destination.
+     * @param length the number of {@code long}'s to transfer.
+     * @return this {@link Memory}.
+     * @throws IndexOutOfBoundsException
+     *         if the specified {@code dstIndex} is less than {@code 0},
+     *         if {@code length * 8} is greater than {@code this.readableBytes}, or
+     *         if {@code dstIndex + length} is greater than {@code dst.length}
+     */
+    Memory readLongs(long[] dst, int dstIndex, int length);
+
+    /**
+     * Transfers this buffer's data as little endian {@code long}'s to the specified destination starting at
+     * the current {@code readerIndex} and increases the {@code readerIndex}
+     * by the number of the transferred bytes (= {@code dst.length * 8}).
+     *
+     * @param dst destination.
+     * @return this {@link Memory}.
+     * @throws IndexOutOfBoundsException
+     *         if {@code dst.length * 8} is greater than {@code this.readableBytes}
      */
-    double readDoubleLE();
+    Memory readLongsLE(long[] dst);
 
     /**
-     * Transfers this buffer's data to the specified destination starting at
-     * the current {@code readerIndex} until the destination becomes
-     * non-writable, and increases the {@code readerIndex} by the number of the
-     * transferred bytes.  This method is basically same with
-     * {@link #readBytes(Memory, int, int)}, except that this method
-     * increases the {@code writerIndex} of the destination by the number of
-     * the transferred bytes while {@link #readBytes(Memory, int, int)}
-     * does not.
+     * Transfers this buffer's data as little endian {@code long}'s to the specified destination starting at
+     * the current {@code readerIndex} and increases the {@code readerIndex}
+     * by the number of the transferred bytes (= {@code length * 8}).
      *
+     * @param dst destination.
+     * @param dstIndex the first index of the destination.
+     * @param length the number of {@code long}'s to transfer.
      * @return this {@link Memory}.
      * @throws IndexOutOfBoundsException
-     *         if {@code dst.writableBytes} is greater than
-     *            {@code this.readableBytes}
+     *         if the specified {@code dstIndex} is less than {@code 0},
+     *         if {@code length * 8} is greater than {@code this.readableBytes}, or
+     *         if {@code dstIndex + length} is greater than {@code dst.length}
      */
-    Memory readBytes(Memory dst);
+    Memory readLongsLE(long[] dst, int dstIndex, int length);
 
     /**
-     * Transfers this buffer's data to the specified destination starting at
+     * Transfers this buffer's data as big endian {@code double}'s to the specified destination starting at
      * the current {@code readerIndex} and increases the {@code readerIndex}
-     * by the number of the transferred bytes (= {@code length}).  This method
-     * is basically same with {@link #readBytes(Memory, int, int)},
-     * except that this method increases the {@code writerIndex} of the
-     * destination by the number of the transferred bytes (= {@code length})
-     * while {@link #readBytes(Memory, int, int)} does not.
+     * by the number of the transferred bytes (= {@code dst.length * 8}).
      *
+     * @param dst destination.
+     * @return this {@link Memory}.
      * @throws IndexOutOfBoundsException
-     *         if {@code length} is greater than {@code this.readableBytes} or
-     *         if {@code length} is greater than {@code dst.writableBytes}
+     *         if {@code dst.length * 8} is greater than {@code this.readableBytes}
      */
-    Memory readBytes(Memory dst, int length);
+    Memory readDoubles(double[] dst);
 
     /**
-     * Transfers this buffer's data to the specified destination starting at
+     * Transfers this buffer's data as big endian {@code double}'s to the specified destination starting at
      * the current {@code readerIndex} and increases the {@code readerIndex}
-     * by the number of the transferred bytes (= {@code length}).
+     * by the number of the transferred bytes (= {@code length * 8}).
      *
      * @param dst destination.
-     * @param dstIndex the first index of the destination
-     * @param length   the number of bytes to transfer
+     * @param dstIndex the first index of the destination.
+     * @param length the number of {@code double}'s to transfer.
      * @return this {@link Memory}.
      * @throws IndexOutOfBoundsException
      *         if the specified {@code dstIndex} is less than {@code 0},
-     *         if {@code length} is greater than {@code this.readableBytes}, or
-     *         if {@code dstIndex + length} is greater than
-     *            {@code dst.capacity}
+     *         if {@code length * 8} is greater than {@code this.readableBytes}, or
+     *         if {@code dstIndex + length} is greater than {@code dst.length}
      */
-    Memory readBytes(Memory dst, int dstIndex, int length);
+    Memory readDoubles(double[] dst, int dstIndex, int length);
 
     /**
-     * Transfers this buffer's data to the specified destination starting at
+     * Transfers this buffer's data as little endian {@code double}'s to the specified destination starting at
      * the current {@code readerIndex} and increases the {@code readerIndex}
-     * by the number of the transferred bytes (= {@code dst.length}).
+     * by the number of the transferred bytes (= {@code dst.length * 8}).
      *
      * @param dst destination.
      * @return this {@link Memory}.
      * @throws IndexOutOfBoundsException
-     *         if {@code dst.length} is greater than {@code this.readableBytes}
+     *         if {@code dst.length * 8} is greater than {@code this.readableBytes}
      */
-    Memory readBytes(byte[] dst);
+    Memory readDoublesLE(double[] dst);
 
     /**
-     * Transfers this buffer's data to the specified destination starting at
+     * Transfers this buffer's data as little endian {@code double}'s to the specified destination starting at
      * the current {@code readerIndex} and increases the {@code readerIndex}
-     * by the number of the transferred bytes (= {@code length}).
+     * by the number of the transferred bytes (= {@code length * 8}).
      *
      * @param dst destination.
-     * @param dstIndex the first index of the destination
-     * @param length the number of bytes to transfer
+     * @param dstIndex the first index of the destination.
+     * @param length the number of {@code double}'s to transfer.
      * @return this {@link Memory}.
      * @throws IndexOutOfBoundsException
      *         if the specified {@code dstIndex} is less than {@code 0},
-     *         if {@code length} is greater than {@code this.readableBytes}, or
+     *         if {@code length * 8} is greater than {@code this.readableBytes}, or
      *         if {@code dstIndex + length} is greater than {@code dst.length}
      */
-    Memory readBytes(byte[] dst, int dstIndex, int length);
+    Memory readDoublesLE(double[] dst, int dstIndex, int length);
 
     /**
      * Increases the current {@code readerIndex} by the specified
@@ -1091,6 +2030,17 @@ public interface Memory {
      */
     CharSequence readCharSequence(int length, Charset charset);
 
+    /**
+     * Gets a zero-copy {@link AsciiString} view (see {@link #getAsciiString(int, int)}) of the given length
+     * at the current {@code readerIndex} and increases the {@code readerIndex} by the given length.
+     *
+     * @param length the length of the view.
+     * @return returns {@link AsciiString}.
+     * @throws IndexOutOfBoundsException
+     *         if {@code length} is greater than {@code this.readableBytes}
+     */
+    AsciiString readAsciiString(int length);
+
     /**
      * Sets the specified boolean at the current {@code writerIndex}
      * and increases the {@code writerIndex} by {@code 1} in this buffer.
@@ -1305,6 +2255,264 @@ public interface Memory {
      */
     Memory writeBytes(byte[] src, int srcIndex, int length);
 
+    /**
+     * Transfers the content of the specified channel to this buffer
+     * starting at the current {@code writerIndex} and increases the
+     * {@code writerIndex} by the number of the transferred bytes.
+     *
+     * @param in source channel.
+     * @param length the maximum number of bytes to transfer
+     * @return the actual number of bytes read in from the specified channel,
+     *         {@code -1} if the specified channel is closed or reached end-of-stream.
+     * @throws IndexOutOfBoundsException
+     *         if {@code length} is greater than {@code this.writableBytes}
+     * @throws IOException
+     *         if the specified channel threw an exception during I/O
+     */
+    int writeBytes(ScatteringByteChannel in, int length) throws IOException;
+
+    /**
+     * Transfers the content of the specified channel starting at the given file
+     * position to this buffer starting at the current {@code writerIndex} and
+     * increases the {@code writerIndex} by the number of the transferred bytes.
+     * This method does not modify the channel's position.
+     *
+     * @param in source file channel.
+     * @param position the file position at which the transfer is to begin
+     * @param length the maximum number of bytes to transfer
+     * @return the actual number of bytes read in from the specified channel,
+     *         {@code -1} if the specified channel is closed or reached end-of-stream.
+     * @throws IndexOutOfBoundsException
+     *         if {@code length} is greater than {@code this.writableBytes}
+     * @throws IOException
+     *         if the specified channel threw an exception during I/O
+     */
+    int writeBytes(FileChannel in, long position, int length) throws IOException;
+
+    /**
+     * Transfers the specified source {@code short}'s into this buffer as big endian starting at
+     * the current {@code writerIndex} and increases the {@code writerIndex}
+     * by the number of the transferred bytes (= {@code src.length * 2}).
+     *
+     * @param src source.
+     * @return this {@link Memory}.
+     * @throws IndexOutOfBoundsException
+     *         if {@code src.length * 2} is greater than {@code this.maxWritableBytes}
+     */
+    Memory writeShorts(short[] src);
+
+    /**
+     * Transfers the specified source {@code short}'s into this buffer as big endian starting at
+     * the current {@code writerIndex} and increases the {@code writerIndex}
+     * by the number of the transferred bytes (= {@code length * 2}).
+     *
+     * @param src source.
+     * @param srcIndex the first index of the source.
+     * @param length the number of {@code short}'s to transfer.
+     * @return this {@link Memory}.
+     * @throws IndexOutOfBoundsException
+     *         if the specified {@code srcIndex} is less than {@code 0},
+     *         if {@code srcIndex + length} is greater than {@code src.length}, or
+     *         if {@code length * 2} is greater than {@code this.maxWritableBytes}
+     */
+    Memory writeShorts(short[] src, int srcIndex, int length);
+
+    /**
+     * Transfers the specified source {@code short}'s into this buffer as little endian starting at
+     * the current {@code writerIndex} and increases the {@code writerIndex}
+     * by the number of the transferred bytes (= {@code src.length * 2}).
+     *
+     * @param src source.
+     * @return this {@link Memory}.
+     * @throws IndexOutOfBoundsException
+     *         if {@code src.length * 2} is greater than {@code this.maxWritableBytes}
+     */
+    Memory writeShortsLE(short[] src);
+
+    /**
+     * Transfers the specified source {@code short}'s into this buffer as little endian starting at
+     * the current {@code writerIndex} and increases the {@code writerIndex}
+     * by the number of the transferred bytes (= {@code length * 2}).
+     *
+     * @param src source.
+     * @param srcIndex the first index of the source.
+     * @param length the number of {@code short}'s to transfer.
+     * @return this {@link Memory}.
+     * @throws IndexOutOfBoundsException
+     *         if the specified {@code srcIndex} is less than {@code 0},
+     *         if {@code srcIndex + length} is greater than {@code src.length}, or
+     *         if {@code length * 2} is greater than {@code this.maxWritableBytes}
+     */
+    Memory writeShortsLE(short[] src, int srcIndex, int length);
+
+    /**
+     * Transfers the specified source {@code int}'s into this buffer as big endian starting at
+     * the current {@code writerIndex} and increases the {@code writerIndex}
+     * by the number of the transferred bytes (= {@code src.length * 4}).
+     *
+     * @param src source.
+     * @return this {@link Memory}.
+     * @throws IndexOutOfBoundsException
+     *         if {@code src.length * 4} is greater than {@code this.maxWritableBytes}
+     */
+    Memory writeInts(int[] src);
+
+    /**
+     * Transfers the specified source {@code int}'s into this buffer as big endian starting at
+     * the current {@code writerIndex} and increases the {@code writerIndex}
+     * by the number of the transferred bytes (= {@code length * 4}).
+     *
+     * @param src source.
+     * @param srcIndex the first index of the source.
+     * @param length the number of {@code int}'s to transfer.
+     * @return this {@link Memory}.
+     * @throws IndexOutOfBoundsException
+     *         if the specified {@code srcIndex} is less than {@code 0},
+     *         if {@code srcIndex + length} is greater than {@code src.length}, or
+     *         if {@code length * 4} is greater than {@code this.maxWritableBytes}
+     */
+    Memory writeInts(int[] src, int srcIndex, int length);
+
+    /**
+     * Transfers the specified source {@code int}'s into this buffer as little endian starting at
+     * the current {@code writerIndex} and increases the {@code writerIndex}
+     * by the number of the transferred bytes (= {@code src.length * 4}).
+     *
+     * @param src source.
+     * @return this {@link Memory}.
+     * @throws IndexOutOfBoundsException
+     *         if {@code src.length * 4} is greater than {@code this.maxWritableBytes}
+     */
+    Memory writeIntsLE(int[] src);
+
+    /**
+     * Transfers the specified source {@code int}'s into this buffer as little endian starting at
+     * the current {@code writerIndex} and increases the {@code writerIndex}
+     * by the number of the transferred bytes (= {@code length * 4}).
+     *
+     * @param src source.
+     * @param srcIndex the first index of the source.
+     * @param length the number of {@code int}'s to transfer.
+     * @return this {@link Memory}.
+     * @throws IndexOutOfBoundsException
+     *         if the specified {@code srcIndex} is less than {@code 0},
+     *         if {@code srcIndex + length} is greater than {@code src.length}, or
+     *         if {@code length * 4} is greater than {@code this.maxWritableBytes}
+     */
+    Memory writeIntsLE(int[] src, int srcIndex, int length);
+
+    /**
+     * Transfers the specified source {@code long}'s into this buffer as big endian starting at
+     * the current {@code writerIndex} and increases the {@code writerIndex}
+     * by the number of the transferred bytes (= {@code src.length * 8}).
+     *
+     * @param src source.
+     * @return this {@link Memory}.
+     * @throws IndexOutOfBoundsException
+     *         if {@code src.length * 8} is greater than {@code this.maxWritableBytes}
+     */
+    Memory writeLongs(long[] src);
+
+    /**
+     * Transfers the specified source {@code long}'s into this buffer as big endian starting at
+     * the current {@code writerIndex} and increases the {@code writerIndex}
+     * by the number of the transferred bytes (= {@code length * 8}).
+     *
+     * @param src source.
+     * @param srcIndex the first index of the source.
+     * @param length the number of {@code long}'s to transfer.
+     * @return this {@link Memory}.
+     * @throws IndexOutOfBoundsException
+     *         if the specified {@code srcIndex} is less than {@code 0},
+     *         if {@code srcIndex + length} is greater than {@code src.length}, or
+     *         if {@code length * 8} is greater than {@code this.maxWritableBytes}
+     */
+    Memory writeLongs(long[] src, int srcIndex, int length);
+
+    /**
+     * Transfers the specified source {@code long}'s into this buffer as little endian starting at
+     * the current {@code writerIndex} and increases the {@code writerIndex}
+     * by the number of the transferred bytes (= {@code src.length * 8}).
+     *
+     * @param src source.
+     * @return this {@link Memory}.
+     * @throws IndexOutOfBoundsException
+     *         if {@code src.length * 8} is greater than {@code this.maxWritableBytes}
+     */
+    Memory writeLongsLE(long[] src);
+
+    /**
+     * Transfers the specified source {@code long}'s into this buffer as little endian starting at
+     * the current {@code writerIndex} and increases the {@code writerIndex}
+     * by the number of the transferred bytes (= {@code length * 8}).
+     *
+     * @param src source.
+     * @param srcIndex the first index of the source.
+     * @param length the number of {@code long}'s to transfer.
+     * @return this {@link Memory}.
+     * @throws IndexOutOfBoundsException
+     *         if the specified {@code srcIndex} is less than {@code 0},
+     *         if {@code srcIndex + length} is greater than {@code src.length}, or
+     *         if {@code length * 8} is greater than {@code this.maxWritableBytes}
+     */
+    Memory writeLongsLE(long[] src, int srcIndex, int length);
+
+    /**
+     * Transfers the specified source {@code double}'s into this buffer as big endian starting at
+     * the current {@code writerIndex} and increases the {@code writerIndex}
+     * by the number of the transferred bytes (= {@code src.length * 8}).
+     *
+     * @param src source.
+     * @return this {@link Memory}.
+     * @throws IndexOutOfBoundsException
+     *         if {@code src.length * 8} is greater than {@code this.maxWritableBytes}
+     */
+    Memory writeDoubles(double[] src);
+
+    /**
+     * Transfers the specified source {@code double}'s into this buffer as big endian starting at
+     * the current {@code writerIndex} and increases the {@code writerIndex}
+     * by the number of the transferred bytes (= {@code length * 8}).
+     *
+     * @param src source.
+     * @param srcIndex the first index of the source.
+     * @param length the number of {@code double}'s to transfer.
+     * @return this {@link Memory}.
+     * @throws IndexOutOfBoundsException
+     *         if the specified {@code srcIndex} is less than {@code 0},
+     *         if {@code srcIndex + length} is greater than {@code src.length}, or
+     *         if {@code length * 8} is greater than {@code this.maxWritableBytes}
+     */
+    Memory writeDoubles(double[] src, int srcIndex, int length);
+
+    /**
+     * Transfers the specified source {@code double}'s into this buffer as little endian starting at
+     * the current {@code writerIndex} and increases the {@code writerIndex}
+     * by the number of the transferred bytes (= {@code src.length * 8}).
+     *
+     * @param src source.
+     * @return this {@link Memory}.
+     * @throws IndexOutOfBoundsException
+     *         if {@code src.length * 8} is greater than {@code this.maxWritableBytes}
+     */
+    Memory writeDoublesLE(double[] src);
+
+    /**
+     * Transfers the specified source {@code double}'s into this buffer as little endian starting at
+     * the current {@code writerIndex} and increases the {@code writerIndex}
+     * by the number of the transferred bytes (= {@code length * 8}).
+     *
+     * @param src source.
+     * @param srcIndex the first index of the source.
+     * @param length the number of {@code double}'s to transfer.
+     * @return this {@link Memory}.
+     * @throws IndexOutOfBoundsException
+     *         if the specified {@code srcIndex} is less than {@code 0},
+     *         if {@code srcIndex + length} is greater than {@code src.length}, or
+     *         if {@code length * 8} is greater than {@code this.maxWritableBytes}
+     */
+    Memory writeDoublesLE(double[] src, int srcIndex, int length);
+
     /**
      * Writes the specified {@link CharSequence} at the current {@code writerIndex} and increases
      * the {@code writerIndex} by the written bytes.
@@ -1318,6 +2526,112 @@ public interface Memory {
      */
     Memory writeCharSequence(CharSequence sequence, Charset charset);
 
+    /**
+     * Locates the first occurrence of the specified {@code value} in this buffer's readable bytes.
+     * This method does not modify {@code readerIndex} or {@code writerIndex} of this buffer.
+     * @param value value to search.
+     * @return returns the absolute index of the first occurrence if found, {@code -1} otherwise.
+     */
+    int indexOf(byte value);
+
+    /**
+     * Locates the first occurrence of the specified {@code value} in this buffer's.
+     * The search takes place from the specified {@code fromIndex} (inclusive)
+     * to the specified {@code toIndex} (exclusive).
+     * This method does not modify {@code readerIndex} or {@code writerIndex} of this buffer.
+     * @param fromIndex start index (inclusive).
+     * @param toIndex end index (exclusive).
+     * @param value value to search.
+     * @return returns the absolute index of the first occurrence if found, {@code -1} otherwise.
+     * @throws IndexOutOfBoundsException
+     *         if {@code fromIndex} is less than {@code 0} or
+     *         if {@code toIndex} is greater than {@code this.capacity}
+     */
+    int indexOf(int fromIndex, int toIndex, byte value);
+
+    /**
+     * Locates the first occurrence of the readable bytes of the specified {@code pattern}
+     * in this buffer's readable bytes.
+     * This method does not modify {@code readerIndex} or {@code writerIndex} of this buffer nor the {@code pattern}.
+     * @param pattern pattern to search.
+     * @return returns the absolute index of the first occurrence if found, {@code -1} otherwise.
+     */
+    int indexOf(Memory pattern);
+
+    /**
+     * Locates the first occurrence of the readable bytes of the specified {@code pattern} in this buffer's.
+     * The search takes place from the specified {@code fromIndex} (inclusive)
+     * to the specified {@code toIndex} (exclusive), the whole pattern must be located in that range.
+     * This method does not modify {@code readerIndex} or {@code writerIndex} of this buffer nor the {@code pattern}.
+     * @param fromIndex start index (inclusive).
+     * @param toIndex end index (exclusive).
+     * @param pattern pattern to search.
+     * @return returns the absolute index of the first occurrence if found, {@code -1} otherwise.
+     * @throws IndexOutOfBoundsException
+     *         if {@code fromIndex} is less than {@code 0} or
+     *         if {@code toIndex} is greater than {@code this.capacity}
+     */
+    int indexOf(int fromIndex, int toIndex, Memory pattern);
+
+    /**
+     * Locates the first occurrence of the specified {@code value} in this buffer's readable bytes.
+     * This method does not modify {@code readerIndex} or {@code writerIndex} of this buffer.
+     * @param value value to search.
+     * @return returns the number of bytes between the current {@code readerIndex}
+     *         and the first occurrence if found, {@code -1} otherwise.
+     */
+    int bytesBefore(byte value);
+
+    /**
+     * Locates the first occurrence of the specified {@code value} in this buffer's.
+     * The search starts from the current {@code readerIndex} and lasts for the specified {@code length}.
+     * This method does not modify {@code readerIndex} or {@code writerIndex} of this buffer.
+     * @param length number of bytes to search.
+     * @param value value to search.
+     * @return returns the number of bytes between the current {@code readerIndex}
+     *         and the first occurrence if found, {@code -1} otherwise.
+     * @throws IndexOutOfBoundsException
+     *         if {@code length} is greater than {@code this.readableBytes}
+     */
+    int bytesBefore(int length, byte value);
+
+    /**
+     * Locates the first occurrence of the specified {@code value} in this buffer's.
+     * The search starts from the specified {@code index} and lasts for the specified {@code length}.
+     * This method does not modify {@code readerIndex} or {@code writerIndex} of this buffer.
+     * @param index start index.
+     * @param length number of bytes to search.
+     * @param value value to search.
+     * @return returns the number of bytes between the specified {@code index}
+     *         and the first occurrence if found, {@code -1} otherwise.
+     * @throws IndexOutOfBoundsException
+     *         if {@code index + length} is greater than {@code this.capacity}
+     */
+    int bytesBefore(int index, int length, byte value);
+
+    /**
+     * Iterates over the readable bytes of this buffer's with the specified {@link ByteProcessor} in ascending order.
+     * This method does not modify {@code readerIndex} or {@code writerIndex} of this buffer.
+     * @param processor byte processor.
+     * @return returns the absolute index of the byte where the processor stopped,
+     *         {@code -1} if the processor iterated to the end of the readable bytes.
+     */
+    int forEachByte(ByteProcessor processor);
+
+    /**
+     * Iterates over the specified area of this buffer's with the specified {@link ByteProcessor} in ascending order.
+     * (i.e. {@code index}, {@code (index + 1)},  .. {@code (index + length - 1)})
+     * This method does not modify {@code readerIndex} or {@code writerIndex} of this buffer.
+     * @param index start index.
+     * @param length number of bytes to iterate.
+     * @param processor byte processor.
+     * @return returns the absolute index of the byte where the processor stopped,
+     *         {@code -1} if the processor iterated to the end of the specified area.
+     * @throws IndexOutOfBoundsException
+     *         if {@code index + length} is greater than {@code this.capacity}
+     */
+    int forEachByte(int index, int length, ByteProcessor processor);
+
     /**
      * Returns a copy of this buffer's readable bytes. Modifying the content
      * of the returned buffer or this buffer does not affect each other at all.
@@ -1392,7 +2706,32 @@ public interface Memory {
     long memoryAddress();
 
     /**
-     * Deallocate/freeing this {@link Memory} buffer.
+     * Returns the reference count of this {@link Memory} buffer.
+     * Sliced and duplicated buffer's of pooled (or arena) memory share the reference count of its parent.
+     * @return returns reference count, {@code 0} if this buffer's has been released.
+     */
+    int refCnt();
+
+    /**
+     * Increases the reference count by {@code 1}.
+     * @return returns this {@link Memory}.
+     * @throws IllegalStateException this buffer's has been released.
+     */
+    Memory retain();
+
+    /**
+     * Increases the reference count by the specified {@code increment}.
+     * @param increment increment.
+     * @return returns this {@link Memory}.
+     * @throws IllegalStateException this buffer's has been released.
+     */
+    Memory retain(int increment);
+
+    /**
+     * Decreases the reference count by {@code 1} and deallocate/freeing this {@link Memory} buffer
+     * if the reference count reaches {@code 0}. Releasing an already released pooled (or arena) buffer's is an error,
+     * while releasing an already released unpooled buffer's does nothing.
+     * @throws IllegalStateException pooled (or arena) buffer's has been released.
      */
     void release();
 
@@ -19,6 +19,12 @@ public interface MemoryAllocator {
 
     Memory allocate(int capacity, int maxCapacity, int readerIndex, int writerIndex, boolean checking);
 
+    /**
+     * Get usage statistics of this allocator.
+     * @return returns {@link MemoryAllocatorMetric}.
+     */
+    MemoryAllocatorMetric metric();
+
     void close();
 
 }
@@ -0,0 +1,53 @@
+package com.ardikars.common.memory;
+
+/**
+ * Usage statistics of a {@link MemoryAllocator}, also exported as JMX MXBean
+ * under {@code com.ardikars.common.memory:type=MemoryAllocator}.
+ *
+ * @author <a href="mailto:contact@ardikars.com">Ardika Rommy Sanjaya</a>
+ */
+public interface MemoryAllocatorMetric {
+
+    /**
+     * Get number of allocated buffer's.
+     * @return returns number of allocated buffer's.
+     */
+    long getAllocations();
+
+    /**
+     * Get number of allocations served by already reserved memory (pooled buffer's or existing arena chunk).
+     * @return returns number of hits.
+     */
+    long getHits();
+
+    /**
+     * Get number of allocations which need to reserve new memory (empty pool, new arena chunk or unpooled allocation).
+     * @return returns number of misses.
+     */
+    long getMisses();
+
+    /**
+     * Get number of allocations which fall back to unpooled buffer's because the pool can't grow anymore.
+     * @return returns number of fallbacks.
+     */
+    long getFallbacks();
+
+    /**
+     * Get number of released buffer's.
+     * @return returns number of released buffer's.
+     */
+    long getReleases();
+
+    /**
+     * Get number of bytes held by allocated buffer's which is not released yet.
+     * @return returns outstanding bytes.
+     */
+    long getOutstandingBytes();
+
+    /**
+     * Get highest outstanding bytes since the allocator is created, tracked on every allocation.
+     * @return returns peak outstanding bytes.
+     */
+    long getPeakOutstandingBytes();
+
+}
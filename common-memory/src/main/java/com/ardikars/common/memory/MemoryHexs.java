@@ -0,0 +1,222 @@
+package com.ardikars.common.memory;
+
+import com.ardikars.common.annotation.Helper;
+import com.ardikars.common.util.HexCodec;
+import com.ardikars.common.util.Hexs;
+import com.ardikars.common.util.Validate;
+
+import java.io.IOException;
+import java.nio.CharBuffer;
+
+/**
+ * {@link Hexs} for {@link Memory}, encodes and decodes directly from/to memory without intermediate byte array's.
+ * Encoding reads the memory a word (8 bytes) at a time and converts four bytes into hex digits at once.
+ *
+ * @author <a href="mailto:contact@ardikars.com">Ardika Rommy Sanjaya</a>
+ */
+@Helper
+public final class MemoryHexs {
+
+    private static final int CHUNK_SIZE = 64; // bytes encoded per append
+
+    private MemoryHexs() {
+    }
+
+    /**
+     * {@link Memory} to hex string (from index 0 to capacity).
+     * @param memory memory.
+     * @return returns hex string.
+     */
+    public static String toHexString(Memory memory) {
+        return toHexString(memory, 0, memory.capacity());
+    }
+
+    /**
+     * {@link Memory} to hex string.
+     * @param memory memory.
+     * @param index index.
+     * @param length length.
+     * @return returns hex string.
+     * @throws IndexOutOfBoundsException if {@code index} and {@code length} is out of range.
+     */
+    public static String toHexString(Memory memory, int index, int length) {
+        checkIndex(memory, index, length);
+        if (length == 0) {
+            return "";
+        }
+        char[] buf = new char[length << 1];
+        encode(memory, index, length, buf);
+        return new String(buf);
+    }
+
+    /**
+     * Append hex string of {@link Memory}.
+     * @param sb destination.
+     * @param memory memory.
+     * @param index index.
+     * @param length length.
+     * @return returns {@code sb}.
+     * @throws IndexOutOfBoundsException if {@code index} and {@code length} is out of range.
+     */
+    public static StringBuilder appendHexString(StringBuilder sb, Memory memory, int index, int length) {
+        checkIndex(memory, index, length);
+        char[] buf = new char[CHUNK_SIZE << 1];
+        for (int i = 0; i < length; i += CHUNK_SIZE) {
+            int n = Math.min(length - i, CHUNK_SIZE);
+            encode(memory, index + i, n, buf);
+            sb.append(buf, 0, n << 1);
+        }
+        return sb;
+    }
+
+    /**
+     * Append hex string of {@link Memory}.
+     * @param out destination.
+     * @param memory memory.
+     * @param index index.
+     * @param length length.
+     * @param <T> appendable type.
+     * @return returns {@code out}.
+     * @throws IOException if {@code out} throws {@link IOException}.
+     * @throws IndexOutOfBoundsException if {@code index} and {@code length} is out of range.
+     */
+    public static <T extends Appendable> T appendHexString(T out, Memory memory, int index, int length) throws IOException {
+        checkIndex(memory, index, length);
+        char[] buf = new char[CHUNK_SIZE << 1];
+        CharBuffer chars = CharBuffer.wrap(buf);
+        for (int i = 0; i < length; i += CHUNK_SIZE) {
+            int n = Math.min(length - i, CHUNK_SIZE);
+            encode(memory, index + i, n, buf);
+            out.append(chars, 0, n << 1);
+        }
+        return out;
+    }
+
+    /**
+     * {@link Memory} to hex dump format (same format as {@link Hexs#toPrettyHexDump(byte[], int, int)}).
+     * @param memory memory.
+     * @param index index.
+     * @param length length.
+     * @return returns hex dump format.
+     * @throws IndexOutOfBoundsException if {@code index} and {@code length} is out of range.
+     */
+    public static String toPrettyHexDump(Memory memory, int index, int length) {
+        return appendPrettyHexDump(new StringBuilder(HexCodec.prettyHexDumpLength(length)), memory, index, length).toString();
+    }
+
+    /**
+     * Append hex dump format of {@link Memory}.
+     * @param sb destination.
+     * @param memory memory.
+     * @param index index.
+     * @param length length.
+     * @return returns {@code sb}.
+     * @throws IndexOutOfBoundsException if {@code index} and {@code length} is out of range.
+     */
+    public static StringBuilder appendPrettyHexDump(StringBuilder sb, Memory memory, int index, int length) {
+        checkIndex(memory, index, length);
+        HexCodec.appendPrettyHexDumpHeader(sb);
+        byte[] line = new byte[16];
+        for (int pos = 0, lineNumber = 0; pos < length; pos += 16, lineNumber++) {
+            int lineMax = Math.min(length - pos, 16);
+            memory.getBytes(index + pos, line, 0, lineMax);
+            HexCodec.appendPrettyHexDumpLine(sb, lineNumber, line, 0, lineMax);
+        }
+        return HexCodec.appendPrettyHexDumpFooter(sb);
+    }
+
+    /**
+     * Decode hex stream (may start with {@code 0x} and may contain whitespaces) into {@link Memory}.
+     * @param hexStream hex stream.
+     * @param memory destination.
+     * @param index index of destination.
+     * @return returns number of decoded bytes.
+     * @throws IllegalArgumentException if the stream contains invalid characters or odd number of hex digits.
+     * @throws IndexOutOfBoundsException if the decoded bytes doesn't fit into destination.
+     */
+    public static int parseHex(CharSequence hexStream, Memory memory, int index) {
+        Validate.notIllegalArgument(hexStream != null,
+                new IllegalArgumentException("hexStream: null (expected: non null)"));
+        int start = startIndex(hexStream);
+        int length = HexCodec.decodedLength(hexStream, start);
+        checkIndex(memory, index, length);
+        decode(hexStream, start, memory, index);
+        return length;
+    }
+
+    /**
+     * Allocate a {@link Memory} and decode hex stream into it.
+     * @param allocator memory allocator.
+     * @param hexStream hex stream.
+     * @param checking if true it will do bounds checking for every get/set method, false will not bounds checking.
+     * @return returns {@link Memory}.
+     * @throws IllegalArgumentException if the stream contains invalid characters or odd number of hex digits.
+     */
+    static Memory parseHex(MemoryAllocator allocator, CharSequence hexStream, boolean checking) {
+        Validate.notIllegalArgument(hexStream != null,
+                new IllegalArgumentException("hexStream: null (expected: non null)"));
+        int start = startIndex(hexStream);
+        Memory memory = allocator.allocate(HexCodec.decodedLength(hexStream, start), checking);
+        decode(hexStream, start, memory, 0);
+        return memory;
+    }
+
+    private static int startIndex(CharSequence hexStream) {
+        return hexStream.length() >= 2 && hexStream.charAt(0) == '0' && hexStream.charAt(1) == 'x' ? 2 : 0;
+    }
+
+    /**
+     * Decode already validated hex stream, a word at a time.
+     */
+    private static void decode(CharSequence hexStream, int start, Memory memory, int index) {
+        int len = hexStream.length();
+        long word = 0;
+        int bytes = 0;
+        int high = -1;
+        int dstIndex = index;
+        for (int i = start; i < len; i++) {
+            int digit = HexCodec.digit(hexStream.charAt(i));
+            if (digit < 0) {
+                continue; // whitespace
+            }
+            if (high < 0) {
+                high = digit;
+                continue;
+            }
+            word = (word << 8) | (high << 4) | digit;
+            high = -1;
+            if (++bytes == 8) {
+                memory.setLong(dstIndex, word);
+                dstIndex += 8;
+                word = 0;
+                bytes = 0;
+            }
+        }
+        for (int shift = (bytes - 1) << 3; bytes > 0; bytes--, shift -= 8) {
+            memory.setByte(dstIndex++, (int) (word >>> shift));
+        }
+    }
+
+    private static void encode(Memory memory, int index, int length, char[] dst) {
+        int i = 0;
+        for (; i + 8 <= length; i += 8) {
+            HexCodec.encode(memory.getLong(index + i), 8, dst, i << 1);
+        }
+        int remaining = length - i;
+        if (remaining > 0) {
+            long word = 0;
+            for (int j = 0; j < remaining; j++) {
+                word |= (memory.getByte(index + i + j) & 0xFFL) << (56 - (j << 3));
+            }
+            HexCodec.encode(word, remaining, dst, i << 1);
+        }
+    }
+
+    private static void checkIndex(Memory memory, int index, int length) {
+        if (index < 0 || length < 0 || index > memory.capacity() - length) {
+            throw new IndexOutOfBoundsException(String.format(
+                    "index: %d, length: %d (expected: range(0, %d))", index, length, memory.capacity()));
+        }
+    }
+
+}
@@ -0,0 +1,195 @@
+package com.ardikars.common.memory;
+
+import com.ardikars.common.logging.Logger;
+import com.ardikars.common.logging.LoggerFactory;
+import com.ardikars.common.util.Properties;
+
+import java.lang.ref.PhantomReference;
+import java.lang.ref.ReferenceQueue;
+import java.util.Collections;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Detect {@link Memory} buffer's which is garbage-collected before {@link Memory#release()} is called.
+ * A tracked buffer's keeps the stack trace of its allocation and its last access ({@link Memory#retain()}
+ * or {@link Memory#release()}), and the leak is reported through common-logging.
+ *
+ * <p>Level can be configured by {@code common.memory.leakDetection.level} system property
+ * ({@code DISABLED}, {@code SAMPLE}, {@code PARANOID}), and sampling interval of {@code SAMPLE} level
+ * by {@code common.memory.leakDetection.samplingInterval} system property (default 128).</p>
+ *
+ * @author <a href="mailto:contact@ardikars.com">Ardika Rommy Sanjaya</a>
+ */
+public final class MemoryLeakDetector {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(MemoryLeakDetector.class);
+
+    private static final int SAMPLING_INTERVAL;
+
+    private static final ReferenceQueue<Object> REFERENCE_QUEUE = new ReferenceQueue<Object>();
+
+    private static final Set<LeakTracker> TRACKERS = Collections.newSetFromMap(new ConcurrentHashMap<LeakTracker, Boolean>());
+
+    private static final ThreadLocal<Random> RANDOM = new ThreadLocal<Random>() {
+        @Override
+        protected Random initialValue() {
+            return new Random();
+        }
+    };
+
+    private static volatile Level LEVEL;
+
+    private MemoryLeakDetector() {
+    }
+
+    /**
+     * Get current leak detection level.
+     * @return returns leak detection level.
+     */
+    public static Level getLevel() {
+        return LEVEL;
+    }
+
+    /**
+     * Set leak detection level.
+     * @param level leak detection level.
+     */
+    public static void setLevel(Level level) {
+        if (level == null) {
+            throw new IllegalArgumentException("level: null (expected: non null)");
+        }
+        LEVEL = level;
+    }
+
+    /**
+     * Track given buffer's if it's sampled by current leak detection level.
+     * @param memory newly allocated (or reused pooled) buffer's.
+     * @param <T> memory type.
+     * @return returns given buffer's.
+     */
+    static <T extends Memory> T track(T memory) {
+        Level level = LEVEL;
+        if (level == Level.DISABLED) {
+            return memory;
+        }
+        if (level == Level.PARANOID || RANDOM.get().nextInt(SAMPLING_INTERVAL) == 0) {
+            reportLeaks();
+            ((AbstractMemory) memory).leakTracker = new LeakTracker(memory);
+        }
+        return memory;
+    }
+
+    /**
+     * Report all tracked buffer's which is garbage-collected without being released.
+     * @return returns number of reported leaks.
+     */
+    static int reportLeaks() {
+        int leaks = 0;
+        LeakTracker tracker;
+        while ((tracker = (LeakTracker) REFERENCE_QUEUE.poll()) != null) {
+            if (TRACKERS.remove(tracker)) {
+                leaks++;
+                if (LOGGER.isErrorEnabled()) {
+                    LOGGER.error(tracker.toString());
+                }
+            }
+        }
+        return leaks;
+    }
+
+    /**
+     * Leak detection level.
+     */
+    public enum Level {
+
+        /**
+         * Disable leak detection.
+         */
+        DISABLED,
+
+        /**
+         * Track a sampled fraction of allocated buffer's.
+         */
+        SAMPLE,
+
+        /**
+         * Track every allocated buffer's.
+         */
+        PARANOID
+
+    }
+
+    static final class LeakTracker extends PhantomReference<Object> {
+
+        private final String type;
+        private final int capacity;
+        private final Record allocation;
+        private volatile Record lastAccess;
+
+        LeakTracker(Memory memory) {
+            super(memory, REFERENCE_QUEUE);
+            this.type = memory.getClass().getSimpleName();
+            this.capacity = memory.capacity();
+            this.allocation = new Record();
+            TRACKERS.add(this);
+        }
+
+        void record() {
+            lastAccess = new Record();
+        }
+
+        void close() {
+            if (TRACKERS.remove(this)) {
+                clear();
+            }
+        }
+
+        @Override
+        public String toString() {
+            StringBuilder sb = new StringBuilder(1024)
+                    .append("LEAK: ").append(type).append(" (capacity: ").append(capacity)
+                    .append(") is garbage-collected before release() was called.");
+            Record lastAccess = this.lastAccess;
+            if (lastAccess != null) {
+                sb.append("\nLast access:");
+                lastAccess.appendTo(sb);
+            }
+            sb.append("\nCreated at:");
+            allocation.appendTo(sb);
+            return sb.toString();
+        }
+
+    }
+
+    private static final class Record extends Throwable {
+
+        private static final long serialVersionUID = -5293498012457262718L;
+
+        void appendTo(StringBuilder sb) {
+            StackTraceElement[] elements = getStackTrace();
+            // skip leak detector frames
+            int i = 0;
+            while (i < elements.length && elements[i].getClassName().startsWith(MemoryLeakDetector.class.getName())) {
+                i++;
+            }
+            for (; i < elements.length; i++) {
+                sb.append("\n\tat ").append(elements[i]);
+            }
+        }
+
+    }
+
+    static {
+        Level level;
+        try {
+            level = Level.valueOf(Properties.getProperty("common.memory.leakDetection.level", Level.DISABLED.name()).trim().toUpperCase());
+        } catch (IllegalArgumentException e) {
+            level = Level.DISABLED;
+        }
+        LEVEL = level;
+        SAMPLING_INTERVAL = Math.max(Properties.getInt("common.memory.leakDetection.samplingInterval", 128), 1);
+    }
+
+}
@@ -0,0 +1,131 @@
+package com.ardikars.common.memory;
+
+/**
+ * Fixed capacity ring of variable length records stored in a single {@link Memory}, for passing records between
+ * threads without allocating per record. A record is a header (length and type) followed by the payload,
+ * aligned to {@link #ALIGNMENT} bytes.
+ * A producer claims a region ({@link #claim(int, int)}), writes the payload into {@link #memory()},
+ * and then commits it ({@link #commit(int)}), a single consumer drains committed records in batch
+ * ({@link #read(Handler, int)}).
+ * Records are published independently, but the consumer reads in claim order and stops at the first record
+ * which isn't committed yet, so a claimed record must always be committed (or aborted) promptly.
+ *
+ * @author <a href="mailto:contact@ardikars.com">Ardika Rommy Sanjaya</a>
+ */
+public interface MemoryRingBuffer {
+
+    /**
+     * Record header size (int length and int type).
+     */
+    int HEADER_LENGTH = 8;
+
+    /**
+     * Record alignment.
+     */
+    int ALIGNMENT = 8;
+
+    /**
+     * @return returns capacity in bytes (power of two).
+     */
+    int capacity();
+
+    /**
+     * @return returns maximum payload length of a record.
+     */
+    int maxRecordLength();
+
+    /**
+     * @return returns the underlying {@link Memory}, claimed regions are written directly into it.
+     */
+    Memory memory();
+
+    /**
+     * Claim a region for a record.
+     * @param type record type (non negative).
+     * @param length payload length.
+     * @return returns index of the payload in {@link #memory()}, or -1 if there is not enough space.
+     * @throws IllegalArgumentException if {@code type} is negative or {@code length} is out of range.
+     */
+    int claim(int type, int length);
+
+    /**
+     * Publish claimed record to the consumer, never waits on other producers.
+     * The consumer reads the record after previously claimed records are committed (or aborted).
+     * @param index index returned by {@link #claim(int, int)}.
+     */
+    void commit(int index);
+
+    /**
+     * Commit claimed record as skipped, the consumer never sees it.
+     * @param index index returned by {@link #claim(int, int)}.
+     */
+    void abort(int index);
+
+    /**
+     * Claim, copy and commit a record.
+     * @param type record type (non negative).
+     * @param src source memory.
+     * @param srcIndex index of the source.
+     * @param length payload length.
+     * @return returns true if written, false if there is not enough space.
+     */
+    boolean write(int type, Memory src, int srcIndex, int length);
+
+    /**
+     * Claim, copy and commit a record.
+     * @param type record type (non negative).
+     * @param src source bytes.
+     * @param srcIndex index of the source.
+     * @param length payload length.
+     * @return returns true if written, false if there is not enough space.
+     */
+    boolean write(int type, byte[] src, int srcIndex, int length);
+
+    /**
+     * Drain all committed records (single consumer).
+     * @param handler record handler.
+     * @return returns number of records read.
+     */
+    int read(Handler handler);
+
+    /**
+     * Drain committed records (single consumer). The space of read records is reclaimed after the batch,
+     * a record whose handler throws an exception is considered read.
+     * @param handler record handler.
+     * @param limit maximum number of records.
+     * @return returns number of records read.
+     */
+    int read(Handler handler, int limit);
+
+    /**
+     * @return returns number of bytes (including headers and alignment) of committed and unread records.
+     */
+    int size();
+
+    /**
+     * @return returns true if there are no committed and unread records.
+     */
+    boolean isEmpty();
+
+    /**
+     * Release the underlying {@link Memory}.
+     */
+    void release();
+
+    /**
+     * Record handler.
+     */
+    interface Handler {
+
+        /**
+         * Handle a record, the payload is only valid until this method returns.
+         * @param type record type.
+         * @param memory memory of the ring buffer.
+         * @param index index of the payload.
+         * @param length payload length.
+         */
+        void onRecord(int type, Memory memory, int index, int length);
+
+    }
+
+}
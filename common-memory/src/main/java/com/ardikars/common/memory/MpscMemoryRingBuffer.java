@@ -0,0 +1,27 @@
+package com.ardikars.common.memory;
+
+/**
+ * Multi-producer {@link MemoryRingBuffer}, producers claim concurrently (compare and set)
+ * and publish each record independently.
+ *
+ * @author <a href="mailto:contact@ardikars.com">Ardika Rommy Sanjaya</a>
+ */
+final class MpscMemoryRingBuffer extends AbstractMemoryRingBuffer {
+
+    MpscMemoryRingBuffer(MemoryAllocator allocator, int capacity) {
+        super(allocator, capacity);
+    }
+
+    @Override
+    long claimPosition(int recordLength) {
+        long position;
+        do {
+            position = counters.get(TAIL_CLAIM);
+            if (!hasSpace(position, recordLength)) {
+                return -1;
+            }
+        } while (!counters.compareAndSet(TAIL_CLAIM, position, position + recordLength));
+        return position;
+    }
+
+}
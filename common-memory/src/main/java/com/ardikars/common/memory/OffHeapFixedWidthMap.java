@@ -0,0 +1,361 @@
+package com.ardikars.common.memory;
+
+import com.ardikars.common.util.Validate;
+
+/**
+ * Open-addressing (linear probing) hash map of fixed width keys and values, for example flow tuples or addresses,
+ * stored in a {@link Memory} allocated by the given {@link MemoryAllocator}.
+ * Keys and values are copied from (and into) the given {@link Memory} regions, so lookups don't need any object.
+ * Same as {@link OffHeapLongLongMap}, the map is split into incrementally resized segments, locked independently
+ * with positive {@code concurrencyLevel}, and must be released explicitly via {@link #release()}.
+ *
+ * @author <a href="mailto:contact@ardikars.com">Ardika Rommy Sanjaya</a>
+ */
+public final class OffHeapFixedWidthMap {
+
+    private static final int HASH_SIZE = 4; // slot header, zero marks an empty slot
+
+    private final int keyWidth;
+    private final int valueWidth;
+    private final int slotSize;
+    private final boolean concurrent;
+    private final Segment[] segments;
+    private final int segmentShift;
+
+    /**
+     * Create non thread-safe map with default load factor (0.75).
+     * @param allocator table allocator.
+     * @param keyWidth key size in bytes.
+     * @param valueWidth value size in bytes.
+     * @param initialCapacity expected number of entries.
+     */
+    public OffHeapFixedWidthMap(MemoryAllocator allocator, int keyWidth, int valueWidth, int initialCapacity) {
+        this(allocator, keyWidth, valueWidth, initialCapacity, 0.75F, 0);
+    }
+
+    /**
+     * Create map.
+     * @param allocator table allocator.
+     * @param keyWidth key size in bytes.
+     * @param valueWidth value size in bytes.
+     * @param initialCapacity expected number of entries.
+     * @param loadFactor load factor of each segment, between 0 and 1 (exclusive).
+     * @param concurrencyLevel number of independently locked segments (rounded up to power of two),
+     *                         or 0 for single segment without locking.
+     */
+    public OffHeapFixedWidthMap(MemoryAllocator allocator, int keyWidth, int valueWidth, int initialCapacity,
+                                float loadFactor, int concurrencyLevel) {
+        Validate.notIllegalArgument(allocator != null,
+                new IllegalArgumentException("allocator: null (expected: non null)"));
+        Validate.notIllegalArgument(keyWidth > 0 && keyWidth <= 1 << 16,
+                new IllegalArgumentException(String.format("keyWidth: %d (expected: 0 < keyWidth <= %d)",
+                        keyWidth, 1 << 16)));
+        Validate.notIllegalArgument(valueWidth >= 0 && valueWidth <= 1 << 16,
+                new IllegalArgumentException(String.format("valueWidth: %d (expected: 0 <= valueWidth <= %d)",
+                        valueWidth, 1 << 16)));
+        Validate.notIllegalArgument(initialCapacity >= 0,
+                new IllegalArgumentException(String.format("initialCapacity: %d (expected: >= 0)", initialCapacity)));
+        Validate.notIllegalArgument(loadFactor > 0 && loadFactor < 1,
+                new IllegalArgumentException(String.format("loadFactor: %f (expected: 0 < loadFactor < 1)", loadFactor)));
+        Validate.notIllegalArgument(concurrencyLevel >= 0 && concurrencyLevel <= 1 << 16,
+                new IllegalArgumentException(String.format("concurrencyLevel: %d (expected: 0 <= concurrencyLevel <= %d)",
+                        concurrencyLevel, 1 << 16)));
+        this.keyWidth = keyWidth;
+        this.valueWidth = valueWidth;
+        this.slotSize = (HASH_SIZE + keyWidth + valueWidth + 7) & ~7;
+        this.concurrent = concurrencyLevel > 0;
+        int maxCapacity = Math.min(Integer.highestOneBit(Integer.MAX_VALUE / slotSize), OffHeapMapSegment.MAX_CAPACITY);
+        int numSegments = OffHeapMapSegment.tableSize(concurrencyLevel, 1, 1 << 16);
+        int segmentCapacity = OffHeapMapSegment.tableSize(
+                (int) Math.ceil(initialCapacity / (double) numSegments / loadFactor),
+                Math.min(OffHeapMapSegment.MIN_CAPACITY, maxCapacity), maxCapacity);
+        this.segments = new Segment[numSegments];
+        this.segmentShift = 64 - Integer.numberOfTrailingZeros(numSegments);
+        for (int i = 0; i < numSegments; i++) {
+            segments[i] = new Segment(allocator, maxCapacity, loadFactor, segmentCapacity);
+        }
+    }
+
+    /**
+     * @return returns key size in bytes.
+     */
+    public int keyWidth() {
+        return keyWidth;
+    }
+
+    /**
+     * @return returns value size in bytes.
+     */
+    public int valueWidth() {
+        return valueWidth;
+    }
+
+    /**
+     * Copy the value mapped to the given key into {@code value}.
+     * @param key key memory.
+     * @param keyIndex index of the key.
+     * @param value destination memory.
+     * @param valueIndex index of the destination.
+     * @return returns true if the key is present (and the value is copied).
+     */
+    public boolean get(Memory key, int keyIndex, Memory value, int valueIndex) {
+        long hash = hash(key, keyIndex);
+        Segment segment = segment(hash);
+        if (concurrent) {
+            synchronized (segment) {
+                return segment.get(key, keyIndex, value, valueIndex, hash);
+            }
+        }
+        return segment.get(key, keyIndex, value, valueIndex, hash);
+    }
+
+    /**
+     * @param key key memory.
+     * @param keyIndex index of the key.
+     * @return returns true if the key is present.
+     */
+    public boolean containsKey(Memory key, int keyIndex) {
+        return get(key, keyIndex, null, 0);
+    }
+
+    /**
+     * Map the given key to the given value.
+     * @param key key memory.
+     * @param keyIndex index of the key.
+     * @param value value memory.
+     * @param valueIndex index of the value.
+     * @return returns true if the key was present (and the value is replaced).
+     * @throws IllegalStateException the segment is full (reached maximum capacity) or the map is released.
+     */
+    public boolean put(Memory key, int keyIndex, Memory value, int valueIndex) {
+        long hash = hash(key, keyIndex);
+        Segment segment = segment(hash);
+        if (concurrent) {
+            synchronized (segment) {
+                return segment.put(key, keyIndex, value, valueIndex, hash);
+            }
+        }
+        return segment.put(key, keyIndex, value, valueIndex, hash);
+    }
+
+    /**
+     * Remove the mapping of the given key.
+     * @param key key memory.
+     * @param keyIndex index of the key.
+     * @return returns true if the key was present.
+     */
+    public boolean remove(Memory key, int keyIndex) {
+        long hash = hash(key, keyIndex);
+        Segment segment = segment(hash);
+        if (concurrent) {
+            synchronized (segment) {
+                return segment.remove(key, keyIndex, hash);
+            }
+        }
+        return segment.remove(key, keyIndex, hash);
+    }
+
+    /**
+     * @return returns number of entries.
+     */
+    public int size() {
+        long size = 0;
+        for (Segment segment : segments) {
+            if (concurrent) {
+                synchronized (segment) {
+                    size += segment.size();
+                }
+            } else {
+                size += segment.size();
+            }
+        }
+        return (int) Math.min(size, Integer.MAX_VALUE);
+    }
+
+    /**
+     * @return returns true if the map has no entries.
+     */
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+    /**
+     * Remove all entries (keeping the allocated tables).
+     */
+    public void clear() {
+        for (Segment segment : segments) {
+            if (concurrent) {
+                synchronized (segment) {
+                    segment.clear();
+                }
+            } else {
+                segment.clear();
+            }
+        }
+    }
+
+    /**
+     * Release all tables, the map is unusable afterwards.
+     */
+    public void release() {
+        for (Segment segment : segments) {
+            if (concurrent) {
+                synchronized (segment) {
+                    segment.release();
+                }
+            } else {
+                segment.release();
+            }
+        }
+    }
+
+    private Segment segment(long hash) {
+        return segments.length == 1 ? segments[0] : segments[(int) (hash >>> segmentShift)];
+    }
+
+    private long hash(Memory key, int index) {
+        long h = keyWidth * 0x9E3779B97F4A7C15L;
+        int i = 0;
+        for (; i + 8 <= keyWidth; i += 8) {
+            h = Long.rotateLeft((h ^ key.getLong(index + i)) * 0x9E3779B97F4A7C15L, 31);
+        }
+        for (; i < keyWidth; i++) {
+            h = Long.rotateLeft((h ^ (key.getByte(index + i) & 0xFF)) * 0x9E3779B97F4A7C15L, 31);
+        }
+        return OffHeapMapSegment.hash(h);
+    }
+
+    private static int storedHash(long hash) {
+        int stored = (int) hash;
+        return stored == 0 ? 1 : stored;
+    }
+
+    private static void copy(Memory src, int srcIndex, Memory dst, int dstIndex, int length) {
+        int i = 0;
+        for (; i + 8 <= length; i += 8) {
+            dst.setLong(dstIndex + i, src.getLong(srcIndex + i));
+        }
+        for (; i < length; i++) {
+            dst.setByte(dstIndex + i, src.getByte(srcIndex + i));
+        }
+    }
+
+    private final class Segment extends OffHeapMapSegment {
+
+        Segment(MemoryAllocator allocator, int maxCapacity, float loadFactor, int capacity) {
+            super(allocator, OffHeapFixedWidthMap.this.slotSize, maxCapacity, loadFactor, capacity);
+        }
+
+        @Override
+        int home(Memory table, int offset) {
+            return table.getInt(offset);
+        }
+
+        boolean get(Memory key, int keyIndex, Memory value, int valueIndex, long hash) {
+            ensureNotReleased();
+            int stored = storedHash(hash);
+            Memory found = table;
+            int slot = find(table, mask, key, keyIndex, stored);
+            if (slot < 0 && oldTable != null) {
+                found = oldTable;
+                slot = find(oldTable, oldMask, key, keyIndex, stored);
+            }
+            if (slot < 0) {
+                return false;
+            }
+            if (value != null) {
+                copy(found, slot * slotSize + HASH_SIZE + keyWidth, value, valueIndex, valueWidth);
+            }
+            return true;
+        }
+
+        boolean put(Memory key, int keyIndex, Memory value, int valueIndex, long hash) {
+            ensureNotReleased();
+            migrateStep();
+            int stored = storedHash(hash);
+            int slot = stored & mask;
+            for (;;) {
+                int offset = slot * slotSize;
+                int h = table.getInt(offset);
+                if (h == stored && keyEquals(table, offset, key, keyIndex)) {
+                    copy(value, valueIndex, table, offset + HASH_SIZE + keyWidth, valueWidth);
+                    return true;
+                }
+                if (h == 0) {
+                    break;
+                }
+                slot = (slot + 1) & mask;
+            }
+            boolean present = false;
+            if (oldTable != null) {
+                int oldSlot = find(oldTable, oldMask, key, keyIndex, stored);
+                if (oldSlot >= 0) {
+                    delete(oldTable, oldMask, oldSlot);
+                    oldUsed--;
+                    present = true;
+                }
+            }
+            ensureWritable();
+            int offset = slot * slotSize;
+            table.setInt(offset, stored);
+            copy(key, keyIndex, table, offset + HASH_SIZE, keyWidth);
+            copy(value, valueIndex, table, offset + HASH_SIZE + keyWidth, valueWidth);
+            inserted();
+            return present;
+        }
+
+        boolean remove(Memory key, int keyIndex, long hash) {
+            ensureNotReleased();
+            migrateStep();
+            int stored = storedHash(hash);
+            int slot = find(table, mask, key, keyIndex, stored);
+            if (slot >= 0) {
+                delete(table, mask, slot);
+                used--;
+                return true;
+            }
+            if (oldTable != null) {
+                slot = find(oldTable, oldMask, key, keyIndex, stored);
+                if (slot >= 0) {
+                    delete(oldTable, oldMask, slot);
+                    oldUsed--;
+                    return true;
+                }
+            }
+            return false;
+        }
+
+    }
+
+    private int find(Memory table, int mask, Memory key, int keyIndex, int stored) {
+        int slot = stored & mask;
+        for (;;) {
+            int offset = slot * slotSize;
+            int h = table.getInt(offset);
+            if (h == stored && keyEquals(table, offset, key, keyIndex)) {
+                return slot;
+            }
+            if (h == 0) {
+                return -1;
+            }
+            slot = (slot + 1) & mask;
+        }
+    }
+
+    private boolean keyEquals(Memory table, int offset, Memory key, int keyIndex) {
+        int index = offset + HASH_SIZE;
+        int i = 0;
+        for (; i + 8 <= keyWidth; i += 8) {
+            if (table.getLong(index + i) != key.getLong(keyIndex + i)) {
+                return false;
+            }
+        }
+        for (; i < keyWidth; i++) {
+            if (table.getByte(index + i) != key.getByte(keyIndex + i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+}
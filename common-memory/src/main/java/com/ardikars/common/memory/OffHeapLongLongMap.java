@@ -0,0 +1,343 @@
+package com.ardikars.common.memory;
+
+import com.ardikars.common.util.Validate;
+
+/**
+ * Open-addressing (linear probing) {@code long} to {@code long} hash map which stores its table in a {@link Memory}
+ * allocated by the given {@link MemoryAllocator}, so its entries are invisible to the garbage collector.
+ * The map is split into segments, each segment resizes incrementally (entries of the old table are moved a few slots
+ * per write operation) instead of rehashing the whole table at once.
+ * With positive {@code concurrencyLevel} every operation locks only its own segment, otherwise the map is not thread-safe.
+ * The map must be released explicitly via {@link #release()}.
+ *
+ * @author <a href="mailto:contact@ardikars.com">Ardika Rommy Sanjaya</a>
+ */
+public final class OffHeapLongLongMap {
+
+    private static final int SLOT_SIZE = 16; // key + value
+
+    private final long missingValue;
+    private final boolean concurrent;
+    private final Segment[] segments;
+    private final int segmentShift;
+
+    /**
+     * Create non thread-safe map with default load factor (0.75).
+     * @param allocator table allocator.
+     * @param initialCapacity expected number of entries.
+     * @param missingValue value returned when the key is absent.
+     */
+    public OffHeapLongLongMap(MemoryAllocator allocator, int initialCapacity, long missingValue) {
+        this(allocator, initialCapacity, 0.75F, missingValue, 0);
+    }
+
+    /**
+     * Create map.
+     * @param allocator table allocator.
+     * @param initialCapacity expected number of entries.
+     * @param loadFactor load factor of each segment, between 0 and 1 (exclusive).
+     * @param missingValue value returned when the key is absent.
+     * @param concurrencyLevel number of independently locked segments (rounded up to power of two),
+     *                         or 0 for single segment without locking.
+     */
+    public OffHeapLongLongMap(MemoryAllocator allocator, int initialCapacity, float loadFactor, long missingValue,
+                              int concurrencyLevel) {
+        Validate.notIllegalArgument(allocator != null,
+                new IllegalArgumentException("allocator: null (expected: non null)"));
+        Validate.notIllegalArgument(initialCapacity >= 0,
+                new IllegalArgumentException(String.format("initialCapacity: %d (expected: >= 0)", initialCapacity)));
+        Validate.notIllegalArgument(loadFactor > 0 && loadFactor < 1,
+                new IllegalArgumentException(String.format("loadFactor: %f (expected: 0 < loadFactor < 1)", loadFactor)));
+        Validate.notIllegalArgument(concurrencyLevel >= 0 && concurrencyLevel <= 1 << 16,
+                new IllegalArgumentException(String.format("concurrencyLevel: %d (expected: 0 <= concurrencyLevel <= %d)",
+                        concurrencyLevel, 1 << 16)));
+        this.missingValue = missingValue;
+        this.concurrent = concurrencyLevel > 0;
+        int numSegments = OffHeapMapSegment.tableSize(concurrencyLevel, 1, 1 << 16);
+        int segmentCapacity = OffHeapMapSegment.tableSize(
+                (int) Math.ceil(initialCapacity / (double) numSegments / loadFactor),
+                OffHeapMapSegment.MIN_CAPACITY, OffHeapMapSegment.MAX_CAPACITY);
+        this.segments = new Segment[numSegments];
+        this.segmentShift = 64 - Integer.numberOfTrailingZeros(numSegments);
+        for (int i = 0; i < numSegments; i++) {
+            segments[i] = new Segment(allocator, loadFactor, segmentCapacity);
+        }
+    }
+
+    /**
+     * @return returns value returned when the key is absent.
+     */
+    public long missingValue() {
+        return missingValue;
+    }
+
+    /**
+     * Get the value mapped to the given key.
+     * @param key key.
+     * @return returns the value, or {@link #missingValue()} if absent.
+     */
+    public long get(long key) {
+        long hash = hash(key);
+        Segment segment = segment(hash);
+        if (concurrent) {
+            synchronized (segment) {
+                return segment.get(key, hash);
+            }
+        }
+        return segment.get(key, hash);
+    }
+
+    /**
+     * @param key key.
+     * @return returns true if the key is present.
+     */
+    public boolean containsKey(long key) {
+        long hash = hash(key);
+        Segment segment = segment(hash);
+        if (concurrent) {
+            synchronized (segment) {
+                return segment.containsKey(key, hash);
+            }
+        }
+        return segment.containsKey(key, hash);
+    }
+
+    /**
+     * Map the given key to the given value.
+     * @param key key.
+     * @param value value.
+     * @return returns previous value, or {@link #missingValue()} if absent.
+     * @throws IllegalStateException the segment is full (reached maximum capacity) or the map is released.
+     */
+    public long put(long key, long value) {
+        long hash = hash(key);
+        Segment segment = segment(hash);
+        if (concurrent) {
+            synchronized (segment) {
+                return segment.put(key, value, hash);
+            }
+        }
+        return segment.put(key, value, hash);
+    }
+
+    /**
+     * Remove the mapping of the given key.
+     * @param key key.
+     * @return returns removed value, or {@link #missingValue()} if absent.
+     */
+    public long remove(long key) {
+        long hash = hash(key);
+        Segment segment = segment(hash);
+        if (concurrent) {
+            synchronized (segment) {
+                return segment.remove(key, hash);
+            }
+        }
+        return segment.remove(key, hash);
+    }
+
+    /**
+     * @return returns number of entries.
+     */
+    public int size() {
+        long size = 0;
+        for (Segment segment : segments) {
+            if (concurrent) {
+                synchronized (segment) {
+                    size += segment.size();
+                }
+            } else {
+                size += segment.size();
+            }
+        }
+        return (int) Math.min(size, Integer.MAX_VALUE);
+    }
+
+    /**
+     * @return returns true if the map has no entries.
+     */
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+    /**
+     * Remove all entries (keeping the allocated tables).
+     */
+    public void clear() {
+        for (Segment segment : segments) {
+            if (concurrent) {
+                synchronized (segment) {
+                    segment.clear();
+                }
+            } else {
+                segment.clear();
+            }
+        }
+    }
+
+    /**
+     * Release all tables, the map is unusable afterwards.
+     */
+    public void release() {
+        for (Segment segment : segments) {
+            if (concurrent) {
+                synchronized (segment) {
+                    segment.release();
+                }
+            } else {
+                segment.release();
+            }
+        }
+    }
+
+    private Segment segment(long hash) {
+        return segments.length == 1 ? segments[0] : segments[(int) (hash >>> segmentShift)];
+    }
+
+    private static long hash(long key) {
+        return OffHeapMapSegment.hash(key);
+    }
+
+    private final class Segment extends OffHeapMapSegment {
+
+        private boolean hasZeroKey; // zero marks an empty slot, so zero key is stored out of the table
+        private long zeroValue;
+
+        Segment(MemoryAllocator allocator, float loadFactor, int capacity) {
+            super(allocator, SLOT_SIZE, MAX_CAPACITY, loadFactor, capacity);
+        }
+
+        @Override
+        int home(Memory table, int offset) {
+            return (int) hash(table.getLong(offset));
+        }
+
+        @Override
+        int size() {
+            return hasZeroKey ? super.size() + 1 : super.size();
+        }
+
+        long get(long key, long hash) {
+            ensureNotReleased();
+            if (key == 0) {
+                return hasZeroKey ? zeroValue : missingValue;
+            }
+            int slot = find(table, mask, key, hash);
+            if (slot >= 0) {
+                return table.getLong((slot << 4) + 8);
+            }
+            if (oldTable != null) {
+                slot = find(oldTable, oldMask, key, hash);
+                if (slot >= 0) {
+                    return oldTable.getLong((slot << 4) + 8);
+                }
+            }
+            return missingValue;
+        }
+
+        boolean containsKey(long key, long hash) {
+            ensureNotReleased();
+            if (key == 0) {
+                return hasZeroKey;
+            }
+            return find(table, mask, key, hash) >= 0
+                    || (oldTable != null && find(oldTable, oldMask, key, hash) >= 0);
+        }
+
+        long put(long key, long value, long hash) {
+            ensureNotReleased();
+            if (key == 0) {
+                long previous = hasZeroKey ? zeroValue : missingValue;
+                hasZeroKey = true;
+                zeroValue = value;
+                return previous;
+            }
+            migrateStep();
+            int slot = (int) hash & mask;
+            for (;;) {
+                int offset = slot << 4;
+                long k = table.getLong(offset);
+                if (k == key) {
+                    long previous = table.getLong(offset + 8);
+                    table.setLong(offset + 8, value);
+                    return previous;
+                }
+                if (k == 0) {
+                    break;
+                }
+                slot = (slot + 1) & mask;
+            }
+            long previous = missingValue;
+            if (oldTable != null) {
+                int oldSlot = find(oldTable, oldMask, key, hash);
+                if (oldSlot >= 0) {
+                    previous = oldTable.getLong((oldSlot << 4) + 8);
+                    delete(oldTable, oldMask, oldSlot);
+                    oldUsed--;
+                }
+            }
+            ensureWritable();
+            table.setLong(slot << 4, key);
+            table.setLong((slot << 4) + 8, value);
+            inserted();
+            return previous;
+        }
+
+        long remove(long key, long hash) {
+            ensureNotReleased();
+            if (key == 0) {
+                if (!hasZeroKey) {
+                    return missingValue;
+                }
+                hasZeroKey = false;
+                return zeroValue;
+            }
+            migrateStep();
+            int slot = find(table, mask, key, hash);
+            if (slot >= 0) {
+                long previous = table.getLong((slot << 4) + 8);
+                delete(table, mask, slot);
+                used--;
+                return previous;
+            }
+            if (oldTable != null) {
+                slot = find(oldTable, oldMask, key, hash);
+                if (slot >= 0) {
+                    long previous = oldTable.getLong((slot << 4) + 8);
+                    delete(oldTable, oldMask, slot);
+                    oldUsed--;
+                    return previous;
+                }
+            }
+            return missingValue;
+        }
+
+        @Override
+        void clear() {
+            super.clear();
+            hasZeroKey = false;
+        }
+
+        @Override
+        void release() {
+            super.release();
+            hasZeroKey = false;
+        }
+
+    }
+
+    private static int find(Memory table, int mask, long key, long hash) {
+        int slot = (int) hash & mask;
+        for (;;) {
+            long k = table.getLong(slot << 4);
+            if (k == key) {
+                return slot;
+            }
+            if (k == 0) {
+                return -1;
+            }
+            slot = (slot + 1) & mask;
+        }
+    }
+
+}
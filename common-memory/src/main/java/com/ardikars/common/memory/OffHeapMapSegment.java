@@ -0,0 +1,221 @@
+package com.ardikars.common.memory;
+
+/**
+ * Segment of the off-heap maps ({@link OffHeapLongLongMap} and {@link OffHeapFixedWidthMap}), an open-addressing
+ * (linear probing) table of {@code slotSize} bytes slots stored in a {@link Memory}.
+ * Each slot starts with a non zero 8 bytes word (key or stored hash), zero marks an empty slot.
+ * The table resizes incrementally, entries of the old table are moved a few slots per write operation
+ * instead of rehashing the whole table at once.
+ *
+ * @author <a href="mailto:contact@ardikars.com">Ardika Rommy Sanjaya</a>
+ */
+abstract class OffHeapMapSegment {
+
+    static final int MIN_CAPACITY = 8;
+
+    static final int MAX_CAPACITY = 1 << 26; // slots per segment
+
+    static final int MIGRATE_SLOTS = 16; // old slots moved per write operation
+
+    private static final byte[] ZEROS = new byte[4096];
+
+    final int slotSize;
+
+    private final MemoryAllocator allocator;
+    private final int maxCapacity;
+    private final float loadFactor;
+
+    Memory table;
+    int mask;
+    int used; // entries in table
+    private int threshold;
+
+    Memory oldTable; // not null while resizing
+    int oldMask;
+    int oldUsed; // entries left in oldTable
+    private int rehashIndex;
+
+    private boolean released;
+
+    OffHeapMapSegment(MemoryAllocator allocator, int slotSize, int maxCapacity, float loadFactor, int capacity) {
+        this.allocator = allocator;
+        this.slotSize = slotSize;
+        this.maxCapacity = maxCapacity;
+        this.loadFactor = loadFactor;
+        newTable(capacity);
+    }
+
+    /**
+     * @param table table.
+     * @param offset offset of a non empty slot.
+     * @return returns hash of the entry, the low bits pick the home slot.
+     */
+    abstract int home(Memory table, int offset);
+
+    int size() {
+        return used + oldUsed;
+    }
+
+    void clear() {
+        ensureNotReleased();
+        releaseOldTable();
+        zero(table, (mask + 1) * slotSize);
+        used = 0;
+    }
+
+    void release() {
+        if (!released) {
+            releaseOldTable();
+            table.release();
+            table = null;
+            used = 0;
+            released = true;
+        }
+    }
+
+    /**
+     * Move a few entries of the old table (if resizing), called before a write operation.
+     */
+    final void migrateStep() {
+        if (oldTable != null) {
+            migrate(MIGRATE_SLOTS);
+        }
+    }
+
+    /**
+     * Called before an entry is written into an empty slot of the current table.
+     * @throws IllegalStateException the segment is full (reached maximum capacity).
+     */
+    final void ensureWritable() {
+        if (used == mask) {
+            throw new IllegalStateException(String.format("Segment is full (capacity: %d).", mask + 1));
+        }
+    }
+
+    /**
+     * Called after an entry is written into an empty slot of the current table.
+     */
+    final void inserted() {
+        used++;
+        if (used > threshold) {
+            resize();
+        }
+    }
+
+    final void ensureNotReleased() {
+        if (released) {
+            throw new IllegalStateException("Map is already released.");
+        }
+    }
+
+    final boolean isEmpty(Memory table, int slot) {
+        return table.getLong(slot * slotSize) == 0;
+    }
+
+    final void delete(Memory table, int mask, int slot) {
+        // backward shift deletion, keeps every probe sequence free of holes without tombstones
+        int hole = slot;
+        int i = slot;
+        for (;;) {
+            i = (i + 1) & mask;
+            if (isEmpty(table, i)) {
+                break;
+            }
+            int home = home(table, i * slotSize) & mask;
+            if (hole <= i ? (home <= hole || home > i) : (home <= hole && home > i)) {
+                copySlot(table, i * slotSize, table, hole * slotSize);
+                hole = i;
+            }
+        }
+        table.setLong(hole * slotSize, 0L);
+    }
+
+    private void resize() {
+        if (mask + 1 == maxCapacity) {
+            threshold = mask; // keep filling until it's full
+            return;
+        }
+        if (oldTable != null) {
+            migrate(Integer.MAX_VALUE); // finish previous resize first
+        }
+        oldTable = table;
+        oldMask = mask;
+        oldUsed = used;
+        rehashIndex = 0;
+        newTable((mask + 1) << 1);
+    }
+
+    private void newTable(int capacity) {
+        int bytes = capacity * slotSize;
+        table = allocator.allocate(bytes, bytes, 0, 0, false);
+        zero(table, bytes);
+        mask = capacity - 1;
+        used = 0;
+        threshold = Math.min((int) (capacity * loadFactor), capacity - 1);
+    }
+
+    private void migrate(int slots) {
+        // slots before rehashIndex are empty, so backward shift deletion never wraps entries into them
+        for (int n = 0; n < slots && oldUsed > 0; n++) {
+            if (isEmpty(oldTable, rehashIndex)) {
+                rehashIndex++;
+                continue;
+            }
+            int offset = rehashIndex * slotSize;
+            int slot = home(oldTable, offset) & mask;
+            while (!isEmpty(table, slot)) {
+                slot = (slot + 1) & mask;
+            }
+            copySlot(oldTable, offset, table, slot * slotSize);
+            used++;
+            delete(oldTable, oldMask, rehashIndex); // may shift next entry into rehashIndex
+            oldUsed--;
+        }
+        if (oldUsed == 0) {
+            releaseOldTable();
+        }
+    }
+
+    private void releaseOldTable() {
+        if (oldTable != null) {
+            oldTable.release();
+            oldTable = null;
+            oldUsed = 0;
+        }
+    }
+
+    private void copySlot(Memory src, int srcOffset, Memory dst, int dstOffset) {
+        for (int i = 0; i < slotSize; i += 8) {
+            dst.setLong(dstOffset + i, src.getLong(srcOffset + i));
+        }
+    }
+
+    static long hash(long key) {
+        // MurmurHash3 fmix64, low bits pick the slot, high bits pick the segment
+        key ^= key >>> 33;
+        key *= 0xFF51AFD7ED558CCDL;
+        key ^= key >>> 33;
+        key *= 0xC4CEB9FE1A85EC53L;
+        key ^= key >>> 33;
+        return key;
+    }
+
+    static int tableSize(int capacity, int min, int max) {
+        int size = min;
+        while (size < capacity && size < max) {
+            size <<= 1;
+        }
+        return size;
+    }
+
+    private static void zero(Memory table, int bytes) {
+        if (table instanceof UncheckedMemory) {
+            AbstractMemory.ACCESSOR.setMemory(((UncheckedMemory) table).address, bytes, 0);
+        } else {
+            for (int i = 0; i < bytes; i += ZEROS.length) {
+                table.setBytes(i, ZEROS, 0, Math.min(ZEROS.length, bytes - i));
+            }
+        }
+    }
+
+}
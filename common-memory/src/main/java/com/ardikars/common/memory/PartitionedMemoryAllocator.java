@@ -0,0 +1,45 @@
+package com.ardikars.common.memory;
+
+/**
+ * Memory allocator split into independent partitions (own pool, thread cache and statistics).
+ * A thread allocates from the partition selected by its affinity hint ({@link Memories#affinity(int)}),
+ * or by the hash of its id, and a released memory goes back to the partition which owns its block.
+ *
+ * @author <a href="mailto:contact@ardikars.com">Ardika Rommy Sanjaya</a>
+ */
+public interface PartitionedMemoryAllocator extends MemoryAllocator {
+
+    /**
+     * @return returns number of partitions.
+     */
+    int partitions();
+
+    /**
+     * @return returns partition index of current thread.
+     */
+    int partition();
+
+    /**
+     * Get usage statistics of a partition, {@link #metric()} is the sum of all partitions.
+     * @param partition partition index.
+     * @return returns {@link MemoryAllocatorMetric}.
+     * @throws IllegalArgumentException if {@code partition} is out of range.
+     */
+    MemoryAllocatorMetric metric(int partition);
+
+    /**
+     * @param partition partition index.
+     * @return returns number of free pooled memories (not including thread caches) of a partition.
+     * @throws IllegalArgumentException if {@code partition} is out of range.
+     */
+    int available(int partition);
+
+    /**
+     * Free (give back to the OS) free pooled memories above the trim floor of every partition,
+     * freed memories may be allocated again later (up to maximum pool size).
+     * Memories cached by threads are not freed.
+     * @return returns number of freed memories.
+     */
+    int trim();
+
+}
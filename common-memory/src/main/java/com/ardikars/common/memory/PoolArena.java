@@ -0,0 +1,270 @@
+package com.ardikars.common.memory;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Size-class arena, carves large off-heap {@link PoolChunk}'s into:
+ * <ul>
+ *     <li>tiny: less than 512 bytes, multiple of 16 bytes.</li>
+ *     <li>small: 512 bytes up to half of page size, power of two.</li>
+ *     <li>normal: page size up to chunk size, power of two run of pages.</li>
+ *     <li>huge: greater than chunk size, allocated directly (non pooled).</li>
+ * </ul>
+ * Chunk's are kept in lists by usage, allocation prefers moderately used chunk's (so that lightly used chunk's
+ * can become empty), and a chunk is destroyed as soon as it becomes empty. All methods which touch chunk's
+ * are guarded by the arena monitor, {@link ArenaMemoryAllocator} stripes allocations over several arenas
+ * to reduce contention.
+ *
+ * @author <a href="mailto:contact@ardikars.com">Ardika Rommy Sanjaya</a>
+ */
+final class PoolArena {
+
+    static final int TINY_QUANTUM = 16;
+    static final int SMALL_THRESHOLD = 512;
+
+    final int pageSize;
+    final int pageShifts;
+    final int maxOrder;
+    final int chunkSize;
+
+    private final PoolSubpage[] tinySubpagePools;
+    private final PoolSubpage[] smallSubpagePools;
+
+    private final PoolChunkList q050;
+    private final PoolChunkList q025;
+    private final PoolChunkList q000;
+    private final PoolChunkList qInit;
+    private final PoolChunkList q075;
+    private final PoolChunkList q100;
+
+    private boolean closed; // guarded by this
+
+    PoolArena(int pageSize, int maxOrder) {
+        this.pageSize = pageSize;
+        this.pageShifts = PoolChunk.log2(pageSize);
+        this.maxOrder = maxOrder;
+        this.chunkSize = pageSize << maxOrder;
+        this.tinySubpagePools = newSubpagePoolArray(SMALL_THRESHOLD / TINY_QUANTUM);
+        this.smallSubpagePools = newSubpagePoolArray(pageShifts - PoolChunk.log2(SMALL_THRESHOLD));
+        this.q100 = new PoolChunkList(null, 100, Integer.MAX_VALUE, chunkSize);
+        this.q075 = new PoolChunkList(q100, 75, 100, chunkSize);
+        this.q050 = new PoolChunkList(q075, 50, 100, chunkSize);
+        this.q025 = new PoolChunkList(q050, 25, 75, chunkSize);
+        this.q000 = new PoolChunkList(q025, 1, 50, chunkSize);
+        this.qInit = new PoolChunkList(q000, Integer.MIN_VALUE, 25, chunkSize);
+        q100.prevList(q075);
+        q075.prevList(q050);
+        q050.prevList(q025);
+        q025.prevList(q000);
+        q000.prevList(null); // empty chunk's of q000 are destroyed
+        qInit.prevList(qInit); // new chunk's are kept until they are used
+    }
+
+    /**
+     * Allocate a region for given memory.
+     * Huge capacity, or any capacity after this arena is destroyed, is allocated directly.
+     * @param memory arena memory.
+     * @param reqCapacity requested capacity.
+     * @return returns true if the region is carved from an existing chunk, false if it's newly allocated.
+     */
+    boolean allocate(ArenaMemory memory, int reqCapacity) {
+        final int normCapacity = normalizeCapacity(reqCapacity);
+        if (normCapacity <= chunkSize) {
+            synchronized (this) {
+                if (!closed) {
+                    return allocateFromChunks(memory, normCapacity);
+                }
+            }
+        }
+        memory.init(null, 0, AbstractMemory.ACCESSOR.allocate(normCapacity), normCapacity);
+        return false;
+    }
+
+    /**
+     * Move given memory into a bigger (or smaller) region, the content is preserved.
+     * While derived views (not released yet) still address the old region, it's retired instead of freed,
+     * and freed on the last release of the memory.
+     * @param memory arena memory.
+     * @param newCapacity new capacity.
+     */
+    void reallocate(ArenaMemory memory, int newCapacity) {
+        final PoolChunk oldChunk = memory.chunk();
+        final long oldHandle = memory.handle();
+        final long oldAddress = memory.memoryAddress();
+        final int oldCapacity = memory.capacity();
+        allocate(memory, newCapacity);
+        int length = oldCapacity < newCapacity ? oldCapacity : newCapacity;
+        if (length > 0) {
+            AbstractMemory.ACCESSOR.setBytes(memory.memoryAddress(), 0, oldAddress, 0, length);
+        }
+        if (((AbstractMemory) memory).hasViews()) {
+            memory.retired(new Retired(oldChunk, oldHandle, oldAddress, memory.retired()));
+        } else {
+            free(oldChunk, oldHandle, oldAddress);
+        }
+    }
+
+    /**
+     * Return retired regions to this arena.
+     * @param retired retired regions, or null.
+     */
+    void free(Retired retired) {
+        for (Retired r = retired; r != null; r = r.next) {
+            free(r.chunk, r.handle, r.address);
+        }
+    }
+
+    /**
+     * Return a region to this arena.
+     * @param chunk owner chunk, or null for huge allocation.
+     * @param handle chunk handle.
+     * @param address memory address.
+     */
+    void free(PoolChunk chunk, long handle, long address) {
+        if (chunk == null) {
+            AbstractMemory.ACCESSOR.deallocate(address);
+            return;
+        }
+        boolean destroy;
+        synchronized (this) {
+            if (closed) {
+                // the chunk is no longer listed, destroy it with its last allocation
+                chunk.free(handle);
+                destroy = chunk.allocations() == 0;
+            } else {
+                destroy = !chunk.parent.free(chunk, handle);
+            }
+        }
+        if (destroy) {
+            AbstractMemory.ACCESSOR.deallocate(chunk.memoryAddress);
+        }
+    }
+
+    /**
+     * Release chunk's owned by this arena, chunk's which still have live allocations are released
+     * when their last allocation is freed. Later allocations are served directly (non pooled).
+     */
+    void destroy() {
+        List<PoolChunk> empty = new ArrayList<PoolChunk>();
+        synchronized (this) {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            PoolChunkList[] lists = new PoolChunkList[] {qInit, q000, q025, q050, q075, q100};
+            for (int i = 0; i < lists.length; i++) {
+                PoolChunk chunk;
+                while ((chunk = lists[i].head()) != null) {
+                    lists[i].remove(chunk);
+                    if (chunk.allocations() == 0) {
+                        empty.add(chunk);
+                    }
+                }
+            }
+            resetSubpagePools(tinySubpagePools);
+            resetSubpagePools(smallSubpagePools);
+        }
+        for (int i = 0; i < empty.size(); i++) {
+            AbstractMemory.ACCESSOR.deallocate(empty.get(i).memoryAddress);
+        }
+    }
+
+    int normalizeCapacity(int reqCapacity) {
+        if (reqCapacity < 0) {
+            throw new IllegalArgumentException(String.format("capacity: %d (expected: >= 0)", reqCapacity));
+        }
+        if (reqCapacity > chunkSize) {
+            return reqCapacity;
+        }
+        if (reqCapacity >= SMALL_THRESHOLD) {
+            int normalizedCapacity = reqCapacity - 1;
+            normalizedCapacity |= normalizedCapacity >>>  1;
+            normalizedCapacity |= normalizedCapacity >>>  2;
+            normalizedCapacity |= normalizedCapacity >>>  4;
+            normalizedCapacity |= normalizedCapacity >>>  8;
+            normalizedCapacity |= normalizedCapacity >>> 16;
+            return normalizedCapacity + 1;
+        }
+        if (reqCapacity == 0) {
+            return TINY_QUANTUM;
+        }
+        if ((reqCapacity & (TINY_QUANTUM - 1)) == 0) {
+            return reqCapacity;
+        }
+        return (reqCapacity & ~(TINY_QUANTUM - 1)) + TINY_QUANTUM;
+    }
+
+    PoolSubpage findSubpagePoolHead(int elemSize) {
+        if (elemSize < SMALL_THRESHOLD) {
+            return tinySubpagePools[elemSize >>> 4];
+        }
+        int tableIdx = 0;
+        elemSize >>>= 10;
+        while (elemSize != 0) {
+            elemSize >>>= 1;
+            tableIdx++;
+        }
+        return smallSubpagePools[tableIdx];
+    }
+
+    synchronized int numChunks() {
+        return qInit.size() + q000.size() + q025.size() + q050.size() + q075.size() + q100.size();
+    }
+
+    private boolean allocateFromChunks(ArenaMemory memory, int normCapacity) {
+        if (normCapacity < pageSize) {
+            PoolSubpage head = findSubpagePoolHead(normCapacity);
+            PoolSubpage subpage = head.next;
+            if (subpage != head) {
+                subpage.chunk.initMemory(memory, subpage.chunk.allocate(subpage), normCapacity);
+                return true;
+            }
+        }
+        if (q050.allocate(memory, normCapacity) || q025.allocate(memory, normCapacity)
+                || q000.allocate(memory, normCapacity) || qInit.allocate(memory, normCapacity)
+                || q075.allocate(memory, normCapacity)) {
+            return true;
+        }
+        PoolChunk chunk = new PoolChunk(this, AbstractMemory.ACCESSOR.allocate(chunkSize),
+                pageSize, pageShifts, maxOrder, chunkSize);
+        chunk.initMemory(memory, chunk.allocate(normCapacity), normCapacity);
+        qInit.add(chunk);
+        return false;
+    }
+
+    private PoolSubpage[] newSubpagePoolArray(int size) {
+        PoolSubpage[] pools = new PoolSubpage[size];
+        for (int i = 0; i < size; i++) {
+            pools[i] = new PoolSubpage(pageSize);
+        }
+        return pools;
+    }
+
+    private void resetSubpagePools(PoolSubpage[] pools) {
+        for (int i = 0; i < pools.length; i++) {
+            pools[i].prev = pools[i];
+            pools[i].next = pools[i];
+        }
+    }
+
+    /**
+     * Region retired by {@link #reallocate(ArenaMemory, int)}.
+     */
+    static final class Retired {
+
+        final PoolChunk chunk;
+        final long handle;
+        final long address;
+        final Retired next;
+
+        Retired(PoolChunk chunk, long handle, long address, Retired next) {
+            this.chunk = chunk;
+            this.handle = handle;
+            this.address = address;
+            this.next = next;
+        }
+
+    }
+
+}
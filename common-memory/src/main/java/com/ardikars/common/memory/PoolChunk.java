@@ -0,0 +1,290 @@
+/*
+ * Copyright 2012 The Netty Project
+ *
+ * The Netty Project licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.ardikars.common.memory;
+
+/**
+ * A contiguous off-heap block of {@code pageSize << maxOrder} bytes managed by buddy allocation.
+ * Runs of pages are tracked in a complete binary tree ({@code memoryMap}), every node stores the
+ * minimum depth at which a free run is still available in its subtree.
+ * Pages used for tiny and small allocation are further split by {@link PoolSubpage}.
+ * Adapted from Netty's {@code io.netty.buffer.PoolChunk}.
+ *
+ * @author <a href="mailto:contact@ardikars.com">Ardika Rommy Sanjaya</a>
+ */
+final class PoolChunk {
+
+    final PoolArena arena;
+    final long memoryAddress;
+
+    private final byte[] memoryMap;
+    private final byte[] depthMap;
+    private final PoolSubpage[] subpages;
+
+    private final int pageSize;
+    private final int pageShifts;
+    private final int maxOrder;
+    private final int chunkSize;
+    private final int log2ChunkSize;
+    private final int maxSubpageAllocs;
+    private final byte unusable;
+
+    private int freeBytes;
+    private int allocations;
+
+    PoolChunkList parent;
+    PoolChunk prev;
+    PoolChunk next;
+
+    PoolChunk(PoolArena arena, long memoryAddress, int pageSize, int pageShifts, int maxOrder, int chunkSize) {
+        this.arena = arena;
+        this.memoryAddress = memoryAddress;
+        this.pageSize = pageSize;
+        this.pageShifts = pageShifts;
+        this.maxOrder = maxOrder;
+        this.chunkSize = chunkSize;
+        this.log2ChunkSize = log2(chunkSize);
+        this.maxSubpageAllocs = 1 << maxOrder;
+        this.unusable = (byte) (maxOrder + 1);
+        this.freeBytes = chunkSize;
+
+        this.memoryMap = new byte[maxSubpageAllocs << 1];
+        this.depthMap = new byte[memoryMap.length];
+        int memoryMapIndex = 1;
+        for (int d = 0; d <= maxOrder; d++) {
+            int depth = 1 << d;
+            for (int p = 0; p < depth; p++) {
+                memoryMap[memoryMapIndex] = (byte) d;
+                depthMap[memoryMapIndex] = (byte) d;
+                memoryMapIndex++;
+            }
+        }
+        this.subpages = new PoolSubpage[maxSubpageAllocs];
+    }
+
+    /**
+     * Allocate a run of pages or an element of a subpage.
+     * @param normCapacity normalized capacity.
+     * @return returns handle, or -1 if this chunk can't satisfy the request.
+     */
+    long allocate(int normCapacity) {
+        long handle;
+        if (normCapacity >= pageSize) {
+            handle = allocateRun(normCapacity);
+        } else {
+            handle = allocateSubpage(normCapacity);
+        }
+        if (handle >= 0) {
+            allocations++;
+        }
+        return handle;
+    }
+
+    /**
+     * Allocate an element of given subpage (taken from the subpage pool of the arena).
+     * @param subpage subpage of this chunk.
+     * @return returns handle, or -1 if the subpage is full.
+     */
+    long allocate(PoolSubpage subpage) {
+        long handle = subpage.allocate();
+        if (handle >= 0) {
+            allocations++;
+        }
+        return handle;
+    }
+
+    /**
+     * Free a handle previously returned by {@link #allocate(int)}.
+     * @param handle handle.
+     */
+    void free(long handle) {
+        allocations--;
+        int memoryMapIdx = memoryMapIdx(handle);
+        int bitmapIdx = bitmapIdx(handle);
+        if (bitmapIdx != 0) {
+            PoolSubpage subpage = subpages[subpageIdx(memoryMapIdx)];
+            PoolSubpage head = arena.findSubpagePoolHead(subpage.elemSize);
+            if (subpage.free(head, bitmapIdx & 0x3FFFFFFF)) {
+                return;
+            }
+        }
+        freeBytes += runLength(memoryMapIdx);
+        setValue(memoryMapIdx, depth(memoryMapIdx));
+        updateParentsFree(memoryMapIdx);
+    }
+
+    /**
+     * Returns offset (from {@link #memoryAddress}) of given handle.
+     * @param handle handle.
+     * @return returns offset.
+     */
+    long offset(long handle) {
+        int memoryMapIdx = memoryMapIdx(handle);
+        int bitmapIdx = bitmapIdx(handle);
+        if (bitmapIdx == 0) {
+            return runOffset(memoryMapIdx);
+        }
+        PoolSubpage subpage = subpages[subpageIdx(memoryMapIdx)];
+        return runOffset(memoryMapIdx) + (long) (bitmapIdx & 0x3FFFFFFF) * subpage.elemSize;
+    }
+
+    void initMemory(ArenaMemory memory, long handle, int normCapacity) {
+        memory.init(this, handle, memoryAddress + offset(handle), normCapacity);
+    }
+
+    /**
+     * Returns usage of this chunk in percent (0-100), a partly used chunk is at least 1 and at most 99.
+     * @return returns usage.
+     */
+    int usage() {
+        if (freeBytes == 0) {
+            return 100;
+        }
+        int freePercentage = (int) (freeBytes * 100L / chunkSize);
+        if (freePercentage == 0) {
+            return 99;
+        }
+        return 100 - freePercentage;
+    }
+
+    /**
+     * Returns number of live allocations (runs and subpage elements) of this chunk.
+     * @return returns number of live allocations.
+     */
+    int allocations() {
+        return allocations;
+    }
+
+    int freeBytes() {
+        return freeBytes;
+    }
+
+    int chunkSize() {
+        return chunkSize;
+    }
+
+    private long allocateRun(int normCapacity) {
+        int d = maxOrder - (log2(normCapacity) - pageShifts);
+        int id = allocateNode(d);
+        if (id < 0) {
+            return id;
+        }
+        freeBytes -= runLength(id);
+        return id;
+    }
+
+    private long allocateSubpage(int normCapacity) {
+        PoolSubpage head = arena.findSubpagePoolHead(normCapacity);
+        int id = allocateNode(maxOrder);
+        if (id < 0) {
+            return id;
+        }
+        freeBytes -= pageSize;
+        int subpageIdx = subpageIdx(id);
+        PoolSubpage subpage = subpages[subpageIdx];
+        if (subpage == null) {
+            subpage = new PoolSubpage(head, this, id, pageSize, normCapacity);
+            subpages[subpageIdx] = subpage;
+        } else {
+            subpage.init(head, normCapacity);
+        }
+        return subpage.allocate();
+    }
+
+    private int allocateNode(int d) {
+        int id = 1;
+        int initial = -(1 << d); // has last d bits = 0 and rest all = 1
+        byte val = value(id);
+        if (val > d) { // unusable
+            return -1;
+        }
+        while (val < d || (id & initial) == 0) { // id & initial == 1 << d for all ids at depth d, for < d it is 0
+            id <<= 1;
+            val = value(id);
+            if (val > d) {
+                id ^= 1;
+                val = value(id);
+            }
+        }
+        setValue(id, unusable);
+        updateParentsAlloc(id);
+        return id;
+    }
+
+    private void updateParentsAlloc(int id) {
+        while (id > 1) {
+            int parentId = id >>> 1;
+            byte val1 = value(id);
+            byte val2 = value(id ^ 1);
+            setValue(parentId, val1 < val2 ? val1 : val2);
+            id = parentId;
+        }
+    }
+
+    private void updateParentsFree(int id) {
+        int logChild = depth(id) + 1;
+        while (id > 1) {
+            int parentId = id >>> 1;
+            byte val1 = value(id);
+            byte val2 = value(id ^ 1);
+            logChild -= 1; // in first iteration equals log, subsequently reduce 1 from logChild as we traverse up
+            if (val1 == logChild && val2 == logChild) {
+                setValue(parentId, (byte) (logChild - 1));
+            } else {
+                setValue(parentId, val1 < val2 ? val1 : val2);
+            }
+            id = parentId;
+        }
+    }
+
+    private byte value(int id) {
+        return memoryMap[id];
+    }
+
+    private void setValue(int id, byte val) {
+        memoryMap[id] = val;
+    }
+
+    private byte depth(int id) {
+        return depthMap[id];
+    }
+
+    private int runLength(int id) {
+        return 1 << log2ChunkSize - depth(id);
+    }
+
+    private int runOffset(int id) {
+        int shift = id ^ 1 << depth(id);
+        return shift * runLength(id);
+    }
+
+    private int subpageIdx(int memoryMapIdx) {
+        return memoryMapIdx ^ maxSubpageAllocs; // remove highest set bit, to get offset
+    }
+
+    private static int memoryMapIdx(long handle) {
+        return (int) handle;
+    }
+
+    private static int bitmapIdx(long handle) {
+        return (int) (handle >>> 32);
+    }
+
+    static int log2(int val) {
+        return Integer.SIZE - 1 - Integer.numberOfLeadingZeros(val);
+    }
+
+}
@@ -0,0 +1,164 @@
+/*
+ * Copyright 2012 The Netty Project
+ *
+ * The Netty Project licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.ardikars.common.memory;
+
+/**
+ * Doubly linked list of {@link PoolChunk}'s whose usage is within {@code [minUsage, maxUsage)}.
+ * A chunk moves to the next list when its usage reaches {@code maxUsage}, and to the previous list
+ * when its usage drops below {@code minUsage}. A chunk which drops below the list without previous list
+ * is empty and should be destroyed.
+ * Adapted from Netty's {@code io.netty.buffer.PoolChunkList}.
+ *
+ * @author <a href="mailto:contact@ardikars.com">Ardika Rommy Sanjaya</a>
+ */
+final class PoolChunkList {
+
+    private final PoolChunkList nextList;
+    private final int minUsage;
+    private final int maxUsage;
+    private final int maxCapacity;
+
+    private PoolChunk head;
+    private PoolChunkList prevList;
+
+    PoolChunkList(PoolChunkList nextList, int minUsage, int maxUsage, int chunkSize) {
+        this.nextList = nextList;
+        this.minUsage = minUsage;
+        this.maxUsage = maxUsage;
+        this.maxCapacity = calculateMaxCapacity(minUsage, chunkSize);
+    }
+
+    void prevList(PoolChunkList prevList) {
+        this.prevList = prevList;
+    }
+
+    /**
+     * Allocate a region from one of the chunk's of this list.
+     * @param memory arena memory.
+     * @param normCapacity normalized capacity.
+     * @return returns true if the region is allocated, false otherwise.
+     */
+    boolean allocate(ArenaMemory memory, int normCapacity) {
+        if (normCapacity > maxCapacity) {
+            // none of the chunk's of this list has enough free bytes
+            return false;
+        }
+        for (PoolChunk cur = head; cur != null; cur = cur.next) {
+            long handle = cur.allocate(normCapacity);
+            if (handle >= 0) {
+                cur.initMemory(memory, handle, normCapacity);
+                if (cur.usage() >= maxUsage) {
+                    remove(cur);
+                    nextList.add(cur);
+                }
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Free a region of given chunk, the chunk is moved to the previous list if its usage drops below this list.
+     * @param chunk chunk of this list.
+     * @param handle chunk handle.
+     * @return returns false if the chunk is empty and removed from the lists (should be destroyed), true otherwise.
+     */
+    boolean free(PoolChunk chunk, long handle) {
+        chunk.free(handle);
+        if (chunk.usage() < minUsage) {
+            remove(chunk);
+            return move0(chunk);
+        }
+        return true;
+    }
+
+    void add(PoolChunk chunk) {
+        if (chunk.usage() >= maxUsage) {
+            nextList.add(chunk);
+            return;
+        }
+        add0(chunk);
+    }
+
+    void remove(PoolChunk cur) {
+        if (cur == head) {
+            head = cur.next;
+            if (head != null) {
+                head.prev = null;
+            }
+        } else {
+            PoolChunk next = cur.next;
+            cur.prev.next = next;
+            if (next != null) {
+                next.prev = cur.prev;
+            }
+        }
+        cur.parent = null;
+        cur.prev = null;
+        cur.next = null;
+    }
+
+    PoolChunk head() {
+        return head;
+    }
+
+    int size() {
+        int size = 0;
+        for (PoolChunk cur = head; cur != null; cur = cur.next) {
+            size++;
+        }
+        return size;
+    }
+
+    private boolean move(PoolChunk chunk) {
+        if (chunk.usage() < minUsage) {
+            return move0(chunk);
+        }
+        add0(chunk);
+        return true;
+    }
+
+    private boolean move0(PoolChunk chunk) {
+        if (prevList == null) {
+            return false;
+        }
+        return prevList.move(chunk);
+    }
+
+    private void add0(PoolChunk chunk) {
+        chunk.parent = this;
+        if (head == null) {
+            head = chunk;
+            chunk.prev = null;
+            chunk.next = null;
+        } else {
+            chunk.prev = null;
+            chunk.next = head;
+            head.prev = chunk;
+            head = chunk;
+        }
+    }
+
+    private static int calculateMaxCapacity(int minUsage, int chunkSize) {
+        minUsage = minUsage < 1 ? 1 : minUsage;
+        if (minUsage == 100) {
+            return 0;
+        }
+        return (int) (chunkSize * (100L - minUsage) / 100L);
+    }
+
+}
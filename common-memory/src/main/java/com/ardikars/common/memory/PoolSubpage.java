@@ -0,0 +1,183 @@
+/*
+ * Copyright 2012 The Netty Project
+ *
+ * The Netty Project licenses this file to you under the Apache License,
+ * version 2.0 (the "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at:
+ *
+ *   https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ */
+
+package com.ardikars.common.memory;
+
+/**
+ * A page of {@link PoolChunk} split into equal sized elements, used for tiny and small allocation.
+ * Subpages of the same element size are linked into a pool owned by {@link PoolArena}.
+ * Adapted from Netty's {@code io.netty.buffer.PoolSubpage}.
+ *
+ * @author <a href="mailto:contact@ardikars.com">Ardika Rommy Sanjaya</a>
+ */
+final class PoolSubpage {
+
+    final PoolChunk chunk;
+
+    private final int memoryMapIdx;
+    private final int pageSize;
+    private final long[] bitmap;
+
+    PoolSubpage prev;
+    PoolSubpage next;
+
+    boolean doNotDestroy;
+    int elemSize;
+
+    private int maxNumElems;
+    private int bitmapLength;
+    private int nextAvail;
+    private int numAvail;
+
+    /**
+     * Create pool head.
+     * @param pageSize page size.
+     */
+    PoolSubpage(int pageSize) {
+        this.chunk = null;
+        this.memoryMapIdx = -1;
+        this.pageSize = pageSize;
+        this.bitmap = null;
+        this.elemSize = -1;
+        this.prev = this;
+        this.next = this;
+    }
+
+    PoolSubpage(PoolSubpage head, PoolChunk chunk, int memoryMapIdx, int pageSize, int elemSize) {
+        this.chunk = chunk;
+        this.memoryMapIdx = memoryMapIdx;
+        this.pageSize = pageSize;
+        this.bitmap = new long[pageSize >>> 10]; // pageSize / 16 (minimum element size) / 64 (bits per long)
+        init(head, elemSize);
+    }
+
+    void init(PoolSubpage head, int elemSize) {
+        this.doNotDestroy = true;
+        this.elemSize = elemSize;
+        this.maxNumElems = this.numAvail = pageSize / elemSize;
+        this.nextAvail = 0;
+        this.bitmapLength = maxNumElems >>> 6;
+        if ((maxNumElems & 63) != 0) {
+            bitmapLength++;
+        }
+        for (int i = 0; i < bitmapLength; i++) {
+            bitmap[i] = 0;
+        }
+        addToPool(head);
+    }
+
+    /**
+     * Allocate one element of this subpage.
+     * @return returns handle, or -1 if no element available.
+     */
+    long allocate() {
+        if (numAvail == 0 || !doNotDestroy) {
+            return -1;
+        }
+        final int bitmapIdx = getNextAvail();
+        int q = bitmapIdx >>> 6;
+        int r = bitmapIdx & 63;
+        bitmap[q] |= 1L << r;
+        if (--numAvail == 0) {
+            removeFromPool();
+        }
+        return toHandle(bitmapIdx);
+    }
+
+    /**
+     * Free an element of this subpage.
+     * @param head pool head.
+     * @param bitmapIdx bitmap index.
+     * @return returns {@code true} if this subpage is still in use, {@code false} if the page should be returned to its chunk.
+     */
+    boolean free(PoolSubpage head, int bitmapIdx) {
+        int q = bitmapIdx >>> 6;
+        int r = bitmapIdx & 63;
+        bitmap[q] ^= 1L << r;
+        nextAvail = bitmapIdx;
+        if (numAvail++ == 0) {
+            addToPool(head);
+            return true;
+        }
+        if (numAvail != maxNumElems) {
+            return true;
+        }
+        if (prev == next) {
+            // the only subpage in the pool, keep it.
+            return true;
+        }
+        doNotDestroy = false;
+        removeFromPool();
+        return false;
+    }
+
+    int numAvailable() {
+        return numAvail;
+    }
+
+    int maxNumElements() {
+        return maxNumElems;
+    }
+
+    private void addToPool(PoolSubpage head) {
+        prev = head;
+        next = head.next;
+        next.prev = this;
+        head.next = this;
+    }
+
+    private void removeFromPool() {
+        prev.next = next;
+        next.prev = prev;
+        next = null;
+        prev = null;
+    }
+
+    private int getNextAvail() {
+        int nextAvail = this.nextAvail;
+        if (nextAvail >= 0) {
+            this.nextAvail = -1;
+            return nextAvail;
+        }
+        for (int i = 0; i < bitmapLength; i++) {
+            long bits = bitmap[i];
+            if (~bits != 0) {
+                return findNextAvail(i, bits);
+            }
+        }
+        return -1;
+    }
+
+    private int findNextAvail(int i, long bits) {
+        final int baseVal = i << 6;
+        for (int j = 0; j < 64; j++) {
+            if ((bits & 1) == 0) {
+                int val = baseVal | j;
+                if (val < maxNumElems) {
+                    return val;
+                }
+                break;
+            }
+            bits >>>= 1;
+        }
+        return -1;
+    }
+
+    private long toHandle(int bitmapIdx) {
+        return 0x4000000000000000L | (long) bitmapIdx << 32 | memoryMapIdx;
+    }
+
+}
@@ -1,56 +1,83 @@
 package com.ardikars.common.memory;
 
-import com.ardikars.common.util.Validate;
-
 import java.nio.ByteBuffer;
 
-class PooledByteBuf extends ByteBuf {
+class PooledByteBuf extends ByteBuf implements PooledMemory {
+
+    private PooledMemoryAllocator allocator;
+    private int partition;
 
-    PooledByteBuf(int capacity, int maxCapacity) {
+    PooledByteBuf(PooledMemoryAllocator allocator, int capacity, int maxCapacity) {
         super(capacity, maxCapacity);
+        this.allocator = allocator;
     }
 
-    PooledByteBuf(int capacity, int maxCapacity, int readerIndex, int writerIndex) {
+    PooledByteBuf(PooledMemoryAllocator allocator, int capacity, int maxCapacity, int readerIndex, int writerIndex) {
         super(capacity, maxCapacity, readerIndex, writerIndex);
+        this.allocator = allocator;
     }
 
-    PooledByteBuf(int baseIndex, ByteBuffer buffer, int capacity, int maxCapacity, int readerIndex, int writerIndex) {
+    PooledByteBuf(PooledMemoryAllocator allocator, int baseIndex, ByteBuffer buffer, int capacity, int maxCapacity,
+                  int readerIndex, int writerIndex) {
         super(baseIndex, buffer, capacity, maxCapacity, readerIndex, writerIndex);
+        this.allocator = allocator;
+    }
+
+    @Override
+    public PooledMemoryAllocator allocator() {
+        return allocator;
+    }
+
+    @Override
+    public void allocator(PooledMemoryAllocator allocator) {
+        this.allocator = allocator;
+    }
+
+    @Override
+    public int partition() {
+        return partition;
+    }
+
+    @Override
+    public void partition(int partition) {
+        this.partition = partition;
     }
 
     @Override
     public Memory capacity(int newCapacity) {
-        Validate.notIllegalArgument(newCapacity <= maxCapacity,
-                new IllegalArgumentException(String.format("newCapacity < maxCapacity: %s <= %s", newCapacity, maxCapacity)));
+        checkNewCapacity(newCapacity);
+        if (newCapacity > allocator.maxMemoryCapacity) {
+            allocator.moveToLargerPool(this, newCapacity);
+        }
         this.capacity = newCapacity;
         return this;
     }
 
     @Override
-    public Memory copy(int index, int length) {
-        byte[] b = new byte[length];
-        int currentIndex = baseIndex + index;
-        getBytes(currentIndex, b, 0, length);
-        ByteBuffer copy = ByteBuffer.allocateDirect(length);
-        copy.put(b);
-        return new PooledByteBuf(baseIndex, copy, capacity(), maxCapacity(), readerIndex(), writerIndex());
+    int calculateNewCapacity(int minNewCapacity, int maxCapacity) {
+        // grow into the whole block first, it's already owned by this memory
+        if (minNewCapacity <= allocator.maxMemoryCapacity) {
+            return Math.min(allocator.maxMemoryCapacity, maxCapacity);
+        }
+        return super.calculateNewCapacity(minNewCapacity, maxCapacity);
     }
 
     @Override
     public Memory slice(int index, int length) {
-        return new PooledSlicedByteBuf(baseIndex + index, buffer.duplicate(), length, maxCapacity(),
-                readerIndex() - index, writerIndex() - index);
+        return derived(new PooledSlicedByteBuf(this, baseIndex + index, buffer.duplicate(), length,
+                readerIndex() - index, writerIndex() - index));
     }
 
     @Override
     public Memory duplicate() {
-        ByteBuf duplicated = new PooledByteBuf(baseIndex, buffer.duplicate(), capacity(), maxCapacity(), readerIndex(), writerIndex());
-        return duplicated;
+        return derived(new PooledSlicedByteBuf(this, baseIndex, buffer.duplicate(), capacity(), readerIndex(), writerIndex()));
     }
 
     @Override
     public void release() {
-        Memories.offer(this);
+        if (decrementRefCnt()) {
+            allocator.offer(this);
+        }
     }
 
 }
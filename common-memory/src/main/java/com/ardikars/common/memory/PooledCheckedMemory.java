@@ -1,52 +1,77 @@
 package com.ardikars.common.memory;
 
-import com.ardikars.common.util.Validate;
+class PooledCheckedMemory extends CheckedMemory implements PooledMemory {
 
-class PooledCheckedMemory extends CheckedMemory {
+    private PooledMemoryAllocator allocator;
+    private int partition;
 
-    PooledCheckedMemory(long address, int capacity, int maxCapacity) {
+    PooledCheckedMemory(PooledMemoryAllocator allocator, long address, int capacity, int maxCapacity) {
         super(address, capacity, maxCapacity);
+        this.allocator = allocator;
     }
 
-    PooledCheckedMemory(long address, int capacity, int maxCapacity, int readerIndex, int writerIndex) {
+    PooledCheckedMemory(PooledMemoryAllocator allocator, long address, int capacity, int maxCapacity, int readerIndex, int writerIndex) {
         super(address, capacity, maxCapacity, readerIndex, writerIndex);
+        this.allocator = allocator;
+    }
+
+    @Override
+    public PooledMemoryAllocator allocator() {
+        return allocator;
+    }
+
+    @Override
+    public void allocator(PooledMemoryAllocator allocator) {
+        this.allocator = allocator;
+    }
+
+    @Override
+    public int partition() {
+        return partition;
+    }
+
+    @Override
+    public void partition(int partition) {
+        this.partition = partition;
     }
 
     @Override
     public PooledCheckedMemory capacity(int newCapacity) {
-        Validate.notIllegalArgument(newCapacity <= maxCapacity,
-                new IllegalArgumentException(String.format("newCapacity < maxCapacity: %s <= %s", newCapacity, maxCapacity)));
+        ensureAccessible();
+        checkNewCapacity(newCapacity);
+        if (newCapacity > allocator.maxMemoryCapacity) {
+            allocator.moveToLargerPool(this, newCapacity);
+        }
         this.capacity = newCapacity;
         return this;
     }
 
     @Override
-    public PooledCheckedMemory copy(int index, int length) {
-        ensureAccessible(index, length);
-        long newAddress = ACCESSOR.allocate(length);
-        PooledCheckedMemory memory = new PooledCheckedMemory(newAddress, length, maxCapacity, readerIndex(), writerIndex());
-        if (length != 0) {
-            memory.setBytes(0, this, index, length);
+    int calculateNewCapacity(int minNewCapacity, int maxCapacity) {
+        // grow into the whole block first, it's already owned by this memory
+        if (minNewCapacity <= allocator.maxMemoryCapacity) {
+            return Math.min(allocator.maxMemoryCapacity, maxCapacity);
         }
-        return memory;
+        return super.calculateNewCapacity(minNewCapacity, maxCapacity);
     }
 
     @Override
     public PooledSlicedCheckedMemory slice(int index, int length) {
         ensureAccessible(index, length);
-        return new PooledSlicedCheckedMemory(address, capacity, address + index, length, maxCapacity, readerIndex() - index, writerIndex() - index);
+        return derived(new PooledSlicedCheckedMemory(this, address, capacity, address + index, length, readerIndex() - index, writerIndex() - index));
     }
 
     @Override
-    public PooledCheckedMemory duplicate() {
+    public PooledSlicedCheckedMemory duplicate() {
         ensureAccessible();
-        PooledCheckedMemory memory = new PooledCheckedMemory(address, capacity, maxCapacity, readerIndex(), writerIndex());
-        return memory;
+        return derived(new PooledSlicedCheckedMemory(this, address, capacity, address, capacity, readerIndex(), writerIndex()));
     }
 
     @Override
     public void release() {
-        Memories.offer(this);
+        if (decrementRefCnt()) {
+            allocator.offer(this);
+        }
     }
 
 }
@@ -1,15 +1,32 @@
 package com.ardikars.common.memory;
 
-class PooledMemory {
+/**
+ * {@link Memory} pooled by {@link PooledMemoryAllocator}, owns a fixed size block of its allocator's pool size class.
+ *
+ * @author <a href="mailto:contact@ardikars.com">Ardika Rommy Sanjaya</a>
+ */
+interface PooledMemory extends Memory {
 
-    private Memory memory;
+    /**
+     * @return returns the allocator which owns the block of this memory.
+     */
+    PooledMemoryAllocator allocator();
 
-    public PooledMemory(Memory referent) {
-        this.memory = referent;
-    }
+    /**
+     * Set the allocator which owns the block of this memory (after the block is moved to another pool size class).
+     * @param allocator pooled memory allocator.
+     */
+    void allocator(PooledMemoryAllocator allocator);
 
-    public Memory get() {
-        return memory;
-    }
+    /**
+     * @return returns the partition (of its allocator) which owns the block of this memory.
+     */
+    int partition();
+
+    /**
+     * Set the partition which owns the block of this memory.
+     * @param partition partition index.
+     */
+    void partition(int partition);
 
 }
@@ -1,132 +1,609 @@
 package com.ardikars.common.memory;
 
-import com.ardikars.common.memory.internal.Unsafe;
+import com.ardikars.common.util.Validate;
 
 import java.nio.ByteBuffer;
-import java.util.Queue;
-import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
 
-final class PooledMemoryAllocator implements MemoryAllocator {
+/**
+ * Pool of fixed size memories, split into partitions. Every partition has its own pool queue, thread cache
+ * and metric, a thread allocates from its partition (affinity hint or hash of thread id) and a released memory
+ * goes back to the partition which owns its block, so the working set of a thread (core) stays in one partition.
+ * If there are more than one partition, a block allocated by a thread of the partition (when the pool grows) is
+ * touched page by page as it is created, so its pages are placed local to that thread (first-touch policy of the OS).
+ * The initial blocks and the blocks refilled in background are not written by the constructing or maintenance thread
+ * (even if pre-touch is enabled), their pages are placed by the first thread which writes them.
+ * A {@link ByteBuf} block ({@link ByteBuffer#allocateDirect(int)}) is never touched, the JDK zeroes it
+ * on the allocating thread already.
+ * If replenishment is enabled, a partition whose free memories drop below the low watermark is refilled
+ * up to the high watermark by a background thread, instead of allocating a batch on the allocating thread.
+ * Free memories above the trim floor are freed by {@link #trim()}, or periodically if they stayed free
+ * during the whole trim interval, the pool size budget is given back so they can be allocated again.
+ * All memories of a pool are either bounds checked or unchecked (see {@link PooledMemoryAllocatorBuilder#checking(boolean)}),
+ * the other kind is allocated outside of the pool (non pooled).
+ *
+ * @author <a href="mailto:contact@ardikars.com">Ardika Rommy Sanjaya</a>
+ */
+final class PooledMemoryAllocator implements PartitionedMemoryAllocator {
+
+    private static final int PAGE_SIZE = 4096;
+
+    static final ThreadLocal<Integer> AFFINITY = new ThreadLocal<Integer>();
 
     private final int poolSize;
-    private final int maxMemoryCapacity;
+    final int maxMemoryCapacity;
+    private final boolean checking;
 
-    private final AtomicInteger moreMemoryCounter;
+    private final boolean replenish;
+    private final int lowWatermark;
+    private final int highWatermark;
+    private final boolean preTouch;
+    private final boolean touchOthers; // touch blocks created by constructing or maintenance thread
+    private final AtomicInteger touched = new AtomicInteger();
+    private final int trimFloor;
+    private final boolean trimIdle;
+    private final ScheduledFuture<?> trimTask;
+    private volatile boolean closed;
 
-    PooledMemoryAllocator(int maxMemoryCapacity) {
-        this(Math.max(Runtime.getRuntime().availableProcessors(), 15),
-                Math.max(Runtime.getRuntime().availableProcessors() * 2, 15),
-                maxMemoryCapacity);
-    }
+    private final Partition[] partitions;
 
-    PooledMemoryAllocator(int poolSize, int maxPoolSize, int maxMemoryCapacity) {
-        this.poolSize = poolSize;
-        this.maxMemoryCapacity = maxMemoryCapacity;
-        this.moreMemoryCounter = new AtomicInteger(maxPoolSize - poolSize);
-        Queue<PooledMemory> queue = new ConcurrentLinkedQueue<PooledMemory>();
-        for (int i = 0; i < poolSize; i++) {
-            Memory memory = doAllocateForPooledMemory(maxMemoryCapacity, maxMemoryCapacity, 0, 0, true);
-            queue.offer(new PooledMemory(memory));
+    private final DefaultMemoryAllocatorMetric metric = new DefaultMemoryAllocatorMetric("Pooled");
+
+    PooledMemoryAllocator(PooledMemoryAllocatorBuilder builder) {
+        this.poolSize = builder.poolSize;
+        this.maxMemoryCapacity = builder.maxMemoryCapacity;
+        this.checking = builder.checking;
+        this.replenish = builder.replenish;
+        this.lowWatermark = builder.lowWatermark;
+        this.highWatermark = builder.highWatermark;
+        this.preTouch = builder.preTouch;
+        // with more than one partition, pages touched by a thread of another partition would be placed remote
+        this.touchOthers = builder.preTouch && builder.partitions == 1;
+        int trimFloor = builder.trimFloor < 0 ? builder.poolSize : builder.trimFloor;
+        this.trimFloor = replenish ? Math.max(trimFloor, builder.highWatermark) : trimFloor;
+        this.trimIdle = builder.trimIntervalMillis > 0;
+        this.partitions = new Partition[builder.partitions];
+        for (int i = 0; i < partitions.length; i++) {
+            this.partitions[i] = new Partition(i, builder.poolSize, builder.maxPoolSize, builder.threadCacheSize);
+        }
+        Memories.POOLS.put(maxMemoryCapacity, this);
+        if (trimIdle) {
+            this.trimTask = Maintenance.EXECUTOR.scheduleWithFixedDelay(new IdleTrimmer(this),
+                    builder.trimIntervalMillis, builder.trimIntervalMillis, TimeUnit.MILLISECONDS);
+        } else {
+            this.trimTask = null;
         }
-        Memories.POOLS.put(maxMemoryCapacity, queue);
     }
 
     @Override
     public Memory allocate(int capacity) {
-        return allocate(capacity, capacity);
+        return allocate(capacity, maxMemoryCapacity);
     }
 
     @Override
     public Memory allocate(int capacity, boolean checking) {
-        return allocate(capacity, capacity, true);
+        return allocate(capacity, maxMemoryCapacity, checking);
     }
 
     @Override
     public Memory allocate(int capacity, int maxCapacity) {
-        return allocate(capacity, maxCapacity, true);
+        return allocate(capacity, maxCapacity, checking);
     }
 
     @Override
     public Memory allocate(int capacity, int maxCapacity, boolean checking) {
-        return allocate(capacity, maxCapacity, 0, 0, true);
+        return allocate(capacity, maxCapacity, 0, 0, checking);
     }
 
     @Override
     public Memory allocate(int capacity, int maxCapacity, int readerIndex, int writerIndex) {
-        return allocate(capacity, maxCapacity, readerIndex, writerIndex, true);
+        return allocate(capacity, maxCapacity, readerIndex, writerIndex, checking);
     }
 
+    /**
+     * Allocate a pooled memory.
+     * @param capacity capacity.
+     * @param maxCapacity maximum capacity.
+     * @param readerIndex reader index.
+     * @param writerIndex writer index.
+     * @param checking bounds checking, if it doesn't match this pool the memory is allocated outside of the pool
+     *                 (ignored for {@link ByteBuf} memories).
+     * @return returns {@link Memory}.
+     * @throws IllegalArgumentException if capacity is out of range.
+     */
     @Override
     public Memory allocate(int capacity, int maxCapacity, int readerIndex, int writerIndex, boolean checking) {
         if (capacity > maxMemoryCapacity) {
             throw new IllegalArgumentException(String.format("capacity: %d <= %d", capacity, maxMemoryCapacity));
         }
-        if (maxCapacity > maxMemoryCapacity) {
-            throw new IllegalArgumentException(String.format("maxCapacity: %d <= %d", capacity, maxMemoryCapacity));
+        if (maxCapacity < capacity) {
+            throw new IllegalArgumentException(String.format("maxCapacity: %d (expected: >= capacity(%d))", maxCapacity, capacity));
+        }
+        Partition partition = partitions[partition()];
+        if (checking != this.checking && AbstractMemory.ACCESSOR_MEMORY) {
+            // pooled memories are all of the other kind
+            return nonPooled(partition, capacity, maxCapacity, readerIndex, writerIndex, checking);
+        }
+        boolean touch = preTouch || partitions.length > 1; // new blocks are created by a thread of this partition
+        Memory memory = partition.poll();
+        if (replenish) {
+            partition.checkWatermark();
+            if (memory != null) {
+                return pooled(partition, memory, capacity, maxCapacity, readerIndex, writerIndex, true);
+            }
+            if (partition.reserve()) {
+                // allocate a single memory, the rest is refilled in background
+                Memory newMemory = doAllocateForPooledMemory(partition, maxMemoryCapacity, maxMemoryCapacity, 0, 0, touch);
+                return pooled(partition, newMemory, capacity, maxCapacity, readerIndex, writerIndex, false);
+            }
+            return nonPooled(partition, capacity, maxCapacity, readerIndex, writerIndex, checking);
         }
-        Memory memory = Memories.poll(maxMemoryCapacity);
         if (memory != null) {
-            memory.setIndex(readerIndex, writerIndex);
-            return memory.capacity(capacity);
+            return pooled(partition, memory, capacity, maxCapacity, readerIndex, writerIndex, true);
+        }
+        // grow by a batch (up to the remaining pool size budget), keep the first new memory, other threads may
+        // take the rest from the pool before this thread could poll it again
+        int reserved = partition.reserve(Math.max(poolSize, 1));
+        if (reserved == 0) {
+            return nonPooled(partition, capacity, maxCapacity, readerIndex, writerIndex, checking);
+        }
+        Memory newMemory = doAllocateForPooledMemory(partition, maxMemoryCapacity, maxMemoryCapacity, 0, 0, touch);
+        for (int i = 1; i < reserved; i++) {
+            partition.pool.offer(doAllocateForPooledMemory(partition, maxMemoryCapacity, maxMemoryCapacity, 0, 0, touch));
+        }
+        return pooled(partition, newMemory, capacity, maxCapacity, readerIndex, writerIndex, false);
+    }
+
+    @Override
+    public MemoryAllocatorMetric metric() {
+        return metric;
+    }
+
+    @Override
+    public int partitions() {
+        return partitions.length;
+    }
+
+    @Override
+    public int partition() {
+        if (partitions.length == 1) {
+            return 0;
+        }
+        Integer affinity = AFFINITY.get();
+        int hash;
+        if (affinity != null) {
+            hash = affinity;
         } else {
-            if (moreMemoryCounter.get() > poolSize) {
-                for (int i = 0; i < poolSize; i++) {
-                    Memory newMemory = doAllocateForPooledMemory(maxMemoryCapacity, maxMemoryCapacity, 0, 0, checking);
-                    Memories.offer(newMemory);
-                    moreMemoryCounter.decrementAndGet();
-                }
-            } else {
-                if (moreMemoryCounter.get() == 0) {
-                    // allocate non pooled buffer
-                    if (Unsafe.HAS_UNSAFE) {
-                        long address = AbstractMemory.ACCESSOR.allocate(capacity);
-                        if (checking) {
-                            return new CheckedMemory(address, capacity, maxCapacity, readerIndex, writerIndex);
-                        }
-                        return new UncheckedMemory(address, capacity, maxCapacity, readerIndex, writerIndex);
-                    } else {
-                        ByteBuffer buffer = ByteBuffer.allocateDirect(capacity);
-                        return new ByteBuf(0, buffer, capacity, maxCapacity, readerIndex, writerIndex);
-                    }
-                }
-                while (moreMemoryCounter.get() > 0) {
-                    Memory newMemory = doAllocateForPooledMemory(maxMemoryCapacity, maxMemoryCapacity, 0, 0, checking);
-                    Memories.offer(newMemory);
-                    moreMemoryCounter.decrementAndGet();
-                }
-            }
+            // spread sequential thread id's
+            hash = (int) ((Thread.currentThread().getId() * 0x9E3779B97F4A7C15L) >>> 32) & Integer.MAX_VALUE;
         }
-        return Memories.poll(maxMemoryCapacity).capacity(capacity);
+        return hash % partitions.length;
+    }
+
+    @Override
+    public MemoryAllocatorMetric metric(int partition) {
+        return partition(partition).metric;
+    }
+
+    @Override
+    public int available(int partition) {
+        return partition(partition).pool.size();
+    }
+
+    /**
+     * @return returns number of free pooled memories (not including thread caches) of all partitions.
+     */
+    int available() {
+        int available = 0;
+        for (int i = 0; i < partitions.length; i++) {
+            available += partitions[i].pool.size();
+        }
+        return available;
+    }
+
+    @Override
+    public int trim() {
+        int trimmed = 0;
+        for (int i = 0; i < partitions.length; i++) {
+            trimmed += partitions[i].trim(Integer.MAX_VALUE);
+        }
+        return trimmed;
     }
 
     @Override
     public void close() {
-        Queue<PooledMemory> queue = Memories.POOLS.get(maxMemoryCapacity);
-        PooledMemory pooledMemory;
-        if (Unsafe.HAS_UNSAFE) {
-            while ((pooledMemory = queue.poll()) != null) {
-                AbstractMemory.ACCESSOR.deallocate(pooledMemory.get().memoryAddress());
+        closed = true;
+        Memories.POOLS.remove(maxMemoryCapacity, this);
+        if (trimTask != null) {
+            trimTask.cancel(false);
+        }
+        for (int i = 0; i < partitions.length; i++) {
+            partitions[i].close();
+        }
+        metric.close();
+    }
+
+    /**
+     * Return pooled memory to the partition which owns its block. The memory is cached by current thread only if
+     * current thread allocates from the same partition, otherwise it goes directly to the partition pool.
+     * @param memory pooled memory.
+     */
+    void offer(Memory memory) {
+        int index = ((PooledMemory) memory).partition();
+        Partition partition = partitions[index];
+        if (partition.cache != null && (partitions.length == 1 || index == partition())) {
+            partition.cache.offer(memory);
+        } else {
+            partition.pool.offer(memory);
+        }
+        if (partition.closed) {
+            partition.free();
+        }
+    }
+
+    /**
+     * Move the block of given pooled memory into a block of the smallest larger pool size class which has a free
+     * block, the content (up to the current capacity) is preserved. The pooled memory owning the larger block is taken
+     * from the partition pools (bypassing thread cache, starting from current thread partition), and given back
+     * the smaller block and offered to this allocator, so the number of pooled memory per size class
+     * (and per partition) doesn't change.
+     * @param memory pooled memory of this allocator.
+     * @param newCapacity new capacity.
+     * @throws IllegalArgumentException if there is no larger pool size class with a free block.
+     * @throws IllegalStateException if the memory is retained or sliced/duplicated (views still address the block).
+     */
+    void moveToLargerPool(PooledMemory memory, int newCapacity) {
+        ((AbstractMemory) memory).ensureMovable(newCapacity);
+        for (PooledMemoryAllocator largerAllocator : Memories.POOLS.tailMap(newCapacity).values()) {
+            if (largerAllocator.closed) {
+                continue;
+            }
+            Memory polled = largerAllocator.pollFree();
+            if (polled != null) {
+                PooledMemory larger = (PooledMemory) polled;
+                int largerPartition = larger.partition();
+                exchangeBlock(memory, larger);
+                larger.allocator(this);
+                larger.partition(memory.partition());
+                memory.allocator(largerAllocator);
+                memory.partition(largerPartition);
+                AbstractMemory abstractMemory = (AbstractMemory) memory;
+                abstractMemory.allocatorMetric.released(abstractMemory.allocatedBytes);
+                largerAllocator.partitions[largerPartition].metric.allocated(memory, largerAllocator.maxMemoryCapacity, true);
+                offer(polled);
+                return;
             }
+        }
+        throw new IllegalArgumentException(String.format(
+                "newCapacity: %d (expected: not greater than %d, no larger pool size class with free memory)",
+                newCapacity, maxMemoryCapacity));
+    }
+
+    /**
+     * Copy the content of {@code memory} into the block of {@code larger}, then exchange their blocks.
+     * @param memory pooled memory.
+     * @param larger pooled memory of larger pool size class.
+     */
+    private static void exchangeBlock(PooledMemory memory, PooledMemory larger) {
+        int length = memory.capacity();
+        if (memory instanceof UncheckedMemory) {
+            UncheckedMemory from = (UncheckedMemory) memory;
+            UncheckedMemory to = (UncheckedMemory) larger;
+            long address = to.address;
+            AbstractMemory.ACCESSOR.setBytes(address, 0, from.address, 0, length);
+            to.address = from.address;
+            from.address = address;
         } else {
-            while ((pooledMemory = queue.poll()) != null) {
-                // do nothing
+            ByteBuf from = (ByteBuf) memory;
+            ByteBuf to = (ByteBuf) larger;
+            ByteBuffer buffer = to.buffer;
+            AbstractMemory.duplicateRegion(buffer, 0, length).put(AbstractMemory.duplicateRegion(from.buffer, 0, length));
+            to.buffer(from.buffer);
+            from.buffer(buffer);
+        }
+    }
+
+    private Memory nonPooled(Partition partition, int capacity, int maxCapacity, int readerIndex, int writerIndex, boolean checking) {
+        Memory nonPooled;
+        if (AbstractMemory.ACCESSOR_MEMORY) {
+            long address = AbstractMemory.ACCESSOR.allocate(capacity);
+            if (checking) {
+                nonPooled = new CheckedMemory(address, capacity, maxCapacity, readerIndex, writerIndex);
+            } else {
+                nonPooled = new UncheckedMemory(address, capacity, maxCapacity, readerIndex, writerIndex);
             }
+        } else {
+            ByteBuffer buffer = ByteBuffer.allocateDirect(capacity);
+            nonPooled = new ByteBuf(0, buffer, capacity, maxCapacity, readerIndex, writerIndex);
         }
+        partition.metric.fallback();
+        partition.metric.allocated(nonPooled, capacity, false);
+        return MemoryLeakDetector.track(nonPooled);
+    }
+
+    private Memory pooled(Partition partition, Memory memory, int capacity, int maxCapacity, int readerIndex, int writerIndex, boolean hit) {
+        partition.metric.allocated(memory, maxMemoryCapacity, hit);
+        ((AbstractMemory) memory).maxCapacity = maxCapacity;
+        return MemoryLeakDetector.track(memory.capacity(capacity).setIndex(readerIndex, writerIndex));
+    }
+
+    /**
+     * Take a free memory from partition pools (bypassing thread caches), starting from current thread partition.
+     * @return returns pooled {@link Memory}, or null if all partition pools are empty or this allocator is closed.
+     */
+    private Memory pollFree() {
+        if (closed) {
+            return null;
+        }
+        int start = partition();
+        for (int i = 0; i < partitions.length; i++) {
+            Memory memory = partitions[(start + i) % partitions.length].pool.poll();
+            if (memory != null) {
+                return memory;
+            }
+        }
+        return null;
+    }
+
+    private Partition partition(int partition) {
+        Validate.notIllegalArgument(partition >= 0 && partition < partitions.length,
+                new IllegalArgumentException(String.format("partition: %d (expected: range(0, %d))",
+                        partition, partitions.length - 1)));
+        return partitions[partition];
     }
 
-    private Memory doAllocateForPooledMemory(int capacity, int maxCapacity, int readerIndex, int writerIndex, boolean checking) {
-        if (Unsafe.HAS_UNSAFE) {
+    private Memory doAllocateForPooledMemory(Partition partition, int capacity, int maxCapacity, int readerIndex, int writerIndex,
+                                             boolean touch) {
+        PooledMemory memory;
+        if (AbstractMemory.ACCESSOR_MEMORY) {
             long address = AbstractMemory.ACCESSOR.allocate(capacity);
             if (checking) {
-                return new PooledCheckedMemory(address, capacity, maxCapacity, readerIndex, writerIndex);
+                memory = new PooledCheckedMemory(this, address, capacity, maxCapacity, readerIndex, writerIndex);
+            } else {
+                memory = new PooledUncheckedMemory(this, address, capacity, capacity, readerIndex, writerIndex);
             }
-            return new PooledUncheckedMemory(address, capacity, capacity, readerIndex, writerIndex);
         } else {
             ByteBuffer buffer = ByteBuffer.allocateDirect(capacity);
-            Memory memory = new PooledByteBuf(0, buffer, capacity, capacity, readerIndex, writerIndex);
+            memory = new PooledByteBuf(this, 0, buffer, capacity, capacity, readerIndex, writerIndex);
+        }
+        memory.partition(partition.index);
+        if (touch && memory instanceof UncheckedMemory) {
+            touch((UncheckedMemory) memory);
+        }
+        return memory;
+    }
+
+    /**
+     * Write every page of the block of given pooled memory.
+     * @param memory pooled memory.
+     */
+    private void touch(UncheckedMemory memory) {
+        touched.incrementAndGet();
+        long address = memory.address;
+        for (int i = 0; i < maxMemoryCapacity; i += PAGE_SIZE) {
+            AbstractMemory.ACCESSOR.setByte(address + i, 0);
+        }
+    }
+
+    /**
+     * @return returns number of touched blocks.
+     */
+    int touched() {
+        return touched.get();
+    }
+
+    /**
+     * Single daemon thread shared by all pooled allocators (replenishment and idle trimming), started on first use.
+     */
+    private static final class Maintenance {
+
+        static final ScheduledExecutorService EXECUTOR = Executors.newSingleThreadScheduledExecutor(new ThreadFactory() {
+            @Override
+            public Thread newThread(Runnable runnable) {
+                Thread thread = new Thread(runnable, "common-memory-maintenance");
+                thread.setDaemon(true);
+                return thread;
+            }
+        });
+
+    }
+
+    /**
+     * Periodic idle trimming task, keeps the allocator (also referenced by {@link Memories#POOLS}) alive
+     * until it is cancelled by {@link #close()}.
+     */
+    private static final class IdleTrimmer implements Runnable {
+
+        private final PooledMemoryAllocator allocator;
+
+        IdleTrimmer(PooledMemoryAllocator allocator) {
+            this.allocator = allocator;
+        }
+
+        @Override
+        public void run() {
+            for (int i = 0; i < allocator.partitions.length; i++) {
+                allocator.partitions[i].trimIdle();
+            }
+        }
+
+    }
+
+    private final class Partition implements Runnable {
+
+        private final int index;
+        private final CountingMemoryQueue pool = new CountingMemoryQueue();
+        private final AtomicInteger moreMemoryCounter;
+        private final ThreadLocalMemoryCache cache;
+        private final DefaultMemoryAllocatorMetric metric;
+        private final AtomicBoolean replenishing = new AtomicBoolean();
+        private volatile boolean closed; // written while holding this
+        private volatile int minAvailable = Integer.MAX_VALUE; // lowest number of free memories since last idle trim
+
+        Partition(int index, int poolSize, int maxPoolSize, int threadCacheSize) {
+            this.index = index;
+            this.moreMemoryCounter = new AtomicInteger(maxPoolSize - poolSize);
+            this.cache = threadCacheSize > 0 ? new ThreadLocalMemoryCache(pool, threadCacheSize) : null;
+            if (partitions.length == 1) {
+                this.metric = PooledMemoryAllocator.this.metric;
+            } else {
+                this.metric = new DefaultMemoryAllocatorMetric("PooledPartition", PooledMemoryAllocator.this.metric);
+            }
+            for (int i = 0; i < poolSize; i++) {
+                pool.offer(doAllocateForPooledMemory(this, maxMemoryCapacity, maxMemoryCapacity, 0, 0, touchOthers));
+            }
+        }
+
+        /**
+         * Take one from the remaining pool size budget.
+         * @return returns true if a new memory may be allocated for this partition.
+         */
+        boolean reserve() {
+            return reserve(1) == 1;
+        }
+
+        /**
+         * Take up to {@code count} from the remaining pool size budget.
+         * @param count maximum number of new memories.
+         * @return returns number of new memories which may be allocated for this partition (0 if the budget is used up).
+         */
+        int reserve(int count) {
+            int more;
+            int reserved;
+            do {
+                more = moreMemoryCounter.get();
+                if (more <= 0) {
+                    return 0;
+                }
+                reserved = Math.min(more, count);
+            } while (!moreMemoryCounter.compareAndSet(more, more - reserved));
+            return reserved;
+        }
+
+        /**
+         * Schedule background refill if free memories are below low watermark.
+         */
+        void checkWatermark() {
+            if (pool.size() < lowWatermark && moreMemoryCounter.get() > 0 && !replenishing.get()
+                    && replenishing.compareAndSet(false, true)) {
+                try {
+                    Maintenance.EXECUTOR.execute(this);
+                } catch (RuntimeException e) {
+                    replenishing.set(false);
+                    throw e;
+                }
+            }
+        }
+
+        /**
+         * Refill up to high watermark (on replenisher thread).
+         */
+        @Override
+        public void run() {
+            try {
+                synchronized (this) {
+                    if (cache != null) {
+                        cache.reapDeadThreads();
+                    }
+                    while (!closed && pool.size() < highWatermark && reserve()) {
+                        pool.offer(doAllocateForPooledMemory(this, maxMemoryCapacity, maxMemoryCapacity, 0, 0, touchOthers));
+                    }
+                }
+            } finally {
+                replenishing.set(false);
+            }
+        }
+
+        /**
+         * Free up to {@code count} free memories of the pool, but keep at least trim floor (counting thread caches).
+         * Magazines of dead threads are returned to the pool first.
+         * @param count maximum number of memories to free.
+         * @return returns number of freed memories.
+         */
+        synchronized int trim(int count) {
+            int cached = 0;
+            if (cache != null) {
+                cache.reapDeadThreads();
+                cached = cache.cached();
+            }
+            int trimmed = 0;
+            Memory memory;
+            while (!closed && trimmed < count && pool.size() + cached > trimFloor && (memory = pool.poll()) != null) {
+                if (AbstractMemory.ACCESSOR_MEMORY) {
+                    AbstractMemory.ACCESSOR.deallocate(((UncheckedMemory) memory).address);
+                } // else the buffer is freed by garbage collector
+                moreMemoryCounter.incrementAndGet();
+                trimmed++;
+            }
+            return trimmed;
+        }
+
+        /**
+         * Free memories which stayed free since last call (on maintenance thread).
+         */
+        void trimIdle() {
+            if (cache != null) {
+                cache.reapDeadThreads();
+            }
+            int idle = minAvailable;
+            minAvailable = pool.size();
+            if (idle > 0 && idle != Integer.MAX_VALUE) {
+                trim(idle);
+            }
+        }
+
+        Memory poll() {
+            Memory memory;
+            if (cache != null) {
+                memory = cache.poll();
+            } else {
+                memory = pool.poll();
+            }
+            if (trimIdle) {
+                int available = pool.size();
+                if (available < minAvailable) {
+                    minAvailable = available;
+                }
+            }
+            if (memory != null) {
+                ((AbstractMemory) memory).resetRefCnt();
+            }
             return memory;
         }
+
+        synchronized void close() {
+            closed = true;
+            if (metric != PooledMemoryAllocator.this.metric) {
+                metric.close();
+            }
+            if (cache != null) {
+                cache.close();
+            }
+            free();
+        }
+
+        /**
+         * Free memories of the pool (after close).
+         */
+        void free() {
+            Memory pooledMemory;
+            if (AbstractMemory.ACCESSOR_MEMORY) {
+                while ((pooledMemory = pool.poll()) != null) {
+                    AbstractMemory.ACCESSOR.deallocate(((UncheckedMemory) pooledMemory).address);
+                }
+            } else {
+                while ((pooledMemory = pool.poll()) != null) {
+                    // do nothing
+                }
+            }
+        }
+
     }
 
 }
@@ -0,0 +1,177 @@
+package com.ardikars.common.memory;
+
+import com.ardikars.common.util.Builder;
+import com.ardikars.common.util.Validate;
+
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Builder of pooled {@link PartitionedMemoryAllocator}.
+ *
+ * @author <a href="mailto:contact@ardikars.com">Ardika Rommy Sanjaya</a>
+ */
+public final class PooledMemoryAllocatorBuilder implements Builder<PartitionedMemoryAllocator, Void> {
+
+    int poolSize = Math.max(Runtime.getRuntime().availableProcessors(), 15);
+    int maxPoolSize = Math.max(Runtime.getRuntime().availableProcessors() * 2, 15);
+    int maxMemoryCapacity;
+    int threadCacheSize;
+    int partitions = 1;
+    boolean checking = true;
+    boolean replenish;
+    int lowWatermark;
+    int highWatermark;
+    boolean preTouch;
+    int trimFloor = -1;
+    long trimIntervalMillis;
+
+    PooledMemoryAllocatorBuilder() {
+    }
+
+    /**
+     * Initial pool size (per partition).
+     * @param poolSize pool size.
+     * @return returns this {@code Builder} object.
+     */
+    public PooledMemoryAllocatorBuilder poolSize(int poolSize) {
+        this.poolSize = poolSize;
+        return this;
+    }
+
+    /**
+     * Maximum pool size (per partition), allocations beyond it fall back to unpooled buffer's.
+     * @param maxPoolSize maximum pool size.
+     * @return returns this {@code Builder} object.
+     */
+    public PooledMemoryAllocatorBuilder maxPoolSize(int maxPoolSize) {
+        this.maxPoolSize = maxPoolSize;
+        return this;
+    }
+
+    /**
+     * Memory capacity per buffer.
+     * @param maxMemoryCapacity memory capacity per buffer.
+     * @return returns this {@code Builder} object.
+     */
+    public PooledMemoryAllocatorBuilder maxMemoryCapacity(int maxMemoryCapacity) {
+        this.maxMemoryCapacity = maxMemoryCapacity;
+        return this;
+    }
+
+    /**
+     * Maximum number of cached buffer's per thread (0 to disable thread cache).
+     * @param threadCacheSize thread cache size.
+     * @return returns this {@code Builder} object.
+     */
+    public PooledMemoryAllocatorBuilder threadCacheSize(int threadCacheSize) {
+        this.threadCacheSize = threadCacheSize;
+        return this;
+    }
+
+    /**
+     * Number of partitions.
+     * @param partitions number of partitions.
+     * @return returns this {@code Builder} object.
+     */
+    public PooledMemoryAllocatorBuilder partitions(int partitions) {
+        this.partitions = partitions;
+        return this;
+    }
+
+    /**
+     * Bounds checking of pooled buffer's (default true). All buffer's of a pool are of the same kind, buffer's
+     * of the other kind are allocated outside of the pool.
+     * @param checking true for bounds checked buffer's, false for unchecked buffer's.
+     * @return returns this {@code Builder} object.
+     */
+    public PooledMemoryAllocatorBuilder checking(boolean checking) {
+        this.checking = checking;
+        return this;
+    }
+
+    /**
+     * Refill the pool asynchronously. When the number of free buffer's of a partition drops below
+     * {@code lowWatermark}, a background thread allocates new buffer's (up to maximum pool size) until there are
+     * {@code highWatermark} free buffer's, and an allocation from an empty pool allocates at most one new buffer
+     * instead of a batch.
+     * @param lowWatermark low watermark (non negative).
+     * @param highWatermark high watermark (greater than low watermark).
+     * @return returns this {@code Builder} object.
+     */
+    public PooledMemoryAllocatorBuilder replenish(int lowWatermark, int highWatermark) {
+        this.replenish = true;
+        this.lowWatermark = lowWatermark;
+        this.highWatermark = highWatermark;
+        return this;
+    }
+
+    /**
+     * Touch every page of pooled buffer's when they are allocated (like {@code MAP_POPULATE}),
+     * so the first use of a buffer doesn't page fault. If there are more than one partition, only buffer's allocated
+     * by a thread of the partition are touched, never by the constructing or the replenisher thread.
+     * @param preTouch true to touch pooled buffer's eagerly.
+     * @return returns this {@code Builder} object.
+     */
+    public PooledMemoryAllocatorBuilder preTouch(boolean preTouch) {
+        this.preTouch = preTouch;
+        return this;
+    }
+
+    /**
+     * Free idle buffer's periodically. Every {@code interval}, a partition frees the buffer's which stayed free
+     * during the whole interval (the lowest number of free buffer's seen), but keeps at least {@code floor}
+     * free buffer's (and at least high watermark, if replenishment is enabled).
+     * The floor is also used by {@link PartitionedMemoryAllocator#trim()}, default floor is initial pool size.
+     * @param floor minimum number of free buffer's per partition (non negative).
+     * @param interval trim interval (0 to disable periodic trimming).
+     * @param unit time unit of the interval.
+     * @return returns this {@code Builder} object.
+     */
+    public PooledMemoryAllocatorBuilder trim(int floor, long interval, TimeUnit unit) {
+        this.trimFloor = floor;
+        this.trimIntervalMillis = unit.toMillis(interval);
+        return this;
+    }
+
+    /**
+     * Build a pool and register it by its memory capacity (as a size class buffer's of smaller pools grow into).
+     * @return returns pooled {@link PartitionedMemoryAllocator}.
+     * @throws IllegalArgumentException if an option is out of range, or another open pool has the same memory capacity.
+     */
+    @Override
+    public PartitionedMemoryAllocator build() {
+        Validate.notIllegalArgument(maxMemoryCapacity > 0,
+                new IllegalArgumentException(String.format("maxMemoryCapacity: %d (expected: > 0)", maxMemoryCapacity)));
+        Validate.notIllegalArgument(poolSize >= 0,
+                new IllegalArgumentException(String.format("poolSize: %d (expected: >= 0)", poolSize)));
+        Validate.notIllegalArgument(maxPoolSize > 0 && maxPoolSize >= poolSize,
+                new IllegalArgumentException(String.format("maxPoolSize: %d (expected: > 0 and >= poolSize (%d))", maxPoolSize, poolSize)));
+        Validate.notIllegalArgument(partitions > 0,
+                new IllegalArgumentException(String.format("partitions: %d (expected: > 0)", partitions)));
+        Validate.notIllegalArgument(threadCacheSize >= 0,
+                new IllegalArgumentException(String.format("threadCacheSize: %d (expected: >= 0)", threadCacheSize)));
+        if (replenish) {
+            Validate.notIllegalArgument(lowWatermark >= 0,
+                    new IllegalArgumentException(String.format("lowWatermark: %d (expected: >= 0)", lowWatermark)));
+            Validate.notIllegalArgument(highWatermark > lowWatermark,
+                    new IllegalArgumentException(String.format("highWatermark: %d (expected: > lowWatermark (%d))", highWatermark, lowWatermark)));
+        }
+        synchronized (Memories.class) {
+            if (Memories.POOLS == null) {
+                Memories.POOLS = new ConcurrentSkipListMap<Integer, PooledMemoryAllocator>();
+            }
+            // closed pools unregister themselves, an open one would be silently replaced
+            Validate.notIllegalArgument(!Memories.POOLS.containsKey(maxMemoryCapacity),
+                    new IllegalArgumentException(String.format("maxMemoryCapacity: %d (expected: not used by another open pool)",
+                            maxMemoryCapacity)));
+            return new PooledMemoryAllocator(this);
+        }
+    }
+
+    @Override
+    public PartitionedMemoryAllocator build(Void value) {
+        throw new UnsupportedOperationException();
+    }
+
+}
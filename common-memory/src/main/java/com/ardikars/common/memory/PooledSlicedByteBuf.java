@@ -2,18 +2,60 @@ package com.ardikars.common.memory;
 
 import java.nio.ByteBuffer;
 
-class PooledSlicedByteBuf extends PooledByteBuf {
+/**
+ * Sliced (or duplicated) {@link PooledByteBuf}, sharing the reference count of its parent.
+ *
+ * @author <a href="mailto:contact@ardikars.com">Ardika Rommy Sanjaya</a>
+ */
+class PooledSlicedByteBuf extends ByteBuf {
 
-    PooledSlicedByteBuf(int capacity, int maxCapacity) {
-        super(capacity, maxCapacity);
+    private final Memory parent;
+
+    PooledSlicedByteBuf(Memory parent, int baseIndex, ByteBuffer buffer, int capacity,
+                        int readerIndex, int writerIndex) {
+        super(baseIndex, buffer, capacity, capacity, readerIndex, writerIndex);
+        this.parent = parent;
+    }
+
+    @Override
+    public PooledSlicedByteBuf capacity(int newCapacity) {
+        checkNewCapacity(newCapacity);
+        this.capacity = newCapacity;
+        return this;
+    }
+
+    @Override
+    public Memory slice(int index, int length) {
+        return ((AbstractMemory) parent).derived(new PooledSlicedByteBuf(parent, baseIndex + index, buffer.duplicate(), length,
+                readerIndex() - index, writerIndex() - index));
+    }
+
+    @Override
+    public Memory duplicate() {
+        return ((AbstractMemory) parent).derived(new PooledSlicedByteBuf(parent, baseIndex, buffer.duplicate(), capacity(),
+                readerIndex(), writerIndex()));
+    }
+
+    @Override
+    public int refCnt() {
+        return parent.refCnt();
+    }
+
+    @Override
+    public Memory retain() {
+        parent.retain();
+        return this;
     }
 
-    PooledSlicedByteBuf(int capacity, int maxCapacity, int readerIndex, int writerIndex) {
-        super(capacity, maxCapacity, readerIndex, writerIndex);
+    @Override
+    public Memory retain(int increment) {
+        parent.retain(increment);
+        return this;
     }
 
-    PooledSlicedByteBuf(int baseIndex, ByteBuffer buffer, int capacity, int maxCapacity, int readerIndex, int writerIndex) {
-        super(baseIndex, buffer, capacity, maxCapacity, readerIndex, writerIndex);
+    @Override
+    public void release() {
+        releaseView(parent);
     }
 
 }
@@ -1,9 +1,29 @@
 package com.ardikars.common.memory;
 
+/**
+ * Sliced (or duplicated) {@link PooledCheckedMemory}, sharing the reference count of its parent.
+ *
+ * @author <a href="mailto:contact@ardikars.com">Ardika Rommy Sanjaya</a>
+ */
 class PooledSlicedCheckedMemory extends SlicedCheckedMemory {
 
-    PooledSlicedCheckedMemory(long baseAddress, int baseCapacity, long address, int capacity, int maxCapacity, int readerIndex, int writerIndex) {
-        super(baseAddress, baseCapacity, address, capacity, maxCapacity, readerIndex, writerIndex);
+    PooledSlicedCheckedMemory(Memory parent, long baseAddress, int baseCapacity, long address, int capacity,
+                              int readerIndex, int writerIndex) {
+        super(parent, baseAddress, baseCapacity, address, capacity, readerIndex, writerIndex);
+    }
+
+    @Override
+    public PooledSlicedCheckedMemory slice(int index, int length) {
+        ensureAccessible(index, length);
+        return ((AbstractMemory) parent).derived(new PooledSlicedCheckedMemory(parent, baseAddress, baseCapacity, address + index, length,
+                readerIndex() - index, writerIndex() - index));
+    }
+
+    @Override
+    public PooledSlicedCheckedMemory duplicate() {
+        ensureAccessible();
+        return ((AbstractMemory) parent).derived(new PooledSlicedCheckedMemory(parent, baseAddress, baseCapacity, address, capacity,
+                readerIndex(), writerIndex()));
     }
 
 }
@@ -1,9 +1,27 @@
 package com.ardikars.common.memory;
 
+/**
+ * Sliced (or duplicated) {@link PooledUncheckedMemory}, sharing the reference count of its parent.
+ *
+ * @author <a href="mailto:contact@ardikars.com">Ardika Rommy Sanjaya</a>
+ */
 class PooledSlicedUncheckedMemory extends SlicedUncheckedMemory {
 
-    PooledSlicedUncheckedMemory(long baseAddress, int baseCapacity, long address, int capacity, int maxCapacity, int readerIndex, int writerIndex) {
-        super(baseAddress, baseCapacity, address, capacity, maxCapacity, readerIndex, writerIndex);
+    PooledSlicedUncheckedMemory(Memory parent, long baseAddress, int baseCapacity, long address, int capacity,
+                                int readerIndex, int writerIndex) {
+        super(parent, baseAddress, baseCapacity, address, capacity, readerIndex, writerIndex);
+    }
+
+    @Override
+    public PooledSlicedUncheckedMemory slice(int index, int length) {
+        return ((AbstractMemory) parent).derived(new PooledSlicedUncheckedMemory(parent, baseAddress, baseCapacity, address + index, length,
+                readerIndex() - index, writerIndex() - index));
+    }
+
+    @Override
+    public PooledSlicedUncheckedMemory duplicate() {
+        return ((AbstractMemory) parent).derived(new PooledSlicedUncheckedMemory(parent, baseAddress, baseCapacity, address, capacity,
+                readerIndex(), writerIndex()));
     }
 
 }
@@ -1,49 +1,74 @@
 package com.ardikars.common.memory;
 
-import com.ardikars.common.util.Validate;
+class PooledUncheckedMemory extends UncheckedMemory implements PooledMemory {
 
-class PooledUncheckedMemory extends UncheckedMemory {
+    private PooledMemoryAllocator allocator;
+    private int partition;
 
-    PooledUncheckedMemory(long address, int capacity, int maxCapacity) {
+    PooledUncheckedMemory(PooledMemoryAllocator allocator, long address, int capacity, int maxCapacity) {
         super(address, capacity, maxCapacity);
+        this.allocator = allocator;
     }
 
-    PooledUncheckedMemory(long address, int capacity, int maxCapacity, int readerIndex, int writerIndex) {
+    PooledUncheckedMemory(PooledMemoryAllocator allocator, long address, int capacity, int maxCapacity, int readerIndex, int writerIndex) {
         super(address, capacity, maxCapacity, readerIndex, writerIndex);
+        this.allocator = allocator;
+    }
+
+    @Override
+    public PooledMemoryAllocator allocator() {
+        return allocator;
+    }
+
+    @Override
+    public void allocator(PooledMemoryAllocator allocator) {
+        this.allocator = allocator;
+    }
+
+    @Override
+    public int partition() {
+        return partition;
+    }
+
+    @Override
+    public void partition(int partition) {
+        this.partition = partition;
     }
 
     @Override
     public PooledUncheckedMemory capacity(int newCapacity) {
-        Validate.notIllegalArgument(newCapacity <= maxCapacity,
-                new IllegalArgumentException(String.format("newCapacity <= maxCapacity: %s <= %s", newCapacity, maxCapacity)));
+        checkNewCapacity(newCapacity);
+        if (newCapacity > allocator.maxMemoryCapacity) {
+            allocator.moveToLargerPool(this, newCapacity);
+        }
         this.capacity = newCapacity;
         return this;
     }
 
     @Override
-    public PooledUncheckedMemory copy(int index, int length) {
-        long newAddress = ACCESSOR.allocate(length);
-        PooledUncheckedMemory memory = new PooledUncheckedMemory(newAddress, length, maxCapacity, readerIndex(), writerIndex());
-        if (length != 0) {
-            memory.setBytes(0, this, index, length);
+    int calculateNewCapacity(int minNewCapacity, int maxCapacity) {
+        // grow into the whole block first, it's already owned by this memory
+        if (minNewCapacity <= allocator.maxMemoryCapacity) {
+            return Math.min(allocator.maxMemoryCapacity, maxCapacity);
         }
-        return memory;
+        return super.calculateNewCapacity(minNewCapacity, maxCapacity);
     }
 
     @Override
     public PooledSlicedUncheckedMemory slice(int index, int length) {
-        return new PooledSlicedUncheckedMemory(address, capacity, address + index, length, maxCapacity, readerIndex() - index, writerIndex() - index);
+        return derived(new PooledSlicedUncheckedMemory(this, address, capacity, address + index, length, readerIndex() - index, writerIndex() - index));
     }
 
     @Override
-    public PooledUncheckedMemory duplicate() {
-        PooledUncheckedMemory memory = new PooledUncheckedMemory(address, capacity, maxCapacity, readerIndex(), writerIndex());
-        return memory;
+    public PooledSlicedUncheckedMemory duplicate() {
+        return derived(new PooledSlicedUncheckedMemory(this, address, capacity, address, capacity, readerIndex(), writerIndex()));
     }
 
     @Override
     public void release() {
-        Memories.offer(this);
+        if (decrementRefCnt()) {
+            allocator.offer(this);
+        }
     }
 
 }
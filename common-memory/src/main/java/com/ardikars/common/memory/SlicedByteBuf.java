@@ -2,18 +2,64 @@ package com.ardikars.common.memory;
 
 import java.nio.ByteBuffer;
 
+/**
+ * Sliced (or duplicated) {@link ByteBuf}, sharing the reference count of its parent.
+ *
+ * @author <a href="mailto:contact@ardikars.com">Ardika Rommy Sanjaya</a>
+ */
 class SlicedByteBuf extends ByteBuf {
 
-    SlicedByteBuf(int capacity, int maxCapacity) {
-        this(capacity, maxCapacity, 0, 0);
+    private final Memory parent;
+
+    SlicedByteBuf(Memory parent, int baseIndex, ByteBuffer buffer, int capacity, int readerIndex, int writerIndex) {
+        super(baseIndex, buffer, capacity, capacity, readerIndex, writerIndex);
+        this.parent = parent;
+    }
+
+    /**
+     * A slice can't replace (or grow beyond) the buffer's of its parent, capacity can only be changed within the slice.
+     * @param newCapacity new capacity.
+     * @return returns this {@link SlicedByteBuf}.
+     */
+    @Override
+    public SlicedByteBuf capacity(int newCapacity) {
+        checkNewCapacity(newCapacity);
+        this.capacity = newCapacity;
+        return this;
+    }
+
+    @Override
+    public SlicedByteBuf slice(int index, int length) {
+        return ((AbstractMemory) parent).derived(new SlicedByteBuf(parent, baseIndex + index, buffer.duplicate(), length,
+                readerIndex() - index, writerIndex() - index));
+    }
+
+    @Override
+    public SlicedByteBuf duplicate() {
+        return ((AbstractMemory) parent).derived(new SlicedByteBuf(parent, baseIndex, buffer.duplicate(), capacity(),
+                readerIndex(), writerIndex()));
     }
 
-    SlicedByteBuf(int capacity, int maxCapacity, int readerIndex, int writerIndex) {
-        this(0, null, capacity, maxCapacity, readerIndex, writerIndex);
+    @Override
+    public int refCnt() {
+        return parent.refCnt();
+    }
+
+    @Override
+    public Memory retain() {
+        parent.retain();
+        return this;
     }
 
-    SlicedByteBuf(int baseIndex, ByteBuffer buffer, int capacity, int maxCapacity, int readerIndex, int writerIndex) {
-        super(baseIndex, buffer, capacity, maxCapacity, readerIndex, writerIndex);
+    @Override
+    public Memory retain(int increment) {
+        parent.retain(increment);
+        return this;
+    }
+
+    @Override
+    public void release() {
+        releaseView(parent);
     }
 
     @Override
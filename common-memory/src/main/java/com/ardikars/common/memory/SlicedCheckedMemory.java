@@ -4,32 +4,77 @@ import java.nio.ByteBuffer;
 
 /**
  * Sliced {@link CheckedMemory}.
- * Memory address on this {@link SlicedCheckedMemory} is parent memory address + some index.
+ * Memory address on this {@link SlicedCheckedMemory} is parent memory address + some index,
+ * it shares the reference count of its parent.
  *
  * @author <a href="mailto:contact@ardikars.com">Ardika Rommy Sanjaya</a>
  */
 class SlicedCheckedMemory extends CheckedMemory {
 
-    private final long baseAddress;
-    private final int baseCapacity;
+    final Memory parent;
+    final long baseAddress;
+    final int baseCapacity;
 
-    public SlicedCheckedMemory(long baseAddress, int baseCapacity, long address, int capacity, int maxCapacity, int readerIndex, int writerIndex) {
-        super(address, capacity, maxCapacity, readerIndex, writerIndex);
+    public SlicedCheckedMemory(Memory parent, long baseAddress, int baseCapacity, long address, int capacity, int readerIndex, int writerIndex) {
+        super(address, capacity, capacity, readerIndex, writerIndex);
+        this.parent = parent;
         this.baseAddress = baseAddress;
         this.baseCapacity = baseCapacity;
     }
 
+    /**
+     * A slice can't move (or grow beyond) the block of its parent, capacity can only be changed within the slice.
+     * @param newCapacity new capacity.
+     * @return returns this {@link SlicedCheckedMemory}.
+     */
+    @Override
+    public SlicedCheckedMemory capacity(int newCapacity) {
+        ensureAccessible();
+        checkNewCapacity(newCapacity);
+        this.capacity = newCapacity;
+        return this;
+    }
+
     @Override
     public ByteBuffer nioBuffer() {
         ensureAccessible(0, baseCapacity);
         return ACCESSOR.nioBuffer(baseAddress, baseCapacity);
     }
 
+    @Override
+    public SlicedCheckedMemory slice(int index, int length) {
+        ensureAccessible(index, length);
+        return ((AbstractMemory) parent).derived(new SlicedCheckedMemory(parent, baseAddress, baseCapacity, address + index, length,
+                readerIndex() - index, writerIndex() - index));
+    }
+
+    @Override
+    public SlicedCheckedMemory duplicate() {
+        ensureAccessible();
+        return ((AbstractMemory) parent).derived(new SlicedCheckedMemory(parent, baseAddress, baseCapacity, address, capacity,
+                readerIndex(), writerIndex()));
+    }
+
+    @Override
+    public int refCnt() {
+        return parent.refCnt();
+    }
+
+    @Override
+    public Memory retain() {
+        parent.retain();
+        return this;
+    }
+
+    @Override
+    public Memory retain(int increment) {
+        parent.retain(increment);
+        return this;
+    }
+
     @Override
     public void release() {
-        if (!freed) {
-            ACCESSOR.deallocate(baseAddress);
-        }
+        releaseView(parent);
     }
 
 }
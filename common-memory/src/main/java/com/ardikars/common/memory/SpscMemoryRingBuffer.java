@@ -0,0 +1,24 @@
+package com.ardikars.common.memory;
+
+/**
+ * Single-producer {@link MemoryRingBuffer}.
+ *
+ * @author <a href="mailto:contact@ardikars.com">Ardika Rommy Sanjaya</a>
+ */
+final class SpscMemoryRingBuffer extends AbstractMemoryRingBuffer {
+
+    SpscMemoryRingBuffer(MemoryAllocator allocator, int capacity) {
+        super(allocator, capacity);
+    }
+
+    @Override
+    long claimPosition(int recordLength) {
+        long position = counters.get(TAIL_CLAIM);
+        if (!hasSpace(position, recordLength)) {
+            return -1;
+        }
+        counters.lazySet(TAIL_CLAIM, position + recordLength);
+        return position;
+    }
+
+}
@@ -0,0 +1,50 @@
+package com.ardikars.common.memory;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Counter spread across padded cells, indexed by thread id, so concurrent updates
+ * don't contend on a single cache line.
+ *
+ * @author <a href="mailto:contact@ardikars.com">Ardika Rommy Sanjaya</a>
+ */
+final class StripedCounter {
+
+    private static final int PADDING = 8; // 64 bytes cache line
+
+    private static final int STRIPES;
+
+    private final AtomicLongArray cells = new AtomicLongArray(STRIPES * PADDING);
+
+    void increment() {
+        add(1L);
+    }
+
+    void add(long delta) {
+        cells.getAndAdd(index(), delta);
+    }
+
+    long sum() {
+        long sum = 0L;
+        for (int i = 0; i < STRIPES; i++) {
+            sum += cells.get(i * PADDING);
+        }
+        return sum;
+    }
+
+    private static int index() {
+        long id = Thread.currentThread().getId();
+        int hash = (int) (id ^ (id >>> 32)) * 0x9E3779B9;
+        return ((hash ^ (hash >>> 16)) & (STRIPES - 1)) * PADDING;
+    }
+
+    static {
+        int processors = Runtime.getRuntime().availableProcessors() * 2;
+        int stripes = 1;
+        while (stripes < processors && stripes < 64) {
+            stripes <<= 1;
+        }
+        STRIPES = stripes;
+    }
+
+}
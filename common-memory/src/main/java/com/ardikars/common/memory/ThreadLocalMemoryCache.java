@@ -0,0 +1,171 @@
+package com.ardikars.common.memory;
+
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+
+/**
+ * Per thread magazine (bounded stack) of pooled {@link Memory} in front of a shared pool queue.
+ * Poll and offer on the owner thread doesn't touch the shared queue until the magazine is empty (refill)
+ * or full (flush), both done in batch. A magazine is only popped by its owner, magazines of dead threads are returned
+ * to the shared queue by {@link #reapDeadThreads()}. Once the cache is closed, the owner returns its magazine
+ * to the shared queue on next use and bypasses the magazine.
+ *
+ * @author <a href="mailto:contact@ardikars.com">Ardika Rommy Sanjaya</a>
+ */
+final class ThreadLocalMemoryCache {
+
+    private final Queue<Memory> pool;
+    private final int maxCachedMemories;
+    private final int batchSize;
+
+    private final List<Magazine> magazines = new ArrayList<Magazine>();
+
+    private volatile boolean closed;
+
+    private final ThreadLocal<Magazine> threadLocalMagazine = new ThreadLocal<Magazine>() {
+        @Override
+        protected Magazine initialValue() {
+            Magazine magazine = new Magazine(Thread.currentThread(), maxCachedMemories);
+            synchronized (magazines) {
+                magazines.add(magazine);
+            }
+            return magazine;
+        }
+    };
+
+    ThreadLocalMemoryCache(Queue<Memory> pool, int maxCachedMemories) {
+        this.pool = pool;
+        this.maxCachedMemories = maxCachedMemories;
+        this.batchSize = Math.max(maxCachedMemories >>> 1, 1);
+    }
+
+    /**
+     * Take a memory from current thread magazine, refill the magazine from shared pool if it's empty.
+     * @return returns pooled {@link Memory}, or null if both magazine and shared pool is empty.
+     */
+    Memory poll() {
+        Magazine magazine = threadLocalMagazine.get();
+        if (closed) {
+            magazine.drain(pool, magazine.size);
+            return pool.poll();
+        }
+        if (magazine.size == 0) {
+            refill(magazine);
+        }
+        return magazine.pop();
+    }
+
+    /**
+     * Put a memory into current thread magazine, flush half of the magazine into shared pool if it's full.
+     * @param memory pooled memory.
+     */
+    void offer(Memory memory) {
+        Magazine magazine = threadLocalMagazine.get();
+        if (closed) {
+            magazine.drain(pool, magazine.size);
+            pool.offer(memory);
+            return;
+        }
+        if (magazine.size == magazine.memories.length) {
+            magazine.drain(pool, batchSize);
+        }
+        magazine.push(memory);
+    }
+
+    /**
+     * Close this cache, magazines of current and dead threads are returned into shared pool now,
+     * magazines of other live threads are returned by their owner on next {@link #poll()} or {@link #offer(Memory)}.
+     */
+    void close() {
+        closed = true;
+        Magazine magazine = threadLocalMagazine.get();
+        magazine.drain(pool, magazine.size);
+        reapDeadThreads();
+    }
+
+    /**
+     * @return returns number of memories in all magazines (may be stale for magazines of other live threads).
+     */
+    int cached() {
+        int cached = 0;
+        synchronized (magazines) {
+            for (int i = 0; i < magazines.size(); i++) {
+                cached += magazines.get(i).size;
+            }
+        }
+        return cached;
+    }
+
+    /**
+     * Return magazines of dead threads into shared pool.
+     */
+    void reapDeadThreads() {
+        synchronized (magazines) {
+            Iterator<Magazine> iterator = magazines.iterator();
+            while (iterator.hasNext()) {
+                Magazine magazine = iterator.next();
+                Thread owner = magazine.owner.get();
+                if (owner == null || !owner.isAlive()) {
+                    magazine.drain(pool, magazine.size);
+                    iterator.remove();
+                }
+            }
+        }
+    }
+
+    private void refill(Magazine magazine) {
+        Memory memory;
+        for (int i = 0; i < batchSize && (memory = pool.poll()) != null; i++) {
+            magazine.push(memory);
+        }
+        if (magazine.size == 0) {
+            reapDeadThreads();
+            for (int i = 0; i < batchSize && (memory = pool.poll()) != null; i++) {
+                magazine.push(memory);
+            }
+        }
+    }
+
+    private static final class Magazine {
+
+        private static final AtomicIntegerFieldUpdater<Magazine> SIZE = AtomicIntegerFieldUpdater.newUpdater(Magazine.class, "size");
+
+        private final WeakReference<Thread> owner;
+        private final Memory[] memories;
+        private volatile int size; // written by owner (or by reaper once the owner is dead), read by others for accounting
+
+        Magazine(Thread owner, int maxCachedMemories) {
+            this.owner = new WeakReference<Thread>(owner);
+            this.memories = new Memory[maxCachedMemories];
+        }
+
+        void push(Memory memory) {
+            int size = this.size;
+            memories[size] = memory;
+            SIZE.lazySet(this, size + 1);
+        }
+
+        Memory pop() {
+            int size = this.size - 1;
+            if (size < 0) {
+                return null;
+            }
+            Memory memory = memories[size];
+            memories[size] = null;
+            SIZE.lazySet(this, size);
+            return memory;
+        }
+
+        void drain(Queue<Memory> pool, int count) {
+            while (count-- > 0 && size > 0) {
+                pool.offer(pop());
+            }
+        }
+
+    }
+
+}
@@ -1,6 +1,5 @@
 package com.ardikars.common.memory;
 
-import com.ardikars.common.memory.internal.UnsafeHelper;
 
 import java.nio.ByteBuffer;
 
@@ -13,6 +12,13 @@ class UncheckedMemory extends AbstractMemory {
 
     long address;
 
+    ByteBuffer tmpNioBuffer;
+    private long tmpNioBufferAddress;
+
+    // blocks moved away from while derived views still addressed them, freed on the last release
+    private long[] retiredAddresses;
+    private int retiredCount;
+
     UncheckedMemory(long address, int capacity, int maxCapacity) {
         super(capacity, maxCapacity);
         this.address = address;
@@ -26,12 +32,35 @@ class UncheckedMemory extends AbstractMemory {
     @Override
     public UncheckedMemory capacity(int newCapacity) {
         checkNewCapacity(newCapacity);
-        this.address = ACCESSOR.reallocate(address, newCapacity);
+        move(newCapacity);
         this.capacity = newCapacity;
         this.maxCapacity = maxCapacity > newCapacity ? maxCapacity : newCapacity;
         return this;
     }
 
+    /**
+     * Move this buffer's to a block of the new capacity. The current block isn't freed while a derived view
+     * (not released yet) still addresses it, it's freed on the last release instead.
+     * @param newCapacity new capacity.
+     */
+    final void move(int newCapacity) {
+        if (!hasViews()) {
+            this.address = ACCESSOR.reallocate(address, newCapacity);
+            return;
+        }
+        long newAddress = ACCESSOR.allocate(newCapacity);
+        ACCESSOR.getBytes(address, 0, newAddress, 0, Math.min(capacity, newCapacity));
+        if (retiredAddresses == null) {
+            retiredAddresses = new long[2];
+        } else if (retiredCount == retiredAddresses.length) {
+            long[] newRetiredAddresses = new long[retiredCount << 1];
+            System.arraycopy(retiredAddresses, 0, newRetiredAddresses, 0, retiredCount);
+            retiredAddresses = newRetiredAddresses;
+        }
+        retiredAddresses[retiredCount++] = address;
+        this.address = newAddress;
+    }
+
     @Override
     public byte getByte(int index) {
         return ACCESSOR.getByte(addr(index));
@@ -69,6 +98,16 @@ class UncheckedMemory extends AbstractMemory {
 
     @Override
     public UncheckedMemory getBytes(int index, Memory dst, int dstIndex, int length) {
+        if (dst instanceof CompositeMemory) {
+            // has no single memory address
+            dst.setBytes(dstIndex, this, index, length);
+            return this;
+        }
+        if (dst.memoryAddress() == 0) {
+            // heap or ByteBuffer memory without Unsafe, copy through the nio buffer's
+            ((AbstractMemory) dst).internalNioBuffer(dstIndex, length).put(internalNioBuffer(index, length));
+            return this;
+        }
         ACCESSOR.getBytes(address, index, dst.memoryAddress(), dstIndex, length);
         return this;
     }
@@ -130,6 +169,16 @@ class UncheckedMemory extends AbstractMemory {
 
     @Override
     public UncheckedMemory setBytes(int index, Memory src, int srcIndex, int length) {
+        if (src instanceof CompositeMemory) {
+            // has no single memory address
+            src.getBytes(srcIndex, this, index, length);
+            return this;
+        }
+        if (src.memoryAddress() == 0) {
+            // heap or ByteBuffer memory without Unsafe, copy through the nio buffer's
+            internalNioBuffer(index, length).put(((AbstractMemory) src).internalNioBuffer(srcIndex, length));
+            return this;
+        }
         ACCESSOR.setBytes(address, index, src.memoryAddress(), srcIndex, length);
         return this;
     }
@@ -140,6 +189,102 @@ class UncheckedMemory extends AbstractMemory {
         return this;
     }
 
+    @Override
+    public UncheckedMemory getShorts(int index, short[] dst, int dstIndex, int length) {
+        ACCESSOR.getShorts(addr(index), dst, dstIndex, length, true);
+        return this;
+    }
+
+    @Override
+    public UncheckedMemory getShortsLE(int index, short[] dst, int dstIndex, int length) {
+        ACCESSOR.getShorts(addr(index), dst, dstIndex, length, false);
+        return this;
+    }
+
+    @Override
+    public UncheckedMemory setShorts(int index, short[] src, int srcIndex, int length) {
+        ACCESSOR.setShorts(addr(index), src, srcIndex, length, true);
+        return this;
+    }
+
+    @Override
+    public UncheckedMemory setShortsLE(int index, short[] src, int srcIndex, int length) {
+        ACCESSOR.setShorts(addr(index), src, srcIndex, length, false);
+        return this;
+    }
+
+    @Override
+    public UncheckedMemory getInts(int index, int[] dst, int dstIndex, int length) {
+        ACCESSOR.getInts(addr(index), dst, dstIndex, length, true);
+        return this;
+    }
+
+    @Override
+    public UncheckedMemory getIntsLE(int index, int[] dst, int dstIndex, int length) {
+        ACCESSOR.getInts(addr(index), dst, dstIndex, length, false);
+        return this;
+    }
+
+    @Override
+    public UncheckedMemory setInts(int index, int[] src, int srcIndex, int length) {
+        ACCESSOR.setInts(addr(index), src, srcIndex, length, true);
+        return this;
+    }
+
+    @Override
+    public UncheckedMemory setIntsLE(int index, int[] src, int srcIndex, int length) {
+        ACCESSOR.setInts(addr(index), src, srcIndex, length, false);
+        return this;
+    }
+
+    @Override
+    public UncheckedMemory getLongs(int index, long[] dst, int dstIndex, int length) {
+        ACCESSOR.getLongs(addr(index), dst, dstIndex, length, true);
+        return this;
+    }
+
+    @Override
+    public UncheckedMemory getLongsLE(int index, long[] dst, int dstIndex, int length) {
+        ACCESSOR.getLongs(addr(index), dst, dstIndex, length, false);
+        return this;
+    }
+
+    @Override
+    public UncheckedMemory setLongs(int index, long[] src, int srcIndex, int length) {
+        ACCESSOR.setLongs(addr(index), src, srcIndex, length, true);
+        return this;
+    }
+
+    @Override
+    public UncheckedMemory setLongsLE(int index, long[] src, int srcIndex, int length) {
+        ACCESSOR.setLongs(addr(index), src, srcIndex, length, false);
+        return this;
+    }
+
+    @Override
+    public UncheckedMemory getDoubles(int index, double[] dst, int dstIndex, int length) {
+        ACCESSOR.getDoubles(addr(index), dst, dstIndex, length, true);
+        return this;
+    }
+
+    @Override
+    public UncheckedMemory getDoublesLE(int index, double[] dst, int dstIndex, int length) {
+        ACCESSOR.getDoubles(addr(index), dst, dstIndex, length, false);
+        return this;
+    }
+
+    @Override
+    public UncheckedMemory setDoubles(int index, double[] src, int srcIndex, int length) {
+        ACCESSOR.setDoubles(addr(index), src, srcIndex, length, true);
+        return this;
+    }
+
+    @Override
+    public UncheckedMemory setDoublesLE(int index, double[] src, int srcIndex, int length) {
+        ACCESSOR.setDoubles(addr(index), src, srcIndex, length, false);
+        return this;
+    }
+
     @Override
     public UncheckedMemory writeBytes(Memory src, int length) {
         writeBytes(src, src.readerIndex(), length);
@@ -164,18 +309,18 @@ class UncheckedMemory extends AbstractMemory {
         if (length != 0) {
             memory.setBytes(0, this, index, length);
         }
-        return memory;
+        return MemoryLeakDetector.track(memory);
     }
 
     @Override
     public UncheckedMemory slice(int index, int length) {
-        return new SlicedUncheckedMemory(address, capacity, address + index, length, maxCapacity, readerIndex() - index, writerIndex() - index);
+        return derived(new SlicedUncheckedMemory(this, address, capacity, address + index, length, readerIndex() - index, writerIndex() - index));
     }
 
     @Override
     public UncheckedMemory duplicate() {
-        UncheckedMemory memory = new UncheckedMemory(address, capacity, maxCapacity, readerIndex(), writerIndex());
-        return memory;
+        UncheckedMemory memory = new SlicedUncheckedMemory(this, address, capacity, address, capacity, readerIndex(), writerIndex());
+        return derived(memory);
     }
 
     @Override
@@ -183,14 +328,55 @@ class UncheckedMemory extends AbstractMemory {
         return ACCESSOR.nioBuffer(memoryAddress(), capacity);
     }
 
+    @Override
+    ByteBuffer nioBuffer(int index, int length) {
+        return ACCESSOR.nioBuffer(addr(index), length);
+    }
+
+    @Override
+    ByteBuffer internalNioBuffer(int index, int length) {
+        ByteBuffer tmp = tmpNioBuffer;
+        if (tmp == null || tmpNioBufferAddress != address || tmp.capacity() < capacity) {
+            // wrapped again only after the memory is moved or grown
+            tmp = ACCESSOR.nioBuffer(address, capacity);
+            tmpNioBuffer = tmp;
+            tmpNioBufferAddress = address;
+        }
+        return region(tmp, index, length);
+    }
+
     @Override
     public void release() {
-        if (!freed) {
-            UnsafeHelper.getUnsafe().freeMemory(memoryAddress());
-            freed = true;
+        if (decrementRefCnt()) {
+            ACCESSOR.deallocate(address);
+            for (int i = 0; i < retiredCount; i++) {
+                ACCESSOR.deallocate(retiredAddresses[i]);
+            }
+            retiredAddresses = null;
+            retiredCount = 0;
         }
     }
 
+    @Override
+    byte getByteUnchecked(int index) {
+        return ACCESSOR.getByte(addr(index));
+    }
+
+    @Override
+    long getLongUnchecked(int index) {
+        return ACCESSOR.getLong(addr(index));
+    }
+
+    @Override
+    void setByteUnchecked(int index, int value) {
+        ACCESSOR.setByte(addr(index), value);
+    }
+
+    @Override
+    void setLongUnchecked(int index, long value) {
+        ACCESSOR.setLong(addr(index), value);
+    }
+
     final long addr(int index) {
         return address + index;
     }
@@ -1,5 +1,6 @@
 package com.ardikars.common.memory.accessor;
 
+import com.ardikars.common.memory.internal.BulkMemoryAccessor;
 import com.ardikars.common.memory.internal.ByteBufferHelper;
 import com.ardikars.common.memory.internal.UnsafeHelper;
 
@@ -12,11 +13,17 @@ import sun.misc.Unsafe;
  *
  * @author <a href="mailto:contact@ardikars.com">Ardika Rommy Sanjaya</a>
  */
-abstract class AbstractMemoryAcessor implements MemoryAccessor {
+abstract class AbstractMemoryAcessor implements BulkMemoryAccessor {
 
     static final Unsafe UNSAFE = UnsafeHelper.getUnsafe();
 
     static final int BYTE_ARRAY_OFFSET = UNSAFE.arrayBaseOffset(byte[].class);
+    static final int SHORT_ARRAY_OFFSET = UNSAFE.arrayBaseOffset(short[].class);
+    static final int INT_ARRAY_OFFSET = UNSAFE.arrayBaseOffset(int[].class);
+    static final int LONG_ARRAY_OFFSET = UNSAFE.arrayBaseOffset(long[].class);
+    static final int DOUBLE_ARRAY_OFFSET = UNSAFE.arrayBaseOffset(double[].class);
+
+    private static final long UNSAFE_COPY_THRESHOLD = 1024L * 1024L;
 
     @Override
     public long allocate(int size) {
@@ -68,4 +75,122 @@ abstract class AbstractMemoryAcessor implements MemoryAccessor {
         UNSAFE.copyMemory(src, (long) (BYTE_ARRAY_OFFSET + srcIndex), null, dstAddr + index, size);
     }
 
+    @Override
+    public void setMemory(long addr, int size, int val) {
+        UNSAFE.setMemory(addr, size, (byte) val);
+    }
+
+    @Override
+    public void getShorts(long srcAddr, short[] dst, int dstIndex, int length, boolean bigEndian) {
+        copyMemory(null, srcAddr, dst, SHORT_ARRAY_OFFSET + ((long) dstIndex << 1), (long) length << 1);
+        if (bigEndian != MemoryAccessors.BIG_ENDIAN_NATIVE_ORDER) {
+            for (int i = dstIndex; i < dstIndex + length; i++) {
+                dst[i] = Short.reverseBytes(dst[i]);
+            }
+        }
+    }
+
+    @Override
+    public void setShorts(long dstAddr, short[] src, int srcIndex, int length, boolean bigEndian) {
+        if (bigEndian == MemoryAccessors.BIG_ENDIAN_NATIVE_ORDER) {
+            copyMemory(src, SHORT_ARRAY_OFFSET + ((long) srcIndex << 1), null, dstAddr, (long) length << 1);
+        } else if (bigEndian) {
+            for (int i = 0; i < length; i++) {
+                setShort(dstAddr + ((long) i << 1), src[srcIndex + i]);
+            }
+        } else {
+            for (int i = 0; i < length; i++) {
+                setShortLE(dstAddr + ((long) i << 1), src[srcIndex + i]);
+            }
+        }
+    }
+
+    @Override
+    public void getInts(long srcAddr, int[] dst, int dstIndex, int length, boolean bigEndian) {
+        copyMemory(null, srcAddr, dst, INT_ARRAY_OFFSET + ((long) dstIndex << 2), (long) length << 2);
+        if (bigEndian != MemoryAccessors.BIG_ENDIAN_NATIVE_ORDER) {
+            for (int i = dstIndex; i < dstIndex + length; i++) {
+                dst[i] = Integer.reverseBytes(dst[i]);
+            }
+        }
+    }
+
+    @Override
+    public void setInts(long dstAddr, int[] src, int srcIndex, int length, boolean bigEndian) {
+        if (bigEndian == MemoryAccessors.BIG_ENDIAN_NATIVE_ORDER) {
+            copyMemory(src, INT_ARRAY_OFFSET + ((long) srcIndex << 2), null, dstAddr, (long) length << 2);
+        } else if (bigEndian) {
+            for (int i = 0; i < length; i++) {
+                setInt(dstAddr + ((long) i << 2), src[srcIndex + i]);
+            }
+        } else {
+            for (int i = 0; i < length; i++) {
+                setIntLE(dstAddr + ((long) i << 2), src[srcIndex + i]);
+            }
+        }
+    }
+
+    @Override
+    public void getLongs(long srcAddr, long[] dst, int dstIndex, int length, boolean bigEndian) {
+        copyMemory(null, srcAddr, dst, LONG_ARRAY_OFFSET + ((long) dstIndex << 3), (long) length << 3);
+        if (bigEndian != MemoryAccessors.BIG_ENDIAN_NATIVE_ORDER) {
+            for (int i = dstIndex; i < dstIndex + length; i++) {
+                dst[i] = Long.reverseBytes(dst[i]);
+            }
+        }
+    }
+
+    @Override
+    public void setLongs(long dstAddr, long[] src, int srcIndex, int length, boolean bigEndian) {
+        if (bigEndian == MemoryAccessors.BIG_ENDIAN_NATIVE_ORDER) {
+            copyMemory(src, LONG_ARRAY_OFFSET + ((long) srcIndex << 3), null, dstAddr, (long) length << 3);
+        } else if (bigEndian) {
+            for (int i = 0; i < length; i++) {
+                setLong(dstAddr + ((long) i << 3), src[srcIndex + i]);
+            }
+        } else {
+            for (int i = 0; i < length; i++) {
+                setLongLE(dstAddr + ((long) i << 3), src[srcIndex + i]);
+            }
+        }
+    }
+
+    @Override
+    public void getDoubles(long srcAddr, double[] dst, int dstIndex, int length, boolean bigEndian) {
+        copyMemory(null, srcAddr, dst, DOUBLE_ARRAY_OFFSET + ((long) dstIndex << 3), (long) length << 3);
+        if (bigEndian != MemoryAccessors.BIG_ENDIAN_NATIVE_ORDER) {
+            for (int i = dstIndex; i < dstIndex + length; i++) {
+                dst[i] = Double.longBitsToDouble(Long.reverseBytes(Double.doubleToRawLongBits(dst[i])));
+            }
+        }
+    }
+
+    @Override
+    public void setDoubles(long dstAddr, double[] src, int srcIndex, int length, boolean bigEndian) {
+        if (bigEndian == MemoryAccessors.BIG_ENDIAN_NATIVE_ORDER) {
+            copyMemory(src, DOUBLE_ARRAY_OFFSET + ((long) srcIndex << 3), null, dstAddr, (long) length << 3);
+        } else if (bigEndian) {
+            for (int i = 0; i < length; i++) {
+                setLong(dstAddr + ((long) i << 3), Double.doubleToRawLongBits(src[srcIndex + i]));
+            }
+        } else {
+            for (int i = 0; i < length; i++) {
+                setLongLE(dstAddr + ((long) i << 3), Double.doubleToRawLongBits(src[srcIndex + i]));
+            }
+        }
+    }
+
+    /**
+     * Copy memory in chunk's of {@link #UNSAFE_COPY_THRESHOLD} bytes, so a large copy doesn't delay safepoint.
+     */
+    private static void copyMemory(Object src, long srcOffset, Object dst, long dstOffset, long length) {
+        while (length > 0) {
+            long size = Math.min(length, UNSAFE_COPY_THRESHOLD);
+            UNSAFE.copyMemory(src, srcOffset, dst, dstOffset, size);
+            length -= size;
+            srcOffset += size;
+            dstOffset += size;
+        }
+    }
+
 }
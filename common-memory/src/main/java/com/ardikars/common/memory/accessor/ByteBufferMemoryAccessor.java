@@ -0,0 +1,335 @@
+package com.ardikars.common.memory.accessor;
+
+import com.ardikars.common.memory.internal.BulkMemoryAccessor;
+
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+/**
+ * {@link MemoryAccessor} over direct {@link ByteBuffer}'s, used when {@code sun.misc.Unsafe} is not available.
+ * An address is a handle (not a native memory address): generation and buffer id in the high 32 bits and byte offset
+ * in the low 32 bits, so address arithmetic ({@code address + index}) works as usual. The (12 bits) generation of an id
+ * changes on deallocation and freed ids are reused oldest first, so an access through a stale handle fails until its id
+ * has been reused 4096 times.
+ * Deallocated buffer's are freed by the garbage collector.
+ * Bulk operations go through per-thread cached views (duplicates) of the last used buffer's, so they don't allocate.
+ * A cached view is keyed by its buffer's (reference), so it's never used for a buffer's which replaced a freed one.
+ * Bulk short, int, long and double operations go through typed views ({@link ByteBuffer#asIntBuffer()}, etc.) of
+ * the cached view, with the requested byte order.
+ *
+ * @author <a href="mailto:contact@ardikars.com">Ardika Rommy Sanjaya</a>
+ */
+final class ByteBufferMemoryAccessor implements BulkMemoryAccessor {
+
+    private static final int ID_SHIFT = 32;
+    private static final int INDEX_BITS = 20;
+    private static final int INDEX_MASK = (1 << INDEX_BITS) - 1;
+    private static final int GENERATION_MASK = 0xFFF;
+
+    private volatile Slot[] slots = new Slot[64];
+
+    private int[] generations = new int[64]; // guarded by this, readers use the generation of the published slot
+
+    private int[] freeIds = new int[64]; // circular queue, oldest freed id first
+    private int freeHead;
+    private int freeCount;
+    private int nextId = 1; // zero is null address
+
+    private final ThreadLocal<Views> views = new ThreadLocal<Views>() {
+        @Override
+        protected Views initialValue() {
+            return new Views();
+        }
+    };
+
+    @Override
+    public long allocate(int size) {
+        return register(ByteBuffer.allocateDirect(size));
+    }
+
+    @Override
+    public long reallocate(long addr, int size) {
+        ByteBuffer buffer = buffer(addr);
+        ByteBuffer newBuffer = ByteBuffer.allocateDirect(size);
+        int length = Math.min(buffer.capacity(), size);
+        newBuffer.put(region(buffer, 0, length));
+        deallocate(addr);
+        return register(newBuffer);
+    }
+
+    @Override
+    public synchronized void deallocate(long addr) {
+        int id = (int) (addr >>> ID_SHIFT);
+        int index = id & INDEX_MASK;
+        if (index <= 0 || index >= nextId || slots[index] == null || generations[index] != id >>> INDEX_BITS) {
+            return;
+        }
+        Slot[] array = slots;
+        array[index] = null;
+        generations[index] = (generations[index] + 1) & GENERATION_MASK;
+        slots = array;
+        if (freeCount == freeIds.length) {
+            int[] newFreeIds = new int[freeIds.length << 1];
+            System.arraycopy(freeIds, freeHead, newFreeIds, 0, freeCount - freeHead);
+            System.arraycopy(freeIds, 0, newFreeIds, freeCount - freeHead, freeHead);
+            freeIds = newFreeIds;
+            freeHead = 0;
+        }
+        freeIds[(freeHead + freeCount++) & (freeIds.length - 1)] = index;
+    }
+
+    @Override
+    public ByteBuffer nioBuffer(long addr, int size) {
+        return region(buffer(addr), offset(addr), size).slice();
+    }
+
+    @Override
+    public byte getByte(long addr) {
+        return buffer(addr).get(offset(addr));
+    }
+
+    @Override
+    public short getShort(long addr) {
+        return buffer(addr).getShort(offset(addr));
+    }
+
+    @Override
+    public short getShortLE(long addr) {
+        return Short.reverseBytes(buffer(addr).getShort(offset(addr)));
+    }
+
+    @Override
+    public int getInt(long addr) {
+        return buffer(addr).getInt(offset(addr));
+    }
+
+    @Override
+    public int getIntLE(long addr) {
+        return Integer.reverseBytes(buffer(addr).getInt(offset(addr)));
+    }
+
+    @Override
+    public long getLong(long addr) {
+        return buffer(addr).getLong(offset(addr));
+    }
+
+    @Override
+    public long getLongLE(long addr) {
+        return Long.reverseBytes(buffer(addr).getLong(offset(addr)));
+    }
+
+    @Override
+    public void setByte(long addr, int val) {
+        buffer(addr).put(offset(addr), (byte) val);
+    }
+
+    @Override
+    public void setShort(long addr, int val) {
+        buffer(addr).putShort(offset(addr), (short) val);
+    }
+
+    @Override
+    public void setShortLE(long addr, int val) {
+        buffer(addr).putShort(offset(addr), Short.reverseBytes((short) val));
+    }
+
+    @Override
+    public void setInt(long addr, int val) {
+        buffer(addr).putInt(offset(addr), val);
+    }
+
+    @Override
+    public void setIntLE(long addr, int val) {
+        buffer(addr).putInt(offset(addr), Integer.reverseBytes(val));
+    }
+
+    @Override
+    public void setLong(long addr, long val) {
+        buffer(addr).putLong(offset(addr), val);
+    }
+
+    @Override
+    public void setLongLE(long addr, long val) {
+        buffer(addr).putLong(offset(addr), Long.reverseBytes(val));
+    }
+
+    @Override
+    public void getBytes(long srcAddr, int index, long dstAddr, int dstIndex, int size) {
+        long src = srcAddr + index;
+        long dst = dstAddr + dstIndex;
+        view(dst, size, 0).put(view(src, size, 1));
+    }
+
+    @Override
+    public void getBytes(long srcAddr, int index, byte[] dst, int dstIndex, int size) {
+        long src = srcAddr + index;
+        view(src, size, 0).get(dst, dstIndex, size);
+    }
+
+    @Override
+    public void setBytes(long dstAddr, int index, long srcAddr, int srcIndex, int size) {
+        getBytes(srcAddr, srcIndex, dstAddr, index, size);
+    }
+
+    @Override
+    public void setBytes(long dstAddr, int index, byte[] src, int srcIndex, int size) {
+        long dst = dstAddr + index;
+        view(dst, size, 0).put(src, srcIndex, size);
+    }
+
+    @Override
+    public void setMemory(long addr, int size, int val) {
+        ByteBuffer buffer = buffer(addr);
+        int offset = offset(addr);
+        long word = (val & 0xFFL) * 0x0101010101010101L;
+        int i = 0;
+        for (; i + 8 <= size; i += 8) {
+            buffer.putLong(offset + i, word);
+        }
+        for (; i < size; i++) {
+            buffer.put(offset + i, (byte) val);
+        }
+    }
+
+    @Override
+    public void getShorts(long srcAddr, short[] dst, int dstIndex, int length, boolean bigEndian) {
+        view(srcAddr, length << 1, 0, bigEndian).asShortBuffer().get(dst, dstIndex, length);
+    }
+
+    @Override
+    public void setShorts(long dstAddr, short[] src, int srcIndex, int length, boolean bigEndian) {
+        view(dstAddr, length << 1, 0, bigEndian).asShortBuffer().put(src, srcIndex, length);
+    }
+
+    @Override
+    public void getInts(long srcAddr, int[] dst, int dstIndex, int length, boolean bigEndian) {
+        view(srcAddr, length << 2, 0, bigEndian).asIntBuffer().get(dst, dstIndex, length);
+    }
+
+    @Override
+    public void setInts(long dstAddr, int[] src, int srcIndex, int length, boolean bigEndian) {
+        view(dstAddr, length << 2, 0, bigEndian).asIntBuffer().put(src, srcIndex, length);
+    }
+
+    @Override
+    public void getLongs(long srcAddr, long[] dst, int dstIndex, int length, boolean bigEndian) {
+        view(srcAddr, length << 3, 0, bigEndian).asLongBuffer().get(dst, dstIndex, length);
+    }
+
+    @Override
+    public void setLongs(long dstAddr, long[] src, int srcIndex, int length, boolean bigEndian) {
+        view(dstAddr, length << 3, 0, bigEndian).asLongBuffer().put(src, srcIndex, length);
+    }
+
+    @Override
+    public void getDoubles(long srcAddr, double[] dst, int dstIndex, int length, boolean bigEndian) {
+        view(srcAddr, length << 3, 0, bigEndian).asDoubleBuffer().get(dst, dstIndex, length);
+    }
+
+    @Override
+    public void setDoubles(long dstAddr, double[] src, int srcIndex, int length, boolean bigEndian) {
+        view(dstAddr, length << 3, 0, bigEndian).asDoubleBuffer().put(src, srcIndex, length);
+    }
+
+    private synchronized long register(ByteBuffer buffer) {
+        Slot[] array = slots;
+        int index;
+        if (freeCount > 0) {
+            index = freeIds[freeHead];
+            freeHead = (freeHead + 1) & (freeIds.length - 1);
+            freeCount--;
+        } else {
+            index = nextId++;
+            if (index > INDEX_MASK) {
+                nextId--;
+                throw new OutOfMemoryError(String.format("Too many live buffer's (expected: <= %d).", INDEX_MASK));
+            }
+            if (index == array.length) {
+                Slot[] newArray = new Slot[array.length << 1];
+                System.arraycopy(array, 0, newArray, 0, index);
+                array = newArray;
+                int[] newGenerations = new int[generations.length << 1];
+                System.arraycopy(generations, 0, newGenerations, 0, index);
+                generations = newGenerations;
+            }
+        }
+        array[index] = new Slot(buffer, generations[index]);
+        slots = array; // volatile write publishes the new slot to other threads
+        return (long) (generations[index] << INDEX_BITS | index) << ID_SHIFT;
+    }
+
+    private ByteBuffer buffer(long addr) {
+        int id = (int) (addr >>> ID_SHIFT);
+        int index = id & INDEX_MASK;
+        Slot[] slots = this.slots;
+        if (index < slots.length) {
+            Slot slot = slots[index];
+            if (slot != null && slot.generation == id >>> INDEX_BITS) {
+                return slot.buffer;
+            }
+        }
+        throw new IllegalStateException(String.format("Invalid address: 0x%x.", addr));
+    }
+
+    private static int offset(long addr) {
+        return (int) addr;
+    }
+
+    /**
+     * Get the region of the given address from the calling thread's cached view, only valid until the next call
+     * with the same side.
+     */
+    private ByteBuffer view(long addr, int length, int side) {
+        ByteBuffer buffer = buffer(addr); // fails on stale handle
+        Views cache = views.get();
+        ByteBuffer view = cache.views[side];
+        if (view == null || cache.buffers[side] != buffer) {
+            view = buffer.duplicate();
+            cache.buffers[side] = buffer;
+            cache.views[side] = view;
+        }
+        int offset = offset(addr);
+        ((Buffer) view).limit(offset + length).position(offset);
+        return view;
+    }
+
+    /**
+     * Same as {@link #view(long, int, int)}, with the given byte order.
+     */
+    private ByteBuffer view(long addr, int length, int side, boolean bigEndian) {
+        return view(addr, length, side).order(bigEndian ? ByteOrder.BIG_ENDIAN : ByteOrder.LITTLE_ENDIAN);
+    }
+
+    /**
+     * Per-thread views, for both (source and destination) sides of a copy.
+     */
+    private static final class Views {
+
+        final ByteBuffer[] buffers = new ByteBuffer[2]; // viewed buffer's
+        final ByteBuffer[] views = new ByteBuffer[2];
+
+    }
+
+    /**
+     * Buffer's and its generation, published together so a reader never pairs a buffer's with another generation.
+     */
+    private static final class Slot {
+
+        final ByteBuffer buffer;
+        final int generation;
+
+        Slot(ByteBuffer buffer, int generation) {
+            this.buffer = buffer;
+            this.generation = generation;
+        }
+
+    }
+
+    private static ByteBuffer region(ByteBuffer buffer, int offset, int length) {
+        ByteBuffer region = buffer.duplicate();
+        ((Buffer) region).limit(offset + length).position(offset);
+        return region;
+    }
+
+}
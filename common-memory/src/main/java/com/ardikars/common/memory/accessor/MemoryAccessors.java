@@ -1,6 +1,10 @@
 package com.ardikars.common.memory.accessor;
 
+import com.ardikars.common.logging.Logger;
+import com.ardikars.common.logging.LoggerFactory;
+import com.ardikars.common.memory.internal.Unsafe;
 import com.ardikars.common.memory.internal.UnsafeHelper;
+import com.ardikars.common.util.Properties;
 
 import java.nio.ByteOrder;
 
@@ -15,12 +19,44 @@ public class MemoryAccessors {
 
     public static final boolean BIG_ENDIAN_NATIVE_ORDER = ByteOrder.nativeOrder() == ByteOrder.BIG_ENDIAN;
 
+    private static final String SEGMENT_MEMORY_ACCESSOR = "com.ardikars.common.memory.accessor.SegmentMemoryAccessor";
+
+    private static final Logger LOGGER;
+
+    private static final MemoryAccessor DEFAULT_MEMORY_ACCESSOR;
+    private static final boolean NATIVE_ADDRESS;
+    private static final boolean FOREIGN_MEMORY;
+
     /**
-     * Get default {@link MemoryAccessor} instance.
+     * Get default {@link MemoryAccessor} instance, selected once at runtime (or by {@code common.memory.accessor}
+     * property: unsafe, bytebuffer, or segment), the first available of:
+     * <ul>
+     *     <li>{@code sun.misc.Unsafe} based {@link MemoryAccessor}.</li>
+     *     <li>{@link java.nio.ByteBuffer} based {@link MemoryAccessor} whose addresses are handles
+     *     instead of native memory addresses.</li>
+     * </ul>
+     * Foreign Function and Memory API based {@link MemoryAccessor} (JDK 22+, multi-release jar), bounds and lifetime
+     * checked, is only selected with {@code common.memory.accessor=segment} (opt-in). Its addresses are handles
+     * instead of native memory addresses too.
      * @return returns default {@link MemoryAccessor} instance.
      */
     public static MemoryAccessor memoryAccessor() {
-        return memoryAccessor(UNALIGN, BIG_ENDIAN_NATIVE_ORDER);
+        return DEFAULT_MEMORY_ACCESSOR;
+    }
+
+    /**
+     * @return returns true if addresses of default {@link MemoryAccessor} are native memory addresses.
+     */
+    public static boolean isNativeAddress() {
+        return NATIVE_ADDRESS;
+    }
+
+    /**
+     * @return returns true if default {@link MemoryAccessor} is Foreign Function and Memory API based
+     * (memory is allocated through it, but its addresses are handles instead of native memory addresses).
+     */
+    public static boolean isForeignMemory() {
+        return FOREIGN_MEMORY;
     }
 
     /**
@@ -43,4 +79,34 @@ public class MemoryAccessors {
         return memoryAccessor;
     }
 
+    private static MemoryAccessor segmentMemoryAccessor() {
+        try {
+            // only exists in META-INF/versions/22 of the multi-release jar
+            Class<?> type = Class.forName(SEGMENT_MEMORY_ACCESSOR);
+            return (MemoryAccessor) type.getDeclaredConstructor().newInstance();
+        } catch (Throwable e) {
+            LOGGER.warn("Foreign memory access is not available: {}", e.toString());
+            return null;
+        }
+    }
+
+    static {
+        LOGGER = LoggerFactory.getLogger(MemoryAccessors.class);
+        String name = Properties.getProperty("common.memory.accessor", "").trim().toLowerCase();
+        MemoryAccessor accessor = null;
+        if ("segment".equals(name)) {
+            accessor = segmentMemoryAccessor();
+        }
+        FOREIGN_MEMORY = accessor != null;
+        if (accessor == null && !"bytebuffer".equals(name) && Unsafe.HAS_UNSAFE) {
+            accessor = memoryAccessor(UNALIGN, BIG_ENDIAN_NATIVE_ORDER);
+        }
+        NATIVE_ADDRESS = accessor != null && !FOREIGN_MEMORY;
+        if (accessor == null) {
+            accessor = new ByteBufferMemoryAccessor();
+        }
+        DEFAULT_MEMORY_ACCESSOR = accessor;
+        LOGGER.debug("Memory accessor: {}", accessor.getClass().getSimpleName());
+    }
+
 }
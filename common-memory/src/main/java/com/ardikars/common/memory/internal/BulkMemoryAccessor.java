@@ -0,0 +1,104 @@
+package com.ardikars.common.memory.internal;
+
+import com.ardikars.common.annotation.InternalApi;
+import com.ardikars.common.memory.accessor.MemoryAccessor;
+
+/**
+ * Bulk operations of the built-in {@link MemoryAccessor}'s (every accessor returned by
+ * {@link com.ardikars.common.memory.accessor.MemoryAccessors} implements it), kept out of {@link MemoryAccessor}
+ * so its public contract stays unchanged for external implementations.
+ *
+ * @author <a href="mailto:contact@ardikars.com">Ardika Rommy Sanjaya</a>
+ */
+@InternalApi
+public interface BulkMemoryAccessor extends MemoryAccessor {
+
+    /**
+     * Fill block of memory with the given byte value.
+     * @param addr memory address.
+     * @param size the number of bytes to be filled.
+     * @param val the byte value.
+     */
+    void setMemory(long addr, int size, int val);
+
+    /**
+     * Copy {@code short}'s from given memory address to destination array.
+     * @param srcAddr the source address.
+     * @param dst the destination array.
+     * @param dstIndex the first index of the destination.
+     * @param length the number of {@code short}'s to copy.
+     * @param bigEndian true if the memory is big endian, false if little endian.
+     */
+    void getShorts(long srcAddr, short[] dst, int dstIndex, int length, boolean bigEndian);
+
+    /**
+     * Copy {@code short}'s from source array to given memory address.
+     * @param dstAddr the destination address.
+     * @param src the source array.
+     * @param srcIndex the first index of the source.
+     * @param length the number of {@code short}'s to copy.
+     * @param bigEndian true if the memory is big endian, false if little endian.
+     */
+    void setShorts(long dstAddr, short[] src, int srcIndex, int length, boolean bigEndian);
+
+    /**
+     * Copy {@code int}'s from given memory address to destination array.
+     * @param srcAddr the source address.
+     * @param dst the destination array.
+     * @param dstIndex the first index of the destination.
+     * @param length the number of {@code int}'s to copy.
+     * @param bigEndian true if the memory is big endian, false if little endian.
+     */
+    void getInts(long srcAddr, int[] dst, int dstIndex, int length, boolean bigEndian);
+
+    /**
+     * Copy {@code int}'s from source array to given memory address.
+     * @param dstAddr the destination address.
+     * @param src the source array.
+     * @param srcIndex the first index of the source.
+     * @param length the number of {@code int}'s to copy.
+     * @param bigEndian true if the memory is big endian, false if little endian.
+     */
+    void setInts(long dstAddr, int[] src, int srcIndex, int length, boolean bigEndian);
+
+    /**
+     * Copy {@code long}'s from given memory address to destination array.
+     * @param srcAddr the source address.
+     * @param dst the destination array.
+     * @param dstIndex the first index of the destination.
+     * @param length the number of {@code long}'s to copy.
+     * @param bigEndian true if the memory is big endian, false if little endian.
+     */
+    void getLongs(long srcAddr, long[] dst, int dstIndex, int length, boolean bigEndian);
+
+    /**
+     * Copy {@code long}'s from source array to given memory address.
+     * @param dstAddr the destination address.
+     * @param src the source array.
+     * @param srcIndex the first index of the source.
+     * @param length the number of {@code long}'s to copy.
+     * @param bigEndian true if the memory is big endian, false if little endian.
+     */
+    void setLongs(long dstAddr, long[] src, int srcIndex, int length, boolean bigEndian);
+
+    /**
+     * Copy {@code double}'s from given memory address to destination array.
+     * @param srcAddr the source address.
+     * @param dst the destination array.
+     * @param dstIndex the first index of the destination.
+     * @param length the number of {@code double}'s to copy.
+     * @param bigEndian true if the memory is big endian, false if little endian.
+     */
+    void getDoubles(long srcAddr, double[] dst, int dstIndex, int length, boolean bigEndian);
+
+    /**
+     * Copy {@code double}'s from source array to given memory address.
+     * @param dstAddr the destination address.
+     * @param src the source array.
+     * @param srcIndex the first index of the source.
+     * @param length the number of {@code double}'s to copy.
+     * @param bigEndian true if the memory is big endian, false if little endian.
+     */
+    void setDoubles(long dstAddr, double[] src, int srcIndex, int length, boolean bigEndian);
+
+}
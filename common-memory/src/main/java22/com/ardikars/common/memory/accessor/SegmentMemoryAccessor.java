@@ -0,0 +1,349 @@
+package com.ardikars.common.memory.accessor;
+
+import com.ardikars.common.memory.internal.BulkMemoryAccessor;
+
+import java.lang.foreign.Arena;
+import java.lang.foreign.MemorySegment;
+import java.lang.foreign.ValueLayout;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+/**
+ * Foreign Function and Memory API (JDK 22+) implementation of {@link MemoryAccessor}, compiled into
+ * {@code META-INF/versions/22} of the multi-release jar and selected by {@link MemoryAccessors}.
+ * Allocations up to {@link #MAX_POOLED_SIZE} are slices carved from large slabs of a shared pool {@link Arena},
+ * a slab is dedicated to one power of two size class and freed slices are reused by the same size class,
+ * so deallocation never closes an arena. Larger allocations have their own shared {@link Arena}.
+ * Every allocation is a bounded {@link MemorySegment}, so every access is bounds checked.
+ * Same as {@link ByteBufferMemoryAccessor}, an address is a handle (not a native memory address):
+ * generation (12 bits) and segment id in the high 32 bits and byte offset in the low 32 bits, freed ids are reused
+ * oldest first, so an access through a handle after {@link #deallocate(long)} fails instead of touching the reused
+ * slice until its id has been reused 4096 times.
+ *
+ * @author <a href="mailto:contact@ardikars.com">Ardika Rommy Sanjaya</a>
+ */
+final class SegmentMemoryAccessor implements BulkMemoryAccessor {
+
+    private static final int ID_SHIFT = 32;
+    private static final int INDEX_BITS = 20;
+    private static final int INDEX_MASK = (1 << INDEX_BITS) - 1;
+    private static final int GENERATION_MASK = 0xFFF;
+
+    private static final long ALIGNMENT = 8;
+
+    private static final int MIN_SIZE_SHIFT = 4; // 16 bytes
+    private static final int MAX_POOLED_SIZE_SHIFT = 19; // 512 KiB
+    static final int MAX_POOLED_SIZE = 1 << MAX_POOLED_SIZE_SHIFT;
+    private static final long SLAB_SIZE = 1L << 22; // 4 MiB
+    private static final int DEDICATED = -1;
+
+    private static final ValueLayout.OfShort SHORT_BE = ValueLayout.JAVA_SHORT_UNALIGNED.withOrder(ByteOrder.BIG_ENDIAN);
+    private static final ValueLayout.OfShort SHORT_LE = ValueLayout.JAVA_SHORT_UNALIGNED.withOrder(ByteOrder.LITTLE_ENDIAN);
+    private static final ValueLayout.OfInt INT_BE = ValueLayout.JAVA_INT_UNALIGNED.withOrder(ByteOrder.BIG_ENDIAN);
+    private static final ValueLayout.OfInt INT_LE = ValueLayout.JAVA_INT_UNALIGNED.withOrder(ByteOrder.LITTLE_ENDIAN);
+    private static final ValueLayout.OfLong LONG_BE = ValueLayout.JAVA_LONG_UNALIGNED.withOrder(ByteOrder.BIG_ENDIAN);
+    private static final ValueLayout.OfLong LONG_LE = ValueLayout.JAVA_LONG_UNALIGNED.withOrder(ByteOrder.LITTLE_ENDIAN);
+    private static final ValueLayout.OfDouble DOUBLE_BE = ValueLayout.JAVA_DOUBLE_UNALIGNED.withOrder(ByteOrder.BIG_ENDIAN);
+    private static final ValueLayout.OfDouble DOUBLE_LE = ValueLayout.JAVA_DOUBLE_UNALIGNED.withOrder(ByteOrder.LITTLE_ENDIAN);
+
+    // slabs are never closed, their slices are cached per size class
+    private final Arena pool = Arena.ofShared();
+
+    // not volatile: a handle is always handed over to other threads after it's registered (happens-before),
+    // a thread which still reads a replaced (smaller) table sees the same entries.
+    private MemorySegment[] segments = new MemorySegment[64];
+
+    // guarded by this
+    private MemorySegment[] slices = new MemorySegment[64]; // whole slice of the size class
+    private Arena[] arenas = new Arena[64];
+    private byte[] sizeClasses = new byte[64];
+    private int[] generations = new int[64]; // read without lock, same as segments
+    private int[] freeIds = new int[64]; // circular queue, oldest freed id first
+    private int freeHead;
+    private int freeCount;
+    private int nextId = 1; // zero is null address
+    private final MemorySegment[] slabs = new MemorySegment[MAX_POOLED_SIZE_SHIFT + 1];
+    private final long[] slabOffsets = new long[MAX_POOLED_SIZE_SHIFT + 1];
+    private final MemorySegment[][] freeSlices = new MemorySegment[MAX_POOLED_SIZE_SHIFT + 1][];
+    private final int[] freeSliceCounts = new int[MAX_POOLED_SIZE_SHIFT + 1];
+
+    @Override
+    public synchronized long allocate(int size) {
+        if (size > MAX_POOLED_SIZE) {
+            Arena arena = Arena.ofShared();
+            return register(arena.allocate(size, ALIGNMENT), null, DEDICATED, arena);
+        }
+        int sizeClass = sizeClass(size);
+        MemorySegment slice;
+        if (freeSliceCounts[sizeClass] > 0) {
+            slice = freeSlices[sizeClass][--freeSliceCounts[sizeClass]];
+            freeSlices[sizeClass][freeSliceCounts[sizeClass]] = null;
+            slice.fill((byte) 0); // same as a new segment
+        } else {
+            long sliceSize = 1L << sizeClass;
+            if (slabs[sizeClass] == null || slabOffsets[sizeClass] + sliceSize > SLAB_SIZE) {
+                slabs[sizeClass] = pool.allocate(SLAB_SIZE, ALIGNMENT);
+                slabOffsets[sizeClass] = 0;
+            }
+            slice = slabs[sizeClass].asSlice(slabOffsets[sizeClass], sliceSize);
+            slabOffsets[sizeClass] += sliceSize;
+        }
+        return register(slice.asSlice(0, size), slice, sizeClass, null);
+    }
+
+    @Override
+    public long reallocate(long addr, int size) {
+        MemorySegment segment = segment(addr);
+        long newAddr = allocate(size);
+        MemorySegment.copy(segment, 0, segment(newAddr), 0, Math.min(segment.byteSize(), size));
+        deallocate(addr);
+        return newAddr;
+    }
+
+    @Override
+    public synchronized void deallocate(long addr) {
+        int id = (int) (addr >>> ID_SHIFT);
+        int index = id & INDEX_MASK;
+        if (index <= 0 || index >= nextId || segments[index] == null || generations[index] != id >>> INDEX_BITS) {
+            return;
+        }
+        segments[index] = null;
+        int sizeClass = sizeClasses[index];
+        if (sizeClass == DEDICATED) {
+            arenas[index].close();
+            arenas[index] = null;
+        } else {
+            if (freeSlices[sizeClass] == null) {
+                freeSlices[sizeClass] = new MemorySegment[16];
+            } else if (freeSliceCounts[sizeClass] == freeSlices[sizeClass].length) {
+                MemorySegment[] newFreeSlices = new MemorySegment[freeSliceCounts[sizeClass] << 1];
+                System.arraycopy(freeSlices[sizeClass], 0, newFreeSlices, 0, freeSliceCounts[sizeClass]);
+                freeSlices[sizeClass] = newFreeSlices;
+            }
+            freeSlices[sizeClass][freeSliceCounts[sizeClass]++] = slices[index];
+            slices[index] = null;
+        }
+        generations[index] = (generations[index] + 1) & GENERATION_MASK;
+        if (freeCount == freeIds.length) {
+            int[] newFreeIds = new int[freeIds.length << 1];
+            System.arraycopy(freeIds, freeHead, newFreeIds, 0, freeCount - freeHead);
+            System.arraycopy(freeIds, 0, newFreeIds, freeCount - freeHead, freeHead);
+            freeIds = newFreeIds;
+            freeHead = 0;
+        }
+        freeIds[(freeHead + freeCount++) & (freeIds.length - 1)] = index;
+    }
+
+    @Override
+    public ByteBuffer nioBuffer(long addr, int size) {
+        return segment(addr).asSlice(offset(addr), size).asByteBuffer();
+    }
+
+    @Override
+    public byte getByte(long addr) {
+        return segment(addr).get(ValueLayout.JAVA_BYTE, offset(addr));
+    }
+
+    @Override
+    public short getShort(long addr) {
+        return segment(addr).get(SHORT_BE, offset(addr));
+    }
+
+    @Override
+    public short getShortLE(long addr) {
+        return segment(addr).get(SHORT_LE, offset(addr));
+    }
+
+    @Override
+    public int getInt(long addr) {
+        return segment(addr).get(INT_BE, offset(addr));
+    }
+
+    @Override
+    public int getIntLE(long addr) {
+        return segment(addr).get(INT_LE, offset(addr));
+    }
+
+    @Override
+    public long getLong(long addr) {
+        return segment(addr).get(LONG_BE, offset(addr));
+    }
+
+    @Override
+    public long getLongLE(long addr) {
+        return segment(addr).get(LONG_LE, offset(addr));
+    }
+
+    @Override
+    public void setByte(long addr, int val) {
+        segment(addr).set(ValueLayout.JAVA_BYTE, offset(addr), (byte) val);
+    }
+
+    @Override
+    public void setShort(long addr, int val) {
+        segment(addr).set(SHORT_BE, offset(addr), (short) val);
+    }
+
+    @Override
+    public void setShortLE(long addr, int val) {
+        segment(addr).set(SHORT_LE, offset(addr), (short) val);
+    }
+
+    @Override
+    public void setInt(long addr, int val) {
+        segment(addr).set(INT_BE, offset(addr), val);
+    }
+
+    @Override
+    public void setIntLE(long addr, int val) {
+        segment(addr).set(INT_LE, offset(addr), val);
+    }
+
+    @Override
+    public void setLong(long addr, long val) {
+        segment(addr).set(LONG_BE, offset(addr), val);
+    }
+
+    @Override
+    public void setLongLE(long addr, long val) {
+        segment(addr).set(LONG_LE, offset(addr), val);
+    }
+
+    @Override
+    public void getBytes(long srcAddr, int index, long dstAddr, int dstIndex, int size) {
+        long src = srcAddr + index;
+        long dst = dstAddr + dstIndex;
+        MemorySegment.copy(segment(src), offset(src), segment(dst), offset(dst), size);
+    }
+
+    @Override
+    public void getBytes(long srcAddr, int index, byte[] dst, int dstIndex, int size) {
+        long src = srcAddr + index;
+        MemorySegment.copy(segment(src), ValueLayout.JAVA_BYTE, offset(src), dst, dstIndex, size);
+    }
+
+    @Override
+    public void setBytes(long dstAddr, int index, long srcAddr, int srcIndex, int size) {
+        getBytes(srcAddr, srcIndex, dstAddr, index, size);
+    }
+
+    @Override
+    public void setBytes(long dstAddr, int index, byte[] src, int srcIndex, int size) {
+        long dst = dstAddr + index;
+        MemorySegment.copy(src, srcIndex, segment(dst), ValueLayout.JAVA_BYTE, offset(dst), size);
+    }
+
+    @Override
+    public void setMemory(long addr, int size, int val) {
+        segment(addr).asSlice(offset(addr), size).fill((byte) val);
+    }
+
+    @Override
+    public void getShorts(long srcAddr, short[] dst, int dstIndex, int length, boolean bigEndian) {
+        MemorySegment.copy(segment(srcAddr), bigEndian ? SHORT_BE : SHORT_LE, offset(srcAddr), dst, dstIndex, length);
+    }
+
+    @Override
+    public void setShorts(long dstAddr, short[] src, int srcIndex, int length, boolean bigEndian) {
+        MemorySegment.copy(src, srcIndex, segment(dstAddr), bigEndian ? SHORT_BE : SHORT_LE, offset(dstAddr), length);
+    }
+
+    @Override
+    public void getInts(long srcAddr, int[] dst, int dstIndex, int length, boolean bigEndian) {
+        MemorySegment.copy(segment(srcAddr), bigEndian ? INT_BE : INT_LE, offset(srcAddr), dst, dstIndex, length);
+    }
+
+    @Override
+    public void setInts(long dstAddr, int[] src, int srcIndex, int length, boolean bigEndian) {
+        MemorySegment.copy(src, srcIndex, segment(dstAddr), bigEndian ? INT_BE : INT_LE, offset(dstAddr), length);
+    }
+
+    @Override
+    public void getLongs(long srcAddr, long[] dst, int dstIndex, int length, boolean bigEndian) {
+        MemorySegment.copy(segment(srcAddr), bigEndian ? LONG_BE : LONG_LE, offset(srcAddr), dst, dstIndex, length);
+    }
+
+    @Override
+    public void setLongs(long dstAddr, long[] src, int srcIndex, int length, boolean bigEndian) {
+        MemorySegment.copy(src, srcIndex, segment(dstAddr), bigEndian ? LONG_BE : LONG_LE, offset(dstAddr), length);
+    }
+
+    @Override
+    public void getDoubles(long srcAddr, double[] dst, int dstIndex, int length, boolean bigEndian) {
+        MemorySegment.copy(segment(srcAddr), bigEndian ? DOUBLE_BE : DOUBLE_LE, offset(srcAddr), dst, dstIndex, length);
+    }
+
+    @Override
+    public void setDoubles(long dstAddr, double[] src, int srcIndex, int length, boolean bigEndian) {
+        MemorySegment.copy(src, srcIndex, segment(dstAddr), bigEndian ? DOUBLE_BE : DOUBLE_LE, offset(dstAddr), length);
+    }
+
+    // guarded by this
+    private long register(MemorySegment segment, MemorySegment slice, int sizeClass, Arena arena) {
+        int index;
+        if (freeCount > 0) {
+            index = freeIds[freeHead];
+            freeHead = (freeHead + 1) & (freeIds.length - 1);
+            freeCount--;
+        } else {
+            index = nextId++;
+            if (index > INDEX_MASK) {
+                nextId--;
+                throw new OutOfMemoryError(String.format("Too many live segments (expected: <= %d).", INDEX_MASK));
+            }
+            if (index == segments.length) {
+                grow(index << 1);
+            }
+        }
+        slices[index] = slice;
+        arenas[index] = arena;
+        sizeClasses[index] = (byte) sizeClass;
+        segments[index] = segment;
+        return (long) (generations[index] << INDEX_BITS | index) << ID_SHIFT;
+    }
+
+    private void grow(int length) {
+        MemorySegment[] newSegments = new MemorySegment[length];
+        System.arraycopy(segments, 0, newSegments, 0, segments.length);
+        MemorySegment[] newSlices = new MemorySegment[length];
+        System.arraycopy(slices, 0, newSlices, 0, slices.length);
+        Arena[] newArenas = new Arena[length];
+        System.arraycopy(arenas, 0, newArenas, 0, arenas.length);
+        byte[] newSizeClasses = new byte[length];
+        System.arraycopy(sizeClasses, 0, newSizeClasses, 0, sizeClasses.length);
+        int[] newGenerations = new int[length];
+        System.arraycopy(generations, 0, newGenerations, 0, generations.length);
+        slices = newSlices;
+        arenas = newArenas;
+        sizeClasses = newSizeClasses;
+        generations = newGenerations;
+        segments = newSegments;
+    }
+
+    private MemorySegment segment(long addr) {
+        int id = (int) (addr >>> ID_SHIFT);
+        int index = id & INDEX_MASK;
+        MemorySegment[] segments = this.segments;
+        int[] generations = this.generations;
+        // a live handle was registered before it was handed over, so both tables are large enough and up to date
+        if (index < segments.length && index < generations.length && generations[index] == id >>> INDEX_BITS) {
+            MemorySegment segment = segments[index];
+            if (segment != null) {
+                return segment;
+            }
+        }
+        throw new IllegalStateException(String.format("Invalid address: 0x%x.", addr));
+    }
+
+    private static int sizeClass(int size) {
+        if (size <= 1 << MIN_SIZE_SHIFT) {
+            return MIN_SIZE_SHIFT;
+        }
+        return Integer.SIZE - Integer.numberOfLeadingZeros(size - 1);
+    }
+
+    private static int offset(long addr) {
+        return (int) addr;
+    }
+
+}
@@ -150,7 +150,7 @@ abstract class AbstractMemoryTest extends BaseTest {
             assert sliced.memoryAddress() - 2 == memory.memoryAddress();
         }
         assert sliced.capacity() == DUMMY.length - 2;
-        assert sliced.maxCapacity() == memory.maxCapacity();
+        assert sliced.maxCapacity() == sliced.capacity();
         for (int i = 0; i < sliced.capacity(); i++) {
             assert sliced.getByte(i) == DUMMY[i + 2];
             assert sliced.readByte() == DUMMY[i + 2];
@@ -194,7 +194,7 @@ abstract class AbstractMemoryTest extends BaseTest {
             assert duplicated.memoryAddress() == memory.memoryAddress();
         }
         assert duplicated.capacity() == memory.capacity();
-        assert duplicated.maxCapacity() == memory.maxCapacity();
+        assert duplicated.maxCapacity() == duplicated.capacity(); // a duplicate can't grow beyond its parent's block
         for (int i = 0; i < DUMMY.length; i++) {
             assert duplicated.readByte() == DUMMY[i];
         }
@@ -219,7 +219,8 @@ abstract class AbstractMemoryTest extends BaseTest {
     }
 
     private void doRelease(Memory memory) {
-        if (!pooled) {
+        // the allocated memory is released after each test
+        if (!pooled && memory != this.memory) {
             memory.release();
         }
     }
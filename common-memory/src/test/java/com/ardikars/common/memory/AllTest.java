@@ -1,5 +1,6 @@
 package com.ardikars.common.memory;
 
+import com.ardikars.common.memory.accessor.ByteBufferMemoryAccessorTest;
 import com.ardikars.common.memory.internal.ByteBufferHelperTest;
 import org.junit.runner.RunWith;
 import org.junit.runners.Suite;
@@ -19,7 +20,27 @@ import org.junit.runners.Suite;
     PooledCheckedMemoryWriterAndReaderTest.class,
 //    PooledUncheckedMemory.class,
     PooledUncheckedMemorySetterAndGetterTest.class,
-    PooledUncheckedMemoryWriterAndReaderTest.class
+    PooledUncheckedMemoryWriterAndReaderTest.class,
+    ArenaCheckedMemoryTest.class,
+    ArenaMemoryAllocatorTest.class,
+    ThreadLocalMemoryCacheTest.class,
+    PooledMemoryRefCntTest.class,
+    MemoryLeakDetectorTest.class,
+    MemoryAllocatorMetricTest.class,
+    MemoryBulkTransferTest.class,
+    MemorySearchTest.class,
+    MappedMemoryTest.class,
+    CompositeMemoryTest.class,
+    MemoryChannelTest.class,
+    MemoryGrowthTest.class,
+    MemoryStringTest.class,
+    OffHeapMapTest.class,
+    MemoryRingBufferTest.class,
+    PooledMemoryPartitionTest.class,
+    PooledMemoryReplenishTest.class,
+    PooledMemoryTrimTest.class,
+    MemoryHexsTest.class,
+    ByteBufferMemoryAccessorTest.class
 })
 public class AllTest {
 
@@ -0,0 +1,115 @@
+package com.ardikars.common.memory;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.FixMethodOrder;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+import org.junit.runners.MethodSorters;
+
+@RunWith(JUnit4.class)
+@FixMethodOrder(MethodSorters.NAME_ASCENDING)
+public class ArenaCheckedMemoryTest extends AbstractMemoryTest {
+
+    private final MemoryAllocator MEMORY_ALLOCATOR = Memories.arenaAllocator();
+
+    public ArenaCheckedMemoryTest() {
+        super(true);
+    }
+
+    @Override
+    protected MemoryAllocator memoryAllocator() {
+        return MEMORY_ALLOCATOR;
+    }
+
+    @Before
+    public void allocate() {
+        memory = memoryAllocator().allocate(DEFAULT_CAPACITY, DEFAULT_CAPACITY + INT_SIZE, true);
+    }
+
+    @After
+    public void deallocate() {
+        memory.release();
+        MEMORY_ALLOCATOR.close();
+    }
+
+    @Test
+    @Override
+    public void capacityAndMaxCapacityTest() {
+        doCapacityAndMaxCapacityTest();
+    }
+
+    @Test
+    @Override
+    public void readerAndWriterIndexTest() {
+        doReaderAndWriterIndexTest();
+    }
+
+    @Test
+    @Override
+    public void isReadableTest() {
+        doIsReadableTest();
+    }
+
+    @Test
+    @Override
+    public void readableWriteableAndMaxWriableBytesTest() {
+        doReadableWriteableAndMaxWriableBytesTest();
+    }
+
+    @Test
+    @Override
+    public void readerIndexTest() {
+        doReaderIndexTest();
+    }
+
+    @Test
+    @Override
+    public void writerIndexTest() {
+        doWriterIndexTest();
+    }
+
+    @Test
+    @Override
+    public void skipBytesTest() {
+        doSkipBytesTest();
+    }
+
+    @Test
+    @Override
+    public void sliceTest() {
+        doSliceTest();
+    }
+
+    @Test
+    @Override
+    public void copyTest() {
+        doCopyTest();
+    }
+
+    @Test
+    @Override
+    public void clearTest() {
+        doClearTest();
+    }
+
+    @Test
+    @Override
+    public void newCapacityTest() {
+        doNewCapacityTest();
+    }
+
+    @Test
+    @Override
+    public void duplicateTest() {
+        doDuplicateTest();
+    }
+
+    @Test
+    @Override
+    public void nioBufferTest() {
+        doNioBufferTest();
+    }
+
+}
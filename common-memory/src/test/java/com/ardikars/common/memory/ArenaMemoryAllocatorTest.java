@@ -0,0 +1,219 @@
+package com.ardikars.common.memory;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.FixMethodOrder;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+import org.junit.runners.MethodSorters;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@RunWith(JUnit4.class)
+@FixMethodOrder(MethodSorters.NAME_ASCENDING)
+public class ArenaMemoryAllocatorTest extends BaseTest {
+
+    private static final int PAGE_SIZE = 4096;
+    private static final int MAX_ORDER = 4; // 64 KiB chunk
+
+    private MemoryAllocator allocator;
+
+    @Before
+    public void before() {
+        allocator = Memories.arenaAllocator(PAGE_SIZE, MAX_ORDER);
+    }
+
+    @After
+    public void after() {
+        allocator.close();
+    }
+
+    @Test
+    public void normalizeCapacity() {
+        PoolArena arena = new PoolArena(PAGE_SIZE, MAX_ORDER);
+        assert arena.normalizeCapacity(0) == 16;
+        assert arena.normalizeCapacity(1) == 16;
+        assert arena.normalizeCapacity(60) == 64;
+        assert arena.normalizeCapacity(496) == 496;
+        assert arena.normalizeCapacity(511) == 512;
+        assert arena.normalizeCapacity(513) == 1024;
+        assert arena.normalizeCapacity(PAGE_SIZE + 1) == PAGE_SIZE * 2;
+        assert arena.normalizeCapacity((PAGE_SIZE << MAX_ORDER) + 1) == (PAGE_SIZE << MAX_ORDER) + 1;
+    }
+
+    @Test
+    public void mixedSizes() {
+        int[] sizes = new int[] {1, 60, 100, 496, 600, 2000, PAGE_SIZE, PAGE_SIZE * 3, PAGE_SIZE << MAX_ORDER, (PAGE_SIZE << MAX_ORDER) + 1};
+        List<Memory> memories = new ArrayList<Memory>();
+        for (int round = 0; round < 8; round++) {
+            for (int size : sizes) {
+                Memory memory = allocator.allocate(size);
+                assert memory.capacity() == size;
+                for (int i = 0; i < size; i++) {
+                    memory.setByte(i, round + i);
+                }
+                memories.add(memory);
+            }
+        }
+        int index = 0;
+        for (int round = 0; round < 8; round++) {
+            for (int size : sizes) {
+                Memory memory = memories.get(index++);
+                for (int i = 0; i < size; i++) {
+                    assert memory.getByte(i) == (byte) (round + i);
+                }
+                memory.release();
+            }
+        }
+    }
+
+    @Test
+    public void reuseReleasedRegion() {
+        Memory tiny = allocator.allocate(60);
+        long tinyAddress = tiny.memoryAddress();
+        tiny.release();
+        Memory otherTiny = allocator.allocate(64);
+        assert otherTiny.memoryAddress() == tinyAddress;
+        otherTiny.release();
+
+        Memory normal = allocator.allocate(PAGE_SIZE * 2);
+        long normalAddress = normal.memoryAddress();
+        normal.release();
+        Memory otherNormal = allocator.allocate(PAGE_SIZE + 1);
+        assert otherNormal.memoryAddress() == normalAddress;
+        otherNormal.release();
+
+        assert ((ArenaMemoryAllocator) allocator).numChunks() == 1;
+    }
+
+    @Test
+    public void growBeyondSizeClass() {
+        Memory memory = allocator.allocate(16, 1024, true);
+        for (int i = 0; i < 16; i++) {
+            memory.writeByte(i);
+        }
+        memory.capacity(1024);
+        assert memory.capacity() == 1024;
+        for (int i = 0; i < 16; i++) {
+            assert memory.getByte(i) == i;
+        }
+        memory.release();
+    }
+
+    @Test
+    public void growWhileShared() {
+        Memory memory = allocator.allocate(16, 1024, true);
+        memory.setByte(0, 1);
+        Memory sliced = memory.slice(0, 8);
+        memory.capacity(1024);
+        assert memory.capacity() == 1024 && memory.getByte(0) == 1;
+        // the old region is freed on the last release, not while the slice still addresses it
+        assert sliced.getByte(0) == 1;
+        sliced.release();
+        assert memory.refCnt() == 0;
+
+        Memory retained = allocator.allocate(16, 1024, false);
+        retained.setByte(0, 2);
+        retained.retain();
+        retained.capacity(1024);
+        assert retained.capacity() == 1024 && retained.getByte(0) == 2;
+        retained.release();
+        retained.release();
+    }
+
+    @Test
+    public void sliceAndDuplicateRelease() {
+        Memory memory = allocator.allocate(PAGE_SIZE, false);
+        long address = memory.memoryAddress();
+        Memory sliced = memory.slice(8, 16);
+        assert sliced.memoryAddress() == address + 8;
+        sliced.slice(0, 8).release();
+        Memory duplicated = allocator.allocate(PAGE_SIZE, false);
+        assert duplicated.memoryAddress() == address;
+        duplicated.duplicate().release();
+    }
+
+    @Test
+    public void destroyEmptyChunk() {
+        List<Memory> memories = new ArrayList<Memory>();
+        for (int i = 0; i < 4; i++) {
+            memories.add(allocator.allocate(PAGE_SIZE * 4));
+        }
+        assert ((ArenaMemoryAllocator) allocator).numChunks() == 1;
+        Memory other = allocator.allocate(PAGE_SIZE);
+        assert ((ArenaMemoryAllocator) allocator).numChunks() == 2;
+        for (int i = 0; i < memories.size(); i++) {
+            memories.get(i).release();
+        }
+        // the used chunk is destroyed once empty, the new chunk is kept
+        assert ((ArenaMemoryAllocator) allocator).numChunks() == 1;
+        other.release();
+        assert ((ArenaMemoryAllocator) allocator).numChunks() == 1;
+    }
+
+    @Test
+    public void closeWithLiveAllocations() {
+        Memory memory = allocator.allocate(PAGE_SIZE);
+        Memory tiny = allocator.allocate(60);
+        memory.setLong(0, 1L);
+        tiny.setLong(0, 2L);
+        allocator.close();
+        assert ((ArenaMemoryAllocator) allocator).numChunks() == 0;
+        // live allocations stay valid, their chunk is released with the last of them
+        assert memory.getLong(0) == 1L;
+        assert tiny.getLong(0) == 2L;
+        memory.release();
+        assert tiny.getLong(0) == 2L;
+        tiny.release();
+        // served directly after close
+        Memory direct = allocator.allocate(PAGE_SIZE);
+        direct.setLong(0, 3L);
+        assert direct.getLong(0) == 3L;
+        direct.release();
+    }
+
+    @Test
+    public void stripedArenas() throws InterruptedException {
+        final ArenaMemoryAllocator striped = (ArenaMemoryAllocator) Memories.arenaAllocator(PAGE_SIZE, MAX_ORDER, 2);
+        final List<Memory> memories = new ArrayList<Memory>();
+        final PoolArena first = striped.arena();
+        memories.add(striped.allocate(PAGE_SIZE));
+        final PoolArena[] other = new PoolArena[1];
+        for (int i = 0; i < 16 && other[0] == null; i++) {
+            Thread thread = new Thread(new Runnable() {
+                @Override
+                public void run() {
+                    if (striped.arena() != first) {
+                        other[0] = striped.arena();
+                        memories.add(striped.allocate(PAGE_SIZE));
+                    }
+                }
+            });
+            thread.start();
+            thread.join();
+        }
+        assert other[0] != null;
+        // each arena has its own chunk
+        assert striped.numChunks() == 2;
+        // freed into the owner arena from any thread
+        for (int i = 0; i < memories.size(); i++) {
+            memories.get(i).release();
+        }
+        assert striped.numChunks() == 2;
+        striped.close();
+        assert striped.numChunks() == 0;
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void invalidArenas() {
+        Memories.arenaAllocator(PAGE_SIZE, MAX_ORDER, 0);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void invalidPageSize() {
+        Memories.arenaAllocator(1000, MAX_ORDER);
+    }
+
+}
@@ -0,0 +1,208 @@
+package com.ardikars.common.memory;
+
+import org.junit.FixMethodOrder;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+import org.junit.runners.MethodSorters;
+
+import java.nio.ByteBuffer;
+
+@RunWith(JUnit4.class)
+@FixMethodOrder(MethodSorters.NAME_ASCENDING)
+public class CompositeMemoryTest extends BaseTest {
+
+    private static Memory memory(int... bytes) {
+        Memory memory = Memories.allocator().allocate(bytes.length);
+        for (int b : bytes) {
+            memory.writeByte(b);
+        }
+        return memory;
+    }
+
+    private static Memory byteBuf(int... bytes) {
+        ByteBuffer buffer = ByteBuffer.allocateDirect(bytes.length);
+        for (int b : bytes) {
+            buffer.put((byte) b);
+        }
+        return new ByteBuf(0, buffer, bytes.length, bytes.length, 0, bytes.length);
+    }
+
+    @Test
+    public void readAcrossComponents() {
+        CompositeMemory composite = Memories.composite()
+                .addComponents(memory(1, 2, 3), memory(4, 5), memory(6, 7, 8, 9, 10));
+        assert composite.numComponents() == 3;
+        assert composite.capacity() == 10;
+        assert composite.readableBytes() == 10;
+        assert composite.getShort(2) == 0x0304;
+        assert composite.getShortLE(2) == 0x0403;
+        assert composite.getInt(1) == 0x02030405;
+        assert composite.getIntLE(1) == 0x05040302;
+        assert composite.getLong(2) == 0x030405060708090AL;
+        assert composite.getLongLE(2) == 0x0A09080706050403L;
+        assert composite.readByte() == 1;
+        assert composite.readInt() == 0x02030405;
+        byte[] bytes = new byte[5];
+        composite.readBytes(bytes);
+        assert bytes[0] == 6 && bytes[4] == 10;
+        assert !composite.isReadable();
+        composite.release();
+    }
+
+    @Test
+    public void writeAcrossComponents() {
+        CompositeMemory composite = Memories.composite()
+                .addComponents(memory(0, 0, 0), memory(0, 0), memory(0, 0, 0, 0, 0));
+        composite.setInt(1, 0x11223344);
+        assert composite.component(0).getByte(1) == 0x11;
+        assert composite.component(1).getShort(0) == 0x3344;
+        composite.setLongLE(2, 0x0102030405060708L);
+        assert composite.getLongLE(2) == 0x0102030405060708L;
+        composite.setShortLE(2, 0x5566);
+        assert composite.getShortLE(2) == 0x5566;
+        composite.setBytes(0, new byte[] {9, 9, 9, 9, 9, 9, 9, 9, 9, 9});
+        assert composite.getLong(1) == 0x0909090909090909L;
+        composite.release();
+    }
+
+    @Test
+    public void prependAndRemove() {
+        Memory payload = memory(3, 4);
+        Memory header = memory(1, 2);
+        CompositeMemory composite = Memories.composite().addComponent(payload);
+        composite.addComponent(0, header);
+        assert composite.readableBytes() == 4;
+        assert composite.getInt(0) == 0x01020304;
+        composite.readerIndex(3);
+        composite.removeComponent(0);
+        assert header.refCnt() == 0;
+        assert composite.capacity() == 2;
+        assert composite.readerIndex() == 1 && composite.writerIndex() == 2;
+        assert composite.readByte() == 4;
+        composite.release();
+        assert payload.refCnt() == 0;
+    }
+
+    @Test
+    public void consolidate() {
+        Memory first = memory(1, 2);
+        CompositeMemory composite = Memories.composite()
+                .addComponents(first, memory(3), memory(4, 5), memory(6));
+        composite.consolidate(1, 2);
+        assert composite.numComponents() == 3;
+        assert composite.component(1).readableBytes() == 3;
+        assert composite.getInt(1) == 0x02030405;
+        composite.consolidate();
+        assert composite.numComponents() == 1;
+        assert first.refCnt() == 0;
+        assert composite.getShort(4) == 0x0506;
+        assert composite.indexOf((byte) 6) == 5;
+        composite.release();
+    }
+
+    @Test
+    public void nioBuffers() {
+        CompositeMemory composite = Memories.composite()
+                .addComponents(byteBuf(1, 2, 3), byteBuf(4, 5), byteBuf(6, 7, 8, 9, 10));
+        composite.readerIndex(1);
+        ByteBuffer[] buffers = composite.nioBuffers();
+        assert buffers.length == 3;
+        ByteBuffer gathered = ByteBuffer.allocate(composite.readableBytes());
+        for (ByteBuffer buffer : buffers) {
+            gathered.put(buffer);
+        }
+        assert gathered.get(0) == 2 && gathered.get(8) == 10;
+        assert composite.nioBuffers(3, 2).length == 1;
+        ByteBuffer merged = composite.nioBuffer();
+        assert merged.remaining() == 10 && merged.get(merged.position() + 9) == 10;
+        composite.release();
+    }
+
+    @Test
+    public void sliceSharesReferenceCount() {
+        CompositeMemory composite = Memories.composite()
+                .addComponents(memory(1, 2, 3), memory(4, 5), memory(6, 7, 8, 9, 10));
+        Memory sliced = composite.slice(2, 5);
+        assert sliced.capacity() == 5;
+        assert sliced.getInt(0) == 0x03040506;
+        assert sliced.getByte(4) == 7;
+        sliced.retain();
+        assert composite.refCnt() == 2;
+        composite.release();
+        assert sliced.getByte(0) == 3;
+        sliced.release();
+        assert composite.refCnt() == 0;
+        try {
+            ((CompositeMemory) sliced).addComponent(memory(1));
+            assert false;
+        } catch (UnsupportedOperationException e) {
+            // expected
+        }
+    }
+
+    @Test
+    public void sharedComponentsAreNotReleased() {
+        Memory first = memory(1, 2, 3);
+        CompositeMemory composite = Memories.composite().addComponents(first, memory(4, 5), memory(6, 7));
+        Memory sliced = composite.slice(0, 4);
+        try {
+            composite.removeComponent(0);
+            assert false;
+        } catch (IllegalStateException e) {
+            // expected, the slice still reads the first component
+        }
+        try {
+            composite.consolidate();
+            assert false;
+        } catch (IllegalStateException e) {
+            // expected
+        }
+        try {
+            composite.capacity(2);
+            assert false;
+        } catch (IllegalStateException e) {
+            // expected
+        }
+        assert composite.numComponents() == 3;
+        assert first.refCnt() == 1;
+        assert sliced.getInt(0) == 0x01020304;
+        sliced.release();
+        assert first.refCnt() == 0;
+
+        CompositeMemory retained = Memories.composite().addComponents(memory(1, 2), memory(3, 4));
+        retained.retain();
+        try {
+            retained.consolidate();
+            assert false;
+        } catch (IllegalStateException e) {
+            // expected, other owners still read the components
+        }
+        retained.release();
+        retained.consolidate();
+        assert retained.numComponents() == 1;
+        assert retained.getInt(0) == 0x01020304;
+        retained.release();
+    }
+
+    @Test
+    public void expandAndShrink() {
+        CompositeMemory composite = Memories.composite().addComponent(memory(1, 2));
+        composite.writeLong(0x0304050607080910L);
+        assert composite.numComponents() == 2;
+        assert composite.readableBytes() == 10;
+        assert composite.getLong(2) == 0x0304050607080910L;
+        composite.capacity(3);
+        assert composite.capacity() == 3;
+        assert composite.writerIndex() == 3;
+        assert composite.getByte(2) == 3;
+        composite.release();
+        try {
+            composite.getByte(0);
+            assert false;
+        } catch (IllegalStateException e) {
+            // expected
+        }
+    }
+
+}
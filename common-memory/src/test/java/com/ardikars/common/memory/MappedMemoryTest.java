@@ -0,0 +1,134 @@
+package com.ardikars.common.memory;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.FixMethodOrder;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+import org.junit.runners.MethodSorters;
+
+import java.io.IOException;
+import java.nio.ReadOnlyBufferException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+@RunWith(JUnit4.class)
+@FixMethodOrder(MethodSorters.NAME_ASCENDING)
+public class MappedMemoryTest extends BaseTest {
+
+    private Path file;
+
+    @Before
+    public void before() throws IOException {
+        file = Files.createTempFile("common-memory", ".bin");
+        byte[] content = new byte[DEFAULT_CAPACITY];
+        for (int i = 0; i < content.length; i++) {
+            content[i] = (byte) i;
+        }
+        Files.write(file, content);
+    }
+
+    @After
+    public void after() throws IOException {
+        Files.deleteIfExists(file);
+    }
+
+    @Test
+    public void readOnly() throws IOException {
+        MappedMemory memory = Memories.map(file, FileChannel.MapMode.READ_ONLY, 4, 8);
+        assert memory.capacity() == 8;
+        assert memory.readableBytes() == 8;
+        assert memory.readInt() == 0x04050607;
+        assert memory.getByte(7) == 11;
+        memory.release();
+        assert memory.refCnt() == 0;
+    }
+
+    @Test
+    public void doubleRelease() throws IOException {
+        MappedMemory[] memories = new MappedMemory[] {
+                Memories.map(file, FileChannel.MapMode.READ_ONLY, 0, 8),
+                Memories.map(file, FileChannel.MapMode.PRIVATE, 0, 8, false)
+        };
+        for (MappedMemory memory : memories) {
+            memory.release();
+            try {
+                memory.release();
+                assert false;
+            } catch (IllegalStateException e) {
+                // expected, the mapping is unmapped once
+            }
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void uncheckedReadOnly() throws IOException {
+        Memories.map(file, FileChannel.MapMode.READ_ONLY, 0, 8, false);
+    }
+
+    @Test
+    public void unchecked() throws IOException {
+        MappedMemory memory = Memories.map(file, FileChannel.MapMode.PRIVATE, 4, 8, false);
+        assert memory.readInt() == 0x04050607;
+        memory.setByte(7, 0x7f);
+        assert memory.getByte(7) == 0x7f;
+        memory.release();
+        assert memory.refCnt() == 0;
+    }
+
+    @Test(expected = ReadOnlyBufferException.class)
+    public void writeToReadOnly() throws IOException {
+        MappedMemory memory = Memories.map(file, FileChannel.MapMode.READ_ONLY, 0, 8);
+        try {
+            memory.setByte(0, 1);
+        } finally {
+            memory.release();
+        }
+    }
+
+    @Test
+    public void readWriteAndForce() throws IOException {
+        MappedMemory memory = Memories.map(file, FileChannel.MapMode.READ_WRITE, 0, DEFAULT_CAPACITY + 8);
+        memory.setLong(DEFAULT_CAPACITY, 0x0102030405060708L);
+        memory.force();
+        memory.release();
+        byte[] content = Files.readAllBytes(file);
+        assert content.length == DEFAULT_CAPACITY + 8;
+        assert content[DEFAULT_CAPACITY] == 1 && content[DEFAULT_CAPACITY + 7] == 8;
+    }
+
+    @Test
+    public void sliceSharesReferenceCount() throws IOException {
+        MappedMemory memory = Memories.map(file, FileChannel.MapMode.PRIVATE, 0, 16);
+        Memory sliced = memory.slice(8, 8);
+        assert sliced instanceof MappedSlicedCheckedMemory || sliced instanceof MappedSlicedByteBuf;
+        assert sliced.duplicate().getByte(0) == 8;
+        assert sliced.getByte(0) == 8;
+        sliced.setByte(0, 0x7f);
+        assert memory.getByte(8) == 0x7f;
+        sliced.retain();
+        assert memory.refCnt() == 2;
+        memory.release();
+        assert sliced.refCnt() == 1;
+        sliced.release();
+        assert memory.refCnt() == 0;
+        assert Files.readAllBytes(file)[8] == 8; // private mapping is copy-on-write
+    }
+
+    @Test
+    public void shrinkCapacity() throws IOException {
+        MappedMemory memory = Memories.map(file, FileChannel.MapMode.READ_ONLY, 0, 16);
+        memory.capacity(8);
+        assert memory.capacity() == 8;
+        try {
+            memory.capacity(17);
+            assert false;
+        } catch (IllegalArgumentException e) {
+            // expected
+        }
+        memory.release();
+    }
+
+}
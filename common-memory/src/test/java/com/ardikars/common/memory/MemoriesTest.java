@@ -1,6 +1,5 @@
 package com.ardikars.common.memory;
 
-import com.ardikars.common.memory.internal.Unsafe;
 import org.junit.FixMethodOrder;
 import org.junit.Test;
 import org.junit.runner.RunWith;
@@ -37,7 +36,7 @@ public class MemoriesTest {
         for (int i = 0; i < 10; i++) {
             Memory memory = allocator.allocate(i+1);
             if (i > 6) {
-                if (!Unsafe.HAS_UNSAFE) {
+                if (!AbstractMemory.ACCESSOR_MEMORY) {
                     assert memory instanceof ByteBuf;
                 }
             }
@@ -45,4 +44,36 @@ public class MemoriesTest {
         allocator.close();
     }
 
+    @Test
+    public void pooledAllocatorInvalidOptions() {
+        assertInvalid(Memories.pooledAllocatorBuilder(), "maxMemoryCapacity: 0");
+        assertInvalid(Memories.pooledAllocatorBuilder().maxMemoryCapacity(64).poolSize(-1), "poolSize: -1");
+        assertInvalid(Memories.pooledAllocatorBuilder().maxMemoryCapacity(64).poolSize(4).maxPoolSize(2), "maxPoolSize: 2");
+        assertInvalid(Memories.pooledAllocatorBuilder().maxMemoryCapacity(64).poolSize(0).maxPoolSize(0), "maxPoolSize: 0");
+        assertInvalid(Memories.pooledAllocatorBuilder().maxMemoryCapacity(64).partitions(0), "partitions: 0");
+        assertInvalid(Memories.pooledAllocatorBuilder().maxMemoryCapacity(64).threadCacheSize(-1), "threadCacheSize: -1");
+        assertInvalid(Memories.pooledAllocatorBuilder().maxMemoryCapacity(64).replenish(-1, 2), "lowWatermark: -1");
+        assertInvalid(Memories.pooledAllocatorBuilder().maxMemoryCapacity(64).replenish(4, 2), "highWatermark: 2");
+    }
+
+    @Test
+    public void pooledAllocatorSameCapacity() {
+        MemoryAllocator allocator = Memories.allocator(1, 1, 24);
+        assertInvalid(Memories.pooledAllocatorBuilder().poolSize(1).maxPoolSize(1).maxMemoryCapacity(24), "maxMemoryCapacity: 24");
+        allocator.close();
+        // the capacity is free again once the first pool is closed
+        MemoryAllocator next = Memories.allocator(1, 1, 24);
+        next.close();
+    }
+
+    private static void assertInvalid(PooledMemoryAllocatorBuilder builder, String message) {
+        try {
+            builder.build().close();
+        } catch (IllegalArgumentException e) {
+            assert e.getMessage().startsWith(message) : e.getMessage();
+            return;
+        }
+        throw new AssertionError("expected: " + message);
+    }
+
 }
@@ -0,0 +1,90 @@
+package com.ardikars.common.memory;
+
+import org.junit.FixMethodOrder;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+import org.junit.runners.MethodSorters;
+
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.Set;
+
+@RunWith(JUnit4.class)
+@FixMethodOrder(MethodSorters.NAME_ASCENDING)
+public class MemoryAllocatorMetricTest extends BaseTest {
+
+    @Test
+    public void pooledHitMissAndFallback() {
+        MemoryAllocator allocator = Memories.allocator(2, 3, DEFAULT_MAX_CAPACITY);
+        MemoryAllocatorMetric metric = allocator.metric();
+        Memory first = allocator.allocate(DEFAULT_CAPACITY, DEFAULT_MAX_CAPACITY);
+        Memory second = allocator.allocate(DEFAULT_CAPACITY, DEFAULT_MAX_CAPACITY);
+        assert metric.getHits() == 2 && metric.getMisses() == 0;
+        Memory third = allocator.allocate(DEFAULT_CAPACITY, DEFAULT_MAX_CAPACITY); // grow the pool
+        Memory fourth = allocator.allocate(DEFAULT_CAPACITY, DEFAULT_MAX_CAPACITY); // pool is exhausted
+        assert metric.getAllocations() == 4;
+        assert metric.getMisses() == 2;
+        assert metric.getFallbacks() == 1;
+        long outstanding = 3 * DEFAULT_MAX_CAPACITY + DEFAULT_CAPACITY;
+        assert metric.getOutstandingBytes() == outstanding;
+        assert metric.getPeakOutstandingBytes() == outstanding;
+        first.release();
+        second.release();
+        third.release();
+        fourth.release();
+        assert metric.getReleases() == 4;
+        assert metric.getOutstandingBytes() == 0;
+        assert metric.getPeakOutstandingBytes() == outstanding;
+        allocator.close();
+    }
+
+    @Test
+    public void sliceReleaseCountedOnce() {
+        MemoryAllocator allocator = new DefaultMemoryAllocator();
+        Memory memory = allocator.allocate(DEFAULT_CAPACITY);
+        assert allocator.metric().getPeakOutstandingBytes() == DEFAULT_CAPACITY;
+        memory.retain();
+        memory.release();
+        assert allocator.metric().getReleases() == 0;
+        memory.release();
+        assert allocator.metric().getReleases() == 1;
+        assert allocator.metric().getOutstandingBytes() == 0;
+        assert allocator.metric().getPeakOutstandingBytes() == DEFAULT_CAPACITY;
+    }
+
+    @Test
+    public void peakBetweenReads() {
+        MemoryAllocator allocator = new DefaultMemoryAllocator();
+        Memory first = allocator.allocate(DEFAULT_CAPACITY);
+        Memory second = allocator.allocate(DEFAULT_CAPACITY);
+        first.release();
+        second.release();
+        // the spike is never observed by a reader
+        assert allocator.metric().getOutstandingBytes() == 0;
+        assert allocator.metric().getPeakOutstandingBytes() == 2 * DEFAULT_CAPACITY;
+    }
+
+    @Test
+    public void exportedAsMXBean() throws Exception {
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        ObjectName query = new ObjectName("com.ardikars.common.memory:type=MemoryAllocator,name=Arena-*");
+        int registered = server.queryNames(query, null).size();
+        MemoryAllocator allocator = Memories.arenaAllocator();
+        Set<ObjectName> names = server.queryNames(query, null);
+        assert names.size() == registered + 1;
+        if (hasUnsafe) {
+            allocator.allocate(DEFAULT_CAPACITY).release();
+            allocator.allocate(DEFAULT_CAPACITY).release();
+            long hits = 0;
+            for (ObjectName name : names) {
+                hits += (Long) server.getAttribute(name, "Hits");
+            }
+            assert hits == 1;
+        }
+        allocator.close();
+        assert server.queryNames(query, null).size() == registered;
+    }
+
+}
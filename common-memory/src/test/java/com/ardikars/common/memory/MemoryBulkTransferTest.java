@@ -0,0 +1,179 @@
+package com.ardikars.common.memory;
+
+import org.junit.FixMethodOrder;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+import org.junit.runners.MethodSorters;
+
+import java.nio.ByteBuffer;
+
+@RunWith(JUnit4.class)
+@FixMethodOrder(MethodSorters.NAME_ASCENDING)
+public class MemoryBulkTransferTest extends BaseTest {
+
+    private static final int CAPACITY = 64;
+
+    private Memory[] memories() {
+        if (hasUnsafe) {
+            return new Memory[] {
+                    new CheckedMemory(AbstractMemory.ACCESSOR.allocate(CAPACITY), CAPACITY, CAPACITY),
+                    new UncheckedMemory(AbstractMemory.ACCESSOR.allocate(CAPACITY), CAPACITY, CAPACITY),
+                    new ByteBuf(0, ByteBuffer.allocateDirect(CAPACITY), CAPACITY, CAPACITY, 0, 0)
+            };
+        }
+        return new Memory[] { new ByteBuf(0, ByteBuffer.allocateDirect(CAPACITY), CAPACITY, CAPACITY, 0, 0) };
+    }
+
+    @Test
+    public void shorts() {
+        for (Memory memory : memories()) {
+            short[] src = new short[] {1, -2, 0x1234, Short.MIN_VALUE, Short.MAX_VALUE};
+            short[] dst = new short[src.length + 1];
+            memory.setShorts(2, src);
+            for (int i = 0; i < src.length; i++) {
+                assert memory.getShort(2 + i * SHORT_SIZE) == src[i];
+            }
+            memory.getShorts(2, dst, 1, src.length);
+            for (int i = 0; i < src.length; i++) {
+                assert dst[i + 1] == src[i];
+            }
+            memory.setShortsLE(0, src, 1, 2);
+            assert memory.getShortLE(0) == src[1] && memory.getShortLE(2) == src[2];
+            memory.getShortsLE(0, dst, 0, 2);
+            assert dst[0] == src[1] && dst[1] == src[2];
+            memory.release();
+        }
+    }
+
+    @Test
+    public void ints() {
+        for (Memory memory : memories()) {
+            int[] src = new int[] {1, -2, 0x12345678, Integer.MIN_VALUE, Integer.MAX_VALUE};
+            int[] dst = new int[src.length];
+            memory.setInts(4, src);
+            for (int i = 0; i < src.length; i++) {
+                assert memory.getInt(4 + i * INT_SIZE) == src[i];
+            }
+            memory.getInts(4, dst);
+            assert java.util.Arrays.equals(src, dst);
+            memory.setIntsLE(1, src);
+            for (int i = 0; i < src.length; i++) {
+                assert memory.getIntLE(1 + i * INT_SIZE) == src[i];
+            }
+            memory.getIntsLE(1, dst);
+            assert java.util.Arrays.equals(src, dst);
+            memory.release();
+        }
+    }
+
+    @Test
+    public void longs() {
+        for (Memory memory : memories()) {
+            long[] src = new long[] {1L, -2L, 0x123456789ABCDEF0L, Long.MIN_VALUE, Long.MAX_VALUE};
+            long[] dst = new long[src.length];
+            memory.setLongs(3, src);
+            for (int i = 0; i < src.length; i++) {
+                assert memory.getLong(3 + i * LONG_SIZE) == src[i];
+            }
+            memory.getLongs(3, dst);
+            assert java.util.Arrays.equals(src, dst);
+            memory.setLongsLE(0, src);
+            for (int i = 0; i < src.length; i++) {
+                assert memory.getLongLE(i * LONG_SIZE) == src[i];
+            }
+            memory.getLongsLE(0, dst);
+            assert java.util.Arrays.equals(src, dst);
+            memory.release();
+        }
+    }
+
+    @Test
+    public void doubles() {
+        for (Memory memory : memories()) {
+            double[] src = new double[] {1.5D, -2.25D, Double.MIN_VALUE, Double.MAX_VALUE, Double.NaN};
+            double[] dst = new double[src.length];
+            memory.setDoubles(0, src);
+            for (int i = 0; i < src.length; i++) {
+                assert Double.compare(memory.getDouble(i * LONG_SIZE), src[i]) == 0;
+            }
+            memory.getDoubles(0, dst);
+            assert java.util.Arrays.equals(src, dst);
+            memory.setDoublesLE(0, src);
+            for (int i = 0; i < src.length; i++) {
+                assert Double.compare(memory.getDoubleLE(i * LONG_SIZE), src[i]) == 0;
+            }
+            memory.getDoublesLE(0, dst);
+            assert java.util.Arrays.equals(src, dst);
+            memory.release();
+        }
+    }
+
+    @Test
+    public void readAndWrite() {
+        for (Memory memory : memories()) {
+            int[] ints = new int[] {1, 2, 3};
+            long[] longs = new long[] {4L, 5L};
+            memory.writeInts(ints).writeLongsLE(longs, 1, 1);
+            assert memory.writerIndex() == 3 * INT_SIZE + LONG_SIZE;
+            int[] intsDst = new int[3];
+            long[] longsDst = new long[1];
+            memory.readInts(intsDst).readLongsLE(longsDst);
+            assert memory.readerIndex() == memory.writerIndex();
+            assert java.util.Arrays.equals(ints, intsDst);
+            assert longsDst[0] == 5L;
+            memory.release();
+        }
+    }
+
+    @Test
+    public void checkedOutOfBounds() {
+        if (!hasUnsafe) {
+            return;
+        }
+        Memory memory = new CheckedMemory(AbstractMemory.ACCESSOR.allocate(CAPACITY), CAPACITY, CAPACITY);
+        try {
+            memory.getLongs(8, new long[8]);
+            assert false;
+        } catch (IndexOutOfBoundsException e) {
+            // index + length * 8 > capacity
+        }
+        try {
+            memory.setInts(0, new int[4], 2, 4);
+            assert false;
+        } catch (IndexOutOfBoundsException e) {
+            // srcIndex + length > src.length
+        }
+        memory.release();
+    }
+
+    @Test
+    public void overflowingLength() {
+        if (!hasUnsafe) {
+            return;
+        }
+        Memory memory = new UncheckedMemory(AbstractMemory.ACCESSOR.allocate(CAPACITY), CAPACITY, CAPACITY);
+        try {
+            memory.readInts(new int[1], 0, 1 << 30); // 1 << 32 bytes overflows to 0
+            assert false;
+        } catch (IndexOutOfBoundsException e) {
+            // expected
+        }
+        try {
+            memory.writeLongs(new long[1], 0, (1 << 29) + 1);
+            assert false;
+        } catch (IndexOutOfBoundsException e) {
+            // expected
+        }
+        memory.release();
+        memory = new CheckedMemory(AbstractMemory.ACCESSOR.allocate(CAPACITY), CAPACITY, CAPACITY);
+        try {
+            memory.setShorts(0, new short[1], 0, Integer.MIN_VALUE); // overflows to 0 bytes
+            assert false;
+        } catch (IndexOutOfBoundsException e) {
+            // expected
+        }
+        memory.release();
+    }
+
+}
@@ -0,0 +1,129 @@
+package com.ardikars.common.memory;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.FixMethodOrder;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+import org.junit.runners.MethodSorters;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.Pipe;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+@RunWith(JUnit4.class)
+@FixMethodOrder(MethodSorters.NAME_ASCENDING)
+public class MemoryChannelTest extends BaseTest {
+
+    private Path file;
+
+    @Before
+    public void before() throws IOException {
+        file = Files.createTempFile("common-memory", ".bin");
+        byte[] content = new byte[DEFAULT_CAPACITY];
+        for (int i = 0; i < content.length; i++) {
+            content[i] = (byte) i;
+        }
+        Files.write(file, content);
+    }
+
+    @After
+    public void after() throws IOException {
+        Files.deleteIfExists(file);
+    }
+
+    @Test
+    public void fileChannel() throws IOException {
+        FileChannel channel = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        try {
+            Memory memory = Memories.allocator().allocate(16);
+            assert memory.writeBytes(channel, 4, 8) == 8;
+            assert memory.writerIndex() == 8;
+            assert channel.position() == 0;
+            assert memory.getInt(0) == 0x04050607;
+            assert memory.writeBytes(channel, DEFAULT_CAPACITY - 2, 8) == 2;
+            assert memory.writerIndex() == 10;
+            assert memory.writeBytes(channel, DEFAULT_CAPACITY, 4) == -1;
+            assert memory.writerIndex() == 10;
+
+            memory.readerIndex(4);
+            assert memory.readBytes(channel, 0, 4) == 4;
+            assert memory.readerIndex() == 8;
+            assert channel.position() == 0;
+            memory.release();
+
+            Memory check = Memories.allocator().allocate(4);
+            check.writeBytes(channel, 0, 4);
+            assert check.getInt(0) == 0x08090A0B;
+            check.release();
+        } finally {
+            channel.close();
+        }
+    }
+
+    @Test
+    public void pipeChannel() throws IOException {
+        Pipe pipe = Pipe.open();
+        try {
+            pipe.sink().write(ByteBuffer.wrap(new byte[] {1, 2, 3, 4, 5, 6}));
+            Memory memory = Memories.allocator().allocate(8);
+            assert memory.writeBytes(pipe.source(), 8) == 6;
+            assert memory.writerIndex() == 6;
+            assert memory.getShort(4) == 0x0506;
+
+            memory.readerIndex(1);
+            assert memory.getBytes(1, pipe.sink(), 2) == 2;
+            assert memory.readerIndex() == 1;
+            assert memory.readBytes(pipe.sink(), 5) == 5;
+            assert !memory.isReadable();
+            ByteBuffer written = ByteBuffer.allocate(7);
+            while (written.hasRemaining()) {
+                pipe.source().read(written);
+            }
+            assert written.get(0) == 2 && written.get(2) == 2 && written.get(6) == 6;
+            memory.release();
+        } finally {
+            pipe.sink().close();
+            pipe.source().close();
+        }
+    }
+
+    @Test
+    public void compositeChannel() throws IOException {
+        FileChannel channel = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        try {
+            CompositeMemory composite = Memories.composite().addComponents(
+                    Memories.allocator().allocate(3).writerIndex(3),
+                    Memories.allocator().allocate(5).writerIndex(5));
+            assert composite.setBytes(0, channel, 8, 8) == 8;
+            assert composite.getLong(0) == 0x08090A0B0C0D0E0FL;
+            assert composite.component(1).getByte(0) == 0x0B;
+
+            Pipe pipe = Pipe.open();
+            composite.readerIndex(2);
+            assert composite.readBytes(pipe.sink(), 6) == 6;
+            ByteBuffer written = ByteBuffer.allocate(6);
+            while (written.hasRemaining()) {
+                pipe.source().read(written);
+            }
+            assert written.get(0) == 0x0A && written.get(5) == 0x0F;
+            pipe.sink().close();
+            pipe.source().close();
+
+            assert composite.getBytes(1, channel, 0, 4) == 4;
+            Memory check = Memories.allocator().allocate(4);
+            check.writeBytes(channel, 0, 4);
+            assert check.getInt(0) == 0x090A0B0C;
+            check.release();
+            composite.release();
+        } finally {
+            channel.close();
+        }
+    }
+
+}
@@ -0,0 +1,224 @@
+package com.ardikars.common.memory;
+
+import org.junit.FixMethodOrder;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+import org.junit.runners.MethodSorters;
+
+@RunWith(JUnit4.class)
+@FixMethodOrder(MethodSorters.NAME_ASCENDING)
+public class MemoryGrowthTest extends BaseTest {
+
+    private static final int MIB = 1024 * 1024;
+
+    @Test
+    public void calculateNewCapacity() {
+        AbstractMemory memory = (AbstractMemory) Memories.allocator().allocate(DEFAULT_CAPACITY);
+        assert memory.calculateNewCapacity(1, Integer.MAX_VALUE) == 64;
+        assert memory.calculateNewCapacity(65, Integer.MAX_VALUE) == 128;
+        assert memory.calculateNewCapacity(3 * MIB, Integer.MAX_VALUE) == 4 * MIB;
+        assert memory.calculateNewCapacity(4 * MIB + 1, Integer.MAX_VALUE) == 8 * MIB;
+        assert memory.calculateNewCapacity(9 * MIB, Integer.MAX_VALUE) == 12 * MIB;
+        assert memory.calculateNewCapacity(100, 100) == 100;
+        memory.release();
+    }
+
+    @Test
+    public void writeGrowsCapacity() {
+        Memory memory = Memories.allocator().allocate(DEFAULT_CAPACITY);
+        for (int i = 0; i < DEFAULT_CAPACITY + 1; i++) {
+            memory.writeByte(i);
+        }
+        assert memory.capacity() == 64;
+        for (int i = 0; i < 64; i++) {
+            memory.writeLong(i);
+        }
+        assert memory.capacity() == 1024;
+        assert memory.getByte(DEFAULT_CAPACITY) == DEFAULT_CAPACITY;
+        assert memory.getLong(DEFAULT_CAPACITY + 1 + 63 * 8) == 63;
+        memory.release();
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void writeBeyondMaxCapacity() {
+        Memory memory = Memories.allocator().allocate(DEFAULT_CAPACITY, DEFAULT_MAX_CAPACITY);
+        try {
+            memory.writerIndex(DEFAULT_CAPACITY);
+            memory.ensureWritable(DEFAULT_MAX_CAPACITY - DEFAULT_CAPACITY);
+            assert memory.capacity() == DEFAULT_MAX_CAPACITY;
+            memory.writerIndex(DEFAULT_MAX_CAPACITY);
+            memory.writeByte(0);
+        } finally {
+            memory.release();
+        }
+    }
+
+    @Test
+    public void writeBeyondSlice() {
+        Memory memory = Memories.allocator().allocate(64, 1024);
+        Memory slice = memory.slice(8, 8);
+        assert slice.maxCapacity() == 8;
+        slice.writerIndex(0);
+        slice.writeLong(1);
+        try {
+            slice.writeLong(2);
+            assert false;
+        } catch (IndexOutOfBoundsException e) {
+            // expected, a slice can't grow beyond its parent's region
+        }
+        assert slice.capacity() == 8;
+        assert memory.getLong(8) == 1;
+        memory.release();
+    }
+
+    @Test
+    public void unpooledGrowsWhileDuplicated() {
+        Memory memory = Memories.allocator().allocate(DEFAULT_CAPACITY, DEFAULT_MAX_CAPACITY);
+        Memory duplicate = memory.duplicate();
+        memory.setInt(0, 1);
+        memory.writerIndex(DEFAULT_CAPACITY);
+        memory.writeInt(2);
+        assert memory.capacity() == DEFAULT_MAX_CAPACITY;
+        assert memory.getInt(0) == 1 && memory.getInt(DEFAULT_CAPACITY) == 2;
+        // the old block is freed on the last release, not while the duplicate still addresses it
+        assert duplicate.getInt(0) == 1;
+        memory.release();
+        assert duplicate.refCnt() == 0;
+    }
+
+    @Test
+    public void unpooledGrowsAfterNioBuffer() {
+        Memory memory = Memories.allocator().allocate(DEFAULT_CAPACITY, DEFAULT_MAX_CAPACITY);
+        memory.setInt(0, 1);
+        assert memory.nioBuffer().getInt(0) == 1;
+        memory.capacity(DEFAULT_MAX_CAPACITY);
+        assert memory.getInt(0) == 1;
+        memory.release();
+    }
+
+    @Test
+    public void pooledMovesAfterViewReleased() {
+        MemoryAllocator small = Memories.allocator(2, 2, 4096);
+        MemoryAllocator large = Memories.allocator(2, 2, 65536);
+        Memory memory = small.allocate(DEFAULT_CAPACITY, 65536);
+        memory.setInt(0, 1);
+        Memory duplicate = memory.duplicate().retain();
+        try {
+            memory.capacity(8192);
+            assert false;
+        } catch (IllegalStateException e) {
+            // expected, the duplicate still addresses the block
+        }
+        duplicate.release();
+        memory.capacity(8192);
+        assert memory.capacity() == 8192 && memory.getInt(0) == 1;
+        memory.release();
+        small.close();
+        large.close();
+    }
+
+    @Test
+    public void pooledGrowsIntoBlock() {
+        MemoryAllocator allocator = Memories.allocator(2, 2, 128);
+        Memory memory = allocator.allocate(DEFAULT_CAPACITY);
+        memory.writerIndex(DEFAULT_CAPACITY);
+        memory.writeInt(1);
+        assert memory.capacity() == 128;
+        memory.release();
+        allocator.close();
+    }
+
+    @Test
+    public void pooledMovesToLargerPool() {
+        MemoryAllocator small = Memories.allocator(2, 2, 4096);
+        MemoryAllocator large = Memories.allocator(2, 2, 65536);
+        Memory memory = small.allocate(DEFAULT_CAPACITY, 65536);
+        for (int i = 0; i < 1024; i++) {
+            memory.writeInt(i);
+        }
+        memory.writeInt(1024);
+        assert memory.capacity() > 4096;
+        assert Memories.POOLS.get(65536).available() == 1;
+        assert Memories.POOLS.get(4096).available() == 2;
+        for (int i = 0; i <= 1024; i++) {
+            assert memory.readInt() == i;
+        }
+        memory.release();
+        assert Memories.POOLS.get(65536).available() == 2;
+        assert Memories.POOLS.get(4096).available() == 2;
+
+        Memory last = large.allocate(DEFAULT_CAPACITY);
+        Memory other = large.allocate(DEFAULT_CAPACITY);
+        Memory next = small.allocate(DEFAULT_CAPACITY, 65536);
+        try {
+            next.capacity(8192);
+            assert false;
+        } catch (IllegalArgumentException e) {
+            // expected, no larger pool size class with free memory
+        }
+        next.release();
+        last.release();
+        other.release();
+        small.close();
+        large.close();
+    }
+
+    @Test
+    public void pooledRefusesMoveWhileShared() {
+        MemoryAllocator small = Memories.allocator(2, 2, 4096);
+        MemoryAllocator large = Memories.allocator(2, 2, 65536);
+        Memory memory = small.allocate(DEFAULT_CAPACITY, 65536);
+        Memory slice = memory.slice(0, DEFAULT_CAPACITY);
+        memory.setInt(0, 1);
+        memory.capacity(4096);
+        assert memory.capacity() == 4096;
+        try {
+            memory.capacity(8192);
+            assert false;
+        } catch (IllegalStateException e) {
+            // expected, the slice still addresses the block
+        }
+        assert memory.capacity() == 4096;
+        assert slice.getInt(0) == 1;
+        assert Memories.POOLS.get(65536).available() == 2;
+        slice.release();
+
+        Memory retained = small.allocate(DEFAULT_CAPACITY, 65536);
+        retained.retain();
+        try {
+            retained.capacity(8192);
+            assert false;
+        } catch (IllegalStateException e) {
+            // expected, other owners still address the block
+        }
+        retained.release();
+        retained.capacity(8192);
+        assert retained.capacity() > 4096;
+        retained.release();
+        assert Memories.POOLS.get(65536).available() == 2;
+        assert Memories.POOLS.get(4096).available() == 2;
+        small.close();
+        large.close();
+    }
+
+    @Test
+    public void pooledSkipsClosedLargerPool() {
+        MemoryAllocator small = Memories.allocator(2, 2, 4096);
+        MemoryAllocator large = Memories.allocator(2, 2, 65536);
+        assert Memories.POOLS.get(65536) == large;
+        large.close();
+        assert Memories.POOLS.get(65536) == null;
+        Memory memory = small.allocate(DEFAULT_CAPACITY, 65536);
+        try {
+            memory.capacity(8192);
+            assert false;
+        } catch (IllegalArgumentException e) {
+            // expected, the larger pool size class is closed
+        }
+        memory.release();
+        small.close();
+        assert Memories.POOLS.get(4096) == null;
+    }
+
+}
@@ -0,0 +1,76 @@
+package com.ardikars.common.memory;
+
+import com.ardikars.common.util.Hexs;
+import org.junit.FixMethodOrder;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+import org.junit.runners.MethodSorters;
+
+import java.io.IOException;
+
+@RunWith(JUnit4.class)
+@FixMethodOrder(MethodSorters.NAME_ASCENDING)
+public class MemoryHexsTest extends BaseTest {
+
+    private static byte[] bytes(int length) {
+        byte[] data = new byte[length];
+        for (int i = 0; i < length; i++) {
+            data[i] = (byte) (i * 13 + 5);
+        }
+        return data;
+    }
+
+    @Test
+    public void toHexString() throws IOException {
+        byte[] data = bytes(77);
+        Memory memory = Memories.wrap(data, true);
+        assert MemoryHexs.toHexString(memory).equals(Hexs.toHexString(data));
+        for (int index = 0; index < 9; index++) {
+            for (int length = 0; length < 20; length++) {
+                assert MemoryHexs.toHexString(memory, index, length).equals(Hexs.toHexString(data, index, length));
+            }
+        }
+        assert MemoryHexs.appendHexString(new StringBuilder("x"), memory, 3, 70).toString()
+                .equals("x" + Hexs.toHexString(data, 3, 70));
+        assert MemoryHexs.appendHexString((Appendable) new StringBuilder(), memory, 0, 77).toString()
+                .equals(Hexs.toHexString(data));
+        memory.release();
+    }
+
+    @Test
+    public void toPrettyHexDump() {
+        byte[] data = bytes(40);
+        Memory memory = Memories.wrap(data, false);
+        assert MemoryHexs.toPrettyHexDump(memory, 0, 40).equals(Hexs.toPrettyHexDump(data));
+        assert MemoryHexs.toPrettyHexDump(memory, 5, 20).equals(Hexs.toPrettyHexDump(data, 5, 20));
+        memory.release();
+    }
+
+    @Test
+    public void parseHex() {
+        Memory memory = Memories.allocator().allocate(16);
+        assert MemoryHexs.parseHex("0x0102 0304\n05060708 090a0B", memory, 2) == 11;
+        for (int i = 0; i < 11; i++) {
+            assert memory.getByte(2 + i) == i + 1;
+        }
+        try {
+            MemoryHexs.parseHex("010", memory, 0);
+            assert false;
+        } catch (IllegalArgumentException e) {
+            // expected
+        }
+        try {
+            MemoryHexs.parseHex("0102", memory, 15);
+            assert false;
+        } catch (IndexOutOfBoundsException e) {
+            // expected
+        }
+        memory.release();
+        Memory wrapped = Memories.wrap("0a2b2d0205");
+        assert wrapped.capacity() == 5;
+        assert MemoryHexs.toHexString(wrapped).equals("0a2b2d0205");
+        wrapped.release();
+    }
+
+}
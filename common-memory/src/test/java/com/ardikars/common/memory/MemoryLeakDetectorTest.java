@@ -0,0 +1,69 @@
+package com.ardikars.common.memory;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.FixMethodOrder;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+import org.junit.runners.MethodSorters;
+
+@RunWith(JUnit4.class)
+@FixMethodOrder(MethodSorters.NAME_ASCENDING)
+public class MemoryLeakDetectorTest extends BaseTest {
+
+    private final MemoryAllocator allocator = new DefaultMemoryAllocator();
+
+    private MemoryLeakDetector.Level level;
+
+    @Before
+    public void before() {
+        level = MemoryLeakDetector.getLevel();
+        MemoryLeakDetector.setLevel(MemoryLeakDetector.Level.PARANOID);
+        MemoryLeakDetector.reportLeaks();
+    }
+
+    @After
+    public void after() {
+        MemoryLeakDetector.setLevel(level);
+    }
+
+    @Test
+    public void reportLeak() throws InterruptedException {
+        allocateAndForget();
+        assert awaitLeaks() == 1;
+    }
+
+    @Test
+    public void releasedIsNotLeak() throws InterruptedException {
+        Memory memory = allocator.allocate(DEFAULT_CAPACITY);
+        memory.retain();
+        memory.release();
+        memory.release();
+        memory = null;
+        assert awaitLeaks() == 0;
+    }
+
+    @Test
+    public void disabled() throws InterruptedException {
+        MemoryLeakDetector.setLevel(MemoryLeakDetector.Level.DISABLED);
+        allocateAndForget();
+        assert awaitLeaks() == 0;
+    }
+
+    private void allocateAndForget() {
+        Memory memory = allocator.allocate(DEFAULT_CAPACITY);
+        memory.retain();
+    }
+
+    private int awaitLeaks() throws InterruptedException {
+        int leaks = 0;
+        for (int i = 0; i < 10 && leaks == 0; i++) {
+            System.gc();
+            Thread.sleep(50);
+            leaks += MemoryLeakDetector.reportLeaks();
+        }
+        return leaks;
+    }
+
+}
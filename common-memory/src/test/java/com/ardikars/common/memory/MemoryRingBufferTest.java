@@ -0,0 +1,159 @@
+package com.ardikars.common.memory;
+
+import org.junit.FixMethodOrder;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+import org.junit.runners.MethodSorters;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+@RunWith(JUnit4.class)
+@FixMethodOrder(MethodSorters.NAME_ASCENDING)
+public class MemoryRingBufferTest extends BaseTest {
+
+    @Test
+    public void claimCommitAndRead() {
+        MemoryRingBuffer ring = Memories.ringBuffer(Memories.allocator(), 256, false);
+        assert ring.maxRecordLength() == 24;
+        int index = ring.claim(7, 5);
+        ring.memory().setInt(index, 0x01020304);
+        ring.memory().setByte(index + 4, 5);
+        assert ring.isEmpty();
+        ring.commit(index);
+        assert ring.size() == 16;
+        assert ring.write(8, new byte[] {1, 2, 3}, 1, 2);
+        ring.abort(ring.claim(9, 1));
+        final int[] records = new int[1];
+        int read = ring.read(new MemoryRingBuffer.Handler() {
+            @Override
+            public void onRecord(int type, Memory memory, int index, int length) {
+                if (records[0]++ == 0) {
+                    assert type == 7 && length == 5;
+                    assert memory.getInt(index) == 0x01020304 && memory.getByte(index + 4) == 5;
+                } else {
+                    assert type == 8 && length == 2;
+                    assert memory.getShort(index) == 0x0203;
+                }
+            }
+        });
+        assert read == 2 && records[0] == 2;
+        assert ring.isEmpty();
+        ring.release();
+    }
+
+    @Test
+    public void fullAndWrapAround() {
+        MemoryRingBuffer ring = Memories.ringBuffer(Memories.allocator(), 256, false);
+        Memory src = Memories.allocator().allocate(16);
+        final long[] expected = new long[1];
+        MemoryRingBuffer.Handler handler = new MemoryRingBuffer.Handler() {
+            @Override
+            public void onRecord(int type, Memory memory, int index, int length) {
+                assert type == length;
+                assert memory.getLong(index) == expected[0]++;
+            }
+        };
+        long next = 0;
+        for (int round = 0; round < 100; round++) {
+            int written = 0;
+            for (;;) {
+                src.setLong(0, next);
+                int length = 8 + (int) (next % 9);
+                if (!ring.write(length, src, 0, length)) {
+                    break;
+                }
+                next++;
+                written++;
+            }
+            assert written > 0;
+            assert ring.read(handler, 2) == 2;
+            assert ring.read(handler) == written - 2;
+        }
+        assert expected[0] == next;
+        src.release();
+        ring.release();
+    }
+
+    @Test
+    public void commitDoesNotWaitOnOtherProducers() {
+        MemoryRingBuffer ring = Memories.ringBuffer(Memories.allocator(), 256, true);
+        int stalled = ring.claim(1, 4);
+        int index = ring.claim(2, 4);
+        ring.memory().setInt(index, 2);
+        // would wait forever if records were published in claim order
+        ring.commit(index);
+        assert ring.size() == 16;
+        final int[] types = new int[2];
+        final int[] count = new int[1];
+        MemoryRingBuffer.Handler handler = new MemoryRingBuffer.Handler() {
+            @Override
+            public void onRecord(int type, Memory memory, int index, int length) {
+                assert memory.getInt(index) == type;
+                types[count[0]++] = type;
+            }
+        };
+        // the consumer stops at the first uncommitted record
+        assert ring.read(handler) == 0;
+        ring.memory().setInt(stalled, 1);
+        ring.commit(stalled);
+        assert ring.read(handler) == 2;
+        assert types[0] == 1 && types[1] == 2;
+        assert ring.isEmpty();
+        // slots of read records start uncommitted on the next lap
+        for (int i = 0; i < 64; i++) {
+            int claimed = ring.claim(3, 4);
+            assert ring.read(handler, 1) == 0;
+            ring.abort(claimed);
+            assert ring.read(handler) == 0;
+        }
+        assert ring.isEmpty();
+        ring.release();
+    }
+
+    @Test
+    public void multiProducer() throws InterruptedException {
+        final MemoryRingBuffer ring = Memories.ringBuffer(Memories.allocator(), 1024, true);
+        final int producers = 4;
+        final int records = 10000;
+        final CountDownLatch latch = new CountDownLatch(producers);
+        for (int p = 0; p < producers; p++) {
+            final int producer = p;
+            new Thread(new Runnable() {
+                @Override
+                public void run() {
+                    for (int i = 0; i < records; i++) {
+                        int index;
+                        while ((index = ring.claim(producer, 4 + (i & 7))) < 0) {
+                            Thread.yield();
+                        }
+                        ring.memory().setInt(index, i);
+                        ring.commit(index);
+                    }
+                    latch.countDown();
+                }
+            }).start();
+        }
+        final int[] next = new int[producers];
+        final AtomicBoolean failed = new AtomicBoolean();
+        MemoryRingBuffer.Handler handler = new MemoryRingBuffer.Handler() {
+            @Override
+            public void onRecord(int type, Memory memory, int index, int length) {
+                int sequence = memory.getInt(index);
+                if (sequence != next[type]++ || length != 4 + (sequence & 7)) {
+                    failed.set(true);
+                }
+            }
+        };
+        int total = 0;
+        while (total < producers * records) {
+            total += ring.read(handler, 64);
+        }
+        latch.await();
+        assert !failed.get();
+        assert ring.isEmpty();
+        ring.release();
+    }
+
+}
@@ -0,0 +1,137 @@
+package com.ardikars.common.memory;
+
+import org.junit.FixMethodOrder;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+import org.junit.runners.MethodSorters;
+
+import java.nio.ByteBuffer;
+
+@RunWith(JUnit4.class)
+@FixMethodOrder(MethodSorters.NAME_ASCENDING)
+public class MemorySearchTest extends BaseTest {
+
+    private static final int CAPACITY = 67;
+
+    private Memory[] memories() {
+        Memory[] memories;
+        if (hasUnsafe) {
+            memories = new Memory[] {
+                    new CheckedMemory(AbstractMemory.ACCESSOR.allocate(CAPACITY), CAPACITY, CAPACITY),
+                    new UncheckedMemory(AbstractMemory.ACCESSOR.allocate(CAPACITY), CAPACITY, CAPACITY),
+                    new ByteBuf(0, ByteBuffer.allocateDirect(CAPACITY), CAPACITY, CAPACITY, 0, 0)
+            };
+        } else {
+            memories = new Memory[] { new ByteBuf(0, ByteBuffer.allocateDirect(CAPACITY), CAPACITY, CAPACITY, 0, 0) };
+        }
+        for (Memory memory : memories) {
+            for (int i = 0; i < CAPACITY; i++) {
+                memory.writeByte('a');
+            }
+        }
+        return memories;
+    }
+
+    private Memory pattern(String pattern) {
+        byte[] bytes = pattern.getBytes();
+        return new ByteBuf(0, ByteBuffer.wrap(bytes), bytes.length, bytes.length, 0, bytes.length);
+    }
+
+    @Test
+    public void indexOfByte() {
+        for (Memory memory : memories()) {
+            assert memory.indexOf((byte) 'b') == -1;
+            for (int i = 0; i < CAPACITY; i++) {
+                memory.setByte(i, 'b');
+                assert memory.indexOf((byte) 'b') == i;
+                assert memory.indexOf(0, i, (byte) 'b') == -1;
+                assert memory.indexOf(i, i + 1, (byte) 'b') == i;
+                memory.setByte(i, 'a');
+            }
+            memory.setByte(10, 0x80);
+            memory.setByte(20, 0x80);
+            assert memory.indexOf((byte) 0x80) == 10;
+            assert memory.indexOf(11, CAPACITY, (byte) 0x80) == 20;
+            assert memory.indexOf(20, 10, (byte) 0x80) == -1;
+            memory.readerIndex(21);
+            assert memory.indexOf((byte) 0x80) == -1;
+            memory.release();
+        }
+    }
+
+    @Test
+    public void indexOfPattern() {
+        for (Memory memory : memories()) {
+            assert memory.indexOf(pattern("\r\n")) == -1;
+            memory.setByte(40, '\r');
+            memory.setByte(50, '\r');
+            memory.setByte(51, '\n');
+            assert memory.indexOf(pattern("\r\n")) == 50;
+            assert memory.indexOf(0, 51, pattern("\r\n")) == -1;
+            assert memory.indexOf(pattern("")) == 0;
+
+            memory.setBytes(57, "boundary".getBytes());
+            memory.setBytes(3, "boundar".getBytes());
+            assert memory.indexOf(pattern("boundary")) == 57;
+            assert memory.indexOf(0, CAPACITY - 3, pattern("boundary")) == -1;
+            assert memory.indexOf(pattern("aaaab")) == 53;
+            assert memory.indexOf(pattern("aaaaaaaaaaaab")) == -1;
+            assert memory.indexOf(pattern("--boundary--")) == -1;
+            memory.release();
+        }
+    }
+
+    @Test
+    public void bytesBefore() {
+        for (Memory memory : memories()) {
+            memory.setByte(30, '\n');
+            memory.readerIndex(10);
+            assert memory.bytesBefore((byte) '\n') == 20;
+            assert memory.bytesBefore(20, (byte) '\n') == -1;
+            assert memory.bytesBefore(21, (byte) '\n') == 20;
+            assert memory.bytesBefore(25, 10, (byte) '\n') == 5;
+            memory.release();
+        }
+    }
+
+    @Test
+    public void forEachByte() {
+        for (Memory memory : memories()) {
+            memory.setByte(33, '\r');
+            assert memory.forEachByte(ByteProcessor.FIND_CRLF) == 33;
+            assert memory.forEachByte(ByteProcessor.FIND_LF) == -1;
+            assert memory.forEachByte(34, 10, ByteProcessor.FIND_CR) == -1;
+            assert memory.forEachByte(33, 10, ByteProcessor.FIND_NON_CRLF) == 34;
+            final int[] count = new int[1];
+            assert memory.forEachByte(0, 5, new ByteProcessor() {
+                @Override
+                public boolean process(byte value) {
+                    return ++count[0] < 3;
+                }
+            }) == 2;
+            assert count[0] == 3;
+            memory.release();
+        }
+    }
+
+    @Test
+    public void checkedOutOfBounds() {
+        for (Memory memory : memories()) {
+            try {
+                memory.indexOf(0, CAPACITY + 1, (byte) 'b');
+                assert false;
+            } catch (IndexOutOfBoundsException e) {
+                // expected
+            }
+            try {
+                memory.forEachByte(-1, 2, ByteProcessor.FIND_NUL);
+                assert false;
+            } catch (IndexOutOfBoundsException e) {
+                // expected
+            }
+            memory.release();
+        }
+    }
+
+}
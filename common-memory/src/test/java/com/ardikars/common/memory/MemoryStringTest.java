@@ -0,0 +1,96 @@
+package com.ardikars.common.memory;
+
+import org.junit.FixMethodOrder;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+import org.junit.runners.MethodSorters;
+
+import java.nio.charset.Charset;
+
+@RunWith(JUnit4.class)
+@FixMethodOrder(MethodSorters.NAME_ASCENDING)
+public class MemoryStringTest extends BaseTest {
+
+    private static final Charset UTF_8 = Charset.forName("UTF-8");
+    private static final Charset US_ASCII = Charset.forName("US-ASCII");
+    private static final Charset ISO_8859_1 = Charset.forName("ISO-8859-1");
+
+    private static final String[] TEXTS = {
+        "",
+        "Hello",
+        "GET /index.html HTTP/1.1",
+        "café crème brûlée",
+        "日本語のテキスト and ascii tail",
+        "emoji 😀😁 mixed with text......"
+    };
+
+    @Test
+    public void utf8Bytes() {
+        for (String text : TEXTS) {
+            assert Memories.utf8Bytes(text) == text.getBytes(UTF_8).length;
+        }
+        assert Memories.utf8Bytes("a\uDC00") == 2;
+        assert Memories.utf8Bytes("a\uD800") == 2;
+        assert Memories.utf8Bytes("\uD800b") == 2;
+    }
+
+    @Test
+    public void writeUtf8() {
+        for (String text : TEXTS) {
+            Memory memory = Memories.allocator().allocate(1);
+            memory.writeCharSequence(text, UTF_8);
+            byte[] expected = text.getBytes(UTF_8);
+            assert memory.writerIndex() == expected.length;
+            for (int i = 0; i < expected.length; i++) {
+                assert memory.getByte(i) == expected[i];
+            }
+            assert text.equals(memory.readCharSequence(expected.length, UTF_8));
+            memory.release();
+        }
+    }
+
+    @Test
+    public void writeAscii() {
+        Memory memory = Memories.allocator().allocate(DEFAULT_CAPACITY);
+        memory.writeCharSequence("café 日 0123456789", US_ASCII);
+        assert memory.writerIndex() == 17;
+        assert memory.getByte(3) == (byte) 0xe9;
+        assert memory.getByte(5) == '?';
+        assert "0123456789".equals(memory.getCharSequence(7, 10, ISO_8859_1));
+        assert "café".equals(memory.getCharSequence(0, 4, ISO_8859_1));
+        memory.release();
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void setBeyondCapacity() {
+        Memory memory = Memories.allocator().allocate(DEFAULT_CAPACITY);
+        try {
+            memory.setCharSequence(DEFAULT_CAPACITY - 4, "Hello", UTF_8);
+        } finally {
+            memory.release();
+        }
+    }
+
+    @Test
+    public void asciiStringView() {
+        Memory memory = Memories.allocator().allocate(DEFAULT_CAPACITY);
+        memory.writeCharSequence("Host: example", US_ASCII);
+        AsciiString name = memory.readAsciiString(4);
+        assert memory.readerIndex() == 4;
+        memory.skipBytes(2);
+        AsciiString value = memory.readAsciiString(memory.readableBytes());
+        assert name.length() == 4 && name.charAt(3) == 't';
+        assert name.contentEquals("Host");
+        assert name.contentEqualsIgnoreCase("HOST");
+        assert !name.contentEquals("Hose");
+        assert name.hashCode() == "Host".hashCode();
+        assert "example".equals(value.toString());
+        assert value.subSequence(2, 5).contentEquals("amp");
+        assert name.equals(memory.getAsciiString(0, 4));
+        memory.setByte(0, 'h');
+        assert name.contentEquals("host");
+        memory.release();
+    }
+
+}
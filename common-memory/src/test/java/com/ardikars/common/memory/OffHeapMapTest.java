@@ -0,0 +1,147 @@
+package com.ardikars.common.memory;
+
+import org.junit.FixMethodOrder;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+import org.junit.runners.MethodSorters;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+@RunWith(JUnit4.class)
+@FixMethodOrder(MethodSorters.NAME_ASCENDING)
+public class OffHeapMapTest extends BaseTest {
+
+    @Test
+    public void longLongMap() {
+        OffHeapLongLongMap map = new OffHeapLongLongMap(Memories.allocator(), 4, -1L);
+        assert map.isEmpty();
+        assert map.get(1L) == -1L;
+        assert map.put(1L, 10L) == -1L;
+        assert map.put(1L, 11L) == 10L;
+        assert map.put(0L, 20L) == -1L;
+        assert map.get(0L) == 20L;
+        assert map.containsKey(0L) && map.containsKey(1L) && !map.containsKey(2L);
+        assert map.size() == 2;
+        assert map.remove(0L) == 20L;
+        assert map.remove(0L) == -1L;
+        assert map.remove(1L) == 11L;
+        assert map.isEmpty();
+        map.release();
+        try {
+            map.get(1L);
+            assert false;
+        } catch (IllegalStateException e) {
+            // expected
+        }
+    }
+
+    @Test
+    public void longLongMapIncrementalResize() {
+        OffHeapLongLongMap map = new OffHeapLongLongMap(Memories.allocator(), 0, 0.75F, Long.MIN_VALUE, 0);
+        Map<Long, Long> expected = new HashMap<Long, Long>();
+        Random random = new Random(7);
+        for (int i = 0; i < 100000; i++) {
+            long key = random.nextInt(20000) - 10000;
+            if (random.nextInt(4) == 0) {
+                Long previous = expected.remove(key);
+                assert map.remove(key) == (previous == null ? Long.MIN_VALUE : previous);
+            } else {
+                Long previous = expected.put(key, (long) i);
+                assert map.put(key, i) == (previous == null ? Long.MIN_VALUE : previous);
+            }
+            assert map.size() == expected.size();
+        }
+        for (long key = -10000; key < 10000; key++) {
+            Long value = expected.get(key);
+            assert map.get(key) == (value == null ? Long.MIN_VALUE : value);
+        }
+        map.clear();
+        assert map.isEmpty() && map.get(1L) == Long.MIN_VALUE;
+        map.release();
+    }
+
+    @Test
+    public void longLongMapConcurrent() throws InterruptedException {
+        final OffHeapLongLongMap map = new OffHeapLongLongMap(Memories.allocator(), 16, 0.75F, -1L, 8);
+        final int threads = 4;
+        final int keys = 10000;
+        final AtomicBoolean failed = new AtomicBoolean();
+        final CountDownLatch latch = new CountDownLatch(threads);
+        for (int t = 0; t < threads; t++) {
+            final long base = (long) t * keys;
+            new Thread(new Runnable() {
+                @Override
+                public void run() {
+                    try {
+                        for (long key = base; key < base + keys; key++) {
+                            map.put(key, key * 2);
+                        }
+                        for (long key = base; key < base + keys; key += 2) {
+                            map.remove(key);
+                        }
+                        for (long key = base; key < base + keys; key++) {
+                            if (map.get(key) != (key % 2 == 0 ? -1L : key * 2)) {
+                                failed.set(true);
+                            }
+                        }
+                    } catch (RuntimeException e) {
+                        failed.set(true);
+                    } finally {
+                        latch.countDown();
+                    }
+                }
+            }).start();
+        }
+        assert latch.await(30, TimeUnit.SECONDS);
+        assert !failed.get();
+        assert map.size() == threads * keys / 2;
+        map.release();
+    }
+
+    @Test
+    public void fixedWidthMap() {
+        OffHeapFixedWidthMap map = new OffHeapFixedWidthMap(Memories.allocator(), 13, 6, 0, 0.75F, 2);
+        Memory key = Memories.allocator().allocate(13);
+        Memory value = Memories.allocator().allocate(6);
+        Map<Long, Long> expected = new HashMap<Long, Long>();
+        Random random = new Random(11);
+        for (int i = 0; i < 50000; i++) {
+            long k = random.nextInt(5000);
+            key.setLong(0, k);
+            key.setInt(8, (int) k * 3);
+            key.setByte(12, (int) k);
+            if (random.nextInt(4) == 0) {
+                assert map.remove(key, 0) == (expected.remove(k) != null);
+            } else {
+                value.setInt(0, i);
+                value.setShort(4, i);
+                assert map.put(key, 0, value, 0) == (expected.put(k, (long) i) != null);
+            }
+            assert map.size() == expected.size();
+        }
+        for (long k = 0; k < 5000; k++) {
+            key.setLong(0, k);
+            key.setInt(8, (int) k * 3);
+            key.setByte(12, (int) k);
+            Long v = expected.get(k);
+            assert map.containsKey(key, 0) == (v != null);
+            assert map.get(key, 0, value, 0) == (v != null);
+            if (v != null) {
+                assert value.getInt(0) == v.intValue();
+                assert value.getShort(4) == (short) v.intValue();
+            }
+        }
+        map.clear();
+        assert map.isEmpty();
+        map.release();
+        key.release();
+        value.release();
+    }
+
+}
@@ -0,0 +1,166 @@
+package com.ardikars.common.memory;
+
+import org.junit.FixMethodOrder;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+import org.junit.runners.MethodSorters;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicReference;
+
+@RunWith(JUnit4.class)
+@FixMethodOrder(MethodSorters.NAME_ASCENDING)
+public class PooledMemoryPartitionTest extends BaseTest {
+
+    @Test
+    public void allocateFromAffinityPartition() {
+        PartitionedMemoryAllocator allocator = Memories.allocator(2, 4, 8192, 0, 4);
+        try {
+            Memories.affinity(6);
+            assert allocator.partitions() == 4;
+            assert allocator.partition() == 2;
+            Memory memory = allocator.allocate(DEFAULT_CAPACITY);
+            memory.writeLong(1L);
+            assert allocator.available(2) == 1;
+            assert allocator.available(0) == 2;
+            assert allocator.metric(2).getAllocations() == 1 && allocator.metric(2).getHits() == 1;
+            assert allocator.metric(0).getAllocations() == 0;
+            assert allocator.metric().getAllocations() == 1;
+            memory.release();
+            assert allocator.available(2) == 2;
+            assert allocator.metric(2).getReleases() == 1 && allocator.metric().getReleases() == 1;
+            assert allocator.metric().getOutstandingBytes() == 0;
+        } finally {
+            Memories.clearAffinity();
+            allocator.close();
+        }
+    }
+
+    @Test
+    public void releaseToOwnerPartition() {
+        PartitionedMemoryAllocator allocator = Memories.allocator(2, 2, 8192, 4, 4);
+        try {
+            Memories.affinity(1);
+            Memory first = allocator.allocate(DEFAULT_CAPACITY);
+            Memory second = allocator.allocate(DEFAULT_CAPACITY);
+            Memory fallback = allocator.allocate(DEFAULT_CAPACITY);
+            assert allocator.metric(1).getFallbacks() == 1 && allocator.metric().getFallbacks() == 1;
+            assert allocator.available(1) == 0;
+            Memories.affinity(3);
+            first.release(); // not cached by a thread of another partition
+            assert allocator.available(1) == 1;
+            assert allocator.available(3) == 2;
+            Memories.affinity(1);
+            second.release(); // cached
+            assert allocator.available(1) == 1;
+            assert allocator.allocate(DEFAULT_CAPACITY) == second;
+            second.release();
+            fallback.release();
+            assert allocator.metric(1).getReleases() == 4;
+            assert allocator.metric(3).getReleases() == 0;
+        } finally {
+            Memories.clearAffinity();
+            allocator.close();
+        }
+    }
+
+    @Test
+    public void concurrentThreads() throws InterruptedException {
+        final PartitionedMemoryAllocator allocator = Memories.allocator(4, 8, 4096, 2, 3);
+        final int threads = 6;
+        final int allocations = 1000;
+        final CountDownLatch latch = new CountDownLatch(threads);
+        for (int t = 0; t < threads; t++) {
+            new Thread(new Runnable() {
+                @Override
+                public void run() {
+                    for (int i = 0; i < allocations; i++) {
+                        Memory memory = allocator.allocate(DEFAULT_CAPACITY);
+                        memory.setInt(0, i);
+                        assert memory.getInt(0) == i;
+                        memory.release();
+                    }
+                    latch.countDown();
+                }
+            }).start();
+        }
+        latch.await();
+        long sum = 0;
+        for (int i = 0; i < allocator.partitions(); i++) {
+            sum += allocator.metric(i).getAllocations();
+        }
+        assert sum == threads * allocations;
+        assert allocator.metric().getAllocations() == sum;
+        assert allocator.metric().getOutstandingBytes() == 0;
+        allocator.close();
+    }
+
+    @Test
+    public void concurrentGrow() throws InterruptedException {
+        final PartitionedMemoryAllocator allocator = Memories.allocator(1, 33, 4096, 0, 1);
+        final int threads = 8;
+        final int allocations = 8;
+        final CountDownLatch start = new CountDownLatch(1);
+        final CountDownLatch done = new CountDownLatch(threads);
+        final AtomicReference<Throwable> failure = new AtomicReference<Throwable>();
+        for (int t = 0; t < threads; t++) {
+            new Thread(new Runnable() {
+                @Override
+                public void run() {
+                    try {
+                        start.await();
+                        Memory[] memories = new Memory[allocations];
+                        for (int i = 0; i < allocations; i++) {
+                            memories[i] = allocator.allocate(DEFAULT_CAPACITY);
+                            memories[i].setInt(0, i);
+                        }
+                        for (int i = 0; i < allocations; i++) {
+                            assert memories[i].getInt(0) == i;
+                            memories[i].release();
+                        }
+                    } catch (Throwable e) {
+                        failure.compareAndSet(null, e);
+                    } finally {
+                        done.countDown();
+                    }
+                }
+            }).start();
+        }
+        start.countDown();
+        done.await();
+        assert failure.get() == null : failure.get();
+        // pooled memories are given back to the pool, never more than maximum pool size
+        assert allocator.available(0) > 0 && allocator.available(0) <= 33;
+        assert allocator.metric().getOutstandingBytes() == 0;
+        allocator.close();
+    }
+
+    @Test
+    public void growWithinMaxPoolSize() {
+        PartitionedMemoryAllocator allocator = Memories.allocator(2, 7, 4096, 0, 1);
+        Memory[] memories = new Memory[8];
+        for (int i = 0; i < memories.length; i++) {
+            memories[i] = allocator.allocate(DEFAULT_CAPACITY);
+            assert allocator.available(0) == (i < 2 ? 1 - i : (i < 4 ? 3 - i : (i < 6 ? 5 - i : 0)));
+        }
+        for (int i = 0; i < memories.length; i++) {
+            // grown by a batch of initial pool size, the last one falls back to an unpooled memory
+            assert memories[i] instanceof PooledMemory == i < 7;
+            memories[i].release();
+        }
+        assert allocator.available(0) == 7;
+        allocator.close();
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void invalidPartition() {
+        PartitionedMemoryAllocator allocator = Memories.allocator(1, 1, 4096, 0, 2);
+        try {
+            allocator.metric(2);
+        } finally {
+            allocator.close();
+        }
+    }
+
+}
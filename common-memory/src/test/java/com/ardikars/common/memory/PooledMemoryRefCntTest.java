@@ -0,0 +1,154 @@
+package com.ardikars.common.memory;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.FixMethodOrder;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+import org.junit.runners.MethodSorters;
+
+@RunWith(JUnit4.class)
+@FixMethodOrder(MethodSorters.NAME_ASCENDING)
+public class PooledMemoryRefCntTest extends BaseTest {
+
+    private MemoryAllocator allocator;
+
+    @Before
+    public void before() {
+        allocator = Memories.allocator(2, 4, DEFAULT_MAX_CAPACITY);
+    }
+
+    @After
+    public void after() {
+        allocator.close();
+    }
+
+    @Test
+    public void retainAndRelease() {
+        Memory memory = allocator.allocate(DEFAULT_CAPACITY, DEFAULT_MAX_CAPACITY);
+        assert memory.refCnt() == 1;
+        assert memory.retain() == memory;
+        assert memory.retain(2).refCnt() == 4;
+        for (int i = 3; i >= 0; i--) {
+            memory.release();
+            assert memory.refCnt() == i;
+        }
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void doubleRelease() {
+        Memory memory = allocator.allocate(DEFAULT_CAPACITY, DEFAULT_MAX_CAPACITY);
+        memory.release();
+        memory.release();
+    }
+
+    @Test
+    public void unpooledDoubleRelease() {
+        MemoryAllocator unpooled = new DefaultMemoryAllocator();
+        Memory[] memories = new Memory[] {
+                unpooled.allocate(DEFAULT_CAPACITY, true),
+                unpooled.allocate(DEFAULT_CAPACITY, false),
+                unpooled.allocate(DEFAULT_CAPACITY).slice(0, 8)
+        };
+        for (Memory memory : memories) {
+            memory.release();
+            try {
+                memory.release();
+                assert false;
+            } catch (IllegalStateException e) {
+                // expected, the memory is freed once
+            }
+        }
+    }
+
+    @Test
+    public void unpooledDuplicateSharesRefCnt() {
+        MemoryAllocator unpooled = new DefaultMemoryAllocator();
+        Memory[] memories = new Memory[] {
+                unpooled.allocate(DEFAULT_CAPACITY, true),
+                unpooled.allocate(DEFAULT_CAPACITY, false)
+        };
+        for (Memory memory : memories) {
+            Memory duplicate = memory.duplicate();
+            Memory slice = duplicate.slice(0, 8);
+            duplicate.retain();
+            assert memory.refCnt() == 2 && slice.refCnt() == 2;
+            memory.release();
+            assert duplicate.refCnt() == 1;
+            duplicate.release();
+            assert memory.refCnt() == 0 && slice.refCnt() == 0;
+            try {
+                slice.release();
+                assert false;
+            } catch (IllegalStateException e) {
+                // expected, the parent and its duplicate share one block freed once
+            }
+        }
+    }
+
+    @Test
+    public void unpooledDoubleReleaseAfterCapacity() {
+        Memory memory = new DefaultMemoryAllocator().allocate(DEFAULT_CAPACITY, DEFAULT_MAX_CAPACITY);
+        Memory resized = memory.capacity(DEFAULT_MAX_CAPACITY);
+        memory.release();
+        try {
+            resized.release();
+            assert false;
+        } catch (IllegalStateException e) {
+            // expected, capacity(int) resizes in place
+        }
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void retainAfterRelease() {
+        Memory memory = allocator.allocate(DEFAULT_CAPACITY, DEFAULT_MAX_CAPACITY);
+        memory.release();
+        memory.retain();
+    }
+
+    @Test
+    public void sliceAndDuplicateShareParentRefCnt() {
+        Memory memory = allocator.allocate(DEFAULT_CAPACITY, DEFAULT_MAX_CAPACITY);
+        Memory sliced = memory.slice(0, DEFAULT_CAPACITY / 2);
+        Memory duplicated = sliced.duplicate();
+        assert sliced.retain() == sliced;
+        assert memory.refCnt() == 2 && duplicated.refCnt() == 2;
+        duplicated.release();
+        assert memory.refCnt() == 1;
+        memory.release();
+        assert sliced.refCnt() == 0;
+        try {
+            sliced.release();
+            assert false;
+        } catch (IllegalStateException e) {
+            // already released
+        }
+    }
+
+    @Test
+    public void useAfterRelease() {
+        if (!hasUnsafe) {
+            return;
+        }
+        Memory memory = allocator.allocate(DEFAULT_CAPACITY, DEFAULT_MAX_CAPACITY, true);
+        Memory sliced = memory.slice(0, 8);
+        memory.release();
+        try {
+            sliced.getByte(0);
+            assert false;
+        } catch (IllegalStateException e) {
+            // already released
+        }
+    }
+
+    @Test
+    public void reuseResetRefCnt() {
+        Memory memory = allocator.allocate(DEFAULT_CAPACITY, DEFAULT_MAX_CAPACITY);
+        memory.release();
+        Memory reused = allocator.allocate(DEFAULT_CAPACITY, DEFAULT_MAX_CAPACITY);
+        assert reused.refCnt() == 1;
+        reused.release();
+    }
+
+}
@@ -0,0 +1,158 @@
+package com.ardikars.common.memory;
+
+import org.junit.FixMethodOrder;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+import org.junit.runners.MethodSorters;
+
+import java.util.Iterator;
+
+@RunWith(JUnit4.class)
+@FixMethodOrder(MethodSorters.NAME_ASCENDING)
+public class PooledMemoryReplenishTest extends BaseTest {
+
+    @Test
+    public void refillInBackground() throws InterruptedException {
+        PartitionedMemoryAllocator allocator = Memories.pooledAllocatorBuilder()
+                .poolSize(2)
+                .maxPoolSize(10)
+                .maxMemoryCapacity(4096)
+                .replenish(2, 6)
+                .build();
+        Memory memory = allocator.allocate(DEFAULT_CAPACITY);
+        awaitAvailable(allocator, 6);
+        assert allocator.metric().getAllocations() == 1 && allocator.metric().getHits() == 1;
+        memory.release();
+        assert allocator.available(0) == 7;
+        allocator.close();
+    }
+
+    @Test
+    public void emptyPoolAllocatesSingleMemory() throws InterruptedException {
+        PartitionedMemoryAllocator allocator = Memories.pooledAllocatorBuilder()
+                .poolSize(0)
+                .maxPoolSize(3)
+                .maxMemoryCapacity(4096)
+                .replenish(1, 2)
+                .build();
+        Memory[] memories = new Memory[5];
+        for (int i = 0; i < memories.length; i++) {
+            memories[i] = allocator.allocate(DEFAULT_CAPACITY);
+            memories[i].setInt(0, i);
+        }
+        assert allocator.metric().getFallbacks() >= 2;
+        for (int i = 0; i < memories.length; i++) {
+            assert memories[i].getInt(0) == i;
+            memories[i].release();
+        }
+        // maximum pool size is never exceeded
+        awaitAvailable(allocator, 3);
+        Thread.sleep(10);
+        assert allocator.available(0) == 3;
+        assert allocator.metric().getOutstandingBytes() == 0;
+        allocator.close();
+    }
+
+    @Test
+    public void preTouch() {
+        PooledMemoryAllocator allocator = (PooledMemoryAllocator) Memories.pooledAllocatorBuilder()
+                .poolSize(2)
+                .maxPoolSize(3)
+                .maxMemoryCapacity(16384)
+                .preTouch(true)
+                .build();
+        // ByteBuf blocks are zeroed (touched) by the JDK
+        int touched = AbstractMemory.ACCESSOR_MEMORY ? 1 : 0;
+        assert allocator.touched() == 2 * touched;
+        Memory[] memories = new Memory[3];
+        for (int i = 0; i < memories.length; i++) {
+            memories[i] = allocator.allocate(16384);
+        }
+        assert allocator.touched() == 3 * touched;
+        for (int i = 0; i < memories.length; i++) {
+            memories[i].release();
+        }
+        allocator.close();
+    }
+
+    @Test
+    public void preTouchPartitions() throws InterruptedException {
+        PooledMemoryAllocator allocator = (PooledMemoryAllocator) Memories.pooledAllocatorBuilder()
+                .poolSize(1)
+                .maxPoolSize(4)
+                .maxMemoryCapacity(4096)
+                .partitions(2)
+                .replenish(1, 3)
+                .preTouch(true)
+                .build();
+        // initial blocks (constructing thread) are not touched
+        assert allocator.touched() == 0;
+        int partition = allocator.partition();
+        Memory memory = allocator.allocate(DEFAULT_CAPACITY);
+        for (int i = 0; i < 500 && allocator.available(partition) < 3; i++) {
+            Thread.sleep(10);
+        }
+        assert allocator.available(partition) == 3;
+        // refilled blocks (maintenance thread) are not touched
+        assert allocator.touched() == 0;
+        memory.release();
+        allocator.close();
+    }
+
+    @Test
+    public void touchGrownPartition() {
+        PooledMemoryAllocator allocator = (PooledMemoryAllocator) Memories.pooledAllocatorBuilder()
+                .poolSize(1)
+                .maxPoolSize(3)
+                .maxMemoryCapacity(4096)
+                .partitions(2)
+                .build();
+        Memory first = allocator.allocate(DEFAULT_CAPACITY);
+        assert allocator.touched() == 0;
+        // the pool grows on this thread, new block is touched as it is created
+        Memory second = allocator.allocate(DEFAULT_CAPACITY);
+        assert allocator.touched() == (AbstractMemory.ACCESSOR_MEMORY ? 1 : 0);
+        first.release();
+        second.release();
+        allocator.close();
+    }
+
+    @Test
+    public void countingQueueIterator() {
+        CountingMemoryQueue queue = new CountingMemoryQueue();
+        Memory first = Memories.allocator().allocate(DEFAULT_CAPACITY);
+        Memory second = Memories.allocator().allocate(DEFAULT_CAPACITY);
+        queue.offer(first);
+        queue.offer(second);
+        Iterator<Memory> iterator = queue.iterator();
+        assert iterator.next() == first;
+        iterator.remove();
+        assert iterator.next() == second;
+        assert !iterator.hasNext();
+        assert queue.size() == 1;
+        assert queue.contains(second) && !queue.contains(first);
+        queue.clear();
+        assert queue.isEmpty();
+        first.release();
+        second.release();
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void invalidWatermark() {
+        Memories.pooledAllocatorBuilder()
+                .poolSize(1)
+                .maxPoolSize(1)
+                .maxMemoryCapacity(4096)
+                .replenish(4, 4)
+                .build();
+    }
+
+    private static void awaitAvailable(PartitionedMemoryAllocator allocator, int available) throws InterruptedException {
+        for (int i = 0; i < 500 && allocator.available(0) < available; i++) {
+            Thread.sleep(10);
+        }
+        assert allocator.available(0) >= available;
+    }
+
+}
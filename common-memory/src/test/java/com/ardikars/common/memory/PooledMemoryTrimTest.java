@@ -0,0 +1,115 @@
+package com.ardikars.common.memory;
+
+import org.junit.FixMethodOrder;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+import org.junit.runners.MethodSorters;
+
+import java.util.concurrent.TimeUnit;
+
+@RunWith(JUnit4.class)
+@FixMethodOrder(MethodSorters.NAME_ASCENDING)
+public class PooledMemoryTrimTest extends BaseTest {
+
+    @Test
+    public void trimAboveFloor() {
+        PartitionedMemoryAllocator allocator = Memories.pooledAllocatorBuilder()
+                .poolSize(2)
+                .maxPoolSize(8)
+                .maxMemoryCapacity(4096)
+                .build();
+        allocateAndRelease(allocator, 8);
+        assert allocator.available(0) == 8;
+        assert allocator.trim() == 6;
+        assert allocator.available(0) == 2;
+        assert allocator.trim() == 0;
+        // trimmed memories can be allocated again
+        allocateAndRelease(allocator, 8);
+        assert allocator.metric().getFallbacks() == 0;
+        assert allocator.available(0) == 8;
+        allocator.close();
+    }
+
+    @Test
+    public void trimIdleMemories() throws InterruptedException {
+        PartitionedMemoryAllocator allocator = Memories.pooledAllocatorBuilder()
+                .poolSize(4)
+                .maxPoolSize(4)
+                .maxMemoryCapacity(4096)
+                .trim(1, 20, TimeUnit.MILLISECONDS)
+                .build();
+        for (int i = 0; i < 500 && allocator.available(0) > 1; i++) {
+            Thread.sleep(10);
+        }
+        assert allocator.available(0) == 1;
+        allocateAndRelease(allocator, 4);
+        assert allocator.metric().getFallbacks() == 0;
+        allocator.close();
+    }
+
+    @Test
+    public void floorIsAtLeastHighWatermark() {
+        PartitionedMemoryAllocator allocator = Memories.pooledAllocatorBuilder()
+                .poolSize(6)
+                .maxPoolSize(6)
+                .maxMemoryCapacity(4096)
+                .replenish(1, 3)
+                .trim(0, 0, TimeUnit.MILLISECONDS)
+                .build();
+        assert allocator.trim() == 3;
+        assert allocator.available(0) == 3;
+        allocator.close();
+    }
+
+    @Test
+    public void trimCountsThreadCaches() {
+        PartitionedMemoryAllocator allocator = Memories.pooledAllocatorBuilder()
+                .poolSize(4)
+                .maxPoolSize(4)
+                .maxMemoryCapacity(4096)
+                .threadCacheSize(4)
+                .trim(2, 0, TimeUnit.MILLISECONDS)
+                .build();
+        allocateAndRelease(allocator, 1); // 2 free memories are cached by current thread
+        assert allocator.available(0) == 2;
+        assert allocator.trim() == 2;
+        assert allocator.available(0) == 0;
+        allocateAndRelease(allocator, 2);
+        assert allocator.metric().getFallbacks() == 0;
+        allocator.close();
+    }
+
+    @Test
+    public void trimReapsDeadThreadCaches() throws InterruptedException {
+        final PartitionedMemoryAllocator allocator = Memories.pooledAllocatorBuilder()
+                .poolSize(2)
+                .maxPoolSize(2)
+                .maxMemoryCapacity(4096)
+                .threadCacheSize(4)
+                .trim(0, 0, TimeUnit.MILLISECONDS)
+                .build();
+        Thread thread = new Thread(new Runnable() {
+            @Override
+            public void run() {
+                allocateAndRelease(allocator, 1);
+            }
+        });
+        thread.start();
+        thread.join();
+        assert allocator.available(0) == 0;
+        assert allocator.trim() == 2;
+        allocator.close();
+    }
+
+    private void allocateAndRelease(MemoryAllocator allocator, int count) {
+        Memory[] memories = new Memory[count];
+        for (int i = 0; i < count; i++) {
+            memories[i] = allocator.allocate(DEFAULT_CAPACITY);
+        }
+        for (int i = 0; i < count; i++) {
+            memories[i].release();
+        }
+    }
+
+}
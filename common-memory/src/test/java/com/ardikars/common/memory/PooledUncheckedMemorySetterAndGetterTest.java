@@ -12,7 +12,12 @@ import org.junit.runners.MethodSorters;
 @FixMethodOrder(MethodSorters.NAME_ASCENDING)
 public class PooledUncheckedMemorySetterAndGetterTest extends AbstractMemorySetterAndGetterTest {
 
-    private final MemoryAllocator MEMORY_ALLOCATOR = Memories.allocator(2, 5, DEFAULT_CAPACITY + INT_SIZE);
+    private final MemoryAllocator MEMORY_ALLOCATOR = Memories.pooledAllocatorBuilder()
+            .poolSize(2)
+            .maxPoolSize(5)
+            .maxMemoryCapacity(DEFAULT_CAPACITY + INT_SIZE)
+            .checking(false)
+            .build();
 
     public PooledUncheckedMemorySetterAndGetterTest() {
         super(true);
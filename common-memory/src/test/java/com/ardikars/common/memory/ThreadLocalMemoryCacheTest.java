@@ -0,0 +1,144 @@
+package com.ardikars.common.memory;
+
+import org.junit.FixMethodOrder;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+import org.junit.runners.MethodSorters;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+
+@RunWith(JUnit4.class)
+@FixMethodOrder(MethodSorters.NAME_ASCENDING)
+public class ThreadLocalMemoryCacheTest extends BaseTest {
+
+    @Test
+    public void reuseOnSameThread() {
+        MemoryAllocator allocator = Memories.allocator(4, 8, DEFAULT_MAX_CAPACITY, 4);
+        Memory memory = allocator.allocate(DEFAULT_CAPACITY, DEFAULT_MAX_CAPACITY);
+        memory.writeInt(1);
+        memory.release();
+        Memory reused = allocator.allocate(DEFAULT_CAPACITY / 2, DEFAULT_MAX_CAPACITY);
+        assert reused == memory;
+        assert reused.capacity() == DEFAULT_CAPACITY / 2;
+        assert reused.readerIndex() == 0 && reused.writerIndex() == 0;
+        reused.release();
+        allocator.close();
+    }
+
+    @Test
+    public void checkingFollowsPool() {
+        MemoryAllocator unchecked = Memories.pooledAllocatorBuilder()
+                .poolSize(2)
+                .maxPoolSize(4)
+                .maxMemoryCapacity(DEFAULT_MAX_CAPACITY)
+                .threadCacheSize(2)
+                .checking(false)
+                .build();
+        Memory memory = unchecked.allocate(DEFAULT_CAPACITY, false);
+        Memory other = unchecked.allocate(DEFAULT_CAPACITY);
+        if (AbstractMemory.ACCESSOR_MEMORY) {
+            assert !(memory instanceof CheckedMemory) && !(other instanceof CheckedMemory);
+            // the pool has unchecked memories only, a checked memory is allocated outside of the pool
+            Memory checked = unchecked.allocate(DEFAULT_CAPACITY, true);
+            assert checked instanceof CheckedMemory && !(checked instanceof PooledMemory);
+            assert unchecked.metric().getFallbacks() == 1;
+            checked.release();
+        }
+        memory.release();
+        other.release();
+        unchecked.close();
+    }
+
+    @Test
+    public void wrapIntoCheckedPool() {
+        MemoryAllocator checked = Memories.pooledAllocatorBuilder()
+                .poolSize(2)
+                .maxPoolSize(4)
+                .maxMemoryCapacity(DEFAULT_MAX_CAPACITY)
+                .build();
+        Memory memory = Memories.wrap(checked, DUMMY, false);
+        assert memory.getByte(DUMMY.length - 1) == DUMMY[DUMMY.length - 1];
+        memory.release();
+        checked.close();
+    }
+
+    @Test
+    public void refillAndFlushInBatch() {
+        Queue<Memory> pool = new ConcurrentLinkedQueue<Memory>();
+        Memory[] memories = new Memory[8];
+        for (int i = 0; i < memories.length; i++) {
+            memories[i] = new UncheckedMemory(0, 0, 0);
+            pool.offer(memories[i]);
+        }
+        ThreadLocalMemoryCache cache = new ThreadLocalMemoryCache(pool, 4);
+        Memory first = cache.poll();
+        assert first != null;
+        assert pool.size() == 6; // refilled with half of magazine size
+        Memory second = cache.poll();
+        assert second != null && second != first;
+        assert pool.size() == 6;
+        for (int i = 0; i < 4; i++) {
+            cache.offer(memories[i]);
+        }
+        assert pool.size() == 6;
+        cache.offer(memories[4]);
+        assert pool.size() == 8; // magazine was full, half of it flushed
+        cache.close();
+        assert pool.size() == 11;
+        cache.offer(memories[5]); // bypass the magazine once closed
+        assert pool.size() == 12;
+    }
+
+    @Test
+    public void closeLeavesMagazinesOfLiveThreads() throws InterruptedException {
+        final Queue<Memory> pool = new ConcurrentLinkedQueue<Memory>();
+        final ThreadLocalMemoryCache cache = new ThreadLocalMemoryCache(pool, 4);
+        final Memory cached = new UncheckedMemory(0, 0, 0);
+        final Memory released = new UncheckedMemory(0, 0, 0);
+        final CountDownLatch offered = new CountDownLatch(1);
+        final CountDownLatch closed = new CountDownLatch(1);
+        Thread thread = new Thread(new Runnable() {
+            @Override
+            public void run() {
+                cache.offer(cached);
+                offered.countDown();
+                try {
+                    closed.await();
+                } catch (InterruptedException e) {
+                    return;
+                }
+                cache.offer(released);
+            }
+        });
+        thread.start();
+        offered.await();
+        assert cache.cached() == 1;
+        cache.close();
+        // the magazine of a live thread is only popped by its owner
+        assert pool.isEmpty();
+        closed.countDown();
+        thread.join();
+        assert pool.size() == 2 && pool.contains(cached) && pool.contains(released);
+    }
+
+    @Test
+    public void reclaimDeadThreadMagazine() throws InterruptedException {
+        Queue<Memory> pool = new ConcurrentLinkedQueue<Memory>();
+        final ThreadLocalMemoryCache cache = new ThreadLocalMemoryCache(pool, 4);
+        final Memory memory = new UncheckedMemory(0, 0, 0);
+        Thread thread = new Thread(new Runnable() {
+            @Override
+            public void run() {
+                cache.offer(memory);
+            }
+        });
+        thread.start();
+        thread.join();
+        assert pool.isEmpty();
+        assert cache.poll() == memory;
+    }
+
+}
@@ -0,0 +1,242 @@
+package com.ardikars.common.memory.accessor;
+
+import com.ardikars.common.memory.internal.BulkMemoryAccessor;
+import org.junit.FixMethodOrder;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+import org.junit.runners.MethodSorters;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.CountDownLatch;
+
+@RunWith(JUnit4.class)
+@FixMethodOrder(MethodSorters.NAME_ASCENDING)
+public class ByteBufferMemoryAccessorTest {
+
+    private final BulkMemoryAccessor accessor = new ByteBufferMemoryAccessor();
+
+    @Test
+    public void getAndSet() {
+        long address = accessor.allocate(32);
+        assert address != 0;
+        accessor.setShort(address, 0x0102);
+        assert accessor.getShortLE(address) == 0x0201;
+        accessor.setIntLE(address + 2, 0x01020304);
+        assert accessor.getInt(address + 2) == 0x04030201;
+        accessor.setLong(address + 8, 0x0102030405060708L);
+        assert accessor.getByte(address + 15) == 8;
+        assert accessor.getLongLE(address + 8) == 0x0807060504030201L;
+        long[] longs = new long[2];
+        accessor.getLongs(address + 8, longs, 0, 1, true);
+        assert longs[0] == 0x0102030405060708L;
+        accessor.setInts(address + 16, new int[] {1, 2}, 0, 2, false);
+        assert accessor.getIntLE(address + 20) == 2;
+        accessor.deallocate(address);
+    }
+
+    @Test
+    public void bulkInBothOrders() {
+        long address = accessor.allocate(48);
+        accessor.setShorts(address + 1, new short[] {0x0102, 0x0304}, 0, 2, false);
+        assert accessor.getShort(address + 3) == 0x0403;
+        accessor.setInts(address + 5, new int[] {0, 0x01020304, 0x05060708}, 1, 2, true);
+        assert accessor.getIntLE(address + 9) == 0x08070605;
+        accessor.setLongs(address + 13, new long[] {0x0102030405060708L}, 0, 1, false);
+        assert accessor.getLong(address + 13) == 0x0807060504030201L;
+        accessor.setDoubles(address + 21, new double[] {1.5D, -2.25D}, 0, 2, true);
+        short[] shorts = new short[3];
+        accessor.getShorts(address + 1, shorts, 1, 2, true);
+        assert shorts[1] == 0x0201 && shorts[2] == 0x0403;
+        int[] ints = new int[2];
+        accessor.getInts(address + 5, ints, 0, 2, false);
+        assert ints[0] == 0x04030201 && ints[1] == 0x08070605;
+        long[] longs = new long[1];
+        accessor.getLongs(address + 13, longs, 0, 1, true);
+        assert longs[0] == 0x0807060504030201L;
+        double[] doubles = new double[2];
+        accessor.getDoubles(address + 21, doubles, 0, 2, true);
+        assert doubles[0] == 1.5D && doubles[1] == -2.25D;
+        assert accessor.getLong(address + 29) == Double.doubleToRawLongBits(-2.25D);
+        accessor.deallocate(address);
+    }
+
+    @Test
+    public void concurrentAllocate() throws InterruptedException {
+        final int threads = 4;
+        final boolean[] failed = new boolean[1];
+        final CountDownLatch start = new CountDownLatch(1);
+        Thread[] workers = new Thread[threads];
+        for (int i = 0; i < threads; i++) {
+            final int value = i;
+            workers[i] = new Thread(new Runnable() {
+                @Override
+                public void run() {
+                    try {
+                        start.await();
+                    } catch (InterruptedException e) {
+                        return;
+                    }
+                    for (int j = 0; j < 1000; j++) {
+                        long address = accessor.allocate(8); // grows and republishes the slots
+                        accessor.setLong(address, value);
+                        if (accessor.getLong(address) != value) {
+                            synchronized (failed) {
+                                failed[0] = true;
+                            }
+                        }
+                        if ((j & 1) == 0) {
+                            accessor.deallocate(address);
+                        }
+                    }
+                }
+            });
+            workers[i].start();
+        }
+        start.countDown();
+        for (Thread worker : workers) {
+            worker.join();
+        }
+        synchronized (failed) {
+            assert !failed[0];
+        }
+    }
+
+    @Test
+    public void copyAndReallocate() {
+        long src = accessor.allocate(16);
+        long dst = accessor.allocate(16);
+        accessor.setBytes(src, 0, new byte[] {1, 2, 3, 4, 5, 6, 7, 8}, 0, 8);
+        accessor.getBytes(src, 2, dst, 4, 4);
+        assert accessor.getInt(dst + 4) == 0x03040506;
+        long grown = accessor.reallocate(dst, 64);
+        assert accessor.getInt(grown + 4) == 0x03040506;
+        accessor.setByte(grown + 63, 9);
+        byte[] bytes = new byte[2];
+        accessor.getBytes(grown, 62, bytes, 0, 2);
+        assert bytes[1] == 9;
+        ByteBuffer buffer = accessor.nioBuffer(src + 4, 4);
+        assert buffer.remaining() == 4 && buffer.get(0) == 5;
+        accessor.deallocate(src);
+        long reused = accessor.allocate(8);
+        assert reused != src && index(reused) == index(src); // id is reused with another generation
+    }
+
+    @Test
+    public void copyWithinAndAcrossReusedBuffers() {
+        long address = accessor.allocate(16);
+        accessor.setMemory(address, 16, 0x7F);
+        assert accessor.getLong(address + 8) == 0x7F7F7F7F7F7F7F7FL;
+        accessor.setLong(address, 0x0102030405060708L);
+        accessor.getBytes(address, 0, address, 8, 8); // both sides on the same buffer
+        assert accessor.getLong(address + 8) == 0x0102030405060708L;
+        accessor.deallocate(address);
+        long reused = accessor.allocate(8);
+        assert index(reused) == index(address);
+        accessor.setBytes(reused, 0, new byte[] {9, 9, 9, 9, 9, 9, 9, 9}, 0, 8); // cached view of the old buffer isn't used
+        assert accessor.getLong(reused) == 0x0909090909090909L;
+        accessor.deallocate(reused);
+    }
+
+    @Test
+    public void staleHandle() {
+        long address = accessor.allocate(8);
+        accessor.deallocate(address);
+        long reused = accessor.allocate(8);
+        accessor.setLong(reused, 1L);
+        try {
+            accessor.getLong(address);
+            assert false;
+        } catch (IllegalStateException e) {
+            // expected, doesn't hit the live buffer
+        }
+        try {
+            accessor.setBytes(address, 0, new byte[8], 0, 8);
+            assert false;
+        } catch (IllegalStateException e) {
+            // expected
+        }
+        accessor.deallocate(address); // stale, no-op
+        assert accessor.getLong(reused) == 1L;
+        accessor.deallocate(reused);
+    }
+
+    @Test
+    public void viewsOfWrappedGeneration() {
+        long address = accessor.allocate(8);
+        byte[] bytes = new byte[8];
+        accessor.getBytes(address, 0, bytes, 0, 8); // caches a view of the buffer
+        long other = address;
+        for (int i = 0; i < 4096; i++) {
+            accessor.deallocate(other);
+            other = accessor.allocate(8);
+        }
+        assert other == address; // same handle once the generation wraps
+        accessor.setBytes(other, 0, new byte[] {0, 0, 0, 0, 0, 0, 0, 3}, 0, 8);
+        assert accessor.getLong(other) == 3L; // cached view of the freed buffer isn't used
+        accessor.deallocate(other);
+    }
+
+    @Test
+    public void reuseOldestFreedId() {
+        long first = accessor.allocate(8);
+        long second = accessor.allocate(8);
+        accessor.deallocate(first);
+        accessor.deallocate(second);
+        assert index(accessor.allocate(8)) == index(first);
+        assert index(accessor.allocate(8)) == index(second);
+    }
+
+    @Test
+    public void viewsOfOtherThreads() throws InterruptedException {
+        final long address = accessor.allocate(8);
+        accessor.setLong(address, 1L);
+        final long[] reused = new long[1];
+        final byte[] bytes = new byte[8];
+        final CountDownLatch cached = new CountDownLatch(1);
+        Thread thread = new Thread(new Runnable() {
+            @Override
+            public void run() {
+                accessor.getBytes(address, 0, bytes, 0, 8); // caches a view of the buffer
+                cached.countDown();
+                synchronized (reused) {
+                    while (reused[0] == 0) {
+                        try {
+                            reused.wait();
+                        } catch (InterruptedException e) {
+                            return;
+                        }
+                    }
+                }
+                accessor.getBytes(reused[0], 0, bytes, 0, 8);
+            }
+        });
+        thread.start();
+        cached.await();
+        assert bytes[7] == 1;
+        accessor.deallocate(address);
+        long other = accessor.allocate(8);
+        assert index(other) == index(address);
+        accessor.setLong(other, 2L);
+        synchronized (reused) {
+            reused[0] = other;
+            reused.notifyAll();
+        }
+        thread.join();
+        assert bytes[7] == 2;
+        accessor.deallocate(other);
+    }
+
+    @Test
+    public void defaultMemoryAccessor() {
+        MemoryAccessor accessor = MemoryAccessors.memoryAccessor();
+        assert accessor == MemoryAccessors.memoryAccessor();
+        assert (MemoryAccessors.isNativeAddress() || MemoryAccessors.isForeignMemory())
+                != accessor instanceof ByteBufferMemoryAccessor;
+    }
+
+    private static int index(long address) {
+        return (int) (address >>> 32) & 0xFFFFF;
+    }
+
+}
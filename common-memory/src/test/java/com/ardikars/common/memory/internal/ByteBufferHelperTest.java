@@ -23,7 +23,12 @@ public class ByteBufferHelperTest {
 
     @Before
     public void before() {
-        buffer = ByteBuffer.allocateDirect(8);
+        if (hasUnsafe) {
+            // owned by the test (a ByteBuffer.allocateDirect buffer is freed by its cleaner, releasing it double frees)
+            buffer = ByteBufferHelper.wrapDirectByteBuffer(accessor.allocate(8), 8);
+        } else {
+            buffer = ByteBuffer.allocateDirect(8);
+        }
     }
 
     @Test
@@ -38,10 +43,11 @@ public class ByteBufferHelperTest {
         if (hasUnsafe) {
             int size = 8;
             long address = accessor.allocate(size);
-            ByteBuffer buffer = ByteBufferHelper.wrapDirectByteBuffer(address, size);
-            assert buffer != null;
-            assert buffer.capacity() == size;
-            release(buffer);
+            ByteBuffer wrapped = ByteBufferHelper.wrapDirectByteBuffer(address, size);
+            assert wrapped != null;
+            assert wrapped.capacity() == size;
+            assert ByteBufferHelper.directByteBufferAddress(wrapped) == address;
+            release(wrapped);
         }
     }
 
@@ -0,0 +1,158 @@
+package com.ardikars.common.memory.accessor;
+
+import com.ardikars.common.memory.Memories;
+import com.ardikars.common.memory.Memory;
+import com.ardikars.common.memory.internal.BulkMemoryAccessor;
+import org.junit.FixMethodOrder;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+import org.junit.runners.MethodSorters;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Run by the java22 profile with {@code common.memory.accessor=segment}.
+ */
+@RunWith(JUnit4.class)
+@FixMethodOrder(MethodSorters.NAME_ASCENDING)
+public class SegmentMemoryAccessorTest {
+
+    private static final String SEGMENT_MEMORY_ACCESSOR = "com.ardikars.common.memory.accessor.SegmentMemoryAccessor";
+
+    // not shared with allocators, so a freed id is not reused by other threads while the test runs
+    private final BulkMemoryAccessor accessor = newSegmentMemoryAccessor();
+
+    @Test
+    public void defaultMemoryAccessor() {
+        assert MemoryAccessors.memoryAccessor().getClass().getName().equals(SEGMENT_MEMORY_ACCESSOR);
+        assert MemoryAccessors.isForeignMemory();
+        assert !MemoryAccessors.isNativeAddress();
+    }
+
+    @Test
+    public void getAndSet() {
+        long address = accessor.allocate(32);
+        assert address != 0;
+        assert accessor.getLong(address + 24) == 0L;
+        accessor.setShort(address, 0x0102);
+        assert accessor.getShortLE(address) == 0x0201;
+        accessor.setIntLE(address + 2, 0x01020304);
+        assert accessor.getInt(address + 2) == 0x04030201;
+        accessor.setLong(address + 8, 0x0102030405060708L);
+        assert accessor.getByte(address + 15) == 8;
+        long[] longs = new long[1];
+        accessor.getLongs(address + 8, longs, 0, 1, false);
+        assert longs[0] == 0x0807060504030201L;
+        accessor.setMemory(address + 16, 16, 0x7F);
+        assert accessor.getLongLE(address + 24) == 0x7F7F7F7F7F7F7F7FL;
+        accessor.deallocate(address);
+    }
+
+    @Test
+    public void copyAndReallocate() {
+        long src = accessor.allocate(16);
+        long dst = accessor.allocate(16);
+        accessor.setBytes(src, 0, new byte[] {1, 2, 3, 4, 5, 6, 7, 8}, 0, 8);
+        accessor.getBytes(src, 2, dst, 4, 4);
+        assert accessor.getInt(dst + 4) == 0x03040506;
+        long grown = accessor.reallocate(dst, 64);
+        assert accessor.getInt(grown + 4) == 0x03040506;
+        ByteBuffer buffer = accessor.nioBuffer(src + 4, 4);
+        assert buffer.remaining() == 4 && buffer.get(0) == 5;
+        accessor.deallocate(src);
+        accessor.deallocate(grown);
+    }
+
+    @Test
+    public void boundsChecked() {
+        long address = accessor.allocate(16);
+        try {
+            accessor.getLong(address + 12);
+            assert false;
+        } catch (IndexOutOfBoundsException e) {
+            // expected
+        }
+        try {
+            accessor.setBytes(address, 8, new byte[16], 0, 16);
+            assert false;
+        } catch (IndexOutOfBoundsException e) {
+            // expected
+        }
+        accessor.deallocate(address);
+        Memory memory = Memories.allocator().allocate(8, false);
+        try {
+            memory.getLong(4); // unchecked memory, but still bounded by its segment
+            assert false;
+        } catch (IndexOutOfBoundsException e) {
+            // expected
+        }
+        memory.release();
+    }
+
+    @Test
+    public void lifetimeChecked() {
+        long address = accessor.allocate(16);
+        accessor.setLong(address, 1L);
+        accessor.deallocate(address);
+        try {
+            accessor.getLong(address);
+            assert false;
+        } catch (IllegalStateException e) {
+            // expected
+        }
+        accessor.deallocate(address); // no-op
+    }
+
+    @Test
+    public void reuseSliceOfSizeClass() {
+        long address = accessor.allocate(100);
+        accessor.setLong(address, 1L);
+        accessor.deallocate(address);
+        long other = accessor.allocate(128);
+        // same id and slice, but another generation
+        assert (int) (other >>> 32 & 0xFFFFF) == (int) (address >>> 32 & 0xFFFFF);
+        assert other != address;
+        assert accessor.getLong(other) == 0L;
+        try {
+            accessor.getLong(address);
+            assert false;
+        } catch (IllegalStateException e) {
+            // expected, stale handle
+        }
+        accessor.deallocate(address); // stale, no-op
+        accessor.setLong(other + 120, 2L);
+        assert accessor.getLong(other + 120) == 2L;
+        try {
+            accessor.getLong(other + 124);
+            assert false;
+        } catch (IndexOutOfBoundsException e) {
+            // expected, bounded by the requested size
+        }
+        accessor.deallocate(other);
+    }
+
+    @Test
+    public void dedicatedLargeSegment() {
+        long address = accessor.allocate((1 << 19) + 1);
+        accessor.setByte(address + (1 << 19), 1);
+        assert accessor.getByte(address + (1 << 19)) == 1;
+        accessor.deallocate(address);
+        try {
+            accessor.getByte(address);
+            assert false;
+        } catch (IllegalStateException e) {
+            // expected
+        }
+    }
+
+    private static BulkMemoryAccessor newSegmentMemoryAccessor() {
+        // compiled into META-INF/versions/22, so it's not visible to the compiler
+        try {
+            return (BulkMemoryAccessor) Class.forName(SEGMENT_MEMORY_ACCESSOR).getDeclaredConstructor().newInstance();
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+}
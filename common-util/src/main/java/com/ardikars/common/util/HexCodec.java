@@ -0,0 +1,220 @@
+/**
+ * Copyright 2017-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.ardikars.common.util;
+
+import com.ardikars.common.annotation.Helper;
+import com.ardikars.common.annotation.InternalApi;
+
+/**
+ * Hex encoding and decoding primitives shared by {@link Hexs} and other modules hex utilities
+ * (ex: {@code MemoryHexs}), not intended to be used directly.
+ *
+ * @author <a href="mailto:contact@ardikars.com">Ardika Rommy Sanjaya</a>
+ * @since 1.3.8
+ */
+@Helper
+@InternalApi
+public final class HexCodec {
+
+    private static final String HEXDUMP_PRETTY_HEADER = ""
+            + "         +-------------------------------------------------+\n"
+            + "         |  0  1  2  3  4  5  6  7  8  9  a  b  c  d  e  f |\n"
+            + "+--------+-------------------------------------------------+--------+\n";
+
+    private static final String HEXDUMP_PRETTY_FOOTER = ""
+            + "+--------+---------------------------------"
+            + "----------------+--------+";
+
+    private static final char[] HEXDUMP_TABLE;
+
+    private static final byte[] HEX_DIGITS;
+
+    private HexCodec() {
+    }
+
+    /**
+     * Encode bytes into hex characters (two characters per byte).
+     * @param src source.
+     * @param offset offset of source.
+     * @param length number of bytes.
+     * @param dst destination.
+     * @param dstIndex index of destination.
+     */
+    public static void encode(final byte[] src, final int offset, final int length, final char[] dst, final int dstIndex) {
+        for (int srcIdx = offset, dstIdx = dstIndex; srcIdx < offset + length; srcIdx++, dstIdx += 2) {
+            int index = (src[srcIdx] & 0xFF) << 1;
+            dst[dstIdx] = HEXDUMP_TABLE[index];
+            dst[dstIdx + 1] = HEXDUMP_TABLE[index + 1];
+        }
+    }
+
+    /**
+     * Encode the {@code length} most significant bytes of a (big endian) word into hex characters,
+     * four bytes at a time.
+     * @param word word.
+     * @param length number of bytes (at most 8).
+     * @param dst destination.
+     * @param dstIndex index of destination.
+     */
+    public static void encode(final long word, final int length, final char[] dst, final int dstIndex) {
+        long hex = hexDigits((int) (word >>> 32));
+        for (int i = 0, dstIdx = dstIndex; i < length << 1; i++, dstIdx++) {
+            if (i == 8) {
+                hex = hexDigits((int) word);
+            }
+            dst[dstIdx] = (char) ((hex >>> (56 - ((i & 7) << 3))) & 0xFF);
+        }
+    }
+
+    /**
+     * Get number of bytes of a hex stream (validating it) without decoding.
+     * @param hexStream hex stream.
+     * @param start index of the first hex digit (after {@code 0x} prefix).
+     * @return returns number of bytes.
+     * @throws IllegalArgumentException if the stream contains invalid characters or odd number of hex digits.
+     */
+    public static int decodedLength(final CharSequence hexStream, final int start) {
+        int digits = 0;
+        int len = hexStream.length();
+        for (int i = start; i < len; i++) {
+            char c = hexStream.charAt(i);
+            if (digit(c) >= 0) {
+                digits++;
+            } else if (!isWhitespace(c)) {
+                throw new IllegalArgumentException();
+            }
+        }
+        if (digits == 0 || (digits & 1) != 0) {
+            throw new IllegalArgumentException();
+        }
+        return digits >> 1;
+    }
+
+    /**
+     * Get value of a hex digit.
+     * @param c character.
+     * @return returns value of hex digit, or -1 if {@code c} is not a hex digit.
+     */
+    public static int digit(final char c) {
+        return c < 128 ? HEX_DIGITS[c] : -1;
+    }
+
+    /**
+     * Whitespace of a hex stream (same as regex {@code \s}).
+     * @param c character.
+     * @return returns true if {@code c} is a whitespace.
+     */
+    public static boolean isWhitespace(final char c) {
+        return c == ' ' || c == '\t' || c == '\n' || c == 0x0B || c == '\f' || c == '\r';
+    }
+
+    /**
+     * Append header of hex dump format.
+     * @param sb destination.
+     * @return returns {@code sb}.
+     */
+    public static StringBuilder appendPrettyHexDumpHeader(final StringBuilder sb) {
+        return sb.append(HEXDUMP_PRETTY_HEADER);
+    }
+
+    /**
+     * Append footer of hex dump format.
+     * @param sb destination.
+     * @return returns {@code sb}.
+     */
+    public static StringBuilder appendPrettyHexDumpFooter(final StringBuilder sb) {
+        return sb.append(HEXDUMP_PRETTY_FOOTER);
+    }
+
+    /**
+     * Append a line (up to 16 bytes) of hex dump format.
+     * @param sb destination.
+     * @param lineNumber line number.
+     * @param line bytes of the line.
+     * @param offset offset.
+     * @param length length (at most 16).
+     * @return returns {@code sb}.
+     */
+    public static StringBuilder appendPrettyHexDumpLine(final StringBuilder sb, final int lineNumber,
+                                                        final byte[] line, final int offset, final int length) {
+        int start = sb.length();
+        String number = Integer.toString(lineNumber);
+        for (int i = number.length(); i < 8; i++) {
+            sb.append('0');
+        }
+        sb.append(number).append(" | ");
+        for (int i = 0; i < length; i++) {
+            int index = (line[offset + i] & 0xFF) << 1;
+            sb.append(HEXDUMP_TABLE[index]).append(HEXDUMP_TABLE[index + 1]).append(' ');
+        }
+        if (lineNumber > 0) {
+            // short lines (but not the first line) are padded to 48 characters
+            for (int i = sb.length() - start; i < 48; i++) {
+                sb.append(' ');
+            }
+        }
+        sb.append("| ");
+        for (int i = 0; i < length; i++) {
+            sb.append(printable(line[offset + i]));
+        }
+        return sb.append('\n');
+    }
+
+    /**
+     * Get (estimated) length of hex dump format.
+     * @param length number of bytes.
+     * @return returns length of hex dump format.
+     */
+    public static int prettyHexDumpLength(final int length) {
+        return HEXDUMP_PRETTY_HEADER.length() + HEXDUMP_PRETTY_FOOTER.length() + ((length + 15) >>> 4) * 79;
+    }
+
+    private static char printable(final byte value) {
+        char c = (char) value;
+        if (c < 32 || c > 127) {
+            c = '.';
+        }
+        return c;
+    }
+
+    /**
+     * Spread the eight nibbles of {@code value} into the eight bytes of a word (most significant first),
+     * then convert every byte into an ascii hex digit at once (no table lookup per byte).
+     */
+    private static long hexDigits(final int value) {
+        long nibbles = value & 0xFFFFFFFFL;
+        nibbles = (nibbles | (nibbles << 16)) & 0x0000FFFF0000FFFFL;
+        nibbles = (nibbles | (nibbles << 8)) & 0x00FF00FF00FF00FFL;
+        nibbles = (nibbles | (nibbles << 4)) & 0x0F0F0F0F0F0F0F0FL;
+        long letters = ((nibbles + 0x0606060606060606L) >>> 4) & 0x0101010101010101L; // 1 if nibble > 9
+        return nibbles + 0x3030303030303030L + letters * ('a' - '9' - 1);
+    }
+
+    static {
+        HEXDUMP_TABLE = new char[256 * 4];
+        final char[] digits = "0123456789abcdef".toCharArray();
+        for (int i = 0; i < 256; i++) {
+            HEXDUMP_TABLE[ i << 1     ] = digits[i >>> 4 & 0x0F];
+            HEXDUMP_TABLE[(i << 1) + 1] = digits[i       & 0x0F];
+        }
+        HEX_DIGITS = new byte[128];
+        for (int i = 0; i < HEX_DIGITS.length; i++) {
+            HEX_DIGITS[i] = (byte) Character.digit((char) i, 16);
+        }
+    }
+
+}
@@ -18,8 +18,10 @@ package com.ardikars.common.util;
 
 import com.ardikars.common.annotation.Helper;
 
+import java.io.IOException;
 import java.nio.ByteBuffer;
-import java.util.regex.Pattern;
+import java.nio.ByteOrder;
+import java.nio.CharBuffer;
 
 /**
  * Hexs utility.
@@ -30,19 +32,7 @@ import java.util.regex.Pattern;
 @Helper
 public final class Hexs {
 
-    private static final Pattern NO_SEPARATOR_HEX_STRING_PATTERN
-            = Pattern.compile("\\A([0-9a-fA-F][0-9a-fA-F])+\\z");
-
-    private static final String HEXDUMP_PRETTY_HEADER = ""
-            + "         +-------------------------------------------------+\n"
-            + "         |  0  1  2  3  4  5  6  7  8  9  a  b  c  d  e  f |\n"
-            + "+--------+-------------------------------------------------+--------+\n";
-
-    private static final String HEXDUMP_PRETTY_FOOTER = ""
-            + "+--------+---------------------------------"
-            + "----------------+--------+";
-
-    private static final char[] HEXDUMP_TABLE;
+    private static final int CHUNK_SIZE = 64; // bytes encoded per Appendable write
 
 
     /**
@@ -65,16 +55,8 @@ public final class Hexs {
         if (length == 0) {
             return "";
         }
-        int endIndex = offset + length;
         char[] buf = new char[length << 1];
-
-        int srcIdx = offset;
-        int dstIdx = 0;
-        for (; srcIdx < endIndex; srcIdx++, dstIdx += 2) {
-            System.arraycopy(
-                    HEXDUMP_TABLE, (buffer.get(srcIdx) & 0xFF) << 1,
-                    buf, dstIdx, 2);
-        }
+        encode(buffer, offset, length, buf, 0);
         return new String(buf);
     }
 
@@ -98,17 +80,109 @@ public final class Hexs {
         if (length == 0) {
             return "";
         }
-        int endIndex = offset + length;
         char[] buf = new char[length << 1];
+        HexCodec.encode(buffer, offset, length, buf, 0);
+        return new String(buf);
+    }
 
-        int srcIdx = offset;
-        int dstIdx = 0;
-        for (; srcIdx < endIndex; srcIdx++, dstIdx += 2) {
-            System.arraycopy(
-                    HEXDUMP_TABLE, (buffer[srcIdx] & 0xFF) << 1,
-                    buf, dstIdx, 2);
+    /**
+     * Append hex string of byte array.
+     * @param sb destination.
+     * @param buffer byte array.
+     * @param offset offset.
+     * @param length length.
+     * @return returns {@code sb}.
+     * @since 1.3.8
+     */
+    public static StringBuilder appendHexString(final StringBuilder sb, final byte[] buffer, final int offset, final int length) {
+        if (length == 0) {
+            return sb;
         }
-        return new String(buf);
+        Validate.notInBounds(buffer, offset, length);
+        char[] buf = new char[CHUNK_SIZE << 1];
+        for (int i = 0; i < length; i += CHUNK_SIZE) {
+            int n = Math.min(length - i, CHUNK_SIZE);
+            HexCodec.encode(buffer, offset + i, n, buf, 0);
+            sb.append(buf, 0, n << 1);
+        }
+        return sb;
+    }
+
+    /**
+     * Append hex string of {@link ByteBuffer} (absolute, position and limit is not changed).
+     * @param sb destination.
+     * @param buffer buffer.
+     * @param offset offset.
+     * @param length length.
+     * @return returns {@code sb}.
+     * @since 1.3.8
+     */
+    public static StringBuilder appendHexString(final StringBuilder sb, final ByteBuffer buffer, final int offset, final int length) {
+        if (length == 0) {
+            return sb;
+        }
+        Validate.notInBounds(buffer.capacity(), offset, length);
+        char[] buf = new char[CHUNK_SIZE << 1];
+        for (int i = 0; i < length; i += CHUNK_SIZE) {
+            int n = Math.min(length - i, CHUNK_SIZE);
+            encode(buffer, offset + i, n, buf, 0);
+            sb.append(buf, 0, n << 1);
+        }
+        return sb;
+    }
+
+    /**
+     * Append hex string of byte array.
+     * @param out destination.
+     * @param buffer byte array.
+     * @param offset offset.
+     * @param length length.
+     * @param <T> appendable type.
+     * @return returns {@code out}.
+     * @throws IOException if {@code out} throws {@link IOException}.
+     * @since 1.3.8
+     */
+    public static <T extends Appendable> T appendHexString(final T out, final byte[] buffer, final int offset, final int length)
+            throws IOException {
+        if (length == 0) {
+            return out;
+        }
+        Validate.notInBounds(buffer, offset, length);
+        char[] buf = new char[CHUNK_SIZE << 1];
+        CharBuffer chars = CharBuffer.wrap(buf);
+        for (int i = 0; i < length; i += CHUNK_SIZE) {
+            int n = Math.min(length - i, CHUNK_SIZE);
+            HexCodec.encode(buffer, offset + i, n, buf, 0);
+            out.append(chars, 0, n << 1);
+        }
+        return out;
+    }
+
+    /**
+     * Append hex string of {@link ByteBuffer} (absolute, position and limit is not changed).
+     * @param out destination.
+     * @param buffer buffer.
+     * @param offset offset.
+     * @param length length.
+     * @param <T> appendable type.
+     * @return returns {@code out}.
+     * @throws IOException if {@code out} throws {@link IOException}.
+     * @since 1.3.8
+     */
+    public static <T extends Appendable> T appendHexString(final T out, final ByteBuffer buffer, final int offset, final int length)
+            throws IOException {
+        if (length == 0) {
+            return out;
+        }
+        Validate.notInBounds(buffer.capacity(), offset, length);
+        char[] buf = new char[CHUNK_SIZE << 1];
+        CharBuffer chars = CharBuffer.wrap(buf);
+        for (int i = 0; i < length; i += CHUNK_SIZE) {
+            int n = Math.min(length - i, CHUNK_SIZE);
+            encode(buffer, offset + i, n, buf, 0);
+            out.append(chars, 0, n << 1);
+        }
+        return out;
     }
 
     /**
@@ -131,38 +205,7 @@ public final class Hexs {
      */
     public static String toPrettyHexDump(final byte[] data, final int offset, final int length) {
         Validate.notInBounds(data, offset, length);
-        StringBuilder result = new StringBuilder();
-        StringBuilder builder = new StringBuilder();
-        int pos = offset;
-        int max = length;
-        int lineNumber = 0;
-        builder.append(HEXDUMP_PRETTY_HEADER);
-        while (pos < max) {
-            builder.append(String.format("%08d", lineNumber++) + " | ");
-            int lineMax = Math.min(max - pos, 16);
-            for (int i = 0; i < lineMax; i++) {
-                int index = (data[pos + i] & 0xFF) << 1;
-                builder.append(new String(new char[] {HEXDUMP_TABLE[index], HEXDUMP_TABLE[++index]}));
-                builder.append(" ");
-            }
-            while (builder.length() < 48) {
-                builder.append(" ");
-            }
-            builder.append("| ");
-            for (int i = 0; i < lineMax; i++) {
-                char c = (char) data[pos + i];
-                if (c < 32 || c > 127) {
-                    c = '.';
-                }
-                builder.append(c);
-            }
-            builder.append("\n");
-            result.append(builder);
-            builder.setLength(0);
-            pos += 16;
-        }
-        result.append(HEXDUMP_PRETTY_FOOTER);
-        return result.toString();
+        return appendPrettyHexDump(new StringBuilder(HexCodec.prettyHexDumpLength(length)), data, offset, length).toString();
     }
 
     /**
@@ -175,70 +218,87 @@ public final class Hexs {
      */
     public static String toPrettyHexDump(ByteBuffer buffer, int offset, int length) {
         Validate.notInBounds(buffer.capacity(), offset, length);
-        StringBuilder result = new StringBuilder();
-        StringBuilder builder = new StringBuilder();
-        int pos = offset;
-        int max = length;
-        int lineNumber = 0;
-        builder.append(HEXDUMP_PRETTY_HEADER);
-        while (pos < max) {
-            builder.append(String.format("%08d", lineNumber++) + " | ");
-            int lineMax = Math.min(max - pos, 16);
-            for (int i = 0; i < lineMax; i++) {
-                int index = (buffer.get(pos + i) & 0xFF) << 1;
-                builder.append(new String(new char[] {HEXDUMP_TABLE[index], HEXDUMP_TABLE[++index]}));
-                builder.append(" ");
-            }
-            while (builder.length() < 48) {
-                builder.append(" ");
-            }
-            builder.append("| ");
+        return appendPrettyHexDump(new StringBuilder(HexCodec.prettyHexDumpLength(length)), buffer, offset, length).toString();
+    }
+
+    /**
+     * Append hex dump format of byte array.
+     * @param sb destination.
+     * @param data byte array.
+     * @param offset offset.
+     * @param length length.
+     * @return returns {@code sb}.
+     * @since 1.3.8
+     */
+    public static StringBuilder appendPrettyHexDump(final StringBuilder sb, final byte[] data, final int offset, final int length) {
+        Validate.notInBounds(data, offset, length);
+        HexCodec.appendPrettyHexDumpHeader(sb);
+        for (int pos = 0, lineNumber = 0; pos < length; pos += 16, lineNumber++) {
+            HexCodec.appendPrettyHexDumpLine(sb, lineNumber, data, offset + pos, Math.min(length - pos, 16));
+        }
+        return HexCodec.appendPrettyHexDumpFooter(sb);
+    }
+
+    /**
+     * Append hex dump format of {@link ByteBuffer} (absolute, position and limit is not changed).
+     * @param sb destination.
+     * @param buffer byte buffer.
+     * @param offset offset.
+     * @param length length.
+     * @return returns {@code sb}.
+     * @since 1.3.8
+     */
+    public static StringBuilder appendPrettyHexDump(final StringBuilder sb, final ByteBuffer buffer, final int offset, final int length) {
+        Validate.notInBounds(buffer.capacity(), offset, length);
+        HexCodec.appendPrettyHexDumpHeader(sb);
+        byte[] line = new byte[16];
+        for (int pos = 0, lineNumber = 0; pos < length; pos += 16, lineNumber++) {
+            int lineMax = Math.min(length - pos, 16);
             for (int i = 0; i < lineMax; i++) {
-                char c = buffer.getChar(pos + i);
-                if (c < 32 || c > 127) {
-                    c = '.';
-                }
-                builder.append(c);
+                line[i] = buffer.get(offset + pos + i);
             }
-            builder.append("\n");
-            result.append(builder);
-            builder.setLength(0);
-            pos += 16;
+            HexCodec.appendPrettyHexDumpLine(sb, lineNumber, line, 0, lineMax);
         }
-        result.append(HEXDUMP_PRETTY_FOOTER);
-        return result.toString();
+        return HexCodec.appendPrettyHexDumpFooter(sb);
     }
 
     /**
-     * Hex stream to byte array.
+     * Hex stream to byte array. The stream may start with {@code 0x} and may contain whitespaces.
      * @param hexStream hex stream.
      * @return byte array.
      * @since 1.0.0
      */
     public static byte[] parseHex(String hexStream) {
         Validate.nullPointer(hexStream);
-        if (hexStream.startsWith("0x")) {
-            hexStream = hexStream.substring(2);
-        }
-        hexStream = hexStream.replaceAll("\\s+", "").trim();
-        if (!NO_SEPARATOR_HEX_STRING_PATTERN.matcher(hexStream).matches()) {
-            throw new IllegalArgumentException();
-        }
+        int start = hexStream.startsWith("0x") ? 2 : 0;
+        byte[] data = new byte[HexCodec.decodedLength(hexStream, start)];
         int len = hexStream.length();
-        byte[] data = new byte[len >> 1];
-        for (int i = 0; i < len; i += 2) {
-            data[i / 2] = (byte) ((Character.digit(hexStream.charAt(i), 16) << 4)
-                    + Character.digit(hexStream.charAt(i + 1), 16));
+        int high = -1;
+        for (int i = start, j = 0; i < len; i++) {
+            int digit = HexCodec.digit(hexStream.charAt(i));
+            if (digit >= 0) {
+                if (high < 0) {
+                    high = digit;
+                } else {
+                    data[j++] = (byte) ((high << 4) | digit);
+                    high = -1;
+                }
+            }
         }
         return data;
     }
 
-    static {
-        HEXDUMP_TABLE = new char[256 * 4];
-        final char[] digits = "0123456789abcdef".toCharArray();
-        for (int i = 0; i < 256; i++) {
-            HEXDUMP_TABLE[ i << 1     ] = digits[i >>> 4 & 0x0F];
-            HEXDUMP_TABLE[(i << 1) + 1] = digits[i       & 0x0F];
+    private static void encode(final ByteBuffer src, final int offset, final int length, final char[] dst, final int dstIndex) {
+        boolean bigEndian = src.order() == ByteOrder.BIG_ENDIAN;
+        int srcIdx = offset;
+        int dstIdx = dstIndex;
+        int end = offset + length;
+        for (; srcIdx + 8 <= end; srcIdx += 8, dstIdx += 16) {
+            long word = src.getLong(srcIdx);
+            HexCodec.encode(bigEndian ? word : Long.reverseBytes(word), 8, dst, dstIdx);
+        }
+        for (; srcIdx < end; srcIdx++, dstIdx += 2) {
+            HexCodec.encode((long) src.get(srcIdx) << 56, 1, dst, dstIdx);
         }
     }
 
@@ -49,4 +49,74 @@ public class HexsTest extends BaseTest {
         assertEquals("2b2d02", Hexs.toHexString(buffer, 1, 3));
     }
 
+    @Test
+    public void parseHexWithPrefixAndWhitespaces() {
+        assertEquals(java.util.Arrays.toString(byteData), java.util.Arrays.toString(Hexs.parseHex("0x0a 2B\n2d\t02 05")));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void parseHexInvalidCharacter() {
+        Hexs.parseHex("0a2g");
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void parseHexOddDigits() {
+        Hexs.parseHex("0a2");
+    }
+
+    @Test
+    public void appendHexString() throws java.io.IOException {
+        byte[] data = new byte[200];
+        for (int i = 0; i < data.length; i++) {
+            data[i] = (byte) (i * 7);
+        }
+        String expected = Hexs.toHexString(data);
+        assertEquals(expected, Hexs.appendHexString(new StringBuilder(), data, 0, data.length).toString());
+        assertEquals(expected, Hexs.appendHexString((Appendable) new StringBuilder(), data, 0, data.length).toString());
+        ByteBuffer buffer = ByteBuffer.wrap(data).order(java.nio.ByteOrder.LITTLE_ENDIAN);
+        assertEquals(expected, Hexs.toHexString(buffer));
+        assertEquals(expected.substring(6, 300), Hexs.appendHexString(new StringBuilder(), buffer, 3, 147).toString());
+    }
+
+    @Test(expected = ArrayIndexOutOfBoundsException.class)
+    public void appendHexStringOutOfBounds() {
+        Hexs.appendHexString(new StringBuilder(), byteData, 3, 3);
+    }
+
+    @Test(expected = ArrayIndexOutOfBoundsException.class)
+    public void appendPrettyHexDumpOutOfBounds() {
+        Hexs.appendPrettyHexDump(new StringBuilder(), ByteBuffer.wrap(byteData), 1, byteData.length);
+    }
+
+    @Test
+    public void hexDumpMultipleLines() {
+        byte[] data = new byte[20];
+        for (int i = 0; i < data.length; i++) {
+            data[i] = (byte) (i + 60);
+        }
+        String expected =
+                "         +-------------------------------------------------+\n" +
+                "         |  0  1  2  3  4  5  6  7  8  9  a  b  c  d  e  f |\n" +
+                "+--------+-------------------------------------------------+--------+\n" +
+                "00000000 | 3e 3f 40 41 42 43 44 45 46 47 48 49 4a 4b 4c 4d | >?@ABCDEFGHIJKLM\n" +
+                "00000001 | 4e 4f                                | NO\n" +
+                "+--------+-------------------------------------------------+--------+";
+        assertEquals(expected, Hexs.toPrettyHexDump(data, 2, 18));
+        assertEquals(expected, Hexs.toPrettyHexDump(ByteBuffer.wrap(data), 2, 18));
+    }
+
+    @Test
+    public void bufferToHexEveryByte() {
+        byte[] data = new byte[256];
+        StringBuilder expected = new StringBuilder();
+        for (int i = 0; i < data.length; i++) {
+            data[i] = (byte) i;
+            expected.append(Character.forDigit(i >>> 4, 16)).append(Character.forDigit(i & 0x0F, 16));
+        }
+        assertEquals(expected.toString(), Hexs.toHexString(data));
+        assertEquals(expected.toString(), Hexs.toHexString(ByteBuffer.wrap(data)));
+        assertEquals(expected.toString(), Hexs.toHexString(ByteBuffer.wrap(data).order(java.nio.ByteOrder.LITTLE_ENDIAN)));
+        assertEquals(expected.substring(2, 28), Hexs.toHexString(ByteBuffer.wrap(data), 1, 13));
+    }
+
 }